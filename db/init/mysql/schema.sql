@@ -667,6 +667,9 @@ INSERT INTO `plugin_handle` VALUES ('1529402613199978536', '2', 'model', 'model'
 INSERT INTO `plugin_handle` VALUES ('1529402613199978537', '6', 'register', 'register', 2, 3, 1, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978538', '4', 'algorithmName', 'algorithmName', 3, 2, 1, '{\"required\":\"1\",\"defaultValue\":\"slidingWindow\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978539', '4', 'keyResolverName', 'keyResolverName', 3, 2, 4, '{\"required\":\"1\",\"defaultValue\":\"WHOLE_KEY_RESOLVER\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204173100', '4', 'leaseEnabled', 'leaseEnabled', 3, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `plugin_handle` VALUES ('1529402613204173101', '4', 'maxLeaseRatio', 'maxLeaseRatio', 2, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"0.1\",\"rule\":\"\"}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `plugin_handle` VALUES ('1529402613204173102', '4', 'leaseTtl', 'leaseTtl', 1, 2, 7, '{\"required\":\"0\",\"defaultValue\":\"1000\",\"rule\":\"\"}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978540', '5', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978541', '5', 'protocol', 'protocol', 2, 1, 2, '{\"required\":\"0\",\"defaultValue\":\"\",\"placeholder\":\"http://\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978542', '5', 'upstreamUrl', 'ip:port', 2, 1, 1, '{\"required\":\"1\",\"placeholder\":\"\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -700,6 +703,7 @@ INSERT INTO `plugin_handle` VALUES ('1529402613199978569', '15', 'status', 'stat
 INSERT INTO `plugin_handle` VALUES ('1529402613199978570', '15', 'multiSelectorHandle', 'multiSelectorHandle', 3, 3, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978571', '15', 'multiRuleHandle', 'multiRuleHandle', 3, 3, 1, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978572', '15', 'threadpool', 'threadpool', 3, 3, 0, '{\"required\":\"0\",\"defaultValue\":\"cached\",\"placeholder\":\"threadpool\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204173107', '15', 'timeout', 'timeout', 1, 2, 1, '{\"required\":\"0\",\"placeholder\":\"timeout ms\",\"rule\":\"\"}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978573', '14', 'contextPath', 'contextPath', 2, 2, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978574', '14', 'addPrefix', 'addPrefix', 2, 2, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978575', '20', 'ruleHandlePageType', 'ruleHandlePageType', 3, 3, 0, '{\"required\":\"0\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -1368,6 +1372,12 @@ INSERT INTO `shenyu_dict` VALUES ('1529402613191589899', 'algorithmName', 'ALGOR
 INSERT INTO `shenyu_dict` VALUES ('1529402613191589900', 'algorithmName', 'ALGORITHM_LEAKYBUCKET', 'leakyBucket', 'leakyBucket', 'Leaky bucket algorithm', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613191589901', 'algorithmName', 'ALGORITHM_CONCURRENT', 'concurrent', 'concurrent', 'Concurrent algorithm', 2, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784192', 'algorithmName', 'ALGORITHM_TOKENBUCKET', 'tokenBucket', 'tokenBucket', 'Token bucket algorithm', 3, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173103', 'algorithmName', 'ALGORITHM_LOCALTOKENBUCKET', 'localTokenBucket', 'localTokenBucket', 'Local token bucket algorithm', 4, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173104', 'algorithmName', 'ALGORITHM_LOCALLEAKYBUCKET', 'localLeakyBucket', 'localLeakyBucket', 'Local leaky bucket algorithm', 5, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173105', 'algorithmName', 'ALGORITHM_LOCALSLIDINGWINDOW', 'localSlidingWindow', 'localSlidingWindow', 'Local sliding window algorithm', 6, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173106', 'algorithmName', 'ALGORITHM_LOCALCONCURRENT', 'localConcurrent', 'localConcurrent', 'Local concurrent algorithm', 7, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173108', 'leaseEnabled', 'LEASE_ENABLED', 'close', 'false', 'close', 1, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613204173109', 'leaseEnabled', 'LEASE_ENABLED', 'open', 'true', 'open', 0, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784193', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784194', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784195', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
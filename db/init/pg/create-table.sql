@@ -752,6 +752,9 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136291', '2', 'model'
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136292', '6', 'register', 'register', 2, 3, 1, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136293', '4', 'algorithmName', 'algorithmName', 3, 2, 1, '{"required":"1","defaultValue":"slidingWindow","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136294', '4', 'keyResolverName', 'keyResolverName', 3, 2, 4, '{"required":"1","defaultValue":"WHOLE_KEY_RESOLVER","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173100', '4', 'leaseEnabled', 'leaseEnabled', 3, 2, 5, '{"required":"0","defaultValue":"false","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173101', '4', 'maxLeaseRatio', 'maxLeaseRatio', 2, 2, 6, '{"required":"0","defaultValue":"0.1","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173102', '4', 'leaseTtl', 'leaseTtl', 1, 2, 7, '{"required":"0","defaultValue":"1000","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136295', '5', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136296', '5', 'protocol', 'protocol', 2, 1, 2, '{"required":"0","defaultValue":"","placeholder":"http://","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136297', '5', 'upstreamUrl', 'ip:port', 2, 1, 1, '{"required":"1","placeholder":"","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
@@ -785,6 +788,7 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330582', '15', 'statu
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330583', '15', 'multiSelectorHandle', 'multiSelectorHandle', 3, 3, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330584', '15', 'multiRuleHandle', 'multiRuleHandle', 3, 3, 1, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330585', '15', 'threadpool', 'threadpool', 3, 3, 0, '{"required":"0","defaultValue":"cached","placeholder":"threadpool","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173107', '15', 'timeout', 'timeout', 1, 2, 1, '{"required":"0","placeholder":"timeout ms","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330586', '14', 'contextPath', 'contextPath', 2, 2, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330587', '14', 'addPrefix', 'addPrefix', 2, 2, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330588', '20', 'ruleHandlePageType', 'ruleHandlePageType', 3, 3, 0, '{"required":"0","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
@@ -1526,6 +1530,12 @@ INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107787', 'algorithmName
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107788', 'algorithmName', 'ALGORITHM_LEAKYBUCKET', 'leakyBucket', 'leakyBucket', 'Leaky bucket algorithm', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107789', 'algorithmName', 'ALGORITHM_CONCURRENT', 'concurrent', 'concurrent', 'Concurrent algorithm', 2, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107790', 'algorithmName', 'ALGORITHM_TOKENBUCKET', 'tokenBucket', 'tokenBucket', 'Token bucket algorithm', 3, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173103', 'algorithmName', 'ALGORITHM_LOCALTOKENBUCKET', 'localTokenBucket', 'localTokenBucket', 'Local token bucket algorithm', 4, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173104', 'algorithmName', 'ALGORITHM_LOCALLEAKYBUCKET', 'localLeakyBucket', 'localLeakyBucket', 'Local leaky bucket algorithm', 5, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173105', 'algorithmName', 'ALGORITHM_LOCALSLIDINGWINDOW', 'localSlidingWindow', 'localSlidingWindow', 'Local sliding window algorithm', 6, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173106', 'algorithmName', 'ALGORITHM_LOCALCONCURRENT', 'localConcurrent', 'localConcurrent', 'Local concurrent algorithm', 7, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173108', 'leaseEnabled', 'LEASE_ENABLED', 'close', 'false', 'close', 1, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173109', 'leaseEnabled', 'LEASE_ENABLED', 'open', 'true', 'open', 0, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107791', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107792', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107793', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
@@ -85,3 +85,18 @@ INSERT INTO "public"."shenyu_dict" VALUES ('1529402613195784281', 'saslMechanism
 /*fix issue #3945 */
 INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172802', '8', 'loadBalance', 'loadStrategy', 3, 2, 3, '{"defaultValue":"roundRobin","rule":""}', '2022-06-30 21:00:00', '2022-06-30 21:00:00');
 
+/* token lease mode of the rateLimiter plugin */
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173100', '4', 'leaseEnabled', 'leaseEnabled', 3, 2, 5, '{"required":"0","defaultValue":"false","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173101', '4', 'maxLeaseRatio', 'maxLeaseRatio', 2, 2, 6, '{"required":"0","defaultValue":"0.1","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173102', '4', 'leaseTtl', 'leaseTtl', 1, 2, 7, '{"required":"0","defaultValue":"1000","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+
+/* local algorithms of the rateLimiter plugin */
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173103', 'algorithmName', 'ALGORITHM_LOCALTOKENBUCKET', 'localTokenBucket', 'localTokenBucket', 'Local token bucket algorithm', 4, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173104', 'algorithmName', 'ALGORITHM_LOCALLEAKYBUCKET', 'localLeakyBucket', 'localLeakyBucket', 'Local leaky bucket algorithm', 5, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173105', 'algorithmName', 'ALGORITHM_LOCALSLIDINGWINDOW', 'localSlidingWindow', 'localSlidingWindow', 'Local sliding window algorithm', 6, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173106', 'algorithmName', 'ALGORITHM_LOCALCONCURRENT', 'localConcurrent', 'localConcurrent', 'Local concurrent algorithm', 7, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173108', 'leaseEnabled', 'LEASE_ENABLED', 'close', 'false', 'close', 1, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529402613204173109', 'leaseEnabled', 'LEASE_ENABLED', 'open', 'true', 'open', 0, 1, '2022-10-18 00:00:00', '2022-10-18 00:00:00');
+
+/* call deadline of the grpc plugin */
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204173107', '15', 'timeout', 'timeout', 1, 2, 1, '{"required":"0","placeholder":"timeout ms","rule":""}', '2022-10-18 00:00:00', '2022-10-18 00:00:00');
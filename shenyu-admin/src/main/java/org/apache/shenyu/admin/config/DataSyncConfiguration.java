@@ -29,6 +29,7 @@ import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
 import org.apache.shenyu.admin.config.properties.NacosProperties;
 import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
 import org.apache.shenyu.admin.config.properties.ZookeeperProperties;
+import org.apache.shenyu.admin.listener.ConfigChangeLog;
 import org.apache.shenyu.admin.listener.DataChangedInit;
 import org.apache.shenyu.admin.listener.DataChangedListener;
 import org.apache.shenyu.admin.listener.consul.ConsulDataChangedInit;
@@ -45,6 +46,7 @@ import org.apache.shenyu.admin.listener.zookeeper.ZookeeperDataChangedInit;
 import org.apache.shenyu.admin.listener.zookeeper.ZookeeperDataChangedListener;
 import org.apache.shenyu.register.client.server.zookeeper.ZookeeperClient;
 import org.apache.shenyu.register.client.server.zookeeper.ZookeeperConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -61,6 +63,18 @@ import java.util.Properties;
 @Configuration
 public class DataSyncConfiguration {
 
+    /**
+     * the change log which the http long polling and websocket sync use to send the changes since a client revision.
+     *
+     * @param capacity the max number of changes kept
+     * @return the config change log
+     */
+    @Bean
+    @ConditionalOnMissingBean(ConfigChangeLog.class)
+    public ConfigChangeLog configChangeLog(@Value("${shenyu.sync.changeLogSize:4096}") final int capacity) {
+        return new ConfigChangeLog(capacity);
+    }
+
     /**
      * http long polling.
      */
@@ -71,8 +85,9 @@ public class DataSyncConfiguration {
 
         @Bean
         @ConditionalOnMissingBean(HttpLongPollingDataChangedListener.class)
-        public HttpLongPollingDataChangedListener httpLongPollingDataChangedListener(final HttpSyncProperties httpSyncProperties) {
-            return new HttpLongPollingDataChangedListener(httpSyncProperties);
+        public HttpLongPollingDataChangedListener httpLongPollingDataChangedListener(final HttpSyncProperties httpSyncProperties,
+                                                                                     final ConfigChangeLog configChangeLog) {
+            return new HttpLongPollingDataChangedListener(httpSyncProperties, configChangeLog);
         }
     }
 
@@ -209,8 +224,8 @@ public class DataSyncConfiguration {
          */
         @Bean
         @ConditionalOnMissingBean(WebsocketDataChangedListener.class)
-        public DataChangedListener websocketDataChangedListener() {
-            return new WebsocketDataChangedListener();
+        public DataChangedListener websocketDataChangedListener(final ConfigChangeLog configChangeLog) {
+            return new WebsocketDataChangedListener(configChangeLog);
         }
 
         /**
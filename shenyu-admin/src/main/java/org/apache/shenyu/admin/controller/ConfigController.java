@@ -22,6 +22,7 @@ import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.model.result.ShenyuAdminResult;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDeltaData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,6 +34,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This Controller only when HttpLongPollingDataChangedListener exist, will take effect.
@@ -64,6 +66,19 @@ public class ConfigController {
         return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
     }
     
+    /**
+     * Fetch the config changes since the client revision.
+     *
+     * @param epoch    the epoch of the client revision
+     * @param revision the last revision the client applied
+     * @return the shenyu result
+     */
+    @GetMapping("/delta")
+    public ShenyuAdminResult fetchDelta(final String epoch, final Long revision) {
+        ConfigDeltaData delta = longPollingListener.fetchDelta(epoch, Objects.isNull(revision) ? -1L : revision);
+        return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, delta);
+    }
+    
     /**
      * Listener.
      *
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.WebsocketData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.UUIDUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A bounded log of the data changed events, keyed by a monotonic revision.
+ * The sync strategies use it to send a client only the changes after its last revision,
+ * a client whose revision has left the window (or belongs to another epoch) must fall back to a full snapshot.
+ * A {@link DataEventTypeEnum#REFRESH} carries a whole group, it is logged as a marker without its data
+ * and a client behind it falls back to a full snapshot as well.
+ */
+public class ConfigChangeLog {
+
+    private final String epoch = UUIDUtils.getInstance().generateShortUuid();
+
+    private final ChangeRecord[] records;
+
+    private long revision;
+
+    /**
+     * Instantiates a new Config change log.
+     *
+     * @param capacity the max number of changes kept
+     */
+    public ConfigChangeLog(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity of the config change log must be positive: " + capacity);
+        }
+        this.records = new ChangeRecord[capacity];
+    }
+
+    /**
+     * append the changed data, the {@link DataEventTypeEnum#MYSELF} event only answers a single client and is not logged,
+     * the data of a {@link DataEventTypeEnum#REFRESH} event is not kept.
+     *
+     * @param group     the group
+     * @param eventType the event type
+     * @param data      the changed data
+     * @return the revision of the change, or the current revision when it is not logged
+     */
+    public synchronized long append(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+        if (DataEventTypeEnum.MYSELF == eventType) {
+            return revision;
+        }
+        revision++;
+        records[(int) (revision % records.length)] = new ChangeRecord(revision, group, eventType, data);
+        return revision;
+    }
+
+    /**
+     * get the revision of the logged change, looked up by the identity of its data list.
+     *
+     * @param data the changed data passed to {@link #append}
+     * @return the revision, or null when the change is not in the log
+     */
+    public synchronized Long revisionOf(final List<?> data) {
+        for (long rev = revision; rev > 0 && rev > revision - records.length; rev--) {
+            ChangeRecord record = records[(int) (rev % records.length)];
+            if (record.isSource(data)) {
+                return rev;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * get the changes after the client revision.
+     *
+     * @param clientEpoch    the epoch the client revision belongs to
+     * @param clientRevision the last revision the client applied
+     * @return the changes in revision order, or empty when the client must fall back to a full snapshot
+     */
+    public synchronized Optional<List<WebsocketData<?>>> since(final String clientEpoch, final long clientRevision) {
+        if (!StringUtils.equals(epoch, clientEpoch) || clientRevision > revision || clientRevision < revision - records.length) {
+            return Optional.empty();
+        }
+        if (clientRevision == revision) {
+            return Optional.of(Collections.emptyList());
+        }
+        List<WebsocketData<?>> changes = new ArrayList<>((int) (revision - clientRevision));
+        for (long rev = clientRevision + 1; rev <= revision; rev++) {
+            ChangeRecord record = records[(int) (rev % records.length)];
+            if (record.isRefresh()) {
+                return Optional.empty();
+            }
+            changes.add(record.toWebsocketData(epoch));
+        }
+        return Optional.of(changes);
+    }
+
+    /**
+     * get epoch.
+     *
+     * @return the epoch
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * get the latest revision.
+     *
+     * @return the revision
+     */
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    private static final class ChangeRecord {
+
+        private final long revision;
+
+        private final ConfigGroupEnum group;
+
+        private final DataEventTypeEnum eventType;
+
+        private final List<?> data;
+
+        private final WeakReference<List<?>> source;
+
+        ChangeRecord(final long revision, final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+            this.revision = revision;
+            this.group = group;
+            this.eventType = eventType;
+            this.data = DataEventTypeEnum.REFRESH == eventType || Objects.isNull(data) ? Collections.emptyList() : data;
+            this.source = new WeakReference<>(data);
+        }
+
+        boolean isRefresh() {
+            return DataEventTypeEnum.REFRESH == eventType;
+        }
+
+        boolean isSource(final List<?> list) {
+            return Objects.nonNull(list) && source.get() == list;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        WebsocketData<?> toWebsocketData(final String epoch) {
+            return new WebsocketData(group.name(), eventType.name(), data).setEpoch(epoch).setRevision(revision);
+        }
+    }
+}
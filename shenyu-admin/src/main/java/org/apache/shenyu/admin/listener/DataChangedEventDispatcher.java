@@ -41,15 +41,20 @@ public class DataChangedEventDispatcher implements ApplicationListener<DataChang
 
     private final ApplicationContext applicationContext;
 
+    private final ConfigChangeLog configChangeLog;
+
     private List<DataChangedListener> listeners;
 
-    public DataChangedEventDispatcher(final ApplicationContext applicationContext) {
+    public DataChangedEventDispatcher(final ApplicationContext applicationContext, final ConfigChangeLog configChangeLog) {
         this.applicationContext = applicationContext;
+        this.configChangeLog = configChangeLog;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public void onApplicationEvent(final DataChangedEvent event) {
+        // log the change before the listeners run, so that they can tag it with its revision.
+        configChangeLog.append(event.getGroupKey(), event.getEventType(), (List<?>) event.getSource());
         for (DataChangedListener listener : listeners) {
             switch (event.getGroupKey()) {
                 case APP_AUTH:
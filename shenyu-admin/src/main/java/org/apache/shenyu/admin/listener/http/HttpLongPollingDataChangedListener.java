@@ -23,16 +23,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
 import org.apache.shenyu.admin.listener.AbstractDataChangedListener;
+import org.apache.shenyu.admin.listener.ConfigChangeLog;
 import org.apache.shenyu.admin.listener.ConfigDataCache;
 import org.apache.shenyu.admin.model.result.ShenyuAdminResult;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.constant.HttpConstants;
 import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDeltaData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.WebsocketData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
@@ -48,8 +52,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
@@ -85,15 +93,27 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     private final HttpSyncProperties httpSyncProperties;
 
+    private final ConfigChangeLog configChangeLog;
+
     /**
      * Instantiates a new Http long polling data changed listener.
      * @param httpSyncProperties the HttpSyncProperties
      */
     public HttpLongPollingDataChangedListener(final HttpSyncProperties httpSyncProperties) {
+        this(httpSyncProperties, null);
+    }
+
+    /**
+     * Instantiates a new Http long polling data changed listener.
+     * @param httpSyncProperties the HttpSyncProperties
+     * @param configChangeLog the change log, without it every delta request falls back to a full snapshot
+     */
+    public HttpLongPollingDataChangedListener(final HttpSyncProperties httpSyncProperties, final ConfigChangeLog configChangeLog) {
         this.clients = new ArrayBlockingQueue<>(1024);
         this.scheduler = new ScheduledThreadPoolExecutor(1,
                 ShenyuThreadFactory.create("long-polling", true));
         this.httpSyncProperties = httpSyncProperties;
+        this.configChangeLog = configChangeLog;
     }
 
     @Override
@@ -137,6 +157,37 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         scheduler.execute(new LongPollingClient(asyncContext, clientIp, HttpConstants.SERVER_MAX_HOLD_TIMEOUT));
     }
 
+    /**
+     * fetch the changes since the client revision.
+     * When the client revision is out of the change log window, the delta is marked full and carries no change,
+     * the client then fetches the changed groups with {@link #fetchConfig(ConfigGroupEnum)}.
+     *
+     * @param clientEpoch    the epoch of the client revision
+     * @param clientRevision the last revision the client applied
+     * @return the delta
+     */
+    public ConfigDeltaData fetchDelta(final String clientEpoch, final long clientRevision) {
+        // read the md5 before the changes, the md5 a client records must never cover a change it has not received.
+        Map<String, ConfigData<?>> groups = new HashMap<>(ConfigGroupEnum.values().length);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigDataCache cache = CACHE.get(group.name());
+            if (Objects.nonNull(cache)) {
+                groups.put(group.name(), new ConfigData<>(cache.getMd5(), cache.getLastModifyTime(), Collections.emptyList()));
+            }
+        }
+        if (Objects.isNull(configChangeLog)) {
+            return new ConfigDeltaData(null, 0L, true, groups, Collections.emptyList());
+        }
+        long revision = configChangeLog.getRevision();
+        Optional<List<WebsocketData<?>>> changes = configChangeLog.since(clientEpoch, clientRevision);
+        if (!changes.isPresent()) {
+            return new ConfigDeltaData(configChangeLog.getEpoch(), revision, true, groups, Collections.emptyList());
+        }
+        List<WebsocketData<?>> changeList = changes.get();
+        long latest = changeList.isEmpty() ? clientRevision : changeList.get(changeList.size() - 1).getRevision();
+        return new ConfigDeltaData(clientEpoch, latest, false, groups, changeList);
+    }
+
     @Override
     protected void afterAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.APP_AUTH));
@@ -19,10 +19,13 @@ package org.apache.shenyu.admin.listener.websocket;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.admin.listener.ConfigChangeLog;
 import org.apache.shenyu.admin.service.SyncDataService;
 import org.apache.shenyu.admin.spring.SpringBeanUtils;
 import org.apache.shenyu.admin.utils.ThreadLocalUtils;
+import org.apache.shenyu.common.dto.WebsocketData;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +36,7 @@ import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -47,12 +51,19 @@ import java.util.concurrent.CopyOnWriteArraySet;
 @ServerEndpoint(value = "/websocket", configurator = WebsocketConfigurator.class)
 public class WebsocketCollector {
     
+    /**
+     * the thread local key of the change log revision a full sync is taken at.
+     */
+    public static final String SNAPSHOT_REVISION_KEY = "snapshotRevisionKey";
+    
     private static final Logger LOG = LoggerFactory.getLogger(WebsocketCollector.class);
     
     private static final Set<Session> SESSION_SET = new CopyOnWriteArraySet<>();
     
     private static final String SESSION_KEY = "sessionKey";
     
+    private static final String RESUME_SEPARATOR = ",";
+    
     /**
      * On open.
      *
@@ -84,12 +95,21 @@ public class WebsocketCollector {
      */
     @OnMessage
     public void onMessage(final String message, final Session session) {
-        if (!Objects.equals(message, DataEventTypeEnum.MYSELF.name())) {
+        // MYSELF asks for a full sync, "MYSELF,epoch,revision" asks for the changes after the revision.
+        String[] parts = StringUtils.split(message, RESUME_SEPARATOR);
+        if (Objects.isNull(parts) || parts.length == 0 || !Objects.equals(parts[0], DataEventTypeEnum.MYSELF.name())) {
+            return;
+        }
+        ConfigChangeLog configChangeLog = getConfigChangeLog();
+        if (parts.length == 3 && Objects.nonNull(configChangeLog) && resume(configChangeLog, parts[1], parts[2], session)) {
             return;
         }
         
         try {
             ThreadLocalUtils.put(SESSION_KEY, session);
+            if (Objects.nonNull(configChangeLog)) {
+                ThreadLocalUtils.put(SNAPSHOT_REVISION_KEY, configChangeLog.getRevision());
+            }
             SpringBeanUtils.getInstance().getBean(SyncDataService.class).syncAll(DataEventTypeEnum.MYSELF);
         } finally {
             ThreadLocalUtils.clear();
@@ -97,6 +117,30 @@ public class WebsocketCollector {
 
     }
     
+    private static ConfigChangeLog getConfigChangeLog() {
+        try {
+            return SpringBeanUtils.getInstance().getBean(ConfigChangeLog.class);
+        } catch (RuntimeException e) {
+            LOG.warn("websocket config change log is not available, {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private static boolean resume(final ConfigChangeLog configChangeLog, final String epoch, final String revision,
+                                  final Session session) {
+        if (!StringUtils.isNumeric(revision)) {
+            return false;
+        }
+        Optional<List<WebsocketData<?>>> changes = configChangeLog.since(epoch, Long.parseLong(revision));
+        if (!changes.isPresent()) {
+            LOG.info("websocket client[{}] revision {} is out of the change log, send the full data", getClientIp(session), revision);
+            return false;
+        }
+        changes.get().forEach(change -> sendMessageBySession(session, GsonUtils.getInstance().toJson(change)));
+        LOG.info("websocket client[{}] resumed from revision {} with {} changes", getClientIp(session), revision, changes.get().size());
+        return true;
+    }
+    
     /**
      * On close.
      *
@@ -18,7 +18,10 @@
 package org.apache.shenyu.admin.listener.websocket;
 
 import java.util.List;
+import java.util.Objects;
+import org.apache.shenyu.admin.listener.ConfigChangeLog;
 import org.apache.shenyu.admin.listener.DataChangedListener;
+import org.apache.shenyu.admin.utils.ThreadLocalUtils;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
@@ -36,38 +39,69 @@ import org.apache.shenyu.common.utils.GsonUtils;
  */
 public class WebsocketDataChangedListener implements DataChangedListener {
 
+    private final ConfigChangeLog configChangeLog;
+
+    /**
+     * Instantiates a new Websocket data changed listener, the messages are not tagged with a revision.
+     */
+    public WebsocketDataChangedListener() {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new Websocket data changed listener.
+     *
+     * @param configChangeLog the change log used to tag the messages with their revision
+     */
+    public WebsocketDataChangedListener(final ConfigChangeLog configChangeLog) {
+        this.configChangeLog = configChangeLog;
+    }
+
     @Override
     public void onPluginChanged(final List<PluginData> pluginDataList, final DataEventTypeEnum eventType) {
         WebsocketData<PluginData> websocketData =
                 new WebsocketData<>(ConfigGroupEnum.PLUGIN.name(), eventType.name(), pluginDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(websocketData), eventType);
+        send(websocketData, eventType);
     }
 
     @Override
     public void onSelectorChanged(final List<SelectorData> selectorDataList, final DataEventTypeEnum eventType) {
         WebsocketData<SelectorData> websocketData =
                 new WebsocketData<>(ConfigGroupEnum.SELECTOR.name(), eventType.name(), selectorDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(websocketData), eventType);
+        send(websocketData, eventType);
     }
 
     @Override
     public void onRuleChanged(final List<RuleData> ruleDataList, final DataEventTypeEnum eventType) {
         WebsocketData<RuleData> configData =
                 new WebsocketData<>(ConfigGroupEnum.RULE.name(), eventType.name(), ruleDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+        send(configData, eventType);
     }
 
     @Override
     public void onAppAuthChanged(final List<AppAuthData> appAuthDataList, final DataEventTypeEnum eventType) {
         WebsocketData<AppAuthData> configData =
                 new WebsocketData<>(ConfigGroupEnum.APP_AUTH.name(), eventType.name(), appAuthDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+        send(configData, eventType);
     }
 
     @Override
     public void onMetaDataChanged(final List<MetaData> metaDataList, final DataEventTypeEnum eventType) {
         WebsocketData<MetaData> configData =
                 new WebsocketData<>(ConfigGroupEnum.META_DATA.name(), eventType.name(), metaDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+        send(configData, eventType);
+    }
+
+    private void send(final WebsocketData<?> websocketData, final DataEventTypeEnum eventType) {
+        if (Objects.nonNull(configChangeLog)) {
+            // a full sync answers the client with the revision taken before the data was read.
+            Long revision = DataEventTypeEnum.MYSELF == eventType
+                    ? (Long) ThreadLocalUtils.get(WebsocketCollector.SNAPSHOT_REVISION_KEY)
+                    : configChangeLog.revisionOf(websocketData.getData());
+            if (Objects.nonNull(revision)) {
+                websocketData.setEpoch(configChangeLog.getEpoch()).setRevision(revision);
+            }
+        }
+        WebsocketCollector.send(GsonUtils.getInstance().toJson(websocketData), eventType);
     }
 }
@@ -27,6 +27,7 @@ import org.apache.shenyu.admin.config.properties.ConsulProperties;
 import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
 import org.apache.shenyu.admin.config.properties.NacosProperties;
 import org.apache.shenyu.admin.config.properties.ZookeeperProperties;
+import org.apache.shenyu.admin.listener.ConfigChangeLog;
 import org.apache.shenyu.admin.listener.etcd.EtcdClient;
 import org.apache.shenyu.admin.service.MetaDataService;
 import org.apache.shenyu.admin.service.PluginService;
@@ -106,7 +107,7 @@ public final class DataSyncConfigurationTest extends AbstractConfigurationTest {
     public void testHttpLongPollingDataChangedListener() {
         final HttpSyncProperties httpSyncProperties = new HttpSyncProperties();
         DataSyncConfiguration.HttpLongPollingListener httpLongPollingListener = new DataSyncConfiguration.HttpLongPollingListener();
-        assertNotNull(httpLongPollingListener.httpLongPollingDataChangedListener(httpSyncProperties));
+        assertNotNull(httpLongPollingListener.httpLongPollingDataChangedListener(httpSyncProperties, new ConfigChangeLog(16)));
     }
 
     @Test
@@ -138,7 +139,7 @@ public final class DataSyncConfigurationTest extends AbstractConfigurationTest {
     @Test
     public void testWebsocketDataChangedListener() {
         DataSyncConfiguration.WebsocketListener websocketListener = new DataSyncConfiguration.WebsocketListener();
-        assertNotNull(websocketListener.websocketDataChangedListener());
+        assertNotNull(websocketListener.websocketDataChangedListener(new ConfigChangeLog(16)));
     }
 
     @Test
@@ -20,6 +20,7 @@ package org.apache.shenyu.admin.controller;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDeltaData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -86,6 +87,24 @@ public final class ConfigControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    public void testFetchDelta() throws Exception {
+        final ConfigDeltaData delta = new ConfigDeltaData("epoch", 3L, false, Collections.emptyMap(), Collections.emptyList());
+        doReturn(delta).when(mockLongPollingListener).fetchDelta("epoch", 3L);
+        mockMvc.perform(get("/configs/delta")
+                .param("epoch", "epoch")
+                .param("revision", "3")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.revision", is(3)))
+                .andExpect(jsonPath("$.data.full", is(false)));
+        final ConfigDeltaData full = new ConfigDeltaData("epoch", 3L, true, Collections.emptyMap(), Collections.emptyList());
+        doReturn(full).when(mockLongPollingListener).fetchDelta(null, -1L);
+        mockMvc.perform(get("/configs/delta").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.full", is(true)));
+    }
+
     @Test
     public void testListener() throws Exception {
         // Run the test
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.WebsocketData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The TestCase for ConfigChangeLog.
+ */
+public final class ConfigChangeLogTest {
+
+    @Test
+    public void testSince() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(2);
+        List<RuleData> first = Collections.singletonList(RuleData.builder().id("1").build());
+        List<RuleData> second = Collections.singletonList(RuleData.builder().id("2").build());
+        assertEquals(1L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, first));
+        assertEquals(1L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.MYSELF, second));
+        assertEquals(2L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.DELETE, second));
+        String epoch = changeLog.getEpoch();
+
+        Optional<List<WebsocketData<?>>> changes = changeLog.since(epoch, 0L);
+        assertTrue(changes.isPresent());
+        assertEquals(2, changes.get().size());
+        assertEquals(DataEventTypeEnum.UPDATE.name(), changes.get().get(0).getEventType());
+        assertEquals(2L, changes.get().get(1).getRevision());
+        assertEquals(epoch, changes.get().get(1).getEpoch());
+        assertTrue(changeLog.since(epoch, 2L).map(List::isEmpty).orElse(false));
+
+        assertEquals(3L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, first));
+        assertFalse(changeLog.since(epoch, 0L).isPresent());
+        assertEquals(2, changeLog.since(epoch, 1L).map(List::size).orElse(0));
+        assertFalse(changeLog.since(epoch, 4L).isPresent());
+        assertFalse(changeLog.since("other", 3L).isPresent());
+    }
+
+    @Test
+    public void testRevisionOf() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(8);
+        List<RuleData> data = Collections.singletonList(RuleData.builder().id("1").build());
+        changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, data);
+        changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, Collections.emptyList());
+        assertEquals(1L, changeLog.revisionOf(data));
+        assertNull(changeLog.revisionOf(Collections.singletonList(RuleData.builder().id("1").build())));
+    }
+
+    @Test
+    public void testRefreshMarker() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(8);
+        List<RuleData> group = Collections.singletonList(RuleData.builder().id("1").build());
+        changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, Collections.emptyList());
+        assertEquals(2L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.REFRESH, group));
+        changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.DELETE, Collections.emptyList());
+        String epoch = changeLog.getEpoch();
+
+        assertEquals(2L, changeLog.revisionOf(group));
+        assertFalse(changeLog.since(epoch, 0L).isPresent());
+        assertFalse(changeLog.since(epoch, 1L).isPresent());
+        assertEquals(1, changeLog.since(epoch, 2L).map(List::size).orElse(0));
+    }
+}
@@ -58,6 +58,9 @@ public final class DataChangedEventDispatcherTest {
     @Mock
     private ApplicationContext applicationContext;
 
+    @Mock
+    private ConfigChangeLog configChangeLog;
+
     @Mock
     private HttpLongPollingDataChangedListener httpLongPollingDataChangedListener;
 
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Watch the usage of the tenured heap pool measured right after the garbage collections.
+ * A collection usage threshold is set on the pool, and once a collection leaves less free memory
+ * than the threshold allows, the registered listeners are told to give memory back. Unlike {@link Runtime#freeMemory()},
+ * the usage after a collection only counts the live objects, so a heap which is merely not collected yet is not a pressure.
+ * The young pools are left alone, they are nearly empty after a collection and are too small for a cache sized threshold.
+ */
+public final class MemoryPressureMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryPressureMonitor.class);
+
+    /**
+     * the part of a pool which may be used after a collection when no free memory is asked for.
+     */
+    private static final double DEFAULT_USAGE_RATIO = 0.85;
+
+    /**
+     * the lowest part of the pool the threshold may be lowered to, whatever free memory is asked for.
+     */
+    private static final double MIN_USAGE_RATIO = 0.5;
+
+    private static final MemoryPressureMonitor INSTANCE = new MemoryPressureMonitor();
+
+    private final MemoryPoolMXBean tenuredPool;
+
+    private final List<WeakReference<Listener>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean underPressure;
+
+    private MemoryPressureMonitor() {
+        // the tenured pool is the only heap pool which supports a usage threshold, the eden and survivor pools do not.
+        this.tenuredPool = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+                        && pool.isCollectionUsageThresholdSupported() && pool.getUsage().getMax() > 0)
+                .findFirst()
+                .orElse(null);
+        if (Objects.isNull(tenuredPool)) {
+            LOG.warn("no tenured heap pool supports a collection usage threshold, the memory pressure is not watched");
+            return;
+        }
+        if (tenuredPool.getCollectionUsageThreshold() == 0) {
+            tenuredPool.setCollectionUsageThreshold((long) (tenuredPool.getUsage().getMax() * DEFAULT_USAGE_RATIO));
+        }
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this::handleNotification, null, null);
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static MemoryPressureMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ask the tenured pool to keep at least the free memory after a collection, the largest free memory asked for wins.
+     * The threshold is not lowered below half of the pool, so a small heap is not under pressure all the time.
+     *
+     * @param minFreeMemory the free memory in bytes
+     */
+    public synchronized void keepFreeMemory(final long minFreeMemory) {
+        if (Objects.isNull(tenuredPool)) {
+            return;
+        }
+        long max = tenuredPool.getUsage().getMax();
+        long threshold = Math.max(max - minFreeMemory, (long) (max * MIN_USAGE_RATIO));
+        if (threshold < tenuredPool.getCollectionUsageThreshold()) {
+            tenuredPool.setCollectionUsageThreshold(threshold);
+        }
+    }
+
+    /**
+     * Register a listener, it is only weakly referenced so an unused cache can still be collected.
+     *
+     * @param listener the listener
+     */
+    public void register(final Listener listener) {
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    /**
+     * Whether the last collection left less free memory than the threshold allows.
+     *
+     * @return true when under pressure
+     */
+    public boolean isUnderPressure() {
+        if (underPressure && !tenuredPool.isCollectionUsageThresholdExceeded()) {
+            underPressure = false;
+        }
+        return underPressure;
+    }
+
+    private void handleNotification(final Notification notification, final Object handback) {
+        if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            return;
+        }
+        underPressure = true;
+        LOG.warn("the heap usage after the garbage collection exceeds the threshold, the caches are shrunk");
+        notifyListeners();
+    }
+
+    /**
+     * Tell the listeners to give memory back.
+     */
+    void notifyListeners() {
+        for (WeakReference<Listener> reference : listeners) {
+            Listener listener = reference.get();
+            if (Objects.isNull(listener)) {
+                listeners.remove(reference);
+                continue;
+            }
+            try {
+                listener.onMemoryPressure();
+            } catch (RuntimeException e) {
+                LOG.error("the memory pressure listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * The memory pressure listener.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after a collection left less free memory than the threshold allows.
+         */
+        void onMemoryPressure();
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A thread safe bounded map with the W-TinyLFU policy, split into segments which are locked separately.
+ * In each segment a new entry first enters a small LRU window, and when the window is full its eldest entry
+ * may only replace the eldest entry of the main LRU if it was used more often, as counted by a frequency sketch,
+ * so a burst of keys seen once can not flush the keys used all the time.
+ * The map is bounded by the entry count and by the estimated weight of the entries, and it gives half of the entries
+ * back when the {@linkplain MemoryPressureMonitor} reports that a collection left too little free memory.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class WindowTinyLfuMap<K, V> extends AbstractMap<K, V> implements MemoryPressureMonitor.Listener {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_CAPACITY = 32;
+
+    /**
+     * the part of a segment used by the window.
+     */
+    private static final double WINDOW_RATIO = 0.01;
+
+    private final Segment<K, V>[] segments;
+
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Instantiates a new map bounded by the entry count.
+     *
+     * @param maximumSize the maximum number of entries
+     */
+    public WindowTinyLfuMap(final long maximumSize) {
+        this(maximumSize, Long.MAX_VALUE, (key, value) -> 1L);
+    }
+
+    /**
+     * Instantiates a new map bounded by the entry count and the estimated weight.
+     *
+     * @param maximumSize   the maximum number of entries
+     * @param maximumWeight the maximum total weight of the entries
+     * @param weigher       estimates the weight of an entry
+     */
+    @SuppressWarnings("unchecked")
+    public WindowTinyLfuMap(final long maximumSize, final long maximumWeight, final ToLongBiFunction<K, V> weigher) {
+        if (maximumSize <= 0 || maximumWeight <= 0) {
+            throw new IllegalArgumentException("the maximum size and weight must be positive");
+        }
+        int count = 1;
+        while (count < MAX_SEGMENTS && (long) count * 2 * MIN_SEGMENT_CAPACITY <= maximumSize) {
+            count <<= 1;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>((int) Math.min(Integer.MAX_VALUE, divideUp(maximumSize, count)), divideUp(maximumWeight, count));
+        }
+        this.weigher = weigher;
+        MemoryPressureMonitor.getInstance().register(this);
+    }
+
+    @Override
+    public V get(final Object key) {
+        V value = segment(key).get(key);
+        if (Objects.isNull(value)) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return segment(key).containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long weight = Math.max(0L, weigher.applyAsLong(key, value));
+        boolean pressure = MemoryPressureMonitor.getInstance().isUnderPressure();
+        return ((Segment<K, V>) segment(key)).put(key, value, weight, pressure, evictionCount);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return segment(key).remove(key);
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * A snapshot of the entries, changing it does not change the map.
+     *
+     * @return the entries
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = new HashSet<>();
+        for (Segment<K, V> segment : segments) {
+            segment.collect(entries);
+        }
+        return entries;
+    }
+
+    @Override
+    public void onMemoryPressure() {
+        for (Segment<K, V> segment : segments) {
+            segment.shrink(evictionCount);
+        }
+    }
+
+    /**
+     * The number of lookups which found a value.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * The number of lookups which found nothing.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * The number of entries evicted by the size, the weight or the memory pressure.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * The total estimated weight of the entries.
+     *
+     * @return the weight
+     */
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    private Segment<K, V> segment(final Object key) {
+        return segments[spread(key.hashCode()) & (segments.length - 1)];
+    }
+
+    private static long divideUp(final long dividend, final int divisor) {
+        return dividend / divisor + (dividend % divisor == 0 ? 0 : 1);
+    }
+
+    private static int spread(final int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node<V> {
+
+        private V value;
+
+        private long weight;
+
+        private Node(final V value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private final int windowCapacity;
+
+        private final int mainCapacity;
+
+        private final long maximumWeight;
+
+        private final Map<Object, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final Map<Object, Node<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final FrequencySketch sketch;
+
+        private long weight;
+
+        private Segment(final int capacity, final long maximumWeight) {
+            this.windowCapacity = Math.max(1, (int) (capacity * WINDOW_RATIO));
+            this.mainCapacity = Math.max(1, capacity - windowCapacity);
+            this.maximumWeight = maximumWeight;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        private synchronized V get(final Object key) {
+            sketch.increment(key);
+            Node<V> node = window.get(key);
+            if (Objects.isNull(node)) {
+                node = main.get(key);
+            }
+            return Objects.isNull(node) ? null : node.value;
+        }
+
+        private synchronized boolean containsKey(final Object key) {
+            return window.containsKey(key) || main.containsKey(key);
+        }
+
+        private synchronized V put(final K key, final V value, final long entryWeight, final boolean pressure, final LongAdder evictionCount) {
+            sketch.increment(key);
+            Node<V> node = window.get(key);
+            if (Objects.isNull(node)) {
+                node = main.get(key);
+            }
+            if (Objects.nonNull(node)) {
+                weight += entryWeight - node.weight;
+                final V old = node.value;
+                node.value = value;
+                node.weight = entryWeight;
+                evictByWeight(evictionCount);
+                return old;
+            }
+            if (pressure && size() > 0) {
+                // do not grow while the heap is short of memory, like an LRU map which is full.
+                evictEldest(evictionCount);
+            }
+            window.put(key, new Node<>(value, entryWeight));
+            weight += entryWeight;
+            if (window.size() > windowCapacity) {
+                Iterator<Map.Entry<Object, Node<V>>> iterator = window.entrySet().iterator();
+                Map.Entry<Object, Node<V>> candidate = iterator.next();
+                iterator.remove();
+                admit(candidate, evictionCount);
+            }
+            evictByWeight(evictionCount);
+            return null;
+        }
+
+        private void admit(final Map.Entry<Object, Node<V>> candidate, final LongAdder evictionCount) {
+            if (main.size() < mainCapacity) {
+                main.put(candidate.getKey(), candidate.getValue());
+                return;
+            }
+            Iterator<Map.Entry<Object, Node<V>>> iterator = main.entrySet().iterator();
+            Map.Entry<Object, Node<V>> victim = iterator.next();
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                iterator.remove();
+                weight -= victim.getValue().weight;
+                main.put(candidate.getKey(), candidate.getValue());
+            } else {
+                weight -= candidate.getValue().weight;
+            }
+            evictionCount.increment();
+        }
+
+        private void evictByWeight(final LongAdder evictionCount) {
+            while (weight > maximumWeight && size() > 0) {
+                evictEldest(evictionCount);
+            }
+        }
+
+        private void evictEldest(final LongAdder evictionCount) {
+            Map<Object, Node<V>> from = main.isEmpty() ? window : main;
+            Iterator<Map.Entry<Object, Node<V>>> iterator = from.entrySet().iterator();
+            weight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictionCount.increment();
+        }
+
+        private synchronized V remove(final Object key) {
+            Node<V> node = window.remove(key);
+            if (Objects.isNull(node)) {
+                node = main.remove(key);
+            }
+            if (Objects.isNull(node)) {
+                return null;
+            }
+            weight -= node.weight;
+            return node.value;
+        }
+
+        private synchronized void shrink(final LongAdder evictionCount) {
+            int target = size() / 2;
+            while (size() > target) {
+                evictEldest(evictionCount);
+            }
+        }
+
+        private synchronized int size() {
+            return window.size() + main.size();
+        }
+
+        private synchronized long weight() {
+            return weight;
+        }
+
+        private synchronized void clear() {
+            window.clear();
+            main.clear();
+            weight = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized void collect(final Set<Entry<K, V>> entries) {
+            window.forEach((key, node) -> entries.add(new SimpleImmutableEntry<>((K) key, node.value)));
+            main.forEach((key, node) -> entries.add(new SimpleImmutableEntry<>((K) key, node.value)));
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 bit counters, all the counters are halved once the sample is full so old popularity fades.
+     */
+    private static final class FrequencySketch {
+
+        private static final int MAX_COUNT = 15;
+
+        private static final int[] SEEDS = {0x97CB3127, 0x2A6C1F25, 0x6D5E0B49, 0xC3A5C85D};
+
+        private final byte[] table;
+
+        private final int mask;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        private FrequencySketch(final int capacity) {
+            int length = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 24)) - 1) << 1;
+            this.table = new byte[length];
+            this.mask = length - 1;
+            this.sampleSize = 10 * Math.max(capacity, 16);
+        }
+
+        private int frequency(final Object key) {
+            int hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int seed : SEEDS) {
+                frequency = Math.min(frequency, table[index(hash, seed)]);
+            }
+            return frequency;
+        }
+
+        private void increment(final Object key) {
+            int hash = key.hashCode();
+            int frequency = frequency(key);
+            if (frequency >= MAX_COUNT) {
+                return;
+            }
+            // conservative update, only the smallest counters grow.
+            for (int seed : SEEDS) {
+                int index = index(hash, seed);
+                if (table[index] == frequency) {
+                    table[index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (byte) (table[i] >>> 1);
+                }
+                additions /= 2;
+            }
+        }
+
+        private int index(final int hash, final int seed) {
+            int h = (hash ^ seed) * 0x9E3779B9;
+            return (h ^ (h >>> 15)) & mask;
+        }
+    }
+}
@@ -126,7 +126,12 @@ public class CTestInjector {
      * @param shenyuConfig The obejct waiting for update
      */
     public static void updateShenyuConfig(final ShenyuConfig shenyuConfig) {
-
+        switch (paramPath[pathIdx]) {
+            case "matchengine":
+                shenyuConfig.setMatchEngine(paramValue);
+                break;
+            default:
+        }
     }
     
     /**
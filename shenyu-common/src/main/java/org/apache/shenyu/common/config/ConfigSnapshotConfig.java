@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * The local config snapshot config, bound from {@code shenyu.configSnapshot}.
+ * The gateway loads the snapshot before the sync service connects to admin.
+ */
+public class ConfigSnapshotConfig {
+
+    /**
+     * whether to persist and load the config snapshot.
+     */
+    private Boolean enabled = false;
+
+    /**
+     * the snapshot file, it holds the synced config including the app secrets, so it is written readable by the owner only.
+     */
+    private String path = System.getProperty("user.home") + "/.shenyu/config.snapshot";
+
+    /**
+     * the interval in milliseconds to write the changed config to the snapshot file.
+     */
+    private Long flushInterval = 10000L;
+
+    /**
+     * Gets enabled.
+     *
+     * @return the enabled
+     */
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets enabled.
+     *
+     * @param enabled the enabled
+     */
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets path.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets path.
+     *
+     * @param path the path
+     */
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Gets flushInterval.
+     *
+     * @return the flushInterval
+     */
+    public Long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets flushInterval.
+     *
+     * @param flushInterval the flushInterval
+     */
+    public void setFlushInterval(final Long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
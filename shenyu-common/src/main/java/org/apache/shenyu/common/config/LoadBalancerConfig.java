@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * The load balancer config, bound from {@code shenyu.loadBalancer}.
+ */
+public class LoadBalancerConfig {
+
+    /**
+     * virtual node number of every upstream on the consistent hash ring.
+     */
+    private Integer hashVirtualNodeNum = 5;
+
+    /**
+     * bounded load factor of the consistent hash, such as 1.25, an upstream never takes more than
+     * factor times the average load of the current second, 0 means disabled.
+     */
+    private Double hashBalanceFactor = 0D;
+
+    /**
+     * Gets hashVirtualNodeNum.
+     *
+     * @return the hashVirtualNodeNum
+     */
+    public Integer getHashVirtualNodeNum() {
+        return hashVirtualNodeNum;
+    }
+
+    /**
+     * Sets hashVirtualNodeNum.
+     *
+     * @param hashVirtualNodeNum the hashVirtualNodeNum
+     */
+    public void setHashVirtualNodeNum(final Integer hashVirtualNodeNum) {
+        this.hashVirtualNodeNum = hashVirtualNodeNum;
+    }
+
+    /**
+     * Gets hashBalanceFactor.
+     *
+     * @return the hashBalanceFactor
+     */
+    public Double getHashBalanceFactor() {
+        return hashBalanceFactor;
+    }
+
+    /**
+     * Sets hashBalanceFactor.
+     *
+     * @param hashBalanceFactor the hashBalanceFactor
+     */
+    public void setHashBalanceFactor(final Double hashBalanceFactor) {
+        this.hashBalanceFactor = hashBalanceFactor;
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.shenyu.common.config;
 
 import org.apache.shenyu.common.concurrent.MemoryLimitCalculator;
+import org.apache.shenyu.common.enums.MatchEngineEnum;
 import org.springframework.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +51,8 @@ public class ShenyuConfig {
     private ExtPlugin extPlugin = new ExtPlugin();
 
     private MatchCache matchCache = new MatchCache();
+
+    private String matchEngine = MatchEngineEnum.LINEAR.getName();
     
     private Scheduler scheduler = new Scheduler();
     
@@ -293,6 +296,26 @@ public class ShenyuConfig {
         this.matchCache = matchCache;
     }
     
+    /**
+     * Gets match engine.
+     *
+     * @return the match engine
+     */
+    public String getMatchEngine() {
+        LOG.warn("[CTEST][GET-PARAM] matchengine" + getStackTrace());
+        return matchEngine;
+    }
+
+    /**
+     * Sets match engine.
+     *
+     * @param matchEngine the match engine
+     */
+    public void setMatchEngine(final String matchEngine) {
+        LOG.warn("[CTEST][SET-PARAM] matchengine" + getStackTrace());
+        this.matchEngine = matchEngine;
+    }
+    
     /**
      * Gets file.
      *
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * The probe config of the upstream health check, bound from {@code shenyu.upstreamCheck} next to {@link ShenyuConfig.UpstreamCheck}.
+ */
+public class UpstreamProbeConfig {
+
+    /**
+     * the upstream is checked by a http get on this path when it is set, otherwise by a tcp connect.
+     */
+    private String healthPath;
+
+    /**
+     * the max number of probes running at the same time.
+     */
+    private Integer maxInFlight = 512;
+
+    /**
+     * Gets health path.
+     *
+     * @return the health path
+     */
+    public String getHealthPath() {
+        return healthPath;
+    }
+
+    /**
+     * Sets health path.
+     *
+     * @param healthPath the health path
+     */
+    public void setHealthPath(final String healthPath) {
+        this.healthPath = healthPath;
+    }
+
+    /**
+     * Gets max in flight.
+     *
+     * @return the max in flight
+     */
+    public Integer getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets max in flight.
+     *
+     * @param maxInFlight the max in flight
+     */
+    public void setMaxInFlight(final Integer maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
@@ -137,6 +137,11 @@ public interface Constants {
      */
     String PARAM_TRANSFORM = "param_transform";
 
+    /**
+     * The constant PARAM_TRANSFORM_BODY, the raw json body kept for the rpc which binds it by itself.
+     */
+    String PARAM_TRANSFORM_BODY = "param_transform_body";
+
     /**
      * The constant DECODE.
      */
@@ -207,6 +212,16 @@ public interface Constants {
      */
     String SIGN_VALUE_IS_ERROR = "signature value is error!";
 
+    /**
+     * The constant SIGN_IS_REPLAYED.
+     */
+    String SIGN_IS_REPLAYED = "the signature has been used!";
+
+    /**
+     * The constant SIGN_TIME_IS_AHEAD.
+     */
+    String SIGN_TIME_IS_AHEAD = "the signature timestamp is ahead of the current time!";
+
     /**
      * The constant TIMESTAMP.
      */
@@ -602,6 +617,11 @@ public interface Constants {
      */
     String SHENYU_ADMIN_PATH_CONFIGS_LISTENER = "/configs/listener";
 
+    /**
+     * shenyu admin path configs delta.
+     */
+    String SHENYU_ADMIN_PATH_CONFIGS_DELTA = "/configs/delta";
+
     /**
      * zombie removal times.
      */
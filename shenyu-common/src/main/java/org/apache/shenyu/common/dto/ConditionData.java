@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Objects;
 
 /**
@@ -46,6 +48,18 @@ public class ConditionData {
      */
     private String paramValue;
 
+    /**
+     * trimmed param value, cached on the gateway and never serialized.
+     */
+    @JsonIgnore
+    private transient String trimmedParamValue;
+
+    /**
+     * compiled param value, such as a regex or path pattern, cached on the gateway and never serialized.
+     */
+    @JsonIgnore
+    private transient Object compiledParamValue;
+
     /**
      * get paramType.
      *
@@ -62,6 +76,7 @@ public class ConditionData {
      */
     public void setParamType(final String paramType) {
         this.paramType = paramType;
+        this.compiledParamValue = null;
     }
 
     /**
@@ -80,6 +95,7 @@ public class ConditionData {
      */
     public void setOperator(final String operator) {
         this.operator = operator;
+        this.compiledParamValue = null;
     }
 
     /**
@@ -116,6 +132,46 @@ public class ConditionData {
      */
     public void setParamValue(final String paramValue) {
         this.paramValue = paramValue;
+        this.trimmedParamValue = null;
+        this.compiledParamValue = null;
+    }
+
+    /**
+     * get trimmed paramValue, fall back to trim the paramValue if it is not cached.
+     *
+     * @return trimmed paramValue
+     */
+    @JsonIgnore
+    public String getTrimmedParamValue() {
+        return Objects.nonNull(trimmedParamValue) ? trimmedParamValue : paramValue.trim();
+    }
+
+    /**
+     * set trimmed paramValue.
+     *
+     * @param trimmedParamValue trimmed paramValue
+     */
+    public void setTrimmedParamValue(final String trimmedParamValue) {
+        this.trimmedParamValue = trimmedParamValue;
+    }
+
+    /**
+     * get compiled paramValue.
+     *
+     * @return compiled paramValue, null if it is not compiled
+     */
+    @JsonIgnore
+    public Object getCompiledParamValue() {
+        return compiledParamValue;
+    }
+
+    /**
+     * set compiled paramValue.
+     *
+     * @param compiledParamValue compiled paramValue
+     */
+    public void setCompiledParamValue(final Object compiledParamValue) {
+        this.compiledParamValue = compiledParamValue;
     }
 
     @Override
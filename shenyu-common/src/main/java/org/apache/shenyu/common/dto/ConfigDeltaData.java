@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The changes of the admin change log since a client revision.
+ * When {@code full} is true the client revision is out of the change log window and the client must fetch the full config.
+ */
+public class ConfigDeltaData {
+
+    /**
+     * the epoch of the admin change log, a new epoch is generated each time the admin starts.
+     */
+    private String epoch;
+
+    /**
+     * the latest revision included in this delta.
+     */
+    private long revision;
+
+    /**
+     * whether the client must fall back to a full snapshot.
+     */
+    private boolean full;
+
+    /**
+     * the md5 and last modify time of each group, the data of the {@link ConfigData} is always empty.
+     */
+    private Map<String, ConfigData<?>> groups;
+
+    /**
+     * the changes in revision order.
+     */
+    private List<WebsocketData<?>> changes;
+
+    /**
+     * no args constructor.
+     */
+    public ConfigDeltaData() {
+    }
+
+    /**
+     * all args constructor.
+     *
+     * @param epoch    epoch
+     * @param revision revision
+     * @param full     full
+     * @param groups   groups
+     * @param changes  changes
+     */
+    public ConfigDeltaData(final String epoch, final long revision, final boolean full,
+                           final Map<String, ConfigData<?>> groups, final List<WebsocketData<?>> changes) {
+        this.epoch = epoch;
+        this.revision = revision;
+        this.full = full;
+        this.groups = groups;
+        this.changes = changes;
+    }
+
+    /**
+     * get epoch.
+     *
+     * @return epoch
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * set epoch.
+     *
+     * @param epoch epoch
+     */
+    public void setEpoch(final String epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * get revision.
+     *
+     * @return revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * set revision.
+     *
+     * @param revision revision
+     */
+    public void setRevision(final long revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * get full.
+     *
+     * @return full
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * set full.
+     *
+     * @param full full
+     */
+    public void setFull(final boolean full) {
+        this.full = full;
+    }
+
+    /**
+     * get groups.
+     *
+     * @return groups
+     */
+    public Map<String, ConfigData<?>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * set groups.
+     *
+     * @param groups groups
+     */
+    public void setGroups(final Map<String, ConfigData<?>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * get changes.
+     *
+     * @return changes
+     */
+    public List<WebsocketData<?>> getChanges() {
+        return changes;
+    }
+
+    /**
+     * set changes.
+     *
+     * @param changes changes
+     */
+    public void setChanges(final List<WebsocketData<?>> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConfigDeltaData that = (ConfigDeltaData) o;
+        return revision == that.revision && full == that.full && Objects.equals(epoch, that.epoch)
+                && Objects.equals(groups, that.groups) && Objects.equals(changes, that.changes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(epoch, revision, full, groups, changes);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDeltaData{"
+                + "epoch='"
+                + epoch
+                + '\''
+                + ", revision="
+                + revision
+                + ", full="
+                + full
+                + ", changes="
+                + (Objects.isNull(changes) ? 0 : changes.size())
+                + '}';
+    }
+}
@@ -29,6 +29,8 @@ public class GrpcRegisterConfig implements Serializable {
 
     private String threadpool;
 
+    private String descriptorSet;
+
     /**
      * get threadpool.
      *
@@ -47,6 +49,24 @@ public class GrpcRegisterConfig implements Serializable {
         this.threadpool = threadpool;
     }
 
+    /**
+     * get descriptorSet.
+     *
+     * @return the base64 encoded protobuf file descriptor set
+     */
+    public String getDescriptorSet() {
+        return descriptorSet;
+    }
+
+    /**
+     * set descriptorSet.
+     *
+     * @param descriptorSet the base64 encoded protobuf file descriptor set
+     */
+    public void setDescriptorSet(final String descriptorSet) {
+        this.descriptorSet = descriptorSet;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -56,12 +76,12 @@ public class GrpcRegisterConfig implements Serializable {
             return false;
         }
         GrpcRegisterConfig that = (GrpcRegisterConfig) o;
-        return Objects.equals(threadpool, that.threadpool);
+        return Objects.equals(threadpool, that.threadpool) && Objects.equals(descriptorSet, that.descriptorSet);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(threadpool);
+        return Objects.hash(threadpool, descriptorSet);
     }
 
     @Override
@@ -70,6 +90,9 @@ public class GrpcRegisterConfig implements Serializable {
                 + "threadpool='"
                 + threadpool
                 + '\''
+                + ", descriptorSet='"
+                + descriptorSet
+                + '\''
                 + '}';
     }
 }
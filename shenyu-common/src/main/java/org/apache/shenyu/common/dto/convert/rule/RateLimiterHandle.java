@@ -54,6 +54,21 @@ public class RateLimiterHandle {
      */
     private String keyResolverName;
 
+    /**
+     * serve decisions from tokens leased in batches from redis, only for the token bucket algorithm.
+     */
+    private boolean leaseEnabled;
+
+    /**
+     * the max part of the burst capacity one gateway may lease at once, bounds the tokens a node holds.
+     */
+    private double maxLeaseRatio = 0.1;
+
+    /**
+     * milliseconds a leased token is valid, unused tokens are dropped after it.
+     */
+    private long leaseTtl = 1000L;
+
     /**
      * get algorithmName.
      *
@@ -162,6 +177,60 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get leaseEnabled.
+     *
+     * @return leaseEnabled
+     */
+    public boolean isLeaseEnabled() {
+        return leaseEnabled;
+    }
+
+    /**
+     * set leaseEnabled.
+     *
+     * @param leaseEnabled leaseEnabled
+     */
+    public void setLeaseEnabled(final boolean leaseEnabled) {
+        this.leaseEnabled = leaseEnabled;
+    }
+
+    /**
+     * get maxLeaseRatio.
+     *
+     * @return maxLeaseRatio
+     */
+    public double getMaxLeaseRatio() {
+        return maxLeaseRatio;
+    }
+
+    /**
+     * set maxLeaseRatio.
+     *
+     * @param maxLeaseRatio maxLeaseRatio
+     */
+    public void setMaxLeaseRatio(final double maxLeaseRatio) {
+        this.maxLeaseRatio = maxLeaseRatio;
+    }
+
+    /**
+     * get leaseTtl.
+     *
+     * @return leaseTtl
+     */
+    public long getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    /**
+     * set leaseTtl.
+     *
+     * @param leaseTtl leaseTtl
+     */
+    public void setLeaseTtl(final long leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -173,12 +242,13 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && leaseEnabled == that.leaseEnabled && Double.compare(that.maxLeaseRatio, maxLeaseRatio) == 0 && leaseTtl == that.leaseTtl;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, leaseEnabled, maxLeaseRatio, leaseTtl);
     }
 
     @Override
@@ -198,6 +268,12 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", leaseEnabled="
+                + leaseEnabled
+                + ", maxLeaseRatio="
+                + maxLeaseRatio
+                + ", leaseTtl="
+                + leaseTtl
                 + '}';
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for WindowTinyLfuMap.
+ */
+public class WindowTinyLfuMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        WindowTinyLfuMap<String, String> map = new WindowTinyLfuMap<>(16);
+        Assert.assertNull(map.put("1", "1"));
+        Assert.assertEquals("1", map.put("1", "2"));
+        Assert.assertEquals("2", map.get("1"));
+        Assert.assertNull(map.get("2"));
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(1, map.hitCount());
+        Assert.assertEquals(1, map.missCount());
+        Assert.assertEquals("2", map.remove("1"));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testMaximumSize() {
+        WindowTinyLfuMap<Integer, Integer> map = new WindowTinyLfuMap<>(100);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Assert.assertTrue(map.size() <= 100);
+        Assert.assertEquals(1000 - map.size(), map.evictionCount());
+    }
+
+    @Test
+    public void testFrequentKeysSurvive() {
+        WindowTinyLfuMap<Integer, Integer> map = new WindowTinyLfuMap<>(64);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        for (int i = 100; i < 10000; i++) {
+            // a scan of keys seen once, while the first keys are still read.
+            map.get(i % 10);
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void testMaximumWeight() {
+        WindowTinyLfuMap<String, String> map = new WindowTinyLfuMap<>(1024, 100, (key, value) -> value.length());
+        for (int i = 0; i < 100; i++) {
+            map.put(String.valueOf(i), "0123456789");
+        }
+        Assert.assertTrue(map.weightedSize() <= 100 + 10);
+        Assert.assertEquals(map.size() * 10L, map.weightedSize());
+    }
+
+    @Test
+    public void testMemoryPressure() {
+        WindowTinyLfuMap<Integer, Integer> map = new WindowTinyLfuMap<>(1024);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        MemoryPressureMonitor.getInstance().notifyListeners();
+        Assert.assertTrue(map.size() <= 64);
+        Assert.assertEquals(100 - map.size(), map.evictionCount());
+    }
+}
@@ -33,8 +33,10 @@ public class GrpcRegisterConfigTest {
     public void testGetterSetter() {
         GrpcRegisterConfig config = new GrpcRegisterConfig();
         config.setThreadpool("threadPool");
+        config.setDescriptorSet("descriptorSet");
         
         assertThat(config.getThreadpool(), is("threadPool"));
+        assertThat(config.getDescriptorSet(), is("descriptorSet"));
     }
     
     @Test
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor.strategy;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait strategy which spins, then parks the consumer for a short period, and times out after the given timeout.
+ * It is lock free on the publish side, unlike the blocking strategies, and the timeout lets a
+ * {@linkplain com.lmax.disruptor.TimeoutHandler} flush a partial batch.
+ */
+public final class ParkingTimeoutWaitStrategy implements WaitStrategy {
+
+    private static final int DEFAULT_RETRIES = 100;
+
+    private static final long DEFAULT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final long timeoutNanos;
+
+    private final int retries;
+
+    private final long parkNanos;
+
+    /**
+     * Instantiates a new parking timeout wait strategy.
+     *
+     * @param timeout the timeout
+     * @param unit    the time unit
+     */
+    public ParkingTimeoutWaitStrategy(final long timeout, final TimeUnit unit) {
+        this(timeout, unit, DEFAULT_RETRIES, DEFAULT_PARK_NANOS);
+    }
+
+    /**
+     * Instantiates a new parking timeout wait strategy.
+     *
+     * @param timeout   the timeout
+     * @param unit      the time unit
+     * @param retries   the spin times before park
+     * @param parkNanos the nanos of one park
+     */
+    public ParkingTimeoutWaitStrategy(final long timeout, final TimeUnit unit, final int retries, final long parkNanos) {
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.retries = retries;
+        this.parkNanos = parkNanos;
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence,
+                        final SequenceBarrier barrier) throws AlertException, TimeoutException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        int counter = retries;
+        long availableSequence;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+            if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw TimeoutException.INSTANCE;
+                }
+                LockSupport.parkNanos(parkNanos);
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // consumers are never blocked on a lock
+    }
+}
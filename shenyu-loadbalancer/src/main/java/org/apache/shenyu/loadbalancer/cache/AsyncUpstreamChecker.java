@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.constant.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking upstream checker, all probes are driven by one selector thread.
+ * A probe is a tcp connect, followed by a http get on the health path when it is set.
+ * The probes over {@code maxInFlight} wait in a queue and start when a running one finishes.
+ * The host names are resolved by a small resolver pool, so neither the caller nor the selector thread waits on dns.
+ */
+public final class AsyncUpstreamChecker implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncUpstreamChecker.class);
+
+    private static final String HTTP = "http";
+
+    private static final String HTTPS = "https";
+
+    private static final int STATUS_LINE_LENGTH = 12;
+
+    private static final int RESOLVER_THREADS = 4;
+
+    private final int timeout;
+
+    private final int maxInFlight;
+
+    private final String healthPath;
+
+    private final Selector selector;
+
+    private final ThreadPoolExecutor resolver;
+
+    private final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Running probes in start order, as they share one timeout it is also the deadline order.
+     */
+    private final Deque<Probe> active = new ArrayDeque<>();
+
+    private final AtomicLong probeCount = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    private volatile int inFlight;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new async upstream checker.
+     *
+     * @param timeout     the timeout of one probe in milliseconds
+     * @param maxInFlight the max number of running probes
+     * @param healthPath  the http health path, tcp connect only if blank
+     */
+    public AsyncUpstreamChecker(final int timeout, final int maxInFlight, final String healthPath) {
+        this.timeout = timeout;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.healthPath = StringUtils.isBlank(healthPath) ? null
+                : healthPath.startsWith(Constants.PATH_SEPARATOR) ? healthPath : Constants.PATH_SEPARATOR + healthPath;
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("open selector for upstream health check fail", e);
+        }
+        this.resolver = new ThreadPoolExecutor(RESOLVER_THREADS, RESOLVER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ShenyuThreadFactory.create("upstream-health-check-resolver", true));
+        this.resolver.allowCoreThreadTimeOut(true);
+        ShenyuThreadFactory.create("upstream-health-check-io", true).newThread(this::loop).start();
+    }
+
+    /**
+     * Check the url.
+     *
+     * @param url the upstream url
+     * @return the future completed with true if the upstream is alive
+     */
+    public CompletableFuture<Boolean> check(final String url) {
+        if (StringUtils.isBlank(url) || !running) {
+            return CompletableFuture.completedFuture(false);
+        }
+        final Probe probe;
+        try {
+            probe = createProbe(url.trim());
+        } catch (RuntimeException e) {
+            LOG.error("[Health Check] parse upstream url {} error.", url, e);
+            return CompletableFuture.completedFuture(false);
+        }
+        try {
+            resolver.execute(() -> resolve(probe));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return probe.future;
+    }
+
+    /**
+     * Get the number of running probes.
+     *
+     * @return the in flight count
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Get the number of finished probes.
+     *
+     * @return the probe count
+     */
+    public long getProbeCount() {
+        return probeCount.get();
+    }
+
+    /**
+     * Get the number of failed probes, including the timed out ones.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Get the number of timed out probes.
+     *
+     * @return the timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        resolver.shutdown();
+        selector.wakeup();
+    }
+
+    private Probe createProbe(final String url) {
+        String authority = url.startsWith(HTTP) ? StringUtils.substringAfter(url, "//") : url;
+        authority = StringUtils.substringBefore(authority, Constants.PATH_SEPARATOR).trim();
+        String host;
+        String port;
+        if (authority.startsWith("[")) {
+            // ipv6 literal, such as [::1]:8080
+            host = StringUtils.substringBetween(authority, "[", "]");
+            port = StringUtils.substringAfter(StringUtils.substringAfter(authority, "]"), Constants.COLONS);
+        } else if (StringUtils.countMatches(authority, Constants.COLONS) > 1) {
+            // ipv6 literal without a port
+            host = authority;
+            port = null;
+        } else {
+            host = StringUtils.substringBefore(authority, Constants.COLONS);
+            port = StringUtils.substringAfter(authority, Constants.COLONS);
+        }
+        if (StringUtils.isBlank(host)) {
+            throw new IllegalArgumentException("no host in " + url);
+        }
+        boolean https = url.startsWith(HTTPS);
+        int defaultPort = https ? 443 : 80;
+        InetSocketAddress address = InetSocketAddress.createUnresolved(host.trim(), StringUtils.isBlank(port) ? defaultPort : Integer.parseInt(port.trim()));
+        ByteBuffer request = null;
+        // https upstreams are only checked by tcp connect, a tls handshake is not worth it here.
+        if (healthPath != null && !https) {
+            String hostHeader = address.getHostString().contains(Constants.COLONS) ? "[" + address.getHostString() + "]" : address.getHostString();
+            String text = "GET " + healthPath + " HTTP/1.1\r\nHost: " + hostHeader + ":" + address.getPort()
+                    + "\r\nUser-Agent: shenyu-health-check\r\nConnection: close\r\n\r\n";
+            request = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        }
+        return new Probe(address, request);
+    }
+
+    private void resolve(final Probe probe) {
+        // runs on the resolver pool, the lookup may block on dns.
+        InetSocketAddress address = new InetSocketAddress(probe.address.getHostString(), probe.address.getPort());
+        if (address.isUnresolved() || !running) {
+            probeCount.incrementAndGet();
+            failureCount.incrementAndGet();
+            probe.future.complete(false);
+            return;
+        }
+        probe.address = address;
+        pending.offer(probe);
+        selector.wakeup();
+        if (!running && pending.remove(probe)) {
+            probe.future.complete(false);
+        }
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                try {
+                    startPending();
+                    Probe head = active.peek();
+                    if (head == null) {
+                        selector.select();
+                    } else {
+                        selector.select(Math.max(1, head.deadline - System.currentTimeMillis()));
+                    }
+                    processSelectedKeys();
+                    expire();
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("[Health Check] io loop meet problem: ", e);
+                }
+            }
+        } finally {
+            Probe probe;
+            while ((probe = active.poll()) != null) {
+                finish(probe, false);
+            }
+            while ((probe = pending.poll()) != null) {
+                probe.future.complete(false);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+        }
+    }
+
+    private void startPending() {
+        Probe probe;
+        while (inFlight < maxInFlight && (probe = pending.poll()) != null) {
+            start(probe);
+        }
+    }
+
+    private void start(final Probe probe) {
+        inFlight++;
+        probe.deadline = System.currentTimeMillis() + timeout;
+        active.offer(probe);
+        try {
+            probe.channel = SocketChannel.open();
+            probe.channel.configureBlocking(false);
+            if (probe.channel.connect(probe.address)) {
+                onConnected(probe);
+            } else {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+        } catch (IOException e) {
+            finish(probe, false);
+        }
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            Probe probe = (Probe) key.attachment();
+            if (!key.isValid() || probe.done) {
+                continue;
+            }
+            try {
+                if (key.isConnectable()) {
+                    if (probe.channel.finishConnect()) {
+                        onConnected(probe);
+                    }
+                } else if (key.isWritable()) {
+                    onWritable(probe);
+                } else if (key.isReadable()) {
+                    onReadable(probe);
+                }
+            } catch (IOException e) {
+                finish(probe, false);
+            }
+        }
+    }
+
+    private void onConnected(final Probe probe) throws IOException {
+        if (probe.buffer == null) {
+            finish(probe, true);
+            return;
+        }
+        probe.channel.register(selector, SelectionKey.OP_WRITE, probe);
+    }
+
+    private void onWritable(final Probe probe) throws IOException {
+        probe.channel.write(probe.buffer);
+        if (!probe.buffer.hasRemaining()) {
+            probe.buffer = ByteBuffer.allocate(STATUS_LINE_LENGTH);
+            probe.channel.register(selector, SelectionKey.OP_READ, probe);
+        }
+    }
+
+    private void onReadable(final Probe probe) throws IOException {
+        int read = probe.channel.read(probe.buffer);
+        if (read < 0 || !probe.buffer.hasRemaining()) {
+            finish(probe, isSuccessStatus(probe.buffer));
+        }
+    }
+
+    private boolean isSuccessStatus(final ByteBuffer buffer) {
+        // status line: HTTP/1.1 200 OK
+        if (buffer.position() < STATUS_LINE_LENGTH) {
+            return false;
+        }
+        String statusLine = new String(buffer.array(), 0, STATUS_LINE_LENGTH, StandardCharsets.US_ASCII);
+        if (!statusLine.startsWith("HTTP/")) {
+            return false;
+        }
+        char first = statusLine.charAt(STATUS_LINE_LENGTH - 3);
+        return first == '2' || first == '3';
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        Probe probe;
+        while ((probe = active.peek()) != null) {
+            if (!probe.done && probe.deadline > now) {
+                return;
+            }
+            active.poll();
+            if (!probe.done) {
+                timeoutCount.incrementAndGet();
+                finish(probe, false);
+            }
+        }
+    }
+
+    private void finish(final Probe probe, final boolean pass) {
+        if (probe.done) {
+            return;
+        }
+        probe.done = true;
+        inFlight--;
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+        }
+        probeCount.incrementAndGet();
+        if (!pass) {
+            failureCount.incrementAndGet();
+        }
+        probe.future.complete(pass);
+    }
+
+    private static final class Probe {
+
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private InetSocketAddress address;
+
+        private ByteBuffer buffer;
+
+        private SocketChannel channel;
+
+        private long deadline;
+
+        private boolean done;
+
+        Probe(final InetSocketAddress address, final ByteBuffer buffer) {
+            this.address = address;
+            this.buffer = buffer;
+        }
+    }
+}
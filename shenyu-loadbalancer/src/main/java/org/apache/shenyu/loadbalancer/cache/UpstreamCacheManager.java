@@ -23,8 +23,10 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.config.ShenyuConfig.UpstreamCheck;
+import org.apache.shenyu.common.config.UpstreamProbeConfig;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 
 import java.util.List;
 import java.util.Map;
@@ -58,6 +60,10 @@ public final class UpstreamCacheManager {
 
     private int unhealthyThreshold;
 
+    private int maxInFlight;
+
+    private String healthPath;
+
     /**
      * healthy upstream print parameters.
      */
@@ -79,6 +85,9 @@ public final class UpstreamCacheManager {
         checkInterval = upstreamCheck.getInterval();
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
+        UpstreamProbeConfig probeConfig = Optional.ofNullable(Singleton.INST.get(UpstreamProbeConfig.class)).orElse(new UpstreamProbeConfig());
+        maxInFlight = probeConfig.getMaxInFlight();
+        healthPath = probeConfig.getHealthPath();
         createTask();
         scheduleHealthCheck();
     }
@@ -88,6 +97,8 @@ public final class UpstreamCacheManager {
         task.setCheckTimeout(checkTimeout);
         task.setHealthyThreshold(healthyThreshold);
         task.setUnhealthyThreshold(unhealthyThreshold);
+        task.setMaxInFlight(maxInFlight);
+        task.setHealthPath(healthPath);
     }
 
     private void scheduleHealthCheck() {
@@ -127,8 +138,11 @@ public final class UpstreamCacheManager {
      * @param key the key
      */
     public void removeByKey(final String key) {
-        UPSTREAM_MAP.remove(key);
+        List<Upstream> removedList = UPSTREAM_MAP.remove(key);
         task.triggerRemoveAll(key);
+        if (CollectionUtils.isNotEmpty(removedList)) {
+            LoadBalancerFactory.removeUpstream(removedList);
+        }
     }
 
     /**
@@ -141,14 +155,16 @@ public final class UpstreamCacheManager {
         List<Upstream> validUpstreamList = upstreamList.stream().filter(upstream -> upstream.isStatus()).collect(Collectors.toList());
         if (CollectionUtils.isNotEmpty(validUpstreamList)) {
             List<Upstream> existUpstream = UPSTREAM_MAP.computeIfAbsent(selectorId, k -> Lists.newArrayList());
-            existUpstream.stream().filter(upstream -> !validUpstreamList.contains(upstream))
-                    .forEach(upstream -> task.triggerRemoveOne(selectorId, upstream));
+            List<Upstream> removedList = existUpstream.stream().filter(upstream -> !validUpstreamList.contains(upstream)).collect(Collectors.toList());
+            removedList.forEach(upstream -> task.triggerRemoveOne(selectorId, upstream));
             validUpstreamList.stream().filter(upstream -> !existUpstream.contains(upstream))
                     .forEach(upstream -> task.triggerAddOne(selectorId, upstream));
             UPSTREAM_MAP.put(selectorId, validUpstreamList);
+            if (CollectionUtils.isNotEmpty(removedList)) {
+                LoadBalancerFactory.removeUpstream(removedList);
+            }
         } else {
-            UPSTREAM_MAP.remove(selectorId);
-            task.triggerRemoveAll(selectorId);
+            removeByKey(selectorId);
         }
     }
 }
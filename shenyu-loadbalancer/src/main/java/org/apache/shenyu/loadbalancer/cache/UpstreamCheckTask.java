@@ -22,7 +22,6 @@ import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +31,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -61,13 +59,21 @@ public final class UpstreamCheckTask implements Runnable {
 
     private final int checkInterval;
 
-    private ExecutorService executor;
+    private AsyncUpstreamChecker checker;
 
     private int checkTimeout = 3000;
 
+    private int maxInFlight = 512;
+
+    private String healthPath;
+
     private int healthyThreshold = 1;
 
     private int unhealthyThreshold = 1;
+
+    private volatile long lastCheckCost;
+
+    private volatile int lastCheckCount;
     
     /**
      * Instantiates a new Upstream check task.
@@ -96,9 +102,8 @@ public final class UpstreamCheckTask implements Runnable {
         new ScheduledThreadPoolExecutor(1, healthCheckFactory)
                 .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
 
-        // executor for async request, avoid request block health check thread
-        ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
-        executor = new ScheduledThreadPoolExecutor(10, requestFactory);
+        // non-blocking checker, avoid dead upstream block health check thread
+        checker = new AsyncUpstreamChecker(checkTimeout, maxInFlight, healthPath);
     }
     
     /**
@@ -110,6 +115,24 @@ public final class UpstreamCheckTask implements Runnable {
         this.checkTimeout = checkTimeout;
     }
     
+    /**
+     * Set max in flight probes.
+     *
+     * @param maxInFlight max in flight
+     */
+    public void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+    
+    /**
+     * Set health path, upstream is checked by a http get on it, tcp connect if blank.
+     *
+     * @param healthPath health path
+     */
+    public void setHealthPath(final String healthPath) {
+        this.healthPath = healthPath;
+    }
+    
     /**
      * Set healthy threshold.
      *
@@ -141,8 +164,14 @@ public final class UpstreamCheckTask implements Runnable {
              */
             synchronized (lock) {
                 if (tryStartHealthCheck()) {
+                    long start = System.currentTimeMillis();
                     doHealthCheck();
                     waitFinish();
+                    lastCheckCost = System.currentTimeMillis() - start;
+                    if (lastCheckCost > checkInterval) {
+                        LOG.warn("[Health Check] checked {} upstream in {}ms, longer than the check interval {}ms.",
+                                lastCheckCount, lastCheckCost, checkInterval);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -155,6 +184,7 @@ public final class UpstreamCheckTask implements Runnable {
     private void doHealthCheck() {
         check(healthyUpstream);
         check(unhealthyUpstream);
+        lastCheckCount = futures.size();
     }
 
     private void check(final Map<String, List<Upstream>> map) {
@@ -162,14 +192,12 @@ public final class UpstreamCheckTask implements Runnable {
             String key = entry.getKey();
             List<Upstream> value = entry.getValue();
             for (Upstream upstream : value) {
-                CompletableFuture<UpstreamWithSelectorId> future = CompletableFuture.supplyAsync(() -> check(key, upstream), executor);
-                futures.add(future);
+                futures.add(checker.check(upstream.getUrl()).thenApply(pass -> check(key, upstream, pass)));
             }
         }
     }
 
-    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
@@ -205,6 +233,7 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     private void waitFinish() throws ExecutionException, InterruptedException {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
         for (CompletableFuture<UpstreamWithSelectorId> future : futures) {
             UpstreamWithSelectorId entity = future.get();
             putEntityToMap(entity);
@@ -249,11 +278,20 @@ public final class UpstreamCheckTask implements Runnable {
         removeFromMap(unhealthyUpstream, selectorId, upstream);
     }
 
+    /**
+     * The lists are copied on write, the load balancers cache their state by list identity
+     * and the gateway threads read them without a lock.
+     */
     private void putToMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
-            List<Upstream> list = map.computeIfAbsent(selectorId, k -> Lists.newArrayList());
-            if (!list.contains(upstream)) {
-                list.add(upstream);
+            List<Upstream> list = map.get(selectorId);
+            if (Objects.isNull(list)) {
+                map.put(selectorId, Lists.newArrayList(upstream));
+            } else if (!list.contains(upstream)) {
+                List<Upstream> newList = Lists.newArrayListWithCapacity(list.size() + 1);
+                newList.addAll(list);
+                newList.add(upstream);
+                map.put(selectorId, newList);
             }
         }
     }
@@ -261,8 +299,10 @@ public final class UpstreamCheckTask implements Runnable {
     private void removeFromMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
             List<Upstream> list = map.get(selectorId);
-            if (CollectionUtils.isNotEmpty(list)) {
-                list.remove(upstream);
+            if (CollectionUtils.isNotEmpty(list) && list.contains(upstream)) {
+                List<Upstream> newList = Lists.newArrayList(list);
+                newList.remove(upstream);
+                map.put(selectorId, newList);
             }
         }
     }
@@ -285,6 +325,7 @@ public final class UpstreamCheckTask implements Runnable {
     public void print() {
         printHealthyUpstream();
         printUnhealthyUpstream();
+        printCheckMetrics();
     }
     
     private void printHealthyUpstream() {
@@ -305,6 +346,31 @@ public final class UpstreamCheckTask implements Runnable {
         });
     }
     
+    private void printCheckMetrics() {
+        if (Objects.nonNull(checker)) {
+            LOG.info("[Health Check] last round checked {} upstream in {}ms, probes: {}, failures: {}, timeouts: {}, in flight: {}",
+                    lastCheckCount, lastCheckCost, checker.getProbeCount(), checker.getFailureCount(), checker.getTimeoutCount(), checker.getInFlight());
+        }
+    }
+    
+    /**
+     * Get the cost of the last check round in milliseconds.
+     *
+     * @return last check cost
+     */
+    public long getLastCheckCost() {
+        return lastCheckCost;
+    }
+    
+    /**
+     * Get the number of upstream checked in the last round.
+     *
+     * @return last check count
+     */
+    public int getLastCheckCount() {
+        return lastCheckCount;
+    }
+    
     /**
      * Get healthy upstream map.
      *
@@ -42,4 +42,13 @@ public final class LoadBalancerFactory {
         LoadBalancer loadBalance = ExtensionLoader.getExtensionLoader(LoadBalancer.class).getJoin(algorithm);
         return loadBalance.select(upstreamList, ip);
     }
+
+    /**
+     * Remove upstream from every load balancer.
+     *
+     * @param removedList the upstreams removed from a selector
+     */
+    public static void removeUpstream(final List<Upstream> removedList) {
+        ExtensionLoader.getExtensionLoader(LoadBalancer.class).getJoins().forEach(loadBalancer -> loadBalancer.removeUpstream(removedList));
+    }
 }
@@ -18,6 +18,8 @@
 package org.apache.shenyu.loadbalancer.spi;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 
@@ -26,6 +28,11 @@ import org.apache.shenyu.loadbalancer.entity.Upstream;
  */
 public abstract class AbstractLoadBalancer implements LoadBalancer {
 
+    /**
+     * the upstream lists whose state is kept at most, all of it is dropped and rebuilt on use when there are more.
+     */
+    protected static final int MAX_CACHED_LIST_SIZE = 1024;
+
     /**
      * Do select upstream.
      *
@@ -46,6 +53,30 @@ public abstract class AbstractLoadBalancer implements LoadBalancer {
         return doSelect(upstreamList, ip);
     }
 
+    /**
+     * the cache key of an upstream list, two lists have the same key only if their urls and weights are the same in order.
+     *
+     * @param upstreamList the upstream list
+     * @return the cache key
+     */
+    protected static String cacheKey(final List<Upstream> upstreamList) {
+        StringBuilder key = new StringBuilder();
+        for (Upstream upstream : upstreamList) {
+            key.append(upstream.getUrl()).append('#').append(upstream.getWeight()).append(',');
+        }
+        return key.toString();
+    }
+
+    /**
+     * the urls of an upstream list.
+     *
+     * @param upstreamList the upstream list
+     * @return the urls
+     */
+    protected static Set<String> urls(final List<Upstream> upstreamList) {
+        return upstreamList.stream().map(Upstream::getUrl).collect(Collectors.toSet());
+    }
+
     protected int getWeight(final Upstream upstream) {
         if (!upstream.isStatus()) {
             return 0;
@@ -17,13 +17,19 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.IntStream;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.shenyu.common.config.LoadBalancerConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
@@ -34,12 +40,39 @@ import org.apache.shenyu.spi.Join;
 public class HashLoadBalancer extends AbstractLoadBalancer {
 
     /**
-     * virtual node used to solve unbalanced load.
+     * the bounded load window, in milliseconds.
      */
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private static final long LOAD_WINDOW = 1000L;
 
     /**
-     * consistent hash with virtual node to select upstream.
+     * urls and weights of an upstream list -> consistent hash ring, callers may pass a new but equal list on every call,
+     * so the ring is kept by content and rebuilt only when the upstreams change.
+     */
+    private final Map<String, HashRing> ringCache = new ConcurrentHashMap<>();
+
+    /**
+     * the fixed config, or null to read the {@linkplain LoadBalancerConfig} on every selection.
+     */
+    private final LoadBalancerConfig config;
+
+    /**
+     * Instantiates a new Hash load balancer with the {@linkplain LoadBalancerConfig}.
+     */
+    public HashLoadBalancer() {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new Hash load balancer.
+     *
+     * @param config the load balancer config
+     */
+    public HashLoadBalancer(final LoadBalancerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * consistent hash with virtual node to select upstream, the ring is rebuilt only when the upstream list changes.
      *
      * @param upstreamList the upstream list
      * @param ip           the ip
@@ -47,37 +80,154 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
      */
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
-        upstreamList.forEach(upstream -> IntStream.range(0, VIRTUAL_NODE_NUM).forEach(i -> {
-            long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i);
-            treeMap.put(addressHash, upstream);
-        }));
-        long hash = hash(ip);
-        SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        final LoadBalancerConfig loadBalancerConfig = Optional.ofNullable(config)
+                .orElseGet(() -> Optional.ofNullable(Singleton.INST.get(LoadBalancerConfig.class)).orElseGet(LoadBalancerConfig::new));
+        final int virtualNodeNum = Math.max(1, Optional.ofNullable(loadBalancerConfig.getHashVirtualNodeNum()).orElse(5));
+        final String key = cacheKey(upstreamList);
+        HashRing ring = ringCache.get(key);
+        if (Objects.isNull(ring) || ring.virtualNodeNum != virtualNodeNum) {
+            if (ringCache.size() >= MAX_CACHED_LIST_SIZE) {
+                ringCache.clear();
+            }
+            ring = new HashRing(upstreamList, virtualNodeNum);
+            ringCache.put(key, ring);
         }
-        return treeMap.firstEntry().getValue();
+        final double balanceFactor = Optional.ofNullable(loadBalancerConfig.getHashBalanceFactor()).orElse(0D);
+        return upstreamList.get(balanceFactor > 0 ? ring.selectBounded(hash(ip), balanceFactor) : ring.select(hash(ip)));
+    }
+
+    @Override
+    public void removeUpstream(final List<Upstream> removedList) {
+        final Set<String> removedUrls = urls(removedList);
+        ringCache.values().removeIf(ring -> ring.containsAny(removedUrls));
     }
 
+    /**
+     * murmur3 32-bit hash of the utf-16 chars.
+     *
+     * @param key the key
+     * @return the unsigned 32-bit hash
+     */
     private static long hash(final String key) {
-        // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+        final int length = key.length();
+        int h = 0;
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            h ^= mixK(key.charAt(i) | (key.charAt(i + 1) << 16));
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+        if (i < length) {
+            h ^= mixK(key.charAt(i));
+        }
+        h ^= length << 1;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & 0xffffffffL;
+    }
+
+    private static int mixK(final int k) {
+        return Integer.rotateLeft(k * 0xcc9e2d51, 15) * 0x1b873593;
+    }
+
+    /**
+     * The immutable consistent hash ring of an upstream list.
+     */
+    private static final class HashRing {
+
+        private final String[] urls;
+
+        private final int virtualNodeNum;
+
+        private final long[] nodeHashes;
+
+        private final int[] nodeUpstreams;
+
+        private final AtomicLongArray loads;
+
+        private final AtomicLong totalLoad = new AtomicLong();
+
+        private volatile long windowStart = System.currentTimeMillis();
+
+        HashRing(final List<Upstream> upstreamList, final int virtualNodeNum) {
+            this.urls = upstreamList.stream().map(Upstream::getUrl).toArray(String[]::new);
+            this.virtualNodeNum = virtualNodeNum;
+            this.loads = new AtomicLongArray(urls.length);
+            final SortedMap<Long, Integer> treeMap = new TreeMap<>();
+            for (int index = 0; index < urls.length; index++) {
+                for (int i = 0; i < virtualNodeNum; i++) {
+                    treeMap.put(hash("SHENYU-" + urls[index] + "-HASH-" + i), index);
+                }
+            }
+            this.nodeHashes = new long[treeMap.size()];
+            this.nodeUpstreams = new int[treeMap.size()];
+            int node = 0;
+            for (Map.Entry<Long, Integer> entry : treeMap.entrySet()) {
+                nodeHashes[node] = entry.getKey();
+                nodeUpstreams[node] = entry.getValue();
+                node++;
+            }
+        }
+
+        boolean containsAny(final Set<String> removedUrls) {
+            for (String url : urls) {
+                if (removedUrls.contains(url)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int select(final long hash) {
+            return nodeUpstreams[ceilingNode(hash)];
+        }
+
+        /**
+         * consistent hashing with bounded loads, walk clockwise until an upstream is under its capacity.
+         */
+        int selectBounded(final long hash, final double balanceFactor) {
+            rollWindow();
+            final long capacity = (long) Math.ceil(balanceFactor * (totalLoad.get() + 1) / urls.length);
+            final int start = ceilingNode(hash);
+            int selected = nodeUpstreams[start];
+            for (int i = 0; i < nodeHashes.length; i++) {
+                int index = nodeUpstreams[(start + i) % nodeHashes.length];
+                if (loads.get(index) < capacity) {
+                    selected = index;
+                    break;
+                }
+            }
+            loads.incrementAndGet(selected);
+            totalLoad.incrementAndGet();
+            return selected;
+        }
+
+        private int ceilingNode(final long hash) {
+            int node = Arrays.binarySearch(nodeHashes, hash);
+            if (node < 0) {
+                node = -node - 1;
+            }
+            return node < nodeHashes.length ? node : 0;
+        }
+
+        private void rollWindow() {
+            final long now = System.currentTimeMillis();
+            final long start = windowStart;
+            if (now - start < LOAD_WINDOW) {
+                return;
+            }
+            synchronized (this) {
+                if (windowStart != start) {
+                    return;
+                }
+                for (int i = 0; i < urls.length; i++) {
+                    loads.set(i, 0);
+                }
+                totalLoad.set(0);
+                windowStart = now;
+            }
         }
-        md5.reset();
-        byte[] keyBytes;
-        keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
-        // hash code, Truncate to 32-bits
-        long hashCode = (long) (digest[3] & 0xFF) << 24
-                | ((long) (digest[2] & 0xFF) << 16)
-                | ((long) (digest[1] & 0xFF) << 8)
-                | (digest[0] & 0xFF);
-        return hashCode & 0xffffffffL;
     }
 }
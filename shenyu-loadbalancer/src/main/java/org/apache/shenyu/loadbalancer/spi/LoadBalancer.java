@@ -36,4 +36,12 @@ public interface LoadBalancer {
      * @return upstream
      */
     Upstream select(List<Upstream> upstreamList, String ip);
+
+    /**
+     * drop what is kept for the upstream lists which contain any of the removed upstreams.
+     *
+     * @param removedList the upstreams removed from a selector
+     */
+    default void removeUpstream(final List<Upstream> removedList) {
+    }
 }
@@ -20,12 +20,14 @@ package org.apache.shenyu.loadbalancer.spi;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Round-robin load balance impl.
@@ -33,129 +35,172 @@ import java.util.concurrent.atomic.AtomicLong;
 @Join
 public class RoundRobinLoadBalancer extends AbstractLoadBalancer {
 
-    private final int recyclePeriod = 60000;
+    /**
+     * the max length of a precomputed schedule, larger weights are scaled down to fit.
+     */
+    private static final int MAX_SCHEDULE_LENGTH = 1 << 16;
 
-    private final ConcurrentMap<String, ConcurrentMap<String, WeightedRoundRobin>> methodWeightMap = new ConcurrentHashMap<>(16);
+    /**
+     * how often the schedule is rebuilt while an upstream is warming up, in milliseconds.
+     */
+    private static final long WARMUP_REBUILD_INTERVAL = 1000L;
 
-    private final AtomicBoolean updateLock = new AtomicBoolean();
+    /**
+     * urls and weights of an upstream list -> weighted schedule, the callers may build a new list for every request,
+     * so the schedule is kept by content and rebuilt only when the upstreams change or warm up.
+     */
+    private final Map<String, Schedule> scheduleCache = new ConcurrentHashMap<>();
 
+    /**
+     * smooth weighted round-robin over a precomputed schedule, one atomic increment per selection.
+     *
+     * @param upstreamList the upstream list
+     * @param ip           the ip
+     * @return selected upstream
+     */
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        String key = upstreamList.get(0).getUrl();
-        ConcurrentMap<String, WeightedRoundRobin> map = methodWeightMap.get(key);
-        if (Objects.isNull(map)) {
-            methodWeightMap.putIfAbsent(key, new ConcurrentHashMap<>(16));
-            map = methodWeightMap.get(key);
-        }
-        int totalWeight = 0;
-        long maxCurrent = Long.MIN_VALUE;
-        long now = System.currentTimeMillis();
-        Upstream selectedInvoker = null;
-        WeightedRoundRobin selectedWeightedRoundRobin = null;
-        for (Upstream upstream : upstreamList) {
-            String rKey = upstream.getUrl();
-            WeightedRoundRobin weightedRoundRobin = map.get(rKey);
-            int weight = getWeight(upstream);
-            if (Objects.isNull(weightedRoundRobin)) {
-                weightedRoundRobin = new WeightedRoundRobin();
-                weightedRoundRobin.setWeight(weight);
-                map.putIfAbsent(rKey, weightedRoundRobin);
+        String key = cacheKey(upstreamList);
+        Schedule schedule = scheduleCache.get(key);
+        if (Objects.isNull(schedule) || schedule.isStale()) {
+            if (Objects.isNull(schedule) && scheduleCache.size() >= MAX_CACHED_LIST_SIZE) {
+                scheduleCache.clear();
             }
-            if (weight != weightedRoundRobin.getWeight()) {
-                // weight changed.
-                weightedRoundRobin.setWeight(weight);
-            }
-            long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
-            if (cur > maxCurrent) {
-                maxCurrent = cur;
-                selectedInvoker = upstream;
-                selectedWeightedRoundRobin = weightedRoundRobin;
-            }
-            totalWeight += weight;
+            // the new schedule goes on from the position of the old one.
+            schedule = new Schedule(upstreamList, buildWeights(upstreamList), Objects.isNull(schedule) ? 0 : schedule.index.get());
+            scheduleCache.put(key, schedule);
         }
-        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
-            try {
-                // copy -> modify -> update reference.
-                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                methodWeightMap.put(key, newMap);
-            } finally {
-                updateLock.set(false);
-            }
-        }
-        if (Objects.nonNull(selectedInvoker)) {
-            selectedWeightedRoundRobin.sel(totalWeight);
-            return selectedInvoker;
+        return upstreamList.get(schedule.next());
+    }
+
+    @Override
+    public void removeUpstream(final List<Upstream> removedList) {
+        final Set<String> removedUrls = urls(removedList);
+        scheduleCache.values().removeIf(schedule -> schedule.containsAny(removedUrls));
+    }
+
+    private int[] buildWeights(final List<Upstream> upstreamList) {
+        int[] weights = new int[upstreamList.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getWeight(upstreamList.get(i));
         }
-        // should not happen here.
-        return upstreamList.get(0);
+        return weights;
     }
 
     /**
-     * The type Weighted round-robin.
+     * The immutable selection order of an upstream list.
      */
-    protected static class WeightedRoundRobin {
+    private static final class Schedule {
 
-        private int weight;
+        private final String[] urls;
 
-        private final AtomicLong current = new AtomicLong(0);
+        private final int[] sequence;
 
-        private long lastUpdate;
+        private final long rebuildAt;
 
-        /**
-         * Gets weight.
-         *
-         * @return the weight
-         */
-        int getWeight() {
-            return weight;
+        private final AtomicInteger index;
+
+        Schedule(final List<Upstream> upstreamList, final int[] weights, final int index) {
+            this.urls = upstreamList.stream().map(Upstream::getUrl).toArray(String[]::new);
+            this.sequence = buildSequence(normalize(weights));
+            this.rebuildAt = warmupRebuildAt(upstreamList);
+            this.index = new AtomicInteger(index);
         }
 
         /**
-         * Sets weight.
-         *
-         * @param weight the weight
+         * the warming up weights are only right for a while.
          */
-        void setWeight(final int weight) {
-            this.weight = weight;
-            current.set(0);
+        boolean isStale() {
+            return rebuildAt != Long.MAX_VALUE && System.currentTimeMillis() >= rebuildAt;
         }
 
-        /**
-         * Increase current long.
-         *
-         * @return the long
-         */
-        long increaseCurrent() {
-            return current.addAndGet(weight);
+        boolean containsAny(final Set<String> removedUrls) {
+            for (String url : urls) {
+                if (removedUrls.contains(url)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         /**
-         * Sel.
-         *
-         * @param total the total
+         * the index of the next upstream in the list the schedule was built from.
          */
-        void sel(final int total) {
-            current.addAndGet(-1 * total);
+        int next() {
+            return sequence[Math.floorMod(index.getAndIncrement(), sequence.length)];
         }
 
         /**
-         * Gets last update.
-         *
-         * @return the last update
+         * divide the weights by their gcd and scale them into {@link #MAX_SCHEDULE_LENGTH}, all zero means equal weights.
          */
-        long getLastUpdate() {
-            return lastUpdate;
+        private static int[] normalize(final int[] weights) {
+            int gcd = 0;
+            long total = 0;
+            for (int weight : weights) {
+                gcd = gcd(gcd, Math.max(0, weight));
+                total += Math.max(0, weight);
+            }
+            int[] result = new int[weights.length];
+            if (gcd == 0) {
+                Arrays.fill(result, 1);
+                return result;
+            }
+            total /= gcd;
+            for (int i = 0; i < weights.length; i++) {
+                long weight = Math.max(0, weights[i]) / gcd;
+                if (total > MAX_SCHEDULE_LENGTH && weight > 0) {
+                    weight = Math.max(1, weight * MAX_SCHEDULE_LENGTH / total);
+                }
+                result[i] = (int) weight;
+            }
+            return result;
         }
 
         /**
-         * Sets last update.
-         *
-         * @param lastUpdate the last update
+         * the n-th turn of upstream i is placed at (2n + 1) / (2 * weight[i]), so every upstream appears weight times
+         * and its turns are spread evenly, the same interleaving goal as nginx smooth weighted round-robin.
          */
-        void setLastUpdate(final long lastUpdate) {
-            this.lastUpdate = lastUpdate;
+        private static int[] buildSequence(final int[] weights) {
+            int length = 0;
+            for (int weight : weights) {
+                length += weight;
+            }
+            final int[] turns = new int[weights.length];
+            PriorityQueue<Integer> queue = new PriorityQueue<>(Math.max(1, weights.length), (a, b) -> {
+                int compare = Long.compare((2L * turns[a] + 1) * weights[b], (2L * turns[b] + 1) * weights[a]);
+                return compare != 0 ? compare : Integer.compare(a, b);
+            });
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] > 0) {
+                    queue.offer(i);
+                }
+            }
+            int[] sequence = new int[length];
+            for (int i = 0; i < length; i++) {
+                int selected = queue.poll();
+                sequence[i] = selected;
+                turns[selected]++;
+                if (turns[selected] < weights[selected]) {
+                    queue.offer(selected);
+                }
+            }
+            return sequence;
+        }
+
+        private static long warmupRebuildAt(final List<Upstream> upstreamList) {
+            long now = System.currentTimeMillis();
+            long warmupEnd = Long.MAX_VALUE;
+            for (Upstream upstream : upstreamList) {
+                long end = upstream.getTimestamp() + upstream.getWarmup();
+                if (upstream.getWeight() > 0 && upstream.getTimestamp() > 0 && now < end) {
+                    warmupEnd = Math.min(warmupEnd, end);
+                }
+            }
+            return warmupEnd == Long.MAX_VALUE ? Long.MAX_VALUE : Math.min(warmupEnd, now + WARMUP_REBUILD_INTERVAL);
+        }
+
+        private static int gcd(final int a, final int b) {
+            return b == 0 ? a : gcd(b, a % b);
         }
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The type Async upstream checker test.
+ */
+public final class AsyncUpstreamCheckerTest {
+
+    private ServerSocket serverSocket;
+
+    private volatile String response = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0);
+        Thread thread = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    socket.getInputStream().read(new byte[1024]);
+                    OutputStream outputStream = socket.getOutputStream();
+                    outputStream.write(response.getBytes(StandardCharsets.US_ASCII));
+                    outputStream.flush();
+                } catch (IOException ignored) {
+                    // closed
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        serverSocket.close();
+    }
+
+    @Test
+    public void testTcpCheck() throws Exception {
+        try (AsyncUpstreamChecker checker = new AsyncUpstreamChecker(3000, 2, null)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(checker.check("127.0.0.1:" + serverSocket.getLocalPort()));
+            }
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS));
+            }
+            assertFalse(checker.check("").get());
+            assertEquals(10, checker.getProbeCount());
+            assertEquals(0, checker.getInFlight());
+        }
+    }
+
+    @Test
+    public void testHttpCheck() throws Exception {
+        try (AsyncUpstreamChecker checker = new AsyncUpstreamChecker(3000, 16, "actuator/health")) {
+            String url = "http://127.0.0.1:" + serverSocket.getLocalPort();
+            assertTrue(checker.check(url).get(5, TimeUnit.SECONDS));
+            response = "HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n";
+            assertFalse(checker.check(url).get(5, TimeUnit.SECONDS));
+            assertEquals(1, checker.getFailureCount());
+        }
+    }
+
+    @Test
+    public void testRefusedCheck() throws Exception {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            port = closed.getLocalPort();
+        }
+        try (AsyncUpstreamChecker checker = new AsyncUpstreamChecker(3000, 16, null)) {
+            assertFalse(checker.check("http://127.0.0.1:" + port).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testIpv6Check() throws Exception {
+        try (ServerSocket ipv6Socket = new ServerSocket()) {
+            try {
+                ipv6Socket.bind(new InetSocketAddress(InetAddress.getByName("::1"), 0));
+            } catch (IOException e) {
+                assumeTrue(false, "ipv6 loopback is not available");
+            }
+            try (AsyncUpstreamChecker checker = new AsyncUpstreamChecker(3000, 16, null)) {
+                assertTrue(checker.check("http://[::1]:" + ipv6Socket.getLocalPort() + "/path").get(5, TimeUnit.SECONDS));
+                assertTrue(checker.check("[::1]:" + ipv6Socket.getLocalPort()).get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testUnresolvedCheck() throws Exception {
+        try (AsyncUpstreamChecker checker = new AsyncUpstreamChecker(3000, 16, null)) {
+            assertFalse(checker.check("http://shenyu-upstream.invalid:8080").get(30, TimeUnit.SECONDS));
+            assertFalse(checker.check("http://[::1:8080").get(5, TimeUnit.SECONDS));
+            assertEquals(1, checker.getFailureCount());
+        }
+    }
+}
@@ -17,25 +17,27 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import org.apache.shenyu.common.config.LoadBalancerConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.mockStatic;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * The type Hash balance test.
@@ -166,7 +168,8 @@ public final class HashLoadBalanceTest {
 
     @Test
     public void selectTest() {
-        final String ip = "SHENYU-upstream-2-HASH-100";
+        // hash of the ip is greater than every node, so it wraps around to the first node.
+        final String ip = "SHENYU-upstream-2-HASH-24";
         final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
         Assertions.assertNull(hashLoadBalance.select(null, ip));
         final Upstream upstream = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
@@ -174,12 +177,75 @@ public final class HashLoadBalanceTest {
     }
 
     @Test
-    public void hashErrorTest() throws NoSuchAlgorithmException {
+    public void cachedRingTest() {
         final String ip = "127.0.0.1";
-        MockedStatic<MessageDigest> messageDigestMockedStatic = mockStatic(MessageDigest.class);
-        messageDigestMockedStatic.when((MockedStatic.Verification) MessageDigest.getInstance("MD5")).thenThrow(NoSuchAlgorithmException.class);
-        assertThrows(InvocationTargetException.class, () -> hash.invoke(null, ip));
-        messageDigestMockedStatic.close();
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        final Upstream upstream = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+        assertEquals(upstream, hashLoadBalance.select(hashLoadBalancesOrdered, ip));
+        hashLoadBalancesOrdered.remove(upstream);
+        final Upstream another = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+        assertTrue(hashLoadBalancesOrdered.contains(another));
+        assertNotEquals(upstream.getUrl(), another.getUrl());
+    }
+
+    @Test
+    public void boundedLoadTest() {
+        final String ip = "127.0.0.1";
+        final LoadBalancerConfig config = new LoadBalancerConfig();
+        config.setHashBalanceFactor(1.0D);
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer(config);
+        final Map<String, Long> counts = IntStream.range(0, 30)
+                .mapToObj(i -> hashLoadBalance.select(hashLoadBalancesOrdered, ip).getUrl())
+                .collect(Collectors.groupingBy(url -> url, Collectors.counting()));
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count <= 11));
+    }
+
+    @Test
+    public void boundedLoadWithEqualListTest() {
+        final String ip = "127.0.0.1";
+        final LoadBalancerConfig config = new LoadBalancerConfig();
+        config.setHashBalanceFactor(1.0D);
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer(config);
+        // a new but equal list on every call still shares the ring and its loads.
+        final Map<String, Long> counts = IntStream.range(0, 30)
+                .mapToObj(i -> hashLoadBalance.select(new ArrayList<>(hashLoadBalancesOrdered), ip).getUrl())
+                .collect(Collectors.groupingBy(url -> url, Collectors.counting()));
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count <= 11));
+    }
+
+    @Test
+    public void configReadOnSelectTest() {
+        final String ip = "127.0.0.1";
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        final LoadBalancerConfig config = new LoadBalancerConfig();
+        config.setHashBalanceFactor(1.0D);
+        Singleton.INST.single(LoadBalancerConfig.class, config);
+        try {
+            final Map<String, Long> counts = IntStream.range(0, 30)
+                    .mapToObj(i -> hashLoadBalance.select(hashLoadBalancesOrdered, ip).getUrl())
+                    .collect(Collectors.groupingBy(url -> url, Collectors.counting()));
+            assertEquals(3, counts.size());
+        } finally {
+            Singleton.INST.single(LoadBalancerConfig.class, new LoadBalancerConfig());
+        }
+    }
+
+    @Test
+    public void removeUpstreamTest() throws Exception {
+        final String ip = "127.0.0.1";
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+        hashLoadBalance.select(hashLoadBalancesOrdered.subList(1, 3), ip);
+        final Field field = HashLoadBalancer.class.getDeclaredField("ringCache");
+        field.setAccessible(true);
+        final Map<?, ?> ringCache = (Map<?, ?>) field.get(hashLoadBalance);
+        assertEquals(2, ringCache.size());
+        hashLoadBalance.removeUpstream(hashLoadBalancesOrdered.subList(0, 1));
+        assertEquals(1, ringCache.size());
+        hashLoadBalance.removeUpstream(hashLoadBalancesOrdered.subList(2, 3));
+        assertTrue(ringCache.isEmpty());
     }
 
     @Test
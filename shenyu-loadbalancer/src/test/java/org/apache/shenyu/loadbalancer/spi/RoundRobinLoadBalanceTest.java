@@ -20,14 +20,19 @@ package org.apache.shenyu.loadbalancer.spi;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * The type Load balance test.
@@ -97,6 +102,122 @@ public final class RoundRobinLoadBalanceTest {
         assertEquals(60, countMap.get("upstream-50").intValue());
     }
 
+    @Test
+    public void roundRobinLoadBalanceSmoothTest() {
+        List<Upstream> upstreamList =
+                Stream.of(50, 10, 10)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight + "-" + UUID.randomUUID())
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        Upstream previous = null;
+        for (int i = 0; i < 70; i++) {
+            Upstream result = roundRobinLoadBalancer.select(upstreamList, "");
+            // the light upstreams never take two turns in a row
+            if (result != upstreamList.get(0)) {
+                assertNotSame(previous, result);
+            }
+            previous = result;
+        }
+    }
+
+    @Test
+    public void roundRobinLoadBalanceListChangedTest() {
+        List<Upstream> upstreamList =
+                Stream.of(20, 30)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight)
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        IntStream.range(0, 7).forEach(i -> roundRobinLoadBalancer.select(upstreamList, ""));
+        List<Upstream> newUpstreamList = new ArrayList<>(upstreamList);
+        newUpstreamList.add(Upstream.builder().url("upstream-50").weight(50).build());
+        Map<String, Integer> countMap = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> {
+            Upstream result = roundRobinLoadBalancer.select(newUpstreamList, "");
+            countMap.merge(result.getUrl(), 1, Integer::sum);
+        });
+        assertEquals(50, countMap.get("upstream-50").intValue());
+        assertEquals(20, countMap.get("upstream-20").intValue());
+    }
+
+    @Test
+    public void roundRobinLoadBalanceWithEqualListTest() {
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        Map<String, Integer> countMap = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> {
+            // the callers may build a new list on every request
+            List<Upstream> upstreamList =
+                    Stream.of(50, 30, 20)
+                            .map(weight -> Upstream.builder()
+                                    .url("upstream-" + weight)
+                                    .weight(weight)
+                                    .build())
+                            .collect(Collectors.toList());
+            Upstream result = roundRobinLoadBalancer.select(upstreamList, "");
+            countMap.merge(result.getUrl(), 1, Integer::sum);
+        });
+        assertEquals(50, countMap.get("upstream-50").intValue());
+        assertEquals(30, countMap.get("upstream-30").intValue());
+        assertEquals(20, countMap.get("upstream-20").intValue());
+    }
+
+    @Test
+    public void roundRobinLoadBalanceSameFirstUrlTest() {
+        List<Upstream> upstreamList =
+                Stream.of("upstream-1", "upstream-2")
+                        .map(url -> Upstream.builder()
+                                .url(url)
+                                .weight(50)
+                                .build())
+                        .collect(Collectors.toList());
+        List<Upstream> upstreamList2 =
+                Stream.of("upstream-1", "upstream-3")
+                        .map(url -> Upstream.builder()
+                                .url(url)
+                                .weight(50)
+                                .build())
+                        .collect(Collectors.toList());
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        Map<String, Integer> countMap = new HashMap<>();
+        Map<String, Integer> countMap2 = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> {
+            // the two lists take turns, each one keeps its own rotation
+            countMap.merge(roundRobinLoadBalancer.select(upstreamList, "").getUrl(), 1, Integer::sum);
+            countMap2.merge(roundRobinLoadBalancer.select(upstreamList2, "").getUrl(), 1, Integer::sum);
+        });
+        assertEquals(50, countMap.get("upstream-1").intValue());
+        assertEquals(50, countMap.get("upstream-2").intValue());
+        assertEquals(50, countMap2.get("upstream-1").intValue());
+        assertEquals(50, countMap2.get("upstream-3").intValue());
+    }
+
+    @Test
+    public void roundRobinLoadBalanceRemoveUpstreamTest() throws Exception {
+        List<Upstream> upstreamList =
+                Stream.of(50, 30, 20)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight)
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        roundRobinLoadBalancer.select(upstreamList, "");
+        roundRobinLoadBalancer.select(upstreamList.subList(0, 2), "");
+        Field field = RoundRobinLoadBalancer.class.getDeclaredField("scheduleCache");
+        field.setAccessible(true);
+        Map<?, ?> scheduleCache = (Map<?, ?>) field.get(roundRobinLoadBalancer);
+        assertEquals(2, scheduleCache.size());
+        roundRobinLoadBalancer.removeUpstream(upstreamList.subList(2, 3));
+        assertEquals(1, scheduleCache.size());
+        roundRobinLoadBalancer.removeUpstream(upstreamList.subList(0, 1));
+        assertTrue(scheduleCache.isEmpty());
+    }
+
     @Test
     public void roundRobinLoadBalanceTest() {
         List<Upstream> upstreamList =
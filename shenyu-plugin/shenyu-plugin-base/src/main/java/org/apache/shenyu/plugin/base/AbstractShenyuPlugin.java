@@ -24,6 +24,7 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchEngineEnum;
 import org.apache.shenyu.common.enums.MatchModeEnum;
 import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
@@ -31,13 +32,13 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.cache.MatchIndexCache;
 import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -56,6 +57,8 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
 
     private ShenyuConfig.MatchCache matchCacheConfig;
 
+    private MatchEngineEnum matchEngine;
+
     /**
      * this is Template Method child has Implement your own logic.
      *
@@ -88,7 +91,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
                 if (CollectionUtils.isEmpty(selectors)) {
                     return handleSelectorIfNull(pluginName, exchange, chain);
                 }
-                Pair<Boolean, SelectorData> matchSelectorData = matchSelector(exchange, selectors);
+                Pair<Boolean, SelectorData> matchSelectorData = matchSelector(exchange, pluginName, selectors);
                 selectorData = matchSelectorData.getRight();
                 if (matchSelectorData.getLeft()) {
                     cacheSelectorDataIfEnabled(path, selectorData);
@@ -108,7 +111,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
                 //get last
                 rule = rules.get(rules.size() - 1);
             } else {
-                rule = matchRule(exchange, rules);
+                rule = matchRule(exchange, selectorData.getId(), rules);
             }
             if (Objects.isNull(rule)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
@@ -121,7 +124,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
 
     private void initMatchCacheConfig() {
         if (Objects.isNull(matchCacheConfig)) {
-            matchCacheConfig = SpringBeanUtils.getInstance().getBean(ShenyuConfig.class).getMatchCache();
+            ShenyuConfig shenyuConfig = SpringBeanUtils.getInstance().getBean(ShenyuConfig.class);
+            matchEngine = MatchEngineEnum.acquireByName(shenyuConfig.getMatchEngine());
+            matchCacheConfig = shenyuConfig.getMatchCache();
         }
     }
 
@@ -156,9 +161,14 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return chain.execute(exchange);
     }
 
-    private Pair<Boolean, SelectorData> matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        List<SelectorData> filterCollectors = selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange)).collect(Collectors.toList());
+    private Pair<Boolean, SelectorData> matchSelector(final ServerWebExchange exchange, final String pluginName, final List<SelectorData> selectors) {
+        List<SelectorData> filterCollectors;
+        if (matchEngine == MatchEngineEnum.TRIE) {
+            filterCollectors = MatchIndexCache.getInstance().obtainSelectorIndex(pluginName, selectors).matchAll(exchange);
+        } else {
+            filterCollectors = selectors.stream()
+                    .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange)).collect(Collectors.toList());
+        }
         if (filterCollectors.size() > 1) {
             return Pair.of(Boolean.FALSE, manyMatchSelector(filterCollectors));
         } else {
@@ -193,7 +203,10 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return true;
     }
 
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
+    private RuleData matchRule(final ServerWebExchange exchange, final String selectorId, final List<RuleData> rules) {
+        if (matchEngine == MatchEngineEnum.TRIE) {
+            return MatchIndexCache.getInstance().obtainRuleIndex(selectorId, rules).matchFirst(exchange);
+        }
         return rules.stream().filter(rule -> filterRule(rule, exchange)).findFirst().orElse(null);
     }
 
@@ -52,7 +52,7 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
         if (Objects.nonNull(shenyuContext)) {
             MediaType mediaType = request.getHeaders().getContentType();
             if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
-                return body(exchange, request, chain);
+                return body(exchange, request, chain, shenyuContext);
             }
             if (MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(mediaType)) {
                 return formData(exchange, request, chain);
@@ -72,12 +72,20 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
         return PluginEnum.RPC_PARAM_TRANSFORM.getName();
     }
 
-    private Mono<Void> body(final ServerWebExchange exchange, final ServerHttpRequest serverHttpRequest, final ShenyuPluginChain chain) {
+    private Mono<Void> body(final ServerWebExchange exchange, final ServerHttpRequest serverHttpRequest, final ShenyuPluginChain chain, final ShenyuContext shenyuContext) {
+        // dubbo binds the json body with the binder compiled from its meta data, so the body is kept as bytes.
+        boolean raw = RpcTypeEnum.DUBBO.getName().equals(shenyuContext.getRpcType());
         return Mono.from(DataBufferUtils.join(serverHttpRequest.getBody())
                 .flatMap(data -> Mono.just(Optional.of(data)))
                 .defaultIfEmpty(Optional.empty())
                 .flatMap(body -> {
-                    body.ifPresent(dataBuffer -> exchange.getAttributes().put(Constants.PARAM_TRANSFORM, resolveBodyFromRequest(dataBuffer)));
+                    body.ifPresent(dataBuffer -> {
+                        if (raw) {
+                            exchange.getAttributes().put(Constants.PARAM_TRANSFORM_BODY, readBytes(dataBuffer));
+                        } else {
+                            exchange.getAttributes().put(Constants.PARAM_TRANSFORM, resolveBodyFromRequest(dataBuffer));
+                        }
+                    });
                     return chain.execute(exchange);
                 }));
     }
@@ -118,9 +126,14 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
 
     @NonNull
     private String resolveBodyFromRequest(final DataBuffer dataBuffer) {
+        return new String(readBytes(dataBuffer), StandardCharsets.UTF_8);
+    }
+
+    @NonNull
+    private byte[] readBytes(final DataBuffer dataBuffer) {
         byte[] bytes = new byte[dataBuffer.readableByteCount()];
         dataBuffer.read(bytes);
         DataBufferUtils.release(dataBuffer);
-        return new String(bytes, StandardCharsets.UTF_8);
+        return bytes;
     }
 }
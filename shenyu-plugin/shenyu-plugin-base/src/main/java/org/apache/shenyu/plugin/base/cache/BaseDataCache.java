@@ -132,8 +132,12 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+            // copy on write, so the compiled match index can detect the change by the list identity.
+            synchronized (SELECTOR_MAP) {
+                SELECTOR_MAP.computeIfPresent(data.getPluginName(), (key, list) -> list.stream()
+                        .filter(e -> !e.getId().equals(data.getId())).collect(Collectors.toList()));
+            }
+            MatchIndexCache.getInstance().removeRuleIndex(data.getId());
         });
     }
     
@@ -144,6 +148,7 @@ public final class BaseDataCache {
      */
     public void removeSelectDataByPluginName(final String pluginName) {
         SELECTOR_MAP.remove(pluginName);
+        MatchIndexCache.getInstance().removeSelectorIndex(pluginName);
     }
     
     /**
@@ -151,6 +156,7 @@ public final class BaseDataCache {
      */
     public void cleanSelectorData() {
         SELECTOR_MAP.clear();
+        MatchIndexCache.getInstance().cleanSelectorIndex();
     }
     
     /**
@@ -188,8 +194,11 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+            // copy on write, so the compiled match index can detect the change by the list identity.
+            synchronized (RULE_MAP) {
+                RULE_MAP.computeIfPresent(data.getSelectorId(), (key, list) -> list.stream()
+                        .filter(rule -> !rule.getId().equals(data.getId())).collect(Collectors.toList()));
+            }
         });
     }
     
@@ -200,6 +209,7 @@ public final class BaseDataCache {
      */
     public void removeRuleDataBySelectorId(final String selectorId) {
         RULE_MAP.remove(selectorId);
+        MatchIndexCache.getInstance().removeRuleIndex(selectorId);
     }
     
     /**
@@ -207,6 +217,7 @@ public final class BaseDataCache {
      */
     public void cleanRuleData() {
         RULE_MAP.clear();
+        MatchIndexCache.getInstance().cleanRuleIndex();
     }
     
     /**
@@ -18,11 +18,13 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.slf4j.Logger;
@@ -189,6 +191,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             sortPluginIfOrderChange(oldPluginData, pluginData);
         } else if (data instanceof SelectorData) {
             SelectorData selectorData = (SelectorData) data;
+            compileConditions(selectorData.getConditionList());
             BaseDataCache.getInstance().cacheSelectData(selectorData);
             MatchDataCache.getInstance().removeSelectorData(selectorData.getPluginName());
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
@@ -196,6 +199,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
+            compileConditions(ruleData.getConditionDataList());
             BaseDataCache.getInstance().cacheRuleData(ruleData);
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
@@ -203,6 +207,17 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         }
     }
 
+    /**
+     * compile the conditions once, so the predicate judges needn't parse them on every request.
+     *
+     * @param conditionDataList the condition data list
+     */
+    private void compileConditions(final List<ConditionData> conditionDataList) {
+        if (CollectionUtils.isNotEmpty(conditionDataList)) {
+            conditionDataList.forEach(PredicateJudgeFactory::compile);
+        }
+    }
+
     /**
      * judge need update plugin order.
      *
@@ -18,7 +18,8 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Maps;
-import org.apache.shenyu.common.cache.MemorySafeLRUMap;
+import org.apache.shenyu.common.cache.MemoryPressureMonitor;
+import org.apache.shenyu.common.cache.WindowTinyLfuMap;
 import org.apache.shenyu.common.dto.SelectorData;
 
 import java.util.Map;
@@ -33,8 +34,15 @@ public final class MatchDataCache {
 
     private static final MatchDataCache INSTANCE = new MatchDataCache();
 
+    private static final int MAXIMUM_SIZE = 1 << 16;
+
+    /**
+     * the estimated bytes of the paths cached by a plugin.
+     */
+    private static final long MAXIMUM_WEIGHT = 16L * 1024 * 1024;
+
     /**
-     * pluginName -> LRUMap.
+     * pluginName -> WindowTinyLfuMap.
      */
     private static final ConcurrentMap<String, Map<String, SelectorData>> SELECTOR_DATA_MAP = Maps.newConcurrentMap();
 
@@ -74,7 +82,10 @@ public final class MatchDataCache {
      * @param maxMemory    the max memory
      */
     public void cacheSelectorData(final String path, final SelectorData selectorData, final Integer maxMemory) {
-        SELECTOR_DATA_MAP.computeIfAbsent(selectorData.getPluginName(), map -> new MemorySafeLRUMap<>(maxMemory, 1 << 16)).put(path, selectorData);
+        SELECTOR_DATA_MAP.computeIfAbsent(selectorData.getPluginName(), map -> {
+            MemoryPressureMonitor.getInstance().keepFreeMemory(maxMemory);
+            return new WindowTinyLfuMap<>(MAXIMUM_SIZE, MAXIMUM_WEIGHT, (key, value) -> 64L + 2L * key.length());
+        }).put(path, selectorData);
     }
 
     /**
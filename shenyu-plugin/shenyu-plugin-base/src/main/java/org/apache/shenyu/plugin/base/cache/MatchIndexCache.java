@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.trie.ConditionMatchIndex;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The compiled match index cache, an index is rebuilt lazily once the list
+ * cached by {@linkplain BaseDataCache} is replaced.
+ */
+public final class MatchIndexCache {
+
+    private static final MatchIndexCache INSTANCE = new MatchIndexCache();
+
+    /**
+     * pluginName -> selector index.
+     */
+    private static final ConcurrentMap<String, ConditionMatchIndex<SelectorData>> SELECTOR_INDEX_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> rule index.
+     */
+    private static final ConcurrentMap<String, ConditionMatchIndex<RuleData>> RULE_INDEX_MAP = Maps.newConcurrentMap();
+
+    private MatchIndexCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static MatchIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain selector index.
+     *
+     * @param pluginName the plugin name
+     * @param selectors  the selectors currently cached in {@linkplain BaseDataCache}
+     * @return the selector index
+     */
+    public ConditionMatchIndex<SelectorData> obtainSelectorIndex(final String pluginName, final List<SelectorData> selectors) {
+        return obtain(SELECTOR_INDEX_MAP, pluginName, selectors, ConditionMatchIndex::ofSelectors);
+    }
+
+    /**
+     * Obtain rule index.
+     *
+     * @param selectorId the selector id
+     * @param rules      the rules currently cached in {@linkplain BaseDataCache}
+     * @return the rule index
+     */
+    public ConditionMatchIndex<RuleData> obtainRuleIndex(final String selectorId, final List<RuleData> rules) {
+        return obtain(RULE_INDEX_MAP, selectorId, rules, ConditionMatchIndex::ofRules);
+    }
+
+    /**
+     * Remove selector index.
+     *
+     * @param pluginName the plugin name
+     */
+    public void removeSelectorIndex(final String pluginName) {
+        SELECTOR_INDEX_MAP.remove(pluginName);
+    }
+
+    /**
+     * Remove rule index.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeRuleIndex(final String selectorId) {
+        RULE_INDEX_MAP.remove(selectorId);
+    }
+
+    /**
+     * Clean selector index.
+     */
+    public void cleanSelectorIndex() {
+        SELECTOR_INDEX_MAP.clear();
+    }
+
+    /**
+     * Clean rule index.
+     */
+    public void cleanRuleIndex() {
+        RULE_INDEX_MAP.clear();
+    }
+
+    private static <T> ConditionMatchIndex<T> obtain(final ConcurrentMap<String, ConditionMatchIndex<T>> indexMap, final String key,
+                                                     final List<T> source, final Function<List<T>, ConditionMatchIndex<T>> compiler) {
+        ConditionMatchIndex<T> index = indexMap.get(key);
+        if (Objects.nonNull(index) && index.getSource() == source) {
+            return index;
+        }
+        ConditionMatchIndex<T> compiled = compiler.apply(source);
+        indexMap.put(key, compiled);
+        return compiled;
+    }
+}
@@ -18,26 +18,20 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Maps;
-import org.apache.shenyu.common.cache.MemorySafeLRUMap;
-import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
-import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.base.trie.PathPatternIndex;
 
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Collections;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Meta data cache.
+ * The paths of the meta data are compiled into a {@linkplain PathPatternIndex}, which is rebuilt lazily once the meta data change,
+ * so a lookup costs the number of path segments instead of a scan over all the meta data.
  */
 public final class MetaDataCache {
 
-    private static final String DIVIDE_CACHE_KEY = "";
-
-    private static final MetaData NULL = new MetaData();
-
     private static final MetaDataCache INSTANCE = new MetaDataCache();
 
     /**
@@ -45,12 +39,12 @@ public final class MetaDataCache {
      */
     private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
 
-    private static final MemorySafeLRUMap<String, MetaData> CACHE = new MemorySafeLRUMap<>(Constants.THE_256_MB, 1 << 16);
-
     /**
-     * pathPattern -> path.
+     * the version of {@linkplain #META_DATA_MAP}, increased on every change.
      */
-    private static final ConcurrentMap<String, Set<String>> MAPPING = Maps.newConcurrentMap();
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private volatile IndexSnapshot snapshot = new IndexSnapshot(-1L, PathPatternIndex.of(Collections.emptyList(), MetaData::getPath));
 
     private MetaDataCache() {
     }
@@ -70,20 +64,8 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void cache(final MetaData data) {
-        // clean old path data
-        if (META_DATA_MAP.containsKey(data.getId())) {
-            // the update is also need to clean, but there is
-            // no way to distinguish between crate and update,
-            // so it is always clean
-            clean(META_DATA_MAP.get(data.getId()).getPath());
-        }
         META_DATA_MAP.put(data.getId(), data);
-        final String path = data.getPath();
-        clean(path);
-        if (!path.contains("*")) {
-            // only in this condition, we need to init cache
-            initCache(path, data, path);
-        }
+        VERSION.incrementAndGet();
     }
 
     /**
@@ -93,24 +75,7 @@ public final class MetaDataCache {
      */
     public void remove(final MetaData data) {
         META_DATA_MAP.remove(data.getId());
-        clean(data.getPath());
-    }
-
-    private void clean(final String key) {
-        // springCloud and divide are needs to be cleaned
-        Optional.ofNullable(MAPPING.get(key))
-                .ifPresent(paths -> {
-                    for (String path : paths) {
-                        CACHE.remove(path);
-                    }
-                });
-    }
-
-    /**
-     * clean cache for divide plugin.
-     */
-    public void clean() {
-        clean(DIVIDE_CACHE_KEY);
+        VERSION.incrementAndGet();
     }
 
     /**
@@ -120,39 +85,35 @@ public final class MetaDataCache {
      * @return the meta data
      */
     public MetaData obtain(final String path) {
-        final MetaData metaData = Optional.ofNullable(CACHE.get(path))
-                .orElseGet(() -> {
-                    final MetaData value = META_DATA_MAP.values()
-                            .stream()
-                            .filter(data -> PathMatchUtils.match(data.getPath(), path))
-                            .findFirst()
-                            .orElse(null);
-                    final String metaPath = Optional.ofNullable(value)
-                            .map(MetaData::getPath)
-                            .orElse(DIVIDE_CACHE_KEY);
-                    // init cache
-                    initCache(path, value, metaPath);
-                    return value;
-                });
-        return NULL.equals(metaData) ? null : metaData;
+        return index().match(path);
     }
 
-    /**
-     * cacheMap.
-     *
-     * @param path     the path
-     * @param value    the MetaData
-     * @param metaPath the metaPath
-     */
-    public void initCache(final String path, final MetaData value, final String metaPath) {
-        // The extreme case will lead to OOM, that's why use LRU
-        CACHE.put(path, Optional.ofNullable(value).orElse(NULL));
-        // spring/** -> Collections 'spring/A', 'spring/B'
-        Set<String> paths = MAPPING.get(metaPath);
-        if (Objects.isNull(paths)) {
-            MAPPING.putIfAbsent(metaPath, new ConcurrentSkipListSet<>());
-            paths = MAPPING.get(metaPath);
+    private PathPatternIndex<MetaData> index() {
+        IndexSnapshot current = snapshot;
+        if (current.version == VERSION.get()) {
+            return current.index;
+        }
+        synchronized (this) {
+            current = snapshot;
+            // read the version before the build, a change made during the build triggers another one.
+            final long version = VERSION.get();
+            if (current.version != version) {
+                current = new IndexSnapshot(version, PathPatternIndex.of(META_DATA_MAP.values(), MetaData::getPath));
+                snapshot = current;
+            }
+            return current.index;
+        }
+    }
+
+    private static final class IndexSnapshot {
+
+        private final long version;
+
+        private final PathPatternIndex<MetaData> index;
+
+        private IndexSnapshot(final long version, final PathPatternIndex<MetaData> index) {
+            this.version = version;
+            this.index = index;
         }
-        paths.add(path);
     }
 }
@@ -30,6 +30,6 @@ public class EqualsPredicateJudge implements PredicateJudge {
 
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Objects.equals(realData, conditionData.getParamValue().trim());
+        return Objects.equals(realData, conditionData.getTrimmedParamValue());
     }
 }
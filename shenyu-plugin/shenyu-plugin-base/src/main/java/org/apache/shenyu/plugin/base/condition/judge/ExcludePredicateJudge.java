@@ -33,8 +33,8 @@ public class ExcludePredicateJudge implements PredicateJudge {
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
-            return !PathMatchUtils.match(conditionData.getParamValue().trim(), realData);
+            return !PathMatchUtils.match(conditionData.getTrimmedParamValue(), realData);
         }
-        return !realData.contains(conditionData.getParamValue().trim());
+        return !realData.contains(conditionData.getTrimmedParamValue());
     }
 }
@@ -21,6 +21,9 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.apache.shenyu.common.utils.PathMatchUtils;
 import org.apache.shenyu.spi.Join;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.util.Objects;
 
@@ -36,8 +39,20 @@ public class PathPatternPredicateJudge implements PredicateJudge {
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
-            return PathMatchUtils.pathPattern(conditionData.getParamValue().trim(), realData);
+            Object compiled = conditionData.getCompiledParamValue();
+            if (compiled instanceof PathPattern) {
+                return ((PathPattern) compiled).matches(PathContainer.parsePath(realData));
+            }
+            return PathMatchUtils.pathPattern(conditionData.getTrimmedParamValue(), realData);
         }
-        return realData.contains(conditionData.getParamValue().trim());
+        return realData.contains(conditionData.getTrimmedParamValue());
+    }
+
+    @Override
+    public Object compile(final ConditionData conditionData) {
+        if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
+            return PathPatternParser.defaultInstance.parse(conditionData.getTrimmedParamValue());
+        }
+        return null;
     }
 }
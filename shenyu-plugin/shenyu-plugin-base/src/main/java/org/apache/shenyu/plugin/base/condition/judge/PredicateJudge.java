@@ -35,4 +35,14 @@ public interface PredicateJudge {
      * @return true is pass  false is not pass.
      */
     Boolean judge(ConditionData conditionData, String realData);
+
+    /**
+     * compile the param value of conditionData once, so judge needn't parse it on every request.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the compiled param value, null if nothing to compile.
+     */
+    default Object compile(ConditionData conditionData) {
+        return null;
+    }
 }
@@ -21,6 +21,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.spi.ExtensionLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 
@@ -28,6 +30,8 @@ import java.util.Objects;
  * Predicate judge factory.
  */
 public final class PredicateJudgeFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PredicateJudgeFactory.class);
     
     private PredicateJudgeFactory() {
     }
@@ -56,6 +60,23 @@ public final class PredicateJudgeFactory {
         return newInstance(conditionData.getOperator()).judge(conditionData, realData);
     }
 
+    /**
+     * compile the param value of condition data, the judge falls back to parse it on every request if failed.
+     *
+     * @param conditionData condition data
+     */
+    public static void compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData) || Objects.isNull(conditionData.getParamValue())) {
+            return;
+        }
+        conditionData.setTrimmedParamValue(conditionData.getParamValue().trim());
+        try {
+            conditionData.setCompiledParamValue(newInstance(conditionData.getOperator()).compile(conditionData));
+        } catch (RuntimeException e) {
+            LOG.warn("compile condition data error, condition data: {}", conditionData, e);
+        }
+    }
+
     /**
      * process special operator, like = need to change to equals.
      *
@@ -30,6 +30,15 @@ public class RegexPredicateJudge implements PredicateJudge {
 
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Pattern.matches(conditionData.getParamValue().trim(), realData);
+        Object compiled = conditionData.getCompiledParamValue();
+        if (compiled instanceof Pattern) {
+            return ((Pattern) compiled).matcher(realData).matches();
+        }
+        return Pattern.matches(conditionData.getTrimmedParamValue(), realData);
+    }
+
+    @Override
+    public Object compile(final ConditionData conditionData) {
+        return Pattern.compile(conditionData.getTrimmedParamValue());
     }
 }
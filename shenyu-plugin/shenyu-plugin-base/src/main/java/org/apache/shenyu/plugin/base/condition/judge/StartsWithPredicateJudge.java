@@ -28,6 +28,6 @@ public class StartsWithPredicateJudge implements PredicateJudge {
 
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return realData.startsWith(conditionData.getParamValue().trim());
+        return realData.startsWith(conditionData.getTrimmedParamValue());
     }
 }
@@ -33,9 +33,17 @@ public class TimerAfterPredicateJudge implements PredicateJudge {
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         String paramName = conditionData.getParamName();
+        Object compiled = conditionData.getCompiledParamValue();
+        LocalDateTime paramTime = compiled instanceof LocalDateTime
+                ? (LocalDateTime) compiled : DateUtils.parseLocalDateTime(conditionData.getTrimmedParamValue());
         if (Objects.isNull(paramName)) {
-            return LocalDateTime.now().isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+            return LocalDateTime.now().isAfter(paramTime);
         }
-        return DateUtils.parseLocalDateTime(realData).isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+        return DateUtils.parseLocalDateTime(realData).isAfter(paramTime);
+    }
+
+    @Override
+    public Object compile(final ConditionData conditionData) {
+        return DateUtils.parseLocalDateTime(conditionData.getTrimmedParamValue());
     }
 }
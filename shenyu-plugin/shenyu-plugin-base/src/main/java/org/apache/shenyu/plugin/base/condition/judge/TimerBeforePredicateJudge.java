@@ -33,9 +33,17 @@ public class TimerBeforePredicateJudge implements PredicateJudge {
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         String paramName = conditionData.getParamName();
+        Object compiled = conditionData.getCompiledParamValue();
+        LocalDateTime paramTime = compiled instanceof LocalDateTime
+                ? (LocalDateTime) compiled : DateUtils.parseLocalDateTime(conditionData.getTrimmedParamValue());
         if (!StringUtils.hasLength(paramName)) {
-            return LocalDateTime.now().isBefore(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+            return LocalDateTime.now().isBefore(paramTime);
         }
-        return DateUtils.parseLocalDateTime(realData).isBefore(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+        return DateUtils.parseLocalDateTime(realData).isBefore(paramTime);
+    }
+
+    @Override
+    public Object compile(final ConditionData conditionData) {
+        return DateUtils.parseLocalDateTime(conditionData.getTrimmedParamValue());
     }
 }
@@ -0,0 +1,631 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.convert.rule.impl.ParamMappingRuleHandle;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Add, rename and remove the keys of a json body token by token while the body goes through, in the same order
+ * as the rule handles apply them with a json path {@code DocumentContext}: the keys are added first, then renamed, then removed.
+ * Each chunk of the body is parsed by a non blocking parser and written out again before the next chunk is read,
+ * so the whole document is never held in memory, whatever the size of the body.
+ * The first {@value #HOLD_BACK_SIZE} bytes are held back before anything is written, and a body which turns out
+ * not to be json within them is passed through unchanged, so a broken body does not leave a truncated response behind.
+ *
+ * <p>Only the definite paths made of {@code .name}, {@code ['name']}, {@code [index]} and the {@code *} wildcard
+ * can be followed this way, see {@link #isStreamable()}. A rule on a path which does not exist in the body does nothing,
+ * and an added value is always written as a json string.</p>
+ */
+public final class JsonBodyTransformer {
+
+    /**
+     * the bytes of the original body which are held back until it is known to be json.
+     */
+    static final int HOLD_BACK_SIZE = 256 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JsonBodyTransformer.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final List<Rule> addRules;
+
+    private final List<Rule> otherRules;
+
+    private final boolean streamable;
+
+    private JsonBodyTransformer(final List<Rule> addRules, final List<Rule> otherRules, final boolean streamable) {
+        this.addRules = addRules;
+        this.otherRules = otherRules;
+        this.streamable = streamable;
+    }
+
+    /**
+     * Compile the rules of a handle.
+     *
+     * @param addKeys     the keys to add
+     * @param replaceKeys the keys to rename
+     * @param removeKeys  the paths to remove
+     * @return the transformer
+     */
+    public static JsonBodyTransformer of(final List<ParamMappingRuleHandle.ParamMapInfo> addKeys,
+                                         final List<ParamMappingRuleHandle.ParamMapInfo> replaceKeys,
+                                         final Collection<String> removeKeys) {
+        List<Rule> addRules = new ArrayList<>();
+        List<Rule> otherRules = new ArrayList<>();
+        boolean streamable = true;
+        if (CollectionUtils.isNotEmpty(addKeys)) {
+            for (ParamMappingRuleHandle.ParamMapInfo info : addKeys) {
+                Segment[] path = parse(info.getPath());
+                streamable &= Objects.nonNull(path) && Objects.nonNull(info.getKey());
+                addRules.add(new Rule(Rule.ADD, path, info.getKey(), info.getValue()));
+            }
+        }
+        if (CollectionUtils.isNotEmpty(replaceKeys)) {
+            for (ParamMappingRuleHandle.ParamMapInfo info : replaceKeys) {
+                Segment[] path = parse(info.getPath());
+                streamable &= Objects.nonNull(path) && Objects.nonNull(info.getKey()) && Objects.nonNull(info.getValue());
+                otherRules.add(new Rule(Rule.RENAME, path, info.getKey(), info.getValue()));
+            }
+        }
+        if (CollectionUtils.isNotEmpty(removeKeys)) {
+            for (String removeKey : removeKeys) {
+                Segment[] path = parse(removeKey);
+                // the root itself can not be removed.
+                streamable &= Objects.nonNull(path) && path.length > 0;
+                otherRules.add(new Rule(Rule.REMOVE, path, null, null));
+            }
+        }
+        return new JsonBodyTransformer(addRules, otherRules, streamable);
+    }
+
+    /**
+     * Whether all the paths can be followed while streaming, otherwise the body has to be transformed as a whole document.
+     *
+     * @return true if streamable
+     */
+    public boolean isStreamable() {
+        return streamable;
+    }
+
+    /**
+     * Whether there is no rule, so the body can be passed through as it is.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return addRules.isEmpty() && otherRules.isEmpty();
+    }
+
+    /**
+     * Transform the json body.
+     *
+     * @param body          the body
+     * @param bufferFactory the buffer factory of the transformed body
+     * @return the transformed body
+     */
+    public Flux<DataBuffer> transform(final Publisher<? extends DataBuffer> body, final DataBufferFactory bufferFactory) {
+        return Flux.using(() -> new Session(this, bufferFactory),
+            session -> Flux.from(body).<DataBuffer>handle((buffer, sink) -> {
+                DataBuffer transformed = session.write(buffer);
+                if (Objects.nonNull(transformed)) {
+                    sink.next(transformed);
+                }
+            }).doOnDiscard(DataBuffer.class, DataBufferUtils::release).concatWith(Mono.fromCallable(session::complete)),
+            Session::close);
+    }
+
+    /**
+     * Parse a json path, only the definite paths without filter, deep scan, slice and union are supported.
+     *
+     * @param path the json path
+     * @return the segments, or null if not supported
+     */
+    static Segment[] parse(final String path) {
+        if (Objects.isNull(path) || !path.startsWith("$")) {
+            return null;
+        }
+        List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        int length = path.length();
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty() || name.indexOf('(') >= 0) {
+                    return null;
+                }
+                segments.add("*".equals(name) ? Segment.WILDCARD : new Segment(name, -1));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                String inner = path.substring(i + 1, end).trim();
+                if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')) {
+                    char quote = inner.charAt(0);
+                    int close = path.indexOf(quote, path.indexOf(quote, i) + 1);
+                    end = close < 0 ? -1 : path.indexOf(']', close);
+                    if (end < 0 || !path.substring(close + 1, end).trim().isEmpty()) {
+                        return null;
+                    }
+                    segments.add(new Segment(path.substring(path.indexOf(quote, i) + 1, close), -1));
+                } else if ("*".equals(inner)) {
+                    segments.add(Segment.WILDCARD);
+                } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit) && inner.length() < 10) {
+                    segments.add(new Segment(null, Integer.parseInt(inner)));
+                } else {
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * One segment of a json path, a key, an index or the wildcard.
+     */
+    static final class Segment {
+
+        private static final Segment WILDCARD = new Segment(null, -1);
+
+        private final String name;
+
+        private final int index;
+
+        private Segment(final String name, final int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        private boolean matches(final String key) {
+            return this == WILDCARD || key.equals(name);
+        }
+
+        private boolean matches(final int elementIndex) {
+            return this == WILDCARD || Objects.isNull(name) && index == elementIndex;
+        }
+    }
+
+    private static final class Rule {
+
+        private static final int ADD = 0;
+
+        private static final int RENAME = 1;
+
+        private static final int REMOVE = 2;
+
+        private final int type;
+
+        private final Segment[] path;
+
+        private final String key;
+
+        private final String value;
+
+        private Rule(final int type, final Segment[] path, final String key, final String value) {
+            this.type = type;
+            this.path = path;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Whether the rule applies to the children of the container at the depth.
+         */
+        private boolean targets(final int depth) {
+            return path.length == (type == REMOVE ? depth + 1 : depth);
+        }
+
+        private boolean passes(final int depth) {
+            return path.length > (type == REMOVE ? depth + 1 : depth);
+        }
+    }
+
+    /**
+     * An open object or array, with the rules whose path matches it so far.
+     * The add rules are matched with the keys of the original body, the rename and remove rules with the renamed keys.
+     */
+    private static final class Frame {
+
+        private final boolean object;
+
+        private final int depth;
+
+        private final List<Rule> addRules;
+
+        private final List<Rule> otherRules;
+
+        private boolean[] added;
+
+        private int index;
+
+        private String originalKey;
+
+        private String key;
+
+        private Frame(final boolean object, final int depth, final List<Rule> addRules, final List<Rule> otherRules) {
+            this.object = object;
+            this.depth = depth;
+            this.addRules = addRules;
+            this.otherRules = otherRules;
+            if (object && !addRules.isEmpty()) {
+                this.added = new boolean[addRules.size()];
+            }
+        }
+
+        private Frame child(final boolean childObject, final String originalChildKey, final String childKey, final int childIndex) {
+            List<Rule> childAddRules = Collections.emptyList();
+            for (Rule rule : addRules) {
+                if (rule.passes(depth) && (Objects.isNull(originalChildKey) ? rule.path[depth].matches(childIndex) : rule.path[depth].matches(originalChildKey))) {
+                    childAddRules = childAddRules.isEmpty() ? new ArrayList<>() : childAddRules;
+                    childAddRules.add(rule);
+                }
+            }
+            List<Rule> childOtherRules = Collections.emptyList();
+            for (Rule rule : otherRules) {
+                if (rule.passes(depth) && (Objects.isNull(childKey) ? rule.path[depth].matches(childIndex) : rule.path[depth].matches(childKey))) {
+                    childOtherRules = childOtherRules.isEmpty() ? new ArrayList<>() : childOtherRules;
+                    childOtherRules.add(rule);
+                }
+            }
+            return new Frame(childObject, depth + 1, childAddRules, childOtherRules);
+        }
+
+        private String rename(final String originalName) {
+            String name = originalName;
+            for (Rule rule : otherRules) {
+                if (rule.type == Rule.RENAME && rule.targets(depth) && rule.key.equals(name)) {
+                    name = rule.value;
+                }
+            }
+            return name;
+        }
+
+        private boolean removes(final String name) {
+            for (Rule rule : otherRules) {
+                if (rule.type == Rule.REMOVE && rule.targets(depth) && rule.path[depth].matches(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean removes(final int elementIndex) {
+            for (Rule rule : otherRules) {
+                if (rule.type == Rule.REMOVE && rule.targets(depth) && rule.path[depth].matches(elementIndex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The last add rule of the key wins, as it is the last one put.
+         */
+        private Rule addRule(final String name) {
+            Rule found = null;
+            for (int i = 0; i < addRules.size(); i++) {
+                Rule rule = addRules.get(i);
+                if (rule.targets(depth) && rule.key.equals(name)) {
+                    added[i] = true;
+                    found = rule;
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * The state of one body.
+     */
+    static final class Session {
+
+        private final JsonBodyTransformer transformer;
+
+        private final DataBufferFactory bufferFactory;
+
+        private final JsonParser parser;
+
+        private final ByteArrayFeeder feeder;
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        /**
+         * the original bytes read so far, until the transformed body is committed.
+         */
+        private ByteArrayOutputStream original = new ByteArrayOutputStream();
+
+        private boolean passThrough;
+
+        private final JsonGenerator generator;
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        private boolean skipValue;
+
+        private int skipDepth;
+
+        Session(final JsonBodyTransformer transformer, final DataBufferFactory bufferFactory) throws IOException {
+            this.transformer = transformer;
+            this.bufferFactory = bufferFactory;
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.generator = JSON_FACTORY.createGenerator(output);
+        }
+
+        /**
+         * Transform a chunk of the body, the chunk is released.
+         *
+         * @param buffer the chunk
+         * @return the transformed chunk, or null if nothing can be written yet
+         */
+        DataBuffer write(final DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            if (passThrough) {
+                return bufferFactory.wrap(bytes);
+            }
+            if (Objects.nonNull(original)) {
+                original.write(bytes, 0, bytes.length);
+            }
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                process();
+            } catch (IOException e) {
+                return fail(e);
+            }
+            if (Objects.nonNull(original) && original.size() > HOLD_BACK_SIZE) {
+                // the body is too large to be held back any longer, the transformed body is committed.
+                original = null;
+            }
+            return Objects.isNull(original) ? drain() : null;
+        }
+
+        /**
+         * Finish the body.
+         *
+         * @return the rest of the transformed body, or null if nothing is left
+         */
+        DataBuffer complete() {
+            if (passThrough) {
+                return null;
+            }
+            try {
+                feeder.endOfInput();
+                process();
+            } catch (IOException e) {
+                return fail(e);
+            }
+            return drain();
+        }
+
+        void close() {
+            try {
+                parser.close();
+                generator.close();
+            } catch (IOException ignored) {
+                // nothing is left to release.
+            }
+        }
+
+        /**
+         * Pass the original body through when nothing is committed yet, otherwise the body can only be failed.
+         */
+        private DataBuffer fail(final IOException e) {
+            if (Objects.isNull(original)) {
+                throw new ShenyuException(e);
+            }
+            LOG.warn("the body is not valid json, it is passed through unchanged: {}", e.getMessage());
+            passThrough = true;
+            output.reset();
+            DataBuffer held = original.size() == 0 ? null : bufferFactory.wrap(original.toByteArray());
+            original = null;
+            return held;
+        }
+
+        private void process() throws IOException {
+            JsonToken token = parser.nextToken();
+            while (Objects.nonNull(token) && token != JsonToken.NOT_AVAILABLE) {
+                if (!skip(token)) {
+                    handle(token);
+                }
+                token = parser.nextToken();
+            }
+            generator.flush();
+        }
+
+        private DataBuffer drain() {
+            if (output.size() == 0) {
+                return null;
+            }
+            DataBuffer transformed = bufferFactory.wrap(output.toByteArray());
+            output.reset();
+            return transformed;
+        }
+
+        private boolean skip(final JsonToken token) {
+            if (skipDepth > 0) {
+                if (token.isStructStart()) {
+                    skipDepth++;
+                } else if (token.isStructEnd()) {
+                    skipDepth--;
+                }
+                return true;
+            }
+            if (skipValue) {
+                skipValue = false;
+                if (token.isStructStart()) {
+                    skipDepth = 1;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private void handle(final JsonToken token) throws IOException {
+            switch (token) {
+                case FIELD_NAME:
+                    field(parser.getCurrentName());
+                    break;
+                case START_OBJECT:
+                case START_ARRAY:
+                    start(token == JsonToken.START_OBJECT);
+                    break;
+                case END_OBJECT:
+                    endObject(frames.pop());
+                    break;
+                case END_ARRAY:
+                    frames.pop();
+                    generator.writeEndArray();
+                    break;
+                default:
+                    if (removedElement(token)) {
+                        return;
+                    }
+                    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                        // keep the number as it is written, no precision is lost.
+                        generator.writeNumber(parser.getText());
+                    } else {
+                        generator.copyCurrentEvent(parser);
+                    }
+                    break;
+            }
+        }
+
+        private void field(final String originalKey) throws IOException {
+            Frame frame = frames.peek();
+            Rule addRule = frame.addRules.isEmpty() ? null : frame.addRule(originalKey);
+            String key = frame.otherRules.isEmpty() ? originalKey : frame.rename(originalKey);
+            if (!frame.otherRules.isEmpty() && frame.removes(key)) {
+                skipValue = true;
+                return;
+            }
+            generator.writeFieldName(key);
+            if (Objects.nonNull(addRule)) {
+                generator.writeString(addRule.value);
+                skipValue = true;
+                return;
+            }
+            frame.originalKey = originalKey;
+            frame.key = key;
+        }
+
+        private void start(final boolean object) throws IOException {
+            Frame parent = frames.peek();
+            Frame frame;
+            if (Objects.isNull(parent)) {
+                frame = new Frame(object, 0, transformer.addRules, transformer.otherRules);
+            } else if (parent.addRules.isEmpty() && parent.otherRules.isEmpty()) {
+                if (removedElement(JsonToken.START_OBJECT)) {
+                    return;
+                }
+                frame = new Frame(object, parent.depth + 1, Collections.emptyList(), Collections.emptyList());
+            } else if (parent.object) {
+                frame = parent.child(object, parent.originalKey, parent.key, -1);
+            } else {
+                int index = parent.index;
+                if (removedElement(JsonToken.START_OBJECT)) {
+                    return;
+                }
+                frame = parent.child(object, null, null, index);
+            }
+            if (object) {
+                generator.writeStartObject();
+            } else {
+                generator.writeStartArray();
+            }
+            frames.push(frame);
+        }
+
+        /**
+         * Count the element of an array, and skip it if it is removed.
+         */
+        private boolean removedElement(final JsonToken token) {
+            Frame parent = frames.peek();
+            if (Objects.isNull(parent) || parent.object) {
+                return false;
+            }
+            int index = parent.index++;
+            if (parent.otherRules.isEmpty() || !parent.removes(index)) {
+                return false;
+            }
+            if (token.isStructStart()) {
+                skipDepth = 1;
+            }
+            return true;
+        }
+
+        private void endObject(final Frame frame) throws IOException {
+            List<Rule> addRules = frame.addRules;
+            for (int i = 0; i < addRules.size(); i++) {
+                Rule rule = addRules.get(i);
+                if (!rule.targets(frame.depth) || frame.added[i] || overridden(addRules, i, frame.depth)) {
+                    continue;
+                }
+                String key = frame.rename(rule.key);
+                if (!frame.removes(key)) {
+                    generator.writeStringField(key, rule.value);
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        private boolean overridden(final List<Rule> addRules, final int index, final int depth) {
+            for (int i = index + 1; i < addRules.size(); i++) {
+                if (addRules.get(i).targets(depth) && addRules.get(i).key.equals(addRules.get(index).key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The compiled match index of the selectors of a plugin or the rules of a selector.
+ * The {@code uri} equals/startsWith/pathPattern condition of an {@code and} selector or rule
+ * is put into a {@linkplain PathTrie}, so only the candidates of the request path
+ * evaluate their residual conditions. Everything else is evaluated as before.
+ *
+ * @param <T> {@linkplain SelectorData} or {@linkplain RuleData}
+ */
+public final class ConditionMatchIndex<T> {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final List<T> source;
+
+    private final PathTrie<Entry<T>> trie = new PathTrie<>();
+
+    private final List<Entry<T>> unindexed = new ArrayList<>();
+
+    private ConditionMatchIndex(final List<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Compile the selectors of a plugin.
+     *
+     * @param selectors the sorted selectors
+     * @return the compiled index
+     */
+    public static ConditionMatchIndex<SelectorData> ofSelectors(final List<SelectorData> selectors) {
+        ConditionMatchIndex<SelectorData> index = new ConditionMatchIndex<>(selectors);
+        for (int i = 0; i < selectors.size(); i++) {
+            SelectorData selector = selectors.get(i);
+            if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
+                if (CollectionUtils.isEmpty(selector.getConditionList())) {
+                    continue;
+                }
+                index.add(i, selector, selector.getMatchMode(), selector.getConditionList(), SelectorData::getEnabled);
+            } else {
+                index.unindexed.add(new Entry<>(i, selector, exchange -> selector.getEnabled()));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Compile the rules of a selector.
+     *
+     * @param rules the sorted rules
+     * @return the compiled index
+     */
+    public static ConditionMatchIndex<RuleData> ofRules(final List<RuleData> rules) {
+        ConditionMatchIndex<RuleData> index = new ConditionMatchIndex<>(rules);
+        for (int i = 0; i < rules.size(); i++) {
+            RuleData rule = rules.get(i);
+            index.add(i, rule, rule.getMatchMode(), rule.getConditionDataList(), RuleData::getEnabled);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the source list this index is compiled from.
+     *
+     * @return the source list
+     */
+    public List<T> getSource() {
+        return source;
+    }
+
+    /**
+     * Match all the data, in the order of the source list.
+     *
+     * @param exchange the exchange
+     * @return the matched data
+     */
+    public List<T> matchAll(final ServerWebExchange exchange) {
+        return candidates(exchange).stream()
+                .filter(entry -> entry.matcher.test(exchange))
+                .map(entry -> entry.data)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Match the first data in the order of the source list.
+     *
+     * @param exchange the exchange
+     * @return the matched data, or null
+     */
+    public T matchFirst(final ServerWebExchange exchange) {
+        return candidates(exchange).stream()
+                .filter(entry -> entry.matcher.test(exchange))
+                .map(entry -> entry.data)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<Entry<T>> candidates(final ServerWebExchange exchange) {
+        List<Entry<T>> candidates = new ArrayList<>(unindexed);
+        String path = exchange.getRequest().getURI().getPath();
+        if (StringUtils.isNotBlank(path)) {
+            trie.match(path, candidates::add);
+        }
+        candidates.sort(Comparator.comparingInt(entry -> entry.order));
+        return candidates;
+    }
+
+    private void add(final int order, final T data, final Integer matchMode, final List<ConditionData> conditions,
+                     final Predicate<T> enabled) {
+        ConditionData indexed = MatchModeEnum.match(matchMode, MatchModeEnum.AND) && Objects.nonNull(conditions)
+                ? conditions.stream().filter(ConditionMatchIndex::indexable).min(Comparator.comparingInt(ConditionMatchIndex::priority)).orElse(null)
+                : null;
+        if (Objects.isNull(indexed)) {
+            unindexed.add(new Entry<>(order, data,
+                exchange -> enabled.test(data) && MatchStrategyFactory.match(matchMode, conditions, exchange)));
+            return;
+        }
+        String value = indexed.getParamValue().trim();
+        OperatorEnum operator = operator(indexed);
+        // pathPattern is only narrowed by its literal prefix, so it stays in the residual conditions.
+        List<ConditionData> residual = conditions.stream()
+                .filter(condition -> condition != indexed || operator == OperatorEnum.PATH_PATTERN)
+                .collect(Collectors.toList());
+        Entry<T> entry = new Entry<>(order, data, exchange -> enabled.test(data)
+                && (residual.isEmpty() || MatchStrategyFactory.match(MatchModeEnum.AND.getCode(), residual, exchange)));
+        if (operator == OperatorEnum.EQ) {
+            trie.putExact(value, entry);
+        } else if (operator == OperatorEnum.STARTS_WITH) {
+            trie.putPrefix(value, entry);
+        } else {
+            trie.putPrefix(literalPrefix(value), entry);
+        }
+    }
+
+    private static boolean indexable(final ConditionData condition) {
+        return ParamTypeEnum.URI.getName().equals(condition.getParamType())
+                && Objects.nonNull(condition.getParamValue())
+                && Objects.nonNull(operator(condition));
+    }
+
+    private static int priority(final ConditionData condition) {
+        return operator(condition) == OperatorEnum.PATH_PATTERN ? 1 : 0;
+    }
+
+    private static OperatorEnum operator(final ConditionData condition) {
+        String operator = condition.getOperator();
+        if (OperatorEnum.EQ.getAlias().equals(operator) || "equals".equals(operator)) {
+            return OperatorEnum.EQ;
+        }
+        if (OperatorEnum.STARTS_WITH.getAlias().equals(operator)) {
+            return OperatorEnum.STARTS_WITH;
+        }
+        if (OperatorEnum.PATH_PATTERN.getAlias().equals(operator)) {
+            return OperatorEnum.PATH_PATTERN;
+        }
+        return null;
+    }
+
+    /**
+     * The literal prefix of a path pattern, cut back to the last separator because
+     * {@code /a/**} and {@code /a/{*path}} also match {@code /a}.
+     *
+     * @param pattern the path pattern
+     * @return the literal prefix
+     */
+    private static String literalPrefix(final String pattern) {
+        int end = StringUtils.indexOfAny(pattern, '*', '?', '{');
+        String literal = end < 0 ? pattern : pattern.substring(0, end);
+        int separator = literal.lastIndexOf(PATH_SEPARATOR);
+        return separator < 0 ? "" : literal.substring(0, separator);
+    }
+
+    private static final class Entry<T> {
+
+        private final int order;
+
+        private final T data;
+
+        private final Predicate<ServerWebExchange> matcher;
+
+        Entry(final int order, final T data, final Predicate<ServerWebExchange> matcher) {
+            this.order = order;
+            this.data = data;
+            this.matcher = matcher;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An index of ant style path patterns. The patterns without wildcard are kept in a hash map,
+ * the others are put into a trie of path segments, so a lookup only visits the patterns
+ * which can match the request path, and each of them is still checked with {@linkplain PathMatchUtils#match(String, String)}.
+ * When several patterns match, the exact path wins, then the pattern indexed first.
+ *
+ * @param <V> the value type
+ */
+public final class PathPatternIndex<V> {
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private static final String MULTI_SEGMENT_WILDCARD = "**";
+
+    private final Map<String, V> exactValues = new HashMap<>();
+
+    private final Node<V> root = new Node<>();
+
+    private boolean hasPatterns;
+
+    private PathPatternIndex() {
+    }
+
+    /**
+     * Build the index.
+     *
+     * @param values       the values
+     * @param pathFunction the function which gets the path pattern of a value
+     * @param <V>          the value type
+     * @return the index
+     */
+    public static <V> PathPatternIndex<V> of(final Collection<V> values, final Function<V, String> pathFunction) {
+        PathPatternIndex<V> index = new PathPatternIndex<>();
+        int order = 0;
+        for (V value : values) {
+            String pattern = pathFunction.apply(value);
+            if (Objects.nonNull(pattern)) {
+                index.put(pattern, value, order++);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Find the value whose path pattern matches the path.
+     *
+     * @param path the request path
+     * @return the value, or null if no pattern matches
+     */
+    public V match(final String path) {
+        V value = exactValues.get(path);
+        if (Objects.nonNull(value) || !hasPatterns) {
+            return value;
+        }
+        Entry<V> matched = match(root, split(path), 0, path, null);
+        return Objects.isNull(matched) ? null : matched.value;
+    }
+
+    private Entry<V> match(final Node<V> node, final List<String> segments, final int index, final String path, final Entry<V> matched) {
+        Entry<V> result = matched;
+        for (Entry<V> entry : node.prefixEntries) {
+            result = better(result, entry, path);
+        }
+        if (index == segments.size()) {
+            for (Entry<V> entry : node.entries) {
+                result = better(result, entry, path);
+            }
+            return result;
+        }
+        Node<V> child = node.children.get(segments.get(index));
+        if (Objects.nonNull(child)) {
+            result = match(child, segments, index + 1, path, result);
+        }
+        if (Objects.nonNull(node.wildcard)) {
+            result = match(node.wildcard, segments, index + 1, path, result);
+        }
+        return result;
+    }
+
+    private void put(final String pattern, final V value, final int order) {
+        if (!isPattern(pattern)) {
+            exactValues.putIfAbsent(pattern, value);
+            return;
+        }
+        hasPatterns = true;
+        Entry<V> entry = new Entry<>(pattern, value, order);
+        Node<V> current = root;
+        for (String segment : split(pattern)) {
+            if (segment.contains(MULTI_SEGMENT_WILDCARD)) {
+                // the rest of the path may be any number of segments.
+                current.prefixEntries.add(entry);
+                return;
+            }
+            if (isPattern(segment)) {
+                if (Objects.isNull(current.wildcard)) {
+                    current.wildcard = new Node<>();
+                }
+                current = current.wildcard;
+            } else {
+                current = current.children.computeIfAbsent(segment, s -> new Node<>());
+            }
+        }
+        current.entries.add(entry);
+    }
+
+    private Entry<V> better(final Entry<V> matched, final Entry<V> candidate, final String path) {
+        if (Objects.nonNull(matched) && matched.order < candidate.order) {
+            return matched;
+        }
+        return PathMatchUtils.match(candidate.pattern, path) ? candidate : matched;
+    }
+
+    private static boolean isPattern(final String path) {
+        return StringUtils.containsAny(path, '*', '?', '{');
+    }
+
+    private static List<String> split(final String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    private static final class Node<V> {
+
+        private final Map<String, Node<V>> children = new HashMap<>(4);
+
+        private final List<Entry<V>> entries = new ArrayList<>(0);
+
+        private final List<Entry<V>> prefixEntries = new ArrayList<>(0);
+
+        private Node<V> wildcard;
+    }
+
+    private static final class Entry<V> {
+
+        private final String pattern;
+
+        private final V value;
+
+        private final int order;
+
+        private Entry(final String pattern, final V value, final int order) {
+            this.pattern = pattern;
+            this.value = value;
+            this.order = order;
+        }
+    }
+}
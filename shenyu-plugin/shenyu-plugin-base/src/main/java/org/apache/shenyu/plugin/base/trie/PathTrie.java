@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A character trie of uri paths, each node holds the values whose uri condition equals
+ * the node path and the values whose uri condition starts with the node path.
+ *
+ * @param <V> the value type
+ */
+public final class PathTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Insert a value which only matches the exact path.
+     *
+     * @param path  the path
+     * @param value the value
+     */
+    public void putExact(final String path, final V value) {
+        node(path).exactValues.add(value);
+    }
+
+    /**
+     * Insert a value which matches every path starting with the prefix.
+     *
+     * @param prefix the prefix
+     * @param value  the value
+     */
+    public void putPrefix(final String prefix, final V value) {
+        node(prefix).prefixValues.add(value);
+    }
+
+    /**
+     * Visit every value whose exact path or prefix matches the real path.
+     *
+     * @param path     the real path
+     * @param consumer the value consumer
+     */
+    public void match(final String path, final Consumer<V> consumer) {
+        Node<V> current = root;
+        current.prefixValues.forEach(consumer);
+        for (int i = 0; i < path.length(); i++) {
+            current = current.children.get(path.charAt(i));
+            if (Objects.isNull(current)) {
+                return;
+            }
+            current.prefixValues.forEach(consumer);
+        }
+        current.exactValues.forEach(consumer);
+    }
+
+    private Node<V> node(final String path) {
+        Node<V> current = root;
+        for (int i = 0; i < path.length(); i++) {
+            current = current.children.computeIfAbsent(path.charAt(i), c -> new Node<>());
+        }
+        return current;
+    }
+
+    private static final class Node<V> {
+
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+
+        private final List<V> exactValues = new ArrayList<>(0);
+
+        private final List<V> prefixValues = new ArrayList<>(0);
+    }
+}
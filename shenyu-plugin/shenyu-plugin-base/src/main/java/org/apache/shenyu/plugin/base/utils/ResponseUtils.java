@@ -143,6 +143,22 @@ public final class ResponseUtils {
         })).onErrorResume((Function<Throwable, Mono<Void>>) throwable -> ResponseUtils.release(outputMessage, throwable));
     }
 
+    /**
+     * the response write with the body as it goes through, chunk by chunk.
+     *
+     * @param clientResponse the client response
+     * @param exchange the exchange
+     * @param body the body
+     * @return the response wrapper data
+     */
+    public static Mono<Void> writeWith(final ClientResponse clientResponse,
+                                       final ServerWebExchange exchange,
+                                       final Flux<DataBuffer> body) {
+        fixHeaders(exchange.getResponse().getHeaders());
+        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, clientResponse);
+        return exchange.getResponse().writeWith(body);
+    }
+
     /**
      * Gets reads from ServerCodecConfigurer with custom the codec.
      * @return ServerCodecConfigurer readers
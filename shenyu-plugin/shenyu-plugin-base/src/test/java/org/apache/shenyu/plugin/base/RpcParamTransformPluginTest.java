@@ -34,7 +34,10 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -89,6 +92,39 @@ public final class RpcParamTransformPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
     
+    /**
+     * Test json body kept as bytes for dubbo.
+     */
+    @Test
+    public void testDubboJsonBody() {
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}"));
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        StepVerifier.create(rpcParamTransformPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        byte[] body = exchange.getAttribute(Constants.PARAM_TRANSFORM_BODY);
+        assertEquals("{\"id\":1}", new String(body, StandardCharsets.UTF_8));
+        assertNull(exchange.getAttribute(Constants.PARAM_TRANSFORM));
+    }
+    
+    /**
+     * Test json body of other rpc.
+     */
+    @Test
+    public void testGrpcJsonBody() {
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}"));
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.GRPC.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        StepVerifier.create(rpcParamTransformPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        assertEquals("{\"id\":1}", exchange.getAttribute(Constants.PARAM_TRANSFORM));
+        assertNull(exchange.getAttribute(Constants.PARAM_TRANSFORM_BODY));
+    }
+    
     /**
      * Test format body.
      */
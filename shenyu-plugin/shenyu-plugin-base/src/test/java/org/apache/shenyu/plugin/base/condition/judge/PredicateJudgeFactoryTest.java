@@ -22,8 +22,12 @@ import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -149,4 +153,27 @@ public final class PredicateJudgeFactoryTest {
         assertFalse(PredicateJudgeFactory.judge(conditionData, "/test/http/**"));
         assertFalse(PredicateJudgeFactory.judge(conditionData, "/**/http1/"));
     }
+
+    @Test
+    public void testCompiledPathPatternJudge() {
+        conditionData.setOperator(OperatorEnum.PATH_PATTERN.getAlias());
+        conditionData.setParamValue(" /http/** ");
+        PredicateJudgeFactory.compile(conditionData);
+        assertTrue(conditionData.getCompiledParamValue() instanceof PathPattern);
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "/http1/test"));
+    }
+
+    @Test
+    public void testCompiledRegexJudge() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue(" [/a-zA-Z0-9]+ ");
+        PredicateJudgeFactory.compile(conditionData);
+        assertTrue(conditionData.getCompiledParamValue() instanceof Pattern);
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "/http?/test"));
+        conditionData.setParamValue("/http/test");
+        assertNull(conditionData.getCompiledParamValue());
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "/http/other"));
+    }
 }
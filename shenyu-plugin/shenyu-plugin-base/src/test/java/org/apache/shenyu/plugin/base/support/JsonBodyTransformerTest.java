@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import org.apache.shenyu.common.dto.convert.rule.impl.ParamMappingRuleHandle;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for JsonBodyTransformer.
+ */
+public final class JsonBodyTransformerTest {
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    public void testTransform() {
+        JsonBodyTransformer transformer = JsonBodyTransformer.of(Collections.singletonList(info("$", "webName", "SHENYU")),
+                Collections.singletonList(info("$", "name", "realName")), Collections.singleton("$.age"));
+        assertTrue(transformer.isStreamable());
+        for (int chunkSize : new int[]{1, 3, 1024}) {
+            assertEquals("{\"realName\":\"shenyu\",\"webName\":\"SHENYU\"}", transform(transformer, "{\"name\":\"shenyu\",\"age\":\"18\"}", chunkSize));
+        }
+    }
+
+    @Test
+    public void testNestedPaths() {
+        JsonBodyTransformer transformer = JsonBodyTransformer.of(
+                Arrays.asList(info("$.data[*]", "tag", "x"), info("$.data[*]", "id", "new")),
+                Arrays.asList(info("$", "data", "items"), info("$.items[*]", "v", "value")),
+                new LinkedHashSet<>(Arrays.asList("$.items[1]", "$['meta'].secret", "$.items[*].drop")));
+        String body = "{\"data\":[{\"id\":1,\"v\":1.10,\"drop\":{\"a\":[1,2]}},{\"id\":2},{\"id\":3,\"v\":\"s\"}],"
+                + "\"meta\":{\"secret\":[1,{\"x\":2}],\"ok\":true,\"n\":null},\"big\":123456789012345678901234567890}";
+        String expected = "{\"items\":[{\"id\":\"new\",\"value\":1.10,\"tag\":\"x\"},{\"id\":\"new\",\"value\":\"s\",\"tag\":\"x\"}],"
+                + "\"meta\":{\"ok\":true,\"n\":null},\"big\":123456789012345678901234567890}";
+        for (int chunkSize : new int[]{1, 7, 1024}) {
+            assertEquals(expected, transform(transformer, body, chunkSize));
+        }
+    }
+
+    @Test
+    public void testStreamable() {
+        assertFalse(JsonBodyTransformer.of(null, null, Collections.singleton("$..age")).isStreamable());
+        assertFalse(JsonBodyTransformer.of(null, null, Collections.singleton("$.list[?(@.age)]")).isStreamable());
+        assertFalse(JsonBodyTransformer.of(null, null, Collections.singleton("$")).isStreamable());
+        assertTrue(JsonBodyTransformer.of(null, null, Collections.singleton("$['a.b'][0].c")).isStreamable());
+        assertTrue(JsonBodyTransformer.of(null, null, null).isEmpty());
+    }
+
+    @Test
+    public void testInvalidBody() {
+        JsonBodyTransformer transformer = JsonBodyTransformer.of(null, null, Collections.singleton("$.age"));
+        for (int chunkSize : new int[]{1, 3, 1024}) {
+            assertEquals("{\"age\":[1,2", transform(transformer, "{\"age\":[1,2", chunkSize));
+            assertEquals("<html>{\"age\":1}</html>", transform(transformer, "<html>{\"age\":1}</html>", chunkSize));
+        }
+    }
+
+    @Test
+    public void testInvalidBodyAfterCommit() {
+        JsonBodyTransformer transformer = JsonBodyTransformer.of(null, null, Collections.singleton("$.age"));
+        StringBuilder body = new StringBuilder("{\"age\":1,\"list\":[");
+        while (body.length() <= JsonBodyTransformer.HOLD_BACK_SIZE) {
+            body.append("1,");
+        }
+        StepVerifier.create(transformer.transform(Flux.just(buffer(body.toString()), buffer("}")), bufferFactory))
+                .expectNextCount(1)
+                .verifyError(ShenyuException.class);
+    }
+
+    private String transform(final JsonBodyTransformer transformer, final String body, final int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            chunks.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+        }
+        DataBuffer joined = DataBufferUtils.join(transformer.transform(Flux.fromIterable(chunks), bufferFactory)).block();
+        return joined.toString(StandardCharsets.UTF_8);
+    }
+
+    private DataBuffer buffer(final String value) {
+        return bufferFactory.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ParamMappingRuleHandle.ParamMapInfo info(final String path, final String key, final String value) {
+        ParamMappingRuleHandle.ParamMapInfo info = new ParamMappingRuleHandle.ParamMapInfo();
+        info.setPath(path);
+        info.setKey(key);
+        info.setValue(value);
+        return info;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for ConditionMatchIndex.
+ */
+public final class ConditionMatchIndexTest {
+
+    @Test
+    public void testMatchAllSelectors() {
+        List<SelectorData> selectors = Lists.newArrayList(
+                buildSelector("1", 1, MatchModeEnum.AND, buildCondition("uri", "=", "/http/test")),
+                buildSelector("2", 2, MatchModeEnum.AND, buildCondition("uri", "startsWith", "/http/")),
+                buildSelector("3", 3, MatchModeEnum.AND, buildCondition("uri", "pathPattern", "/http/**")),
+                buildSelector("4", 4, MatchModeEnum.AND, buildCondition("uri", "pathPattern", "/other/**")),
+                buildSelector("5", 5, MatchModeEnum.OR, buildCondition("uri", "match", "/http/**")),
+                buildSelector("6", 6, MatchModeEnum.AND, buildCondition("uri", "=", "/http/test"),
+                        buildCondition("header", "=", "shenyu", "true")));
+        ConditionMatchIndex<SelectorData> index = ConditionMatchIndex.ofSelectors(selectors);
+        assertEquals(Lists.newArrayList("1", "2", "3", "5"), ids(index.matchAll(exchange("/http/test"))));
+        assertEquals(Lists.newArrayList("2", "3", "5"), ids(index.matchAll(exchange("/http/order"))));
+        assertTrue(index.matchAll(exchange("/none")).isEmpty());
+    }
+
+    @Test
+    public void testMatchResidualCondition() {
+        List<SelectorData> selectors = Collections.singletonList(
+                buildSelector("1", 1, MatchModeEnum.AND, buildCondition("uri", "=", "/http/test"),
+                        buildCondition("header", "=", "shenyu", "true")));
+        ConditionMatchIndex<SelectorData> index = ConditionMatchIndex.ofSelectors(selectors);
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").header("shenyu", "true").build());
+        assertEquals(Lists.newArrayList("1"), ids(index.matchAll(exchange)));
+        assertTrue(index.matchAll(exchange("/http/test")).isEmpty());
+    }
+
+    @Test
+    public void testMatchFullFlowAndDisabledSelector() {
+        SelectorData fullFlow = buildSelector("1", 1, MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        SelectorData disabled = buildSelector("2", 2, MatchModeEnum.AND, buildCondition("uri", "=", "/http/test"));
+        disabled.setEnabled(false);
+        ConditionMatchIndex<SelectorData> index = ConditionMatchIndex.ofSelectors(Lists.newArrayList(fullFlow, disabled));
+        assertEquals(Lists.newArrayList("1"), ids(index.matchAll(exchange("/http/test"))));
+    }
+
+    @Test
+    public void testMatchFirstRule() {
+        List<RuleData> rules = Lists.newArrayList(
+                buildRule("1", 1, buildCondition("uri", "=", "/http/order")),
+                buildRule("2", 2, buildCondition("uri", "pathPattern", "/http/**")),
+                buildRule("3", 3, buildCondition("uri", "startsWith", "/http/test")));
+        ConditionMatchIndex<RuleData> index = ConditionMatchIndex.ofRules(rules);
+        assertEquals("2", index.matchFirst(exchange("/http/test")).getId());
+        assertEquals("1", index.matchFirst(exchange("/http/order")).getId());
+        assertNull(index.matchFirst(exchange("/test")));
+    }
+
+    private static ServerWebExchange exchange(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+
+    private static List<String> ids(final List<SelectorData> selectors) {
+        return selectors.stream().map(SelectorData::getId).collect(Collectors.toList());
+    }
+
+    private static SelectorData buildSelector(final String id, final int sort, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(id).sort(sort).enabled(true)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(matchMode.getCode())
+                .conditionList(Lists.newArrayList(conditions)).build();
+    }
+
+    private static RuleData buildRule(final String id, final int sort, final ConditionData... conditions) {
+        return RuleData.builder().id(id).sort(sort).enabled(true)
+                .matchMode(MatchModeEnum.AND.getCode())
+                .conditionDataList(Lists.newArrayList(conditions)).build();
+    }
+
+    private static ConditionData buildCondition(final String paramType, final String operator, final String paramValue) {
+        return buildCondition(paramType, operator, "/", paramValue);
+    }
+
+    private static ConditionData buildCondition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
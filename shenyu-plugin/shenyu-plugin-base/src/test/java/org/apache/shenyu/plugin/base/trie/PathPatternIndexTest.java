@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for PathPatternIndex.
+ */
+public final class PathPatternIndexTest {
+
+    private final List<String> patterns = Lists.newArrayList(
+            "/dubbo/**",
+            "/dubbo/findById",
+            "/springcloud/*/detail",
+            "/http/order/{id}",
+            "/http/order/{id}/items",
+            "/**/ping",
+            "/sofa/find?ame");
+
+    private final PathPatternIndex<String> index = PathPatternIndex.of(patterns, Function.identity());
+
+    @Test
+    public void testMatch() {
+        assertEquals("/dubbo/findById", index.match("/dubbo/findById"));
+        assertEquals("/dubbo/**", index.match("/dubbo/findAll"));
+        assertEquals("/dubbo/**", index.match("/dubbo"));
+        assertEquals("/dubbo/**", index.match("/dubbo/a/b/ping"));
+        assertEquals("/springcloud/*/detail", index.match("/springcloud/user/detail"));
+        assertEquals("/http/order/{id}", index.match("/http/order/1"));
+        assertEquals("/http/order/{id}/items", index.match("/http/order/1/items"));
+        assertEquals("/**/ping", index.match("/a/b/ping"));
+        assertEquals("/sofa/find?ame", index.match("/sofa/findName"));
+        assertNull(index.match("/springcloud/user/list"));
+        assertNull(index.match("/http/order"));
+        assertNull(index.match("/other"));
+        assertNull(PathPatternIndex.of(Collections.<String>emptyList(), Function.identity()).match("/dubbo"));
+    }
+
+    @Test
+    public void testSameAsScan() {
+        List<String> paths = Lists.newArrayList("/dubbo/x/y", "/springcloud//user/detail", "/http/order/1/", "dubbo/findById",
+                "/sofa/findname", "/ping", "/", "");
+        for (String path : paths) {
+            String expected = patterns.stream().filter(pattern -> PathMatchUtils.match(pattern, path)).findFirst().orElse(null);
+            assertEquals(expected, index.match(path), path);
+        }
+    }
+}
@@ -28,45 +28,49 @@ import org.apache.shenyu.plugin.cache.handler.CachePluginDataHandler;
 import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.NonNull;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * CacheWritePlugin.
  */
 public class CachePlugin extends AbstractShenyuPlugin {
 
+    /**
+     * the upstream calls in flight, concurrent misses of the same data key wait for the first one (single-flight).
+     */
+    private static final ConcurrentMap<String, Sinks.One<CachedResponse>> IN_FLIGHT = new ConcurrentHashMap<>();
+
     @Override
     public Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
                                 final SelectorData selector, final RuleData rule) {
         ICache cache = CacheUtils.getCache();
-        if (Objects.nonNull(cache)) {
-            return cache.getData(CacheUtils.dataKey(exchange))
-                    .zipWith(cache.getData(CacheUtils.contentTypeKey(exchange)))
-                    .flatMap(data -> Mono.just(Optional.of(data)))
-                    .defaultIfEmpty(Optional.empty())
-                    .flatMap(dataFlg -> {
-                        if (dataFlg.isPresent()) {
-                            byte[] bytes = dataFlg.get().getT1();
-                            byte[] contentTypeBytes = dataFlg.get().getT2();
-                            cache.setContentType(exchange, contentTypeBytes);
-                            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
-                                    .doOnNext(data -> exchange.getResponse().getHeaders().setContentLength(data.readableByteCount())));
-                        }
-                        CacheRuleHandle cacheRuleHandle = CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
-                        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
-                    });
-        }
         CacheRuleHandle cacheRuleHandle = CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
-        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
+        if (Objects.isNull(cache)) {
+            return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle, null)).build());
+        }
+        final String dataKey = CacheUtils.dataKey(exchange);
+        return cache.getData(dataKey)
+                .map(data -> Optional.ofNullable(CachedResponse.decode(data)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> {
+                    if (cached.isPresent()) {
+                        return writeCachedResponse(exchange, cached.get());
+                    }
+                    return executeOnMiss(exchange, chain, cacheRuleHandle, dataKey);
+                });
     }
 
     @Override
@@ -79,37 +83,86 @@ public class CachePlugin extends AbstractShenyuPlugin {
         return PluginEnum.CACHE.getName();
     }
 
+    private Mono<Void> executeOnMiss(final ServerWebExchange exchange, final ShenyuPluginChain chain,
+                                     final CacheRuleHandle cacheRuleHandle, final String dataKey) {
+        final Sinks.One<CachedResponse> sink = Sinks.one();
+        final Sinks.One<CachedResponse> leader = IN_FLIGHT.putIfAbsent(dataKey, sink);
+        if (Objects.isNull(leader)) {
+            return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle, sink)).build())
+                    .doFinally(signal -> {
+                        IN_FLIGHT.remove(dataKey, sink);
+                        // the response was not cacheable or never written, release the waiters.
+                        sink.tryEmitEmpty();
+                    });
+        }
+        return leader.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> {
+                    if (cached.isPresent()) {
+                        return writeCachedResponse(exchange, cached.get());
+                    }
+                    return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle, null)).build());
+                });
+    }
+
+    private static Mono<Void> writeCachedResponse(final ServerWebExchange exchange, final CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setRawStatusCode(cached.getStatus());
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
     static class CacheHttpResponse extends ServerHttpResponseDecorator {
 
         private final ServerWebExchange exchange;
 
         private final CacheRuleHandle cacheRuleHandle;
 
+        private final Sinks.One<CachedResponse> sink;
+
         CacheHttpResponse(final ServerWebExchange exchange,
                           final CacheRuleHandle cacheRuleHandle) {
+            this(exchange, cacheRuleHandle, null);
+        }
+
+        CacheHttpResponse(final ServerWebExchange exchange,
+                          final CacheRuleHandle cacheRuleHandle,
+                          final Sinks.One<CachedResponse> sink) {
             super(exchange.getResponse());
             this.exchange = exchange;
             this.cacheRuleHandle = cacheRuleHandle;
+            this.sink = sink;
         }
 
         @Override
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
-            return super.writeWith(cacheResponse(body));
+            final ICache cache = CacheUtils.getCache();
+            if (Objects.isNull(cache) || !isCacheable()) {
+                return super.writeWith(body);
+            }
+            // aggregate the whole body, the joined buffer keeps the allocation (direct or heap) of the upstream buffers.
+            return super.writeWith(DataBufferUtils.join(body).doOnNext(buffer -> cacheResponse(cache, buffer)));
         }
 
-        @NonNull
-        private Flux<? extends DataBuffer> cacheResponse(final Publisher<? extends DataBuffer> body) {
-            final ICache cache = CacheUtils.getCache();
-            if (Objects.nonNull(cache)) {
-                final MediaType contentType = this.getHeaders().getContentType();
-                return Flux.from(body).doOnNext(buffer -> {
-                    cache.cacheData(CacheUtils.dataKey(this.exchange), buffer.asByteBuffer().array(),
-                            this.cacheRuleHandle.getTimeoutSeconds()).subscribeOn(Schedulers.boundedElastic()).subscribe();
-                    cache.cacheContentType(CacheUtils.contentTypeKey(this.exchange), contentType, this.cacheRuleHandle.getTimeoutSeconds());
-                });
+        private boolean isCacheable() {
+            HttpStatus status = this.getStatusCode();
+            return Objects.isNull(status) || status.is2xxSuccessful();
+        }
+
+        private void cacheResponse(final ICache cache, final DataBuffer buffer) {
+            final byte[] bytes = new byte[buffer.readableByteCount()];
+            // read through a view, the buffer itself is still written downstream.
+            buffer.asByteBuffer().get(bytes);
+            this.getHeaders().setContentLength(bytes.length);
+            final CachedResponse cached = CachedResponse.of(this.getStatusCode(), this.getHeaders(), bytes);
+            cache.cacheData(CacheUtils.dataKey(this.exchange), cached.encode(), this.cacheRuleHandle.getTimeoutSeconds())
+                    .subscribeOn(Schedulers.boundedElastic()).subscribe();
+            if (Objects.nonNull(this.sink)) {
+                this.sink.tryEmitValue(cached);
             }
-            return Flux.from(body);
         }
     }
 }
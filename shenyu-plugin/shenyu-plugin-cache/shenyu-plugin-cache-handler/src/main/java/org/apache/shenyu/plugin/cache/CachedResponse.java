@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A cached response: status, headers and the fully aggregated body, encoded as a single cache value
+ * so that a reader never sees the body of one response combined with the headers of another.
+ */
+public final class CachedResponse {
+
+    private static final int MAGIC = 0x53594331;
+
+    private static final Set<String> SKIPPED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        SKIPPED_HEADERS.add(HttpHeaders.CONTENT_LENGTH);
+        SKIPPED_HEADERS.add(HttpHeaders.TRANSFER_ENCODING);
+        SKIPPED_HEADERS.add(HttpHeaders.CONNECTION);
+        SKIPPED_HEADERS.add(HttpHeaders.SET_COOKIE);
+    }
+
+    private final int status;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    public CachedResponse(final int status, final HttpHeaders headers, final byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * build the cached response from the upstream response, dropping the hop-by-hop and per-client headers.
+     *
+     * @param status the response status, null means 200
+     * @param responseHeaders the response headers
+     * @param body the aggregated body
+     * @return the cached response
+     */
+    public static CachedResponse of(final HttpStatus status, final HttpHeaders responseHeaders, final byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name)) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        });
+        return new CachedResponse(Objects.isNull(status) ? HttpStatus.OK.value() : status.value(), headers, body);
+    }
+
+    /**
+     * get status.
+     *
+     * @return status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * get headers.
+     *
+     * @return headers
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * get body.
+     *
+     * @return body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * encode to the cache value.
+     *
+     * @return the encoded bytes
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(status);
+            out.writeInt(headers.size());
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String value : entry.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * decode the cache value.
+     *
+     * @param bytes the encoded bytes
+     * @return the cached response, or null when the bytes are not an encoded response
+     */
+    public static CachedResponse decode(final byte[] bytes) {
+        if (Objects.isNull(bytes) || bytes.length < 16) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            int status = in.readInt();
+            int headerCount = in.readInt();
+            HttpHeaders headers = new HttpHeaders();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new CachedResponse(status, headers, body);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
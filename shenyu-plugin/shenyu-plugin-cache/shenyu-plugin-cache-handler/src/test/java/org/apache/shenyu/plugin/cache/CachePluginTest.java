@@ -29,10 +29,12 @@ import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -40,6 +42,8 @@ import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -104,4 +108,49 @@ public class CachePluginTest {
         StepVerifier.create(result3).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void cachedResponseTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(4);
+        headers.add("X-Trace", "1");
+        final CachedResponse cached = CachedResponse.of(HttpStatus.CREATED, headers, "body".getBytes(StandardCharsets.UTF_8));
+        final CachedResponse decoded = CachedResponse.decode(cached.encode());
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), decoded.getStatus());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, decoded.getHeaders().getContentType());
+        Assertions.assertEquals("1", decoded.getHeaders().getFirst("X-Trace"));
+        Assertions.assertFalse(decoded.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        Assertions.assertEquals("body", new String(decoded.getBody(), StandardCharsets.UTF_8));
+        Assertions.assertNull(CachedResponse.decode(MediaType.APPLICATION_JSON_VALUE.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void coalesceTest() {
+        Singleton.INST.single(ICache.class, new MemoryCache());
+        final CachePlugin cachePlugin = new CachePlugin();
+        final RuleData ruleData = new RuleData();
+        ruleData.setId("coalesce");
+        CachePluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), new CacheRuleHandle());
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        Mockito.when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange mutated = invocation.getArgument(0);
+            return Mono.defer(() -> {
+                upstreamCalls.incrementAndGet();
+                mutated.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return mutated.getResponse().writeWith(Mono.just(mutated.getResponse().bufferFactory()
+                        .wrap("{\"id\":1}".getBytes(StandardCharsets.UTF_8))));
+            }).delaySubscription(Duration.ofMillis(200));
+        });
+        final MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/coalesce").build());
+        final MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/coalesce").build());
+        StepVerifier.create(Mono.when(cachePlugin.doExecute(first, shenyuPluginChain, null, ruleData),
+                cachePlugin.doExecute(second, shenyuPluginChain, null, ruleData)))
+                .expectSubscription().verifyComplete();
+        Assertions.assertEquals(1, upstreamCalls.get());
+        final MockServerHttpResponse response = second.getResponse();
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        StepVerifier.create(response.getBodyAsString()).expectNext("{\"id\":1}").verifyComplete();
+    }
 }
@@ -17,26 +17,37 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.apache.shenyu.plugin.cache.ICache;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * MemoryCache.
+ * MemoryCache, a single size-bounded cache with per-entry expiry and W-TinyLFU eviction.
  */
 public final class MemoryCache implements ICache {
 
-    private final Map<String, Cache<String, byte[]>> mainCache;
+    private final Cache<String, CacheEntry> mainCache;
 
     public MemoryCache() {
-        this.mainCache = new ConcurrentHashMap<>();
+        this(MemoryConfigProperties.DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Instantiates a new Memory cache.
+     *
+     * @param maximumWeight the maximum weight in bytes
+     */
+    public MemoryCache(final long maximumWeight) {
+        this.mainCache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, CacheEntry entry) -> entry.weight(key))
+                .expireAfter(new CacheEntryExpiry())
+                .build();
     }
 
     /**
@@ -49,10 +60,8 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> cacheData(final String key, final byte[] bytes, final long timeoutSeconds) {
-        final Cache<String, byte[]> cache = CacheBuilder.newBuilder().expireAfterWrite(timeoutSeconds, TimeUnit.SECONDS).build();
-        cache.put(key, bytes);
-        this.mainCache.put(key, cache);
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        this.mainCache.put(key, new CacheEntry(bytes, TimeUnit.SECONDS.toNanos(timeoutSeconds)));
+        return Mono.just(Boolean.TRUE);
     }
 
     /**
@@ -63,13 +72,7 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> isExist(final String key) {
-        final Cache<String, byte[]> cache = this.mainCache.get(key);
-        if (Objects.isNull(cache) || !cache.asMap().containsKey(key)) {
-            // remove from main cache
-            this.mainCache.remove(key);
-            return Mono.fromCallable(() -> Boolean.FALSE).subscribeOn(Schedulers.boundedElastic());
-        }
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        return Mono.just(Objects.nonNull(this.mainCache.getIfPresent(key)));
     }
 
     /**
@@ -80,12 +83,8 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<byte[]> getData(final String key) {
-        return isExist(key).mapNotNull(exist -> {
-            if (exist) {
-                return this.mainCache.get(key).asMap().get(key);
-            }
-            return null;
-        });
+        final CacheEntry entry = this.mainCache.getIfPresent(key);
+        return Objects.isNull(entry) ? Mono.empty() : Mono.just(entry.bytes);
     }
 
     /**
@@ -93,6 +92,47 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public void close() {
-        this.mainCache.clear();
+        this.mainCache.invalidateAll();
+        this.mainCache.cleanUp();
+    }
+
+    /**
+     * The cached bytes with its own time to live.
+     */
+    private static final class CacheEntry {
+
+        private final byte[] bytes;
+
+        private final long ttlNanos;
+
+        CacheEntry(final byte[] bytes, final long ttlNanos) {
+            this.bytes = bytes;
+            this.ttlNanos = ttlNanos;
+        }
+
+        int weight(final String key) {
+            return key.length() + bytes.length;
+        }
+    }
+
+    /**
+     * Expire every entry after its own time to live since it was written.
+     */
+    private static final class CacheEntryExpiry implements Expiry<String, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(final String key, final CacheEntry value, final long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CacheEntry value, final long currentTime, final long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CacheEntry value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
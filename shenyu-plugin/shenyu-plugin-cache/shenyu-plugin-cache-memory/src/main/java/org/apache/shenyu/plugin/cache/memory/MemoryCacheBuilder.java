@@ -17,10 +17,14 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
+import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.cache.ICache;
 import org.apache.shenyu.plugin.cache.ICacheBuilder;
 import org.apache.shenyu.spi.Join;
 
+import java.util.Objects;
+import java.util.Optional;
+
 /**
  * MemoryCacheBuilder.
  */
@@ -35,6 +39,10 @@ public class MemoryCacheBuilder implements ICacheBuilder {
      */
     @Override
     public ICache builderCache(final String cacheConfig) {
-        return new MemoryCache();
+        final MemoryConfigProperties properties = Optional.ofNullable(cacheConfig)
+                .map(config -> GsonUtils.getInstance().fromJson(config, MemoryConfigProperties.class))
+                .orElseGet(MemoryConfigProperties::new);
+        final Long maximumWeight = properties.getMaximumWeight();
+        return new MemoryCache(Objects.isNull(maximumWeight) || maximumWeight <= 0 ? MemoryConfigProperties.DEFAULT_MAXIMUM_WEIGHT : maximumWeight);
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache.memory;
+
+/**
+ * The memory cache config properties.
+ */
+public class MemoryConfigProperties {
+
+    /**
+     * default maximum weight, 256MB.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 256L * 1024 * 1024;
+
+    /**
+     * the maximum weight in bytes of the cached bodies and content types.
+     */
+    private Long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+    /**
+     * get maximum weight.
+     *
+     * @return the maximum weight
+     */
+    public Long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * set maximum weight.
+     *
+     * @param maximumWeight the maximum weight
+     */
+    public void setMaximumWeight(final Long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+}
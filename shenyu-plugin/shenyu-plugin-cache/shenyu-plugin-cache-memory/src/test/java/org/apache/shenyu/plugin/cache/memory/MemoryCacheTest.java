@@ -42,4 +42,13 @@ public class MemoryCacheTest {
         memoryCache.getData(key).subscribe(v -> assertEquals("data", new String(v, StandardCharsets.UTF_8)));
     }
 
+    @Test
+    public void testMemoryCacheExpired() {
+        final MemoryCache memoryCache = new MemoryCache();
+        final String key = "expired";
+        memoryCache.cacheData(key, "data".getBytes(StandardCharsets.UTF_8), 0)
+                .subscribe(v -> assertEquals(Boolean.TRUE, v));
+        memoryCache.isExist(key).subscribe(v -> assertEquals(Boolean.FALSE, v));
+        memoryCache.getData(key).hasElement().subscribe(v -> assertEquals(Boolean.FALSE, v));
+    }
 }
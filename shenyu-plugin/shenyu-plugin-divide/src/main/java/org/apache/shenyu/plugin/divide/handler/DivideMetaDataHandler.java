@@ -19,7 +19,6 @@ package org.apache.shenyu.plugin.divide.handler;
 
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
-import org.apache.shenyu.plugin.base.cache.MetaDataCache;
 import org.apache.shenyu.plugin.base.handler.MetaDataHandler;
 
 /**
@@ -29,19 +28,11 @@ public class DivideMetaDataHandler implements MetaDataHandler {
     
     @Override
     public void handle(final MetaData metaData) {
-        // the update is also need to clean, but there is no way to
-        // distinguish between crate and update, so it is always clean
-        MetaDataCache.getInstance().clean();
+        // the path index of MetaDataCache is rebuilt on every change, there is nothing to clean
     }
     
     @Override
     public void remove(final MetaData metaData) {
-        MetaDataCache.getInstance().clean();
-    }
-    
-    @Override
-    public void refresh() {
-        MetaDataCache.getInstance().clean();
     }
     
     @Override
@@ -77,7 +77,9 @@ public class AlibabaDubboPlugin extends AbstractDubboPlugin {
         RpcContext.getContext().setAttachment(Constants.DUBBO_RULE_ID, rule.getId());
         RpcContext.getContext().setAttachment(Constants.DUBBO_REMOTE_ADDRESS, Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress());
         return Mono.create(monoSink -> {
-            ResponseFuture future = alibabaDubboProxyService.genericInvoker(param, metaData);
+            byte[] body = exchange.getAttribute(Constants.PARAM_TRANSFORM_BODY);
+            ResponseFuture future = Objects.isNull(body) ? alibabaDubboProxyService.genericInvoker(param, metaData)
+                    : alibabaDubboProxyService.genericInvoker(param, body, metaData);
             future.setCallback(new ResponseCallback() {
 
                 @Override
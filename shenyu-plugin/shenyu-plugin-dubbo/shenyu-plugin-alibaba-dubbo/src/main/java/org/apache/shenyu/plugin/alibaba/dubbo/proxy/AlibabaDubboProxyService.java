@@ -63,6 +63,19 @@ public class AlibabaDubboProxyService {
      * @throws ShenyuException the shenyu exception
      */
     public ResponseFuture genericInvoker(final String body, final MetaData metaData) throws ShenyuException {
+        return genericInvoker(body, null, metaData);
+    }
+
+    /**
+     * Generic invoker object.
+     *
+     * @param body     the body
+     * @param rawBody  the raw json body, bound by the binder of the meta data if present
+     * @param metaData the meta data
+     * @return the object
+     * @throws ShenyuException the shenyu exception
+     */
+    public ResponseFuture genericInvoker(final String body, final byte[] rawBody, final MetaData metaData) throws ShenyuException {
         ReferenceConfig<GenericService> reference = AlibabaDubboConfigCache.getInstance().get(metaData.getPath());
         if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
             AlibabaDubboConfigCache.getInstance().invalidate(metaData.getPath());
@@ -71,8 +84,10 @@ public class AlibabaDubboProxyService {
         try {
             GenericService genericService = reference.get();
             Pair<String[], Object[]> pair;
-            if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.dubboBodyIsEmpty(body)) {
+            if (StringUtils.isBlank(metaData.getParameterTypes()) || Objects.isNull(rawBody) && ParamCheckUtils.dubboBodyIsEmpty(body)) {
                 pair = new ImmutablePair<>(new String[]{}, new Object[]{});
+            } else if (Objects.nonNull(rawBody)) {
+                pair = dubboParamResolveService.buildParameter(rawBody, metaData);
             } else {
                 pair = dubboParamResolveService.buildParameter(body, metaData.getParameterTypes());
             }
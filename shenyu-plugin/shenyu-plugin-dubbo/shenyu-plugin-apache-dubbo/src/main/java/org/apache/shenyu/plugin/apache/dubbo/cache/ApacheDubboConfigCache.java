@@ -28,6 +28,7 @@ import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.config.RegistryConfig;
 import org.apache.dubbo.rpc.model.ApplicationModel;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.convert.plugin.DubboRegisterConfig;
@@ -42,7 +43,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 
 /**
@@ -51,6 +60,11 @@ import java.util.concurrent.ExecutionException;
 public final class ApacheDubboConfigCache extends DubboConfigCache {
     
     private static final Logger LOG = LoggerFactory.getLogger(ApacheDubboConfigCache.class);
+
+    /**
+     * the references connected to the registry at the same time.
+     */
+    private static final int WARM_UP_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
     
     private ApplicationConfig applicationConfig;
     
@@ -75,6 +89,13 @@ public final class ApacheDubboConfigCache extends DubboConfigCache {
                     return new ReferenceConfig<>();
                 }
             });
+
+    /**
+     * path -> the reference being connected in the background.
+     */
+    private final ConcurrentMap<String, WarmUp> warmUps = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor warmUpExecutor = createWarmUpExecutor();
     
     
     /**
@@ -150,11 +171,122 @@ public final class ApacheDubboConfigCache extends DubboConfigCache {
      * @param metaData the meta data
      * @return the reference config
      */
-    @SuppressWarnings("deprecation")
     public ReferenceConfig<GenericService> build(final MetaData metaData) {
         if (Objects.isNull(applicationConfig) || Objects.isNull(registryConfig)) {
             return new ReferenceConfig<>();
         }
+        ReferenceConfig<GenericService> reference = newReference(metaData);
+        try {
+            Object obj = reference.get();
+            if (Objects.nonNull(obj)) {
+                LOG.info("init apache dubbo reference success there meteData is :{}", metaData);
+                cache.put(metaData.getPath(), reference);
+            }
+        } catch (Exception e) {
+            LOG.error("init apache dubbo reference exception", e);
+        }
+        return reference;
+    }
+
+    /**
+     * Connect the reference of the meta data in the background, and swap it in once it is connected,
+     * the reference in use before keeps serving until then.
+     * The same meta data is only connected once at a time, and a warm-up overtaken by newer meta data or by
+     * an invalidation is dropped.
+     *
+     * @param metaData the meta data
+     * @return the connected reference
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> warmUp(final MetaData metaData) {
+        WarmUp created = new WarmUp(metaData);
+        WarmUp warmUp = warmUps.merge(metaData.getPath(), created, (exist, fresh) -> isSameReference(exist.metaData, metaData) ? exist : fresh);
+        if (warmUp == created) {
+            try {
+                warmUpExecutor.execute(() -> connect(created));
+            } catch (RejectedExecutionException e) {
+                warmUps.remove(metaData.getPath(), created);
+                created.future.completeExceptionally(e);
+            }
+        }
+        // every caller gets its own stage, so a cancelled request does not cancel the shared warm-up.
+        return warmUp.future.thenApply(Function.identity());
+    }
+
+    /**
+     * Whether a connected reference of the path is in use.
+     *
+     * @param path the path
+     * @return true if ready
+     */
+    public boolean isReady(final String path) {
+        ReferenceConfig<GenericService> reference = cache.getIfPresent(path);
+        return Objects.nonNull(reference) && StringUtils.isNoneBlank(reference.getInterface());
+    }
+
+    /**
+     * Whether a reference of the path is being connected.
+     *
+     * @param path the path
+     * @return true if warming up
+     */
+    public boolean isWarmingUp(final String path) {
+        return warmUps.containsKey(path);
+    }
+
+    private void connect(final WarmUp warmUp) {
+        String path = warmUp.metaData.getPath();
+        ReferenceConfig<GenericService> reference = null;
+        try {
+            if (Objects.isNull(applicationConfig) || Objects.isNull(registryConfig)) {
+                throw new ShenyuException("the apache dubbo registry config is not initialized");
+            }
+            reference = newReference(warmUp.metaData);
+            if (Objects.isNull(reference.get())) {
+                throw new ShenyuException("the apache dubbo reference is not available, path: " + path);
+            }
+        } catch (Exception e) {
+            LOG.error("warm up apache dubbo reference exception, path: {}", path, e);
+            warmUps.remove(path, warmUp);
+            warmUp.future.completeExceptionally(e);
+            return;
+        }
+        ReferenceConfig<GenericService> connected = reference;
+        boolean[] swapped = new boolean[1];
+        // swapping in is atomic with invalidate, so an invalidated path never gets the reference back.
+        WarmUp latest = warmUps.computeIfPresent(path, (key, exist) -> {
+            if (exist != warmUp) {
+                return exist;
+            }
+            cache.put(path, connected);
+            swapped[0] = true;
+            return null;
+        });
+        if (swapped[0]) {
+            LOG.info("warm up apache dubbo reference success there meteData is :{}", warmUp.metaData);
+            warmUp.future.complete(connected);
+            return;
+        }
+        connected.destroy();
+        if (Objects.isNull(latest)) {
+            warmUp.future.completeExceptionally(new ShenyuException("the apache dubbo reference is invalidated, path: " + path));
+        } else {
+            latest.future.whenComplete((ref, throwable) -> {
+                if (Objects.isNull(throwable)) {
+                    warmUp.future.complete(ref);
+                } else {
+                    warmUp.future.completeExceptionally(throwable);
+                }
+            });
+        }
+    }
+
+    private boolean isSameReference(final MetaData exist, final MetaData metaData) {
+        return Objects.equals(exist.getServiceName(), metaData.getServiceName())
+                && Objects.equals(exist.getRpcExt(), metaData.getRpcExt());
+    }
+
+    @SuppressWarnings("deprecation")
+    private ReferenceConfig<GenericService> newReference(final MetaData metaData) {
         ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
         reference.setGeneric("true");
         reference.setAsync(true);
@@ -190,17 +322,15 @@ public final class ApacheDubboConfigCache extends DubboConfigCache {
             Optional.ofNullable(dubboParam.getRetries()).ifPresent(reference::setRetries);
             Optional.ofNullable(dubboParam.getSent()).ifPresent(reference::setSent);
         }
-        try {
-            Object obj = reference.get();
-            if (Objects.nonNull(obj)) {
-                LOG.info("init apache dubbo reference success there meteData is :{}", metaData);
-                cache.put(metaData.getPath(), reference);
-            }
-        } catch (Exception e) {
-            LOG.error("init apache dubbo reference exception", e);
-        }
         return reference;
     }
+
+    private static ThreadPoolExecutor createWarmUpExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WARM_UP_PARALLELISM, WARM_UP_PARALLELISM, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ShenyuThreadFactory.create("shenyu-dubbo-warm-up", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
     
     /**
      * Get reference config.
@@ -222,6 +352,7 @@ public final class ApacheDubboConfigCache extends DubboConfigCache {
      * @param path the path
      */
     public void invalidate(final String path) {
+        warmUps.remove(path);
         cache.invalidate(path);
     }
     
@@ -229,9 +360,24 @@ public final class ApacheDubboConfigCache extends DubboConfigCache {
      * Invalidate all.
      */
     public void invalidateAll() {
+        warmUps.clear();
         cache.invalidateAll();
     }
     
+    /**
+     * A reference being connected.
+     */
+    private static final class WarmUp {
+
+        private final MetaData metaData;
+
+        private final CompletableFuture<ReferenceConfig<GenericService>> future = new CompletableFuture<>();
+
+        private WarmUp(final MetaData metaData) {
+            this.metaData = metaData;
+        }
+    }
+    
     /**
      * The type Application config cache instance.
      */
@@ -21,8 +21,6 @@ import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.plugin.apache.dubbo.cache.ApacheDubboConfigCache;
 import org.apache.shenyu.plugin.dubbo.common.handler.AbstractDubboMetaDataHandler;
 
-import java.util.Objects;
-
 /**
  * The type Apache dubbo meta data subscriber.
  */
@@ -30,17 +28,18 @@ public class ApacheDubboMetaDataHandler extends AbstractDubboMetaDataHandler {
 
     @Override
     protected boolean isInitialized(final MetaData metaData) {
-        return Objects.nonNull(ApacheDubboConfigCache.getInstance().get(metaData.getPath()));
+        ApacheDubboConfigCache cache = ApacheDubboConfigCache.getInstance();
+        return cache.isReady(metaData.getPath()) || cache.isWarmingUp(metaData.getPath());
     }
 
     @Override
     protected void initReference(final MetaData metaData) {
-        ApacheDubboConfigCache.getInstance().initRef(metaData);
+        ApacheDubboConfigCache.getInstance().warmUp(metaData);
     }
 
     @Override
     protected void updateReference(final MetaData metaData) {
-        ApacheDubboConfigCache.getInstance().build(metaData);
+        ApacheDubboConfigCache.getInstance().warmUp(metaData);
     }
 
     @Override
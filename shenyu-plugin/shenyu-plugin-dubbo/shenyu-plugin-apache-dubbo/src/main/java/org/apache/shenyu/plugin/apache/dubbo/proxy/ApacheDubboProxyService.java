@@ -34,6 +34,8 @@ import org.apache.shenyu.plugin.dubbo.common.param.DubboParamResolveService;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -63,15 +65,37 @@ public class ApacheDubboProxyService {
      * @throws ShenyuException the shenyu exception
      */
     public Mono<Object> genericInvoker(final String body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
-        ReferenceConfig<GenericService> reference = ApacheDubboConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-            ApacheDubboConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApacheDubboConfigCache.getInstance().initRef(metaData);
+        ApacheDubboConfigCache configCache = ApacheDubboConfigCache.getInstance();
+        if (configCache.isReady(metaData.getPath())) {
+            return invoke(body, metaData, exchange, configCache.get(metaData.getPath()));
         }
+        // the reference is still connecting, wait for it without holding the event loop.
+        // the attachments of the rpc context belong to the event loop thread, they are moved to the thread which invokes.
+        final Map<String, Object> attachments = new HashMap<>(RpcContext.getContext().getObjectAttachments());
+        RpcContext.getContext().clearAttachments();
+        return Mono.fromFuture(configCache.warmUp(metaData))
+                .onErrorMap(exception -> exception instanceof ShenyuException ? exception : new ShenyuException(exception))
+                .flatMap(reference -> invokeWithAttachments(body, metaData, exchange, reference, attachments));
+    }
+
+    private Mono<Object> invokeWithAttachments(final String body, final MetaData metaData, final ServerWebExchange exchange,
+                                               final ReferenceConfig<GenericService> reference, final Map<String, Object> attachments) {
+        RpcContext.getContext().setObjectAttachments(attachments);
+        try {
+            return invoke(body, metaData, exchange, reference);
+        } finally {
+            RpcContext.getContext().clearAttachments();
+        }
+    }
+
+    private Mono<Object> invoke(final String body, final MetaData metaData, final ServerWebExchange exchange, final ReferenceConfig<GenericService> reference) {
         GenericService genericService = reference.get();
+        byte[] rawBody = exchange.getAttribute(Constants.PARAM_TRANSFORM_BODY);
         Pair<String[], Object[]> pair;
-        if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.dubboBodyIsEmpty(body)) {
+        if (StringUtils.isBlank(metaData.getParameterTypes()) || Objects.isNull(rawBody) && ParamCheckUtils.dubboBodyIsEmpty(body)) {
             pair = new ImmutablePair<>(new String[]{}, new Object[]{});
+        } else if (Objects.nonNull(rawBody)) {
+            pair = dubboParamResolveService.buildParameter(rawBody, metaData);
         } else {
             pair = dubboParamResolveService.buildParameter(body, metaData.getParameterTypes());
         }
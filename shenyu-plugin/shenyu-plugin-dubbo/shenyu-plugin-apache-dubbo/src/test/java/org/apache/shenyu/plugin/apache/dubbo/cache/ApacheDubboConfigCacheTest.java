@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.apache.dubbo.cache;
 
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.config.RegistryConfig;
+import org.apache.dubbo.rpc.service.GenericService;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.convert.plugin.DubboRegisterConfig;
 import org.apache.shenyu.common.utils.GsonUtils;
@@ -31,9 +32,14 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -126,6 +132,26 @@ public final class ApacheDubboConfigCacheTest {
         assertNotNull(apacheDubboConfigCacheMock.build(metaData));
     }
 
+    @Test
+    public void testWarmUpWithoutRegistry() {
+        MetaData metaData = new MetaData();
+        metaData.setPath("/warm-up");
+        metaData.setServiceName("org.apache.shenyu.test.dubbo.api.service.DubboTestService");
+        ApacheDubboConfigCache configCache = new ApacheDubboConfigCache();
+        CompletableFuture<ReferenceConfig<GenericService>> future = configCache.warmUp(metaData);
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertFalse(configCache.isReady("/warm-up"));
+        assertFalse(configCache.isWarmingUp("/warm-up"));
+    }
+
+    @Test
+    public void testIsReady() {
+        assertFalse(this.apacheDubboConfigCache.isReady("/not-ready"));
+        this.apacheDubboConfigCache.get("/not-ready");
+        assertFalse(this.apacheDubboConfigCache.isReady("/not-ready"));
+        this.apacheDubboConfigCache.invalidate("/not-ready");
+    }
+
     @Test
     public void testInvalidate() {
         this.apacheDubboConfigCache.invalidate("/test");
@@ -21,7 +21,9 @@ import com.google.common.cache.LoadingCache;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.apache.dubbo.cache.ApacheDubboConfigCache;
@@ -31,17 +33,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 /**
@@ -99,6 +110,45 @@ public final class ApacheDubboProxyServiceTest {
         future.complete("success");
     }
 
+    @Test
+    public void genericInvokerAfterWarmUpTest() {
+        GenericService genericService = mock(GenericService.class);
+        when(referenceConfig.get()).thenReturn(genericService);
+        final List<Object> invokeAttachments = new ArrayList<>();
+        when(genericService.$invoke(METHOD_NAME, LEFT, RIGHT)).thenAnswer(invocation -> {
+            invokeAttachments.add(RpcContext.getContext().getAttachment(Constants.DUBBO_SELECTOR_ID));
+            return null;
+        });
+        ApacheDubboConfigCache configCache = mock(ApacheDubboConfigCache.class);
+        CompletableFuture<ReferenceConfig<GenericService>> warmUp = new CompletableFuture<>();
+        when(configCache.isReady(PATH)).thenReturn(false);
+        when(configCache.warmUp(metaData)).thenReturn(warmUp);
+        try (MockedStatic<ApacheDubboConfigCache> mocked = mockStatic(ApacheDubboConfigCache.class)) {
+            mocked.when(ApacheDubboConfigCache::getInstance).thenReturn(configCache);
+            RpcContext.getContext().setAttachment(Constants.DUBBO_SELECTOR_ID, "selectorId");
+            Mono<Object> result = new ApacheDubboProxyService(new BodyParamResolveServiceImpl()).genericInvoker("", metaData, exchange);
+            // the attachments do not stay behind for the next request of the event loop.
+            assertNull(RpcContext.getContext().getAttachment(Constants.DUBBO_SELECTOR_ID));
+            StepVerifier.create(result).then(() -> complete(warmUp)).expectNext(Constants.DUBBO_RPC_RESULT_EMPTY).verifyComplete();
+        }
+        assertEquals(Collections.singletonList("selectorId"), invokeAttachments);
+    }
+
+    private void complete(final CompletableFuture<ReferenceConfig<GenericService>> warmUp) {
+        final List<Object> leftAttachments = new ArrayList<>();
+        Thread thread = new Thread(() -> {
+            warmUp.complete(referenceConfig);
+            leftAttachments.add(RpcContext.getContext().getAttachment(Constants.DUBBO_SELECTOR_ID));
+        }, "shenyu-dubbo-warm-up");
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assertEquals(Collections.singletonList(null), leftAttachments);
+    }
+
     static class BodyParamResolveServiceImpl implements DubboParamResolveService {
 
         @Override
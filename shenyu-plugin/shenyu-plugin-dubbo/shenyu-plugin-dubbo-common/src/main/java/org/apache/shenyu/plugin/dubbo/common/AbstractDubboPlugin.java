@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.dubbo.common;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
@@ -87,6 +88,7 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
                                    final SelectorData selector,
                                    final RuleData rule) {
         String param = exchange.getAttribute(Constants.PARAM_TRANSFORM);
+        byte[] body = exchange.getAttribute(Constants.PARAM_TRANSFORM_BODY);
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
         MetaData metaData = exchange.getAttribute(Constants.META_DATA);
@@ -96,7 +98,7 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.META_DATA_ERROR);
             return WebFluxResultUtils.result(exchange, error);
         }
-        if (Objects.nonNull(metaData) && StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param)) {
+        if (Objects.nonNull(metaData) && StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param) && ArrayUtils.isEmpty(body)) {
             exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.DUBBO_HAVE_BODY_PARAM);
             return WebFluxResultUtils.result(exchange, error);
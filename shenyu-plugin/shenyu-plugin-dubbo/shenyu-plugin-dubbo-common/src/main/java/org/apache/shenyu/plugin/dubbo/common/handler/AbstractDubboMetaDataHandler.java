@@ -21,6 +21,7 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.base.handler.MetaDataHandler;
+import org.apache.shenyu.plugin.dubbo.common.param.DubboParamBinderCache;
 
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
@@ -48,6 +49,7 @@ public abstract class AbstractDubboMetaDataHandler implements MetaDataHandler {
                 updateReference(metaData);
             }
         }
+        DubboParamBinderCache.getInstance().compile(metaData);
         META_DATA.put(metaData.getPath(), metaData);
     }
 
@@ -60,6 +62,7 @@ public abstract class AbstractDubboMetaDataHandler implements MetaDataHandler {
     @Override
     public void remove(final MetaData metaData) {
         invalidateReference(metaData.getPath());
+        DubboParamBinderCache.getInstance().invalidate(metaData.getPath());
         META_DATA.remove(metaData.getPath());
     }
 
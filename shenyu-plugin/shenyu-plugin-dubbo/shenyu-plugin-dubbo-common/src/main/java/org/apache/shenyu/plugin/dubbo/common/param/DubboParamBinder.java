@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.dubbo.common.param;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.common.utils.ReflectUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The dubbo generic parameter binder compiled from the parameter types of a meta data.
+ * The parameter types are split and checked once, and the json body is parsed once, straight from its bytes,
+ * into the generic invoke arguments, the same way as {@link org.apache.shenyu.plugin.api.utils.BodyParamUtils#buildParameters}.
+ */
+public final class DubboParamBinder {
+
+    private static final Pair<String[], Object[]> EMPTY = new ImmutablePair<>(new String[]{}, new Object[]{});
+
+    private final String source;
+
+    private final String[] names;
+
+    private final String[] types;
+
+    private final boolean single;
+
+    private DubboParamBinder(final String source, final String[] names, final String[] types, final boolean single) {
+        this.source = source;
+        this.names = names;
+        this.types = types;
+        this.single = single;
+    }
+
+    /**
+     * Compile the binder of the parameter types.
+     *
+     * @param parameterTypes the parameter types, split by comma or a json object of name to type
+     * @return the binder
+     */
+    public static DubboParamBinder compile(final String parameterTypes) {
+        if (StringUtils.isBlank(parameterTypes)) {
+            return new DubboParamBinder(parameterTypes, null, new String[]{}, false);
+        }
+        String[] names = null;
+        String[] types;
+        if (parameterTypes.startsWith("{") && parameterTypes.endsWith("}")) {
+            Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
+            names = paramNameMap.keySet().toArray(new String[0]);
+            types = paramNameMap.values().toArray(new String[0]);
+        } else {
+            types = StringUtils.split(parameterTypes, ",");
+        }
+        return new DubboParamBinder(parameterTypes, names, types, types.length == 1 && !isBaseType(types[0]));
+    }
+
+    /**
+     * Whether the binder is compiled from the parameter types.
+     *
+     * @param parameterTypes the parameter types
+     * @return true if it is
+     */
+    public boolean isCompiledFrom(final String parameterTypes) {
+        return Objects.equals(source, parameterTypes);
+    }
+
+    /**
+     * Bind the json body to the parameter types and the arguments.
+     *
+     * @param body the utf-8 json body
+     * @return the parameter types and the arguments
+     */
+    public Pair<String[], Object[]> bind(final byte[] body) {
+        if (types.length == 0 || ArrayUtils.isEmpty(body)) {
+            return EMPTY;
+        }
+        JsonElement element;
+        try {
+            element = JsonParser.parseReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        } catch (JsonParseException e) {
+            throw new ShenyuException(e);
+        }
+        if (element.isJsonNull() || element.isJsonObject() && element.getAsJsonObject().size() == 0) {
+            return EMPTY;
+        }
+        if (!element.isJsonObject()) {
+            throw new ShenyuException("the dubbo body must be a json object");
+        }
+        JsonObject json = element.getAsJsonObject();
+        if (single) {
+            Map<String, Object> paramMap = new LinkedHashMap<>();
+            json.entrySet().forEach(entry -> paramMap.put(entry.getKey(), toArgument(entry.getValue())));
+            return new ImmutablePair<>(new String[]{types[0]}, new Object[]{paramMap});
+        }
+        Object[] args;
+        if (Objects.isNull(names)) {
+            args = json.entrySet().stream().map(entry -> toArgument(entry.getValue())).toArray();
+        } else {
+            args = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                args[i] = toArgument(json.get(names[i]));
+            }
+        }
+        return new ImmutablePair<>(types.clone(), args);
+    }
+
+    private static Object toArgument(final JsonElement element) {
+        if (Objects.isNull(element) || element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonObject()) {
+            return GsonUtils.getInstance().convertToMap(element.toString());
+        }
+        if (element.isJsonArray()) {
+            return GsonUtils.getInstance().fromList(element.toString(), Object.class);
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            if (StringUtils.containsAny(primitive.getAsString(), '.', 'e', 'E')) {
+                return primitive.getAsDouble();
+            }
+            return primitive.getAsLong();
+        }
+        return primitive.getAsString();
+    }
+
+    private static boolean isBaseType(final String paramType) {
+        try {
+            return ReflectUtils.isPrimitives(ClassUtils.getClass(paramType));
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
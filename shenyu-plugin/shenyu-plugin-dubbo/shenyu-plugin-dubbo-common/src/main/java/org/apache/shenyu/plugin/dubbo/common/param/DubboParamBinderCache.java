@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.dubbo.common.param;
+
+import org.apache.shenyu.common.dto.MetaData;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The dubbo parameter binders of the meta data, compiled when the meta data is synced.
+ */
+public final class DubboParamBinderCache {
+
+    private static final DubboParamBinderCache INSTANCE = new DubboParamBinderCache();
+
+    private final ConcurrentMap<String, DubboParamBinder> binders = new ConcurrentHashMap<>();
+
+    private DubboParamBinderCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static DubboParamBinderCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compile and cache the binder of the meta data.
+     *
+     * @param metaData the meta data
+     * @return the binder
+     */
+    public DubboParamBinder compile(final MetaData metaData) {
+        DubboParamBinder binder = DubboParamBinder.compile(metaData.getParameterTypes());
+        binders.put(metaData.getPath(), binder);
+        return binder;
+    }
+
+    /**
+     * Obtain the binder of the meta data, it is compiled again if the parameter types are changed.
+     *
+     * @param metaData the meta data
+     * @return the binder
+     */
+    public DubboParamBinder obtain(final MetaData metaData) {
+        DubboParamBinder binder = binders.get(metaData.getPath());
+        if (Objects.nonNull(binder) && binder.isCompiledFrom(metaData.getParameterTypes())) {
+            return binder;
+        }
+        return compile(metaData);
+    }
+
+    /**
+     * Invalidate the binder of the path.
+     *
+     * @param path the path
+     */
+    public void invalidate(final String path) {
+        binders.remove(path);
+    }
+}
@@ -17,7 +17,12 @@
 
 package org.apache.shenyu.plugin.dubbo.common.param;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.utils.ParamCheckUtils;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * The interface Generic param service.
@@ -34,4 +39,20 @@ public interface DubboParamResolveService {
      * @return the pair
      */
     Pair<String[], Object[]> buildParameter(String body, String parameterTypes);
+
+    /**
+     * Build parameter pair from the raw json body.
+     * the default decodes the body and resolves it by {@link #buildParameter(String, String)}.
+     *
+     * @param body     the utf-8 json body
+     * @param metaData the meta data
+     * @return the pair
+     */
+    default Pair<String[], Object[]> buildParameter(byte[] body, MetaData metaData) {
+        String json = new String(body, StandardCharsets.UTF_8);
+        if (ParamCheckUtils.dubboBodyIsEmpty(json)) {
+            return new ImmutablePair<>(new String[]{}, new Object[]{});
+        }
+        return buildParameter(json, metaData.getParameterTypes());
+    }
 }
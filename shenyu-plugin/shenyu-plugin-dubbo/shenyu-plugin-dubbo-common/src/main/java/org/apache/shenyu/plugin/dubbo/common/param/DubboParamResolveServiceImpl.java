@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.dubbo.common.param;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
 
 /**
@@ -29,4 +30,9 @@ public class DubboParamResolveServiceImpl implements DubboParamResolveService {
     public Pair<String[], Object[]> buildParameter(final String body, final String parameterTypes) {
         return BodyParamUtils.buildParameters(body, parameterTypes);
     }
+
+    @Override
+    public Pair<String[], Object[]> buildParameter(final byte[] body, final MetaData metaData) {
+        return DubboParamBinderCache.getInstance().obtain(metaData).bind(body);
+    }
 }
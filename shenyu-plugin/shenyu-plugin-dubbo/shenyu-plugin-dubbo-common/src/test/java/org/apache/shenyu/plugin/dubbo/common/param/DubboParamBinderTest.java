@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.dubbo.common.param;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for DubboParamBinder.
+ */
+public final class DubboParamBinderTest {
+
+    @Test
+    public void testBindSameAsBodyParamUtils() {
+        assertSameAsBodyParamUtils("{\"id\":1,\"name\":\"shenyu\",\"price\":1.5,\"enable\":true,\"remark\":null}",
+                "java.lang.Integer,java.lang.String,java.lang.Double,java.lang.Boolean,java.lang.String");
+        assertSameAsBodyParamUtils("{\"ids\":[1,2],\"student\":{\"id\":1,\"name\":\"shenyu\",\"tags\":[\"a\",\"b\"]}}",
+                "java.util.List,org.apache.shenyu.Student");
+        assertSameAsBodyParamUtils("{\"id\":1,\"student\":{\"id\":2},\"ids\":[3]}", "org.apache.shenyu.Student");
+        assertSameAsBodyParamUtils("{\"name\":\"shenyu\",\"id\":1}", "{\"id\":\"java.lang.Long\",\"name\":\"java.lang.String\"}");
+        assertSameAsBodyParamUtils("{\"id\":\"1\"}", "java.lang.String");
+    }
+
+    @Test
+    public void testBindSingleWithNameMapping() {
+        DubboParamBinder binder = DubboParamBinder.compile("{\"student\":\"org.apache.shenyu.Student\"}");
+        Pair<String[], Object[]> pair = binder.bind(bytes("{\"id\":1,\"name\":\"shenyu\"}"));
+        assertArrayEquals(new String[]{"org.apache.shenyu.Student"}, pair.getLeft());
+        Map<?, ?> student = (Map<?, ?>) pair.getRight()[0];
+        assertEquals(1L, student.get("id"));
+        assertEquals("shenyu", student.get("name"));
+    }
+
+    @Test
+    public void testBindEmpty() {
+        DubboParamBinder binder = DubboParamBinder.compile("java.lang.String");
+        assertEquals(0, binder.bind(bytes("{}")).getLeft().length);
+        assertEquals(0, binder.bind(bytes("null")).getRight().length);
+        assertEquals(0, binder.bind(new byte[0]).getRight().length);
+        assertEquals(0, DubboParamBinder.compile("").bind(bytes("{\"id\":1}")).getRight().length);
+        assertThrows(ShenyuException.class, () -> binder.bind(bytes("[1]")));
+    }
+
+    @Test
+    public void testBinderCache() {
+        MetaData metaData = new MetaData();
+        metaData.setPath("/dubbo/binder");
+        metaData.setParameterTypes("java.lang.String");
+        DubboParamBinder binder = DubboParamBinderCache.getInstance().compile(metaData);
+        assertTrue(binder.isCompiledFrom("java.lang.String"));
+        assertSame(binder, DubboParamBinderCache.getInstance().obtain(metaData));
+        metaData.setParameterTypes("java.lang.Long");
+        DubboParamBinder recompiled = DubboParamBinderCache.getInstance().obtain(metaData);
+        assertNotSame(binder, recompiled);
+        assertFalse(recompiled.isCompiledFrom("java.lang.String"));
+        DubboParamBinderCache.getInstance().invalidate("/dubbo/binder");
+        assertNotSame(recompiled, DubboParamBinderCache.getInstance().obtain(metaData));
+    }
+
+    private void assertSameAsBodyParamUtils(final String body, final String parameterTypes) {
+        Pair<String[], Object[]> expected = BodyParamUtils.buildParameters(body, parameterTypes);
+        Pair<String[], Object[]> actual = DubboParamBinder.compile(parameterTypes).bind(bytes(body));
+        assertArrayEquals(expected.getLeft(), actual.getLeft());
+        assertArrayEquals(expected.getRight(), actual.getRight());
+    }
+
+    private static byte[] bytes(final String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -57,4 +57,21 @@ public final class MetaDataCacheTest {
         metaDataCache.remove(this.metaData);
         assertNull(metaDataCache.obtain("/home"));
     }
+
+    @Test
+    public void testMetaDataCachePattern() {
+        MetaData patternMetaData = MetaData.builder()
+                .id("2")
+                .path("/dubbo/**")
+                .build();
+        metaDataCache.cache(patternMetaData);
+        assertEquals("/dubbo/**", metaDataCache.obtain("/dubbo/findById").getPath());
+        assertNull(metaDataCache.obtain("/http/findById"));
+        patternMetaData.setPath("/http/**");
+        metaDataCache.cache(patternMetaData);
+        assertNull(metaDataCache.obtain("/dubbo/findById"));
+        assertEquals("/http/**", metaDataCache.obtain("/http/findById").getPath());
+        metaDataCache.remove(patternMetaData);
+        assertNull(metaDataCache.obtain("/http/findById"));
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.convert.rule.impl.GrpcRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
@@ -38,6 +39,9 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
 import org.apache.shenyu.plugin.grpc.client.ShenyuGrpcClient;
+import org.apache.shenyu.plugin.grpc.descriptor.DescriptorRegistry;
+import org.apache.shenyu.plugin.grpc.descriptor.ProtobufMethod;
+import org.apache.shenyu.plugin.grpc.handler.GrpcPluginDataHandler;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,18 +92,37 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
         }
 
         GrpcExtInfo extInfo = GsonUtils.getGson().fromJson(metaData.getRpcExt(), GrpcExtInfo.class);
-        CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(extInfo.timeout, TimeUnit.MILLISECONDS);
+        CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(obtainTimeout(rule, extInfo), TimeUnit.MILLISECONDS);
         Map<String, Map<String, String>> rpcContext = exchange.getAttribute(Constants.GENERAL_CONTEXT);
-        Optional.ofNullable(rpcContext).map(context -> context.get(PluginEnum.GRPC.getName())).ifPresent(
-            context -> Context.current().withValue(RPC_CONTEXT_KEY, context).attach());
-        CompletableFuture<ShenyuGrpcResponse> result = client.call(metaData, callOptions, param, extInfo.methodType);
-        Context.current().detach(Context.ROOT);
+        Context context = Optional.ofNullable(rpcContext).map(each -> each.get(PluginEnum.GRPC.getName()))
+                .map(each -> Context.current().withValue(RPC_CONTEXT_KEY, each))
+                .orElse(Context.current());
+        // the call is started, and the context is read by the interceptor, before the context is detached.
+        Context previous = context.attach();
+        // the json proxy service is called until the descriptor of the service is known.
+        ProtobufMethod method = DescriptorRegistry.getInstance().obtain(selector.getName(), client, metaData);
+        CompletableFuture<ShenyuGrpcResponse> result;
+        try {
+            result = Objects.nonNull(method) ? client.call(method, callOptions, param) : client.call(metaData, callOptions, param, extInfo.methodType);
+        } finally {
+            context.detach(previous);
+        }
 
         return Mono.fromFuture(result.thenApply(ret -> {
             exchange.getAttributes().put(Constants.RPC_RESULT, ret.getResults());
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
             return ret;
-        })).onErrorMap(ShenyuException::new).then(chain.execute(exchange));
+        })).doOnCancel(() -> result.cancel(true)).onErrorMap(ShenyuException::new).then(chain.execute(exchange));
+    }
+
+    private long obtainTimeout(final RuleData rule, final GrpcExtInfo extInfo) {
+        GrpcRuleHandle ruleHandle = Optional.ofNullable(rule).map(RuleData::getId)
+                .map(id -> GrpcPluginDataHandler.RULE_CACHED_HANDLE.get().obtainHandle(id))
+                .orElse(null);
+        if (Objects.nonNull(ruleHandle) && ruleHandle.getTimeout() > 0) {
+            return ruleHandle.getTimeout();
+        }
+        return extInfo.timeout;
     }
 
     /**
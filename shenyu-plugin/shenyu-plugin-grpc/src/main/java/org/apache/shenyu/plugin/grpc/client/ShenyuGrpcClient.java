@@ -17,8 +17,18 @@
 
 package org.apache.shenyu.plugin.grpc.client;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import com.google.protobuf.util.JsonFormat.TypeRegistry;
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.ManagedChannel;
@@ -26,20 +36,24 @@ import io.grpc.MethodDescriptor;
 import io.grpc.stub.StreamObserver;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.grpc.descriptor.DescriptorRegistry;
+import org.apache.shenyu.plugin.grpc.descriptor.ProtobufMethod;
 import org.apache.shenyu.plugin.grpc.exception.ShenyuGrpcException;
 import org.apache.shenyu.plugin.grpc.proto.CompleteObserver;
 import org.apache.shenyu.plugin.grpc.proto.MessageWriter;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcCallRequest;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcResponse;
 import org.apache.shenyu.plugin.grpc.proto.CompositeStreamObserver;
+import org.apache.shenyu.protocol.grpc.constant.GrpcConstants;
 import org.apache.shenyu.protocol.grpc.message.JsonMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 import static io.grpc.stub.ClientCalls.asyncServerStreamingCall;
 import static io.grpc.stub.ClientCalls.asyncUnaryCall;
@@ -53,6 +67,8 @@ public class ShenyuGrpcClient implements Closeable {
     
     private static final Logger LOG = LoggerFactory.getLogger(ShenyuGrpcClient.class);
     
+    private static final Gson GSON = new Gson();
+    
     private final ManagedChannel channel;
     
     public ShenyuGrpcClient(final ManagedChannel channel) {
@@ -61,6 +77,7 @@ public class ShenyuGrpcClient implements Closeable {
     
     /**
      * Grpc call.
+     * The future completes when the rpc terminates, and cancelling it cancels the rpc.
      *
      * @param metaData     metadata
      * @param callOptions  callOptions
@@ -91,21 +108,75 @@ public class ShenyuGrpcClient implements Closeable {
         callParams.setResponseObserver(streamObserver);
         callParams.setRequests(jsonRequestList);
         
-        try {
-            this.invoke(callParams).get();
-        } catch (InterruptedException e) {
-            // InterruptedExceptions should never be ignored in the code.
-            // InterruptedExceptions should either be rethrown - immediately or after cleaning up the method’s state -
-            // or the thread should be re-interrupted by calling Thread.interrupt() even if this is supposed to be a single-threaded application.
-            // Any other course of action risks delaying thread shutdown and loses the information
-            // that the thread was interrupted - probably without finishing its task.
-            LOG.error("Grpc plugin invoke method is exception, Will cause the thread to be interrupted");
-            Thread.currentThread().interrupt();
-            throw new ShenyuGrpcException("Caught exception while waiting for rpc :{ " + e.getMessage() + "}", e);
-        } catch (ExecutionException e) {
-            throw new ShenyuGrpcException("Caught exception while waiting for rpc :{ " + e.getMessage() + "}", e);
+        return execute(callParams, shenyuGrpcResponse);
+    }
+
+    /**
+     * Grpc call with the real protobuf messages of the method.
+     * The requests are parsed from the json body, and the responses are printed like the json proxy service,
+     * so the backend receives typed messages and the same json comes out either way.
+     *
+     * @param method       the protobuf method
+     * @param callOptions  callOptions
+     * @param requestJsons requestJsons
+     * @return CompletableFuture future
+     */
+    public CompletableFuture<ShenyuGrpcResponse> call(final ProtobufMethod method,
+                                                      final CallOptions callOptions,
+                                                      final String requestJsons) {
+        JsonElement data = JsonParser.parseString(requestJsons).getAsJsonObject().get(GrpcConstants.JSON_DESCRIPTOR_PROTO_FIELD_NAME);
+        TypeRegistry typeRegistry = DescriptorRegistry.getInstance().getTypeRegistry();
+        JsonFormat.Parser parser = JsonFormat.parser().usingTypeRegistry(typeRegistry).ignoringUnknownFields();
+        List<DynamicMessage> requestList = new ArrayList<>();
+        if (Objects.nonNull(data) && data.isJsonArray()) {
+            for (JsonElement each : data.getAsJsonArray()) {
+                requestList.add(toMessage(parser, each, method.getInputType()));
+            }
+        } else {
+            requestList.add(toMessage(parser, data, method.getInputType()));
         }
-        return CompletableFuture.completedFuture(shenyuGrpcResponse);
+
+        ShenyuGrpcResponse shenyuGrpcResponse = new ShenyuGrpcResponse();
+        ShenyuGrpcCallRequest callParams = new ShenyuGrpcCallRequest();
+        callParams.setMethodDescriptor(method.getMethodDescriptor());
+        callParams.setChannel(channel);
+        callParams.setCallOptions(callOptions);
+        callParams.setResponseObserver(new TranscodingObserver(shenyuGrpcResponse,
+                JsonFormat.printer().usingTypeRegistry(typeRegistry).includingDefaultValueFields().preservingProtoFieldNames()));
+        callParams.setRequests(requestList);
+        return execute(callParams, shenyuGrpcResponse);
+    }
+
+    /**
+     * Get the channel.
+     *
+     * @return the channel
+     */
+    public ManagedChannel getChannel() {
+        return channel;
+    }
+
+    private CompletableFuture<ShenyuGrpcResponse> execute(final ShenyuGrpcCallRequest callParams, final ShenyuGrpcResponse shenyuGrpcResponse) {
+        ClientCall<DynamicMessage, DynamicMessage> clientCall = createCall(callParams);
+        CompletableFuture<ShenyuGrpcResponse> future = new CompletableFuture<>();
+        // completes from the observer callbacks, the calling thread never waits for the rpc.
+        Futures.addCallback(this.invoke(callParams, clientCall), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                future.complete(shenyuGrpcResponse);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                future.completeExceptionally(new ShenyuGrpcException("Caught exception while waiting for rpc :{ " + t.getMessage() + "}", t));
+            }
+        }, MoreExecutors.directExecutor());
+        future.whenComplete((response, throwable) -> {
+            if (future.isCancelled()) {
+                clientCall.cancel("the shenyu grpc call is cancelled", throwable);
+            }
+        });
+        return future;
     }
     
     /**
@@ -115,6 +186,10 @@ public class ShenyuGrpcClient implements Closeable {
      * @return ListenableFuture future
      */
     public ListenableFuture<Void> invoke(final ShenyuGrpcCallRequest callParams) {
+        return invoke(callParams, createCall(callParams));
+    }
+
+    private ListenableFuture<Void> invoke(final ShenyuGrpcCallRequest callParams, final ClientCall<DynamicMessage, DynamicMessage> clientCall) {
         MethodDescriptor.MethodType methodType = callParams.getMethodDescriptor().getType();
         List<DynamicMessage> requestList = callParams.getRequests();
         
@@ -125,24 +200,24 @@ public class ShenyuGrpcClient implements Closeable {
         StreamObserver<DynamicMessage> requestObserver;
         switch (methodType) {
             case UNARY:
-                asyncUnaryCall(createCall(callParams), requestList.get(0), compositeObserver);
+                asyncUnaryCall(clientCall, requestList.get(0), compositeObserver);
                 return doneObserver.getCompletionFuture();
             case SERVER_STREAMING:
-                asyncServerStreamingCall(createCall(callParams), requestList.get(0), compositeObserver);
+                asyncServerStreamingCall(clientCall, requestList.get(0), compositeObserver);
                 return doneObserver.getCompletionFuture();
             case CLIENT_STREAMING:
-                requestObserver = asyncClientStreamingCall(createCall(callParams), compositeObserver);
+                requestObserver = asyncClientStreamingCall(clientCall, compositeObserver);
                 requestList.forEach(requestObserver::onNext);
                 requestObserver.onCompleted();
                 return doneObserver.getCompletionFuture();
             case BIDI_STREAMING:
-                requestObserver = asyncBidiStreamingCall(createCall(callParams), compositeObserver);
+                requestObserver = asyncBidiStreamingCall(clientCall, compositeObserver);
                 requestList.forEach(requestObserver::onNext);
                 requestObserver.onCompleted();
                 return doneObserver.getCompletionFuture();
             default:
                 LOG.info("Unknown methodType:{}", methodType);
-                return null;
+                return Futures.immediateFailedFuture(new ShenyuGrpcException("Unknown methodType: " + methodType));
         }
     }
     
@@ -155,4 +230,50 @@ public class ShenyuGrpcClient implements Closeable {
         return callParams.getChannel().newCall(callParams.getMethodDescriptor(),
                 callParams.getCallOptions());
     }
+
+    private static DynamicMessage toMessage(final JsonFormat.Parser parser, final JsonElement json, final Descriptor descriptor) {
+        DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor);
+        if (Objects.isNull(json) || json.isJsonNull()) {
+            return builder.build();
+        }
+        try {
+            parser.merge(json.toString(), builder);
+        } catch (InvalidProtocolBufferException e) {
+            throw new ShenyuGrpcException("can not convert the json to " + descriptor.getFullName() + ": " + e.getMessage(), e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects the responses printed like the json proxy service and read back to maps.
+     */
+    private static final class TranscodingObserver implements StreamObserver<DynamicMessage> {
+
+        private final ShenyuGrpcResponse grpcResponse;
+
+        private final JsonFormat.Printer printer;
+
+        private TranscodingObserver(final ShenyuGrpcResponse grpcResponse, final JsonFormat.Printer printer) {
+            this.grpcResponse = grpcResponse;
+            this.printer = printer;
+        }
+
+        @Override
+        public void onNext(final DynamicMessage value) {
+            try {
+                grpcResponse.getResults().add(GSON.fromJson(printer.print(value), Object.class));
+            } catch (InvalidProtocolBufferException e) {
+                throw new ShenyuGrpcException("can not print the " + value.getDescriptorForType().getFullName() + " as json: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            LOG.error("Messages transcode occur errors", t);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
 }
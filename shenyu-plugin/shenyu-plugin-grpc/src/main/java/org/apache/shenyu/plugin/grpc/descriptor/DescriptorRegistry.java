@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.descriptor;
+
+import com.google.protobuf.AnyProto;
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.Descriptors.ServiceDescriptor;
+import com.google.protobuf.DurationProto;
+import com.google.protobuf.EmptyProto;
+import com.google.protobuf.FieldMaskProto;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.StructProto;
+import com.google.protobuf.TimestampProto;
+import com.google.protobuf.WrappersProto;
+import com.google.protobuf.util.JsonFormat.TypeRegistry;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.client.ShenyuGrpcClient;
+import org.apache.shenyu.plugin.grpc.exception.ShenyuGrpcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The registry of the protobuf descriptors of the backend services.
+ * The descriptors come from the uploaded descriptor sets or the server reflection of the backends,
+ * and the methods resolved from them are cached by the meta data path.
+ */
+public final class DescriptorRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DescriptorRegistry.class);
+
+    private static final DescriptorRegistry INSTANCE = new DescriptorRegistry();
+
+    private static final String WELL_KNOWN_PREFIX = "google/protobuf/";
+
+    private static final long REFLECTION_TIMEOUT = 3000L;
+
+    private static final long REFLECTION_RETRY_INTERVAL = 60000L;
+
+    private final Map<String, FileDescriptor> files = new ConcurrentHashMap<>();
+
+    private final Map<String, ServiceDescriptor> services = new ConcurrentHashMap<>();
+
+    private final Map<String, ProtobufMethod> methods = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> reflections = new ConcurrentHashMap<>();
+
+    private volatile TypeRegistry typeRegistry;
+
+    private DescriptorRegistry() {
+        for (FileDescriptor each : Arrays.asList(AnyProto.getDescriptor(), DurationProto.getDescriptor(), EmptyProto.getDescriptor(),
+                FieldMaskProto.getDescriptor(), StructProto.getDescriptor(), TimestampProto.getDescriptor(),
+                WrappersProto.getDescriptor(), DescriptorProtos.getDescriptor())) {
+            files.put(each.getName(), each);
+        }
+        updateTypeRegistry();
+    }
+
+    /**
+     * Get the instance.
+     *
+     * @return the instance
+     */
+    public static DescriptorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register a serialized file descriptor set, as produced by {@code protoc --include_imports --descriptor_set_out}.
+     *
+     * @param descriptorSet the serialized file descriptor set
+     */
+    public void register(final byte[] descriptorSet) {
+        try {
+            register(FileDescriptorSet.parseFrom(descriptorSet).getFileList());
+        } catch (InvalidProtocolBufferException e) {
+            throw new ShenyuGrpcException("invalid protobuf file descriptor set", e);
+        }
+    }
+
+    /**
+     * Register the proto files, the files they import must be registered already or be part of them.
+     *
+     * @param protos the proto files
+     */
+    public synchronized void register(final Collection<FileDescriptorProto> protos) {
+        Map<String, FileDescriptorProto> byName = protos.stream()
+                .collect(Collectors.toMap(FileDescriptorProto::getName, each -> each, (left, right) -> left));
+        Map<String, FileDescriptor> built = new HashMap<>(byName.size() << 1);
+        try {
+            for (String name : byName.keySet()) {
+                build(name, byName, built);
+            }
+        } catch (DescriptorValidationException e) {
+            throw new ShenyuGrpcException("invalid proto file " + e.getProblemSymbolName() + ": " + e.getDescription(), e);
+        }
+        files.putAll(built);
+        updateTypeRegistry();
+        Set<String> registered = new HashSet<>();
+        for (FileDescriptor file : built.values()) {
+            for (ServiceDescriptor service : file.getServices()) {
+                services.put(service.getFullName(), service);
+                registered.add(service.getFullName());
+            }
+        }
+        // the methods of the updated services are resolved again on their next call.
+        methods.values().removeIf(each -> registered.contains(each.getDescriptor().getService().getFullName()));
+    }
+
+    /**
+     * Obtain the method of the meta data.
+     * When the service is unknown yet, it is loaded through the server reflection of the backend in the background,
+     * and null is returned so the call goes through the json proxy service meanwhile.
+     *
+     * @param selectorName the selector name of the backend
+     * @param client       the client of the backend
+     * @param metaData     the meta data
+     * @return the method, or null when the service is unknown
+     */
+    public ProtobufMethod obtain(final String selectorName, final ShenyuGrpcClient client, final MetaData metaData) {
+        if (Objects.isNull(metaData.getPath())) {
+            return null;
+        }
+        ProtobufMethod method = methods.get(metaData.getPath());
+        if (Objects.nonNull(method) && matches(method, metaData)) {
+            return method;
+        }
+        ServiceDescriptor service = services.get(metaData.getServiceName());
+        if (Objects.isNull(service)) {
+            reflect(selectorName, client, metaData.getServiceName());
+            return null;
+        }
+        Descriptors.MethodDescriptor descriptor = findMethod(service, metaData.getMethodName());
+        if (Objects.isNull(descriptor)) {
+            return null;
+        }
+        method = new ProtobufMethod(descriptor);
+        methods.put(metaData.getPath(), method);
+        return method;
+    }
+
+    /**
+     * Get the type registry of all the registered messages, which resolves the {@code google.protobuf.Any} fields in json.
+     *
+     * @return the type registry
+     */
+    public TypeRegistry getTypeRegistry() {
+        return typeRegistry;
+    }
+
+    /**
+     * Forget the reflection attempts on the backend of the selector.
+     *
+     * @param selectorName the selector name
+     */
+    public void removeSelector(final String selectorName) {
+        String prefix = selectorName + "#";
+        reflections.keySet().removeIf(each -> each.startsWith(prefix));
+    }
+
+    private void updateTypeRegistry() {
+        TypeRegistry.Builder builder = TypeRegistry.newBuilder();
+        files.values().forEach(each -> builder.add(each.getMessageTypes()));
+        typeRegistry = builder.build();
+    }
+
+    private void reflect(final String selectorName, final ShenyuGrpcClient client, final String serviceName) {
+        String key = selectorName + "#" + serviceName;
+        long now = System.currentTimeMillis();
+        // a backend without reflection is asked again only after the retry interval.
+        if (reflections.compute(key, (k, last) -> Objects.isNull(last) || now - last >= REFLECTION_RETRY_INTERVAL ? now : last) != now) {
+            return;
+        }
+        ServerReflectionLoader.load(client.getChannel(), serviceName, REFLECTION_TIMEOUT).whenComplete((protos, throwable) -> {
+            if (Objects.nonNull(throwable)) {
+                LOG.warn("can not load the descriptor of {} by server reflection, the json proxy service is used: {}", serviceName, throwable.getMessage());
+                return;
+            }
+            try {
+                register(protos);
+            } catch (ShenyuGrpcException e) {
+                LOG.warn("can not register the descriptor of {}", serviceName, e);
+            }
+        });
+    }
+
+    private static boolean matches(final ProtobufMethod method, final MetaData metaData) {
+        Descriptors.MethodDescriptor descriptor = method.getDescriptor();
+        return descriptor.getService().getFullName().equals(metaData.getServiceName())
+                && descriptor.getName().equalsIgnoreCase(metaData.getMethodName());
+    }
+
+    private static Descriptors.MethodDescriptor findMethod(final ServiceDescriptor service, final String methodName) {
+        Descriptors.MethodDescriptor descriptor = service.findMethodByName(methodName);
+        if (Objects.nonNull(descriptor)) {
+            return descriptor;
+        }
+        // the meta data is registered with the java method name, which is the lower camel case of the proto name.
+        return service.getMethods().stream().filter(each -> each.getName().equalsIgnoreCase(methodName)).findFirst().orElse(null);
+    }
+
+    private FileDescriptor build(final String name, final Map<String, FileDescriptorProto> protos,
+                                 final Map<String, FileDescriptor> built) throws DescriptorValidationException {
+        FileDescriptor descriptor = built.get(name);
+        if (Objects.nonNull(descriptor)) {
+            return descriptor;
+        }
+        FileDescriptorProto proto = protos.get(name);
+        // the well known types keep the descriptors compiled into protobuf-java.
+        if (Objects.isNull(proto) || (name.startsWith(WELL_KNOWN_PREFIX) && files.containsKey(name))) {
+            descriptor = files.get(name);
+            if (Objects.isNull(descriptor)) {
+                throw new ShenyuGrpcException("the imported proto file " + name + " is missing");
+            }
+            return descriptor;
+        }
+        FileDescriptor[] dependencies = new FileDescriptor[proto.getDependencyCount()];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = build(proto.getDependency(i), protos, built);
+        }
+        descriptor = FileDescriptor.buildFrom(proto, dependencies);
+        built.put(name, descriptor);
+        return descriptor;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.descriptor;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import io.grpc.MethodDescriptor;
+import org.apache.shenyu.plugin.grpc.proto.DynamicMessageMarshaller;
+
+/**
+ * A resolved protobuf method, the grpc method descriptor and its marshallers are built once and reused by every call.
+ */
+public final class ProtobufMethod {
+
+    private final Descriptors.MethodDescriptor descriptor;
+
+    private final MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor;
+
+    public ProtobufMethod(final Descriptors.MethodDescriptor descriptor) {
+        this.descriptor = descriptor;
+        this.methodDescriptor = MethodDescriptor.<DynamicMessage, DynamicMessage>newBuilder()
+                .setType(methodType(descriptor))
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(descriptor.getService().getFullName(), descriptor.getName()))
+                .setRequestMarshaller(new DynamicMessageMarshaller(descriptor.getInputType()))
+                .setResponseMarshaller(new DynamicMessageMarshaller(descriptor.getOutputType()))
+                .build();
+    }
+
+    /**
+     * Get the protobuf method descriptor.
+     *
+     * @return the protobuf method descriptor
+     */
+    public Descriptors.MethodDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Get the grpc method descriptor.
+     *
+     * @return the grpc method descriptor
+     */
+    public MethodDescriptor<DynamicMessage, DynamicMessage> getMethodDescriptor() {
+        return methodDescriptor;
+    }
+
+    /**
+     * Get the request message descriptor.
+     *
+     * @return the request message descriptor
+     */
+    public Descriptors.Descriptor getInputType() {
+        return descriptor.getInputType();
+    }
+
+    /**
+     * Get the response message descriptor.
+     *
+     * @return the response message descriptor
+     */
+    public Descriptors.Descriptor getOutputType() {
+        return descriptor.getOutputType();
+    }
+
+    private static MethodDescriptor.MethodType methodType(final Descriptors.MethodDescriptor descriptor) {
+        if (descriptor.toProto().getClientStreaming()) {
+            return descriptor.toProto().getServerStreaming() ? MethodDescriptor.MethodType.BIDI_STREAMING : MethodDescriptor.MethodType.CLIENT_STREAMING;
+        }
+        return descriptor.toProto().getServerStreaming() ? MethodDescriptor.MethodType.SERVER_STREAMING : MethodDescriptor.MethodType.UNARY;
+    }
+}
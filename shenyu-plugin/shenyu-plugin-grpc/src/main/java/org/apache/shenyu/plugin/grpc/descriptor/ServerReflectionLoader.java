@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.descriptor;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.Channel;
+import io.grpc.reflection.v1alpha.ServerReflectionGrpc;
+import io.grpc.reflection.v1alpha.ServerReflectionRequest;
+import io.grpc.reflection.v1alpha.ServerReflectionResponse;
+import io.grpc.stub.StreamObserver;
+import org.apache.shenyu.plugin.grpc.exception.ShenyuGrpcException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the proto files of a service through the grpc server reflection service.
+ */
+public final class ServerReflectionLoader {
+
+    private ServerReflectionLoader() {
+    }
+
+    /**
+     * Load the proto file declaring the service, along with the files it depends on.
+     *
+     * @param channel     the channel of the backend
+     * @param serviceName the full name of the service
+     * @param timeout     the timeout in milliseconds
+     * @return the future of the proto files, it fails when the backend does not serve reflection
+     */
+    public static CompletableFuture<List<FileDescriptorProto>> load(final Channel channel, final String serviceName, final long timeout) {
+        CompletableFuture<List<FileDescriptorProto>> future = new CompletableFuture<>();
+        try {
+            ReflectionObserver observer = new ReflectionObserver(future);
+            observer.start(ServerReflectionGrpc.newStub(channel).withDeadlineAfter(timeout, TimeUnit.MILLISECONDS)
+                    .serverReflectionInfo(observer), serviceName);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static final class ReflectionObserver implements StreamObserver<ServerReflectionResponse> {
+
+        private final CompletableFuture<List<FileDescriptorProto>> future;
+
+        private final Map<String, FileDescriptorProto> files = new LinkedHashMap<>();
+
+        private final Set<String> requested = new HashSet<>();
+
+        private StreamObserver<ServerReflectionRequest> requests;
+
+        private int pending;
+
+        private ReflectionObserver(final CompletableFuture<List<FileDescriptorProto>> future) {
+            this.future = future;
+        }
+
+        private synchronized void start(final StreamObserver<ServerReflectionRequest> requests, final String serviceName) {
+            this.requests = requests;
+            pending++;
+            requests.onNext(ServerReflectionRequest.newBuilder().setFileContainingSymbol(serviceName).build());
+        }
+
+        @Override
+        public synchronized void onNext(final ServerReflectionResponse response) {
+            pending--;
+            if (response.getMessageResponseCase() == ServerReflectionResponse.MessageResponseCase.ERROR_RESPONSE) {
+                fail(new ShenyuGrpcException("server reflection failed: " + response.getErrorResponse().getErrorMessage()));
+                return;
+            }
+            try {
+                for (ByteString bytes : response.getFileDescriptorResponse().getFileDescriptorProtoList()) {
+                    FileDescriptorProto file = FileDescriptorProto.parseFrom(bytes);
+                    files.putIfAbsent(file.getName(), file);
+                }
+            } catch (InvalidProtocolBufferException e) {
+                fail(new ShenyuGrpcException("server reflection returned an invalid proto file", e));
+                return;
+            }
+            // the server usually answers with every transitive dependency, only the missing ones are asked again.
+            for (FileDescriptorProto file : new ArrayList<>(files.values())) {
+                for (String dependency : file.getDependencyList()) {
+                    if (!files.containsKey(dependency) && requested.add(dependency)) {
+                        pending++;
+                        requests.onNext(ServerReflectionRequest.newBuilder().setFileByFilename(dependency).build());
+                    }
+                }
+            }
+            if (pending == 0) {
+                requests.onCompleted();
+                future.complete(new ArrayList<>(files.values()));
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            future.completeExceptionally(new ShenyuGrpcException("server reflection stream closed before all the proto files are loaded"));
+        }
+
+        private void fail(final Throwable t) {
+            requests.onCompleted();
+            future.completeExceptionally(t);
+        }
+    }
+}
@@ -17,23 +17,34 @@
 
 package org.apache.shenyu.plugin.grpc.handler;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.plugin.GrpcRegisterConfig;
+import org.apache.shenyu.common.dto.convert.rule.impl.GrpcRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.grpc.cache.ApplicationConfigCache;
 import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
+import org.apache.shenyu.plugin.grpc.descriptor.DescriptorRegistry;
 
+import java.util.Base64;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * The type Grpc plugin data handler.
  */
 public class GrpcPluginDataHandler implements PluginDataHandler {
 
+    public static final Supplier<CommonHandleCache<String, GrpcRuleHandle>> RULE_CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())) {
@@ -46,6 +57,10 @@ public class GrpcPluginDataHandler implements PluginDataHandler {
                 // If it is null, cache it
                 Singleton.INST.single(GrpcRegisterConfig.class, grpcRegisterConfig);
             }
+            if (StringUtils.isNotBlank(grpcRegisterConfig.getDescriptorSet())
+                    && (Objects.isNull(exist) || !Objects.equals(grpcRegisterConfig.getDescriptorSet(), exist.getDescriptorSet()))) {
+                DescriptorRegistry.getInstance().register(Base64.getDecoder().decode(grpcRegisterConfig.getDescriptorSet()));
+            }
         }
     }
 
@@ -64,6 +79,18 @@ public class GrpcPluginDataHandler implements PluginDataHandler {
             return;
         }
         ApplicationConfigCache.getInstance().invalidate(selectorData.getName());
+        DescriptorRegistry.getInstance().removeSelector(selectorData.getName());
+    }
+
+    @Override
+    public void handlerRule(final RuleData ruleData) {
+        Optional.ofNullable(GsonUtils.getInstance().fromJson(ruleData.getHandle(), GrpcRuleHandle.class))
+                .ifPresent(handle -> RULE_CACHED_HANDLE.get().cachedHandle(ruleData.getId(), handle));
+    }
+
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        RULE_CACHED_HANDLE.get().removeHandle(ruleData.getId());
     }
 
     @Override
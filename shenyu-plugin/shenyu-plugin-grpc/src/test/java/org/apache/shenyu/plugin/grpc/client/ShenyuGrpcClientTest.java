@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.TimestampProto;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.descriptor.DescriptorRegistryTest;
+import org.apache.shenyu.plugin.grpc.descriptor.ProtobufMethod;
+import org.apache.shenyu.plugin.grpc.exception.ShenyuGrpcException;
+import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcResponse;
+import org.apache.shenyu.protocol.grpc.message.JsonMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The Test Case For {@link ShenyuGrpcClient}.
+ */
+public class ShenyuGrpcClientTest {
+
+    private static final String REQUEST = "{\"data\":[{\"text\":\"hello\"}]}";
+
+    private ClientCall<DynamicMessage, DynamicMessage> clientCall;
+
+    private ShenyuGrpcClient client;
+
+    private MetaData metaData;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ManagedChannel channel = mock(ManagedChannel.class);
+        clientCall = mock(ClientCall.class);
+        when(channel.newCall(any(), any())).thenReturn((ClientCall) clientCall);
+        client = new ShenyuGrpcClient(channel);
+        metaData = MetaData.builder()
+                .serviceName("echo.EchoService")
+                .methodName("echo")
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCallCompletesFromObserver() {
+        CompletableFuture<ShenyuGrpcResponse> future = client.call(metaData, CallOptions.DEFAULT, REQUEST, MethodDescriptor.MethodType.UNARY);
+        assertFalse(future.isDone());
+
+        ArgumentCaptor<ClientCall.Listener<DynamicMessage>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(clientCall).start(listener.capture(), any(Metadata.class));
+        listener.getValue().onMessage(JsonMessage.buildJsonMessage("{\"text\":\"world\"}"));
+        listener.getValue().onClose(Status.OK, new Metadata());
+
+        assertTrue(future.isDone());
+        Map<?, ?> result = (Map<?, ?>) future.join().getResults().get(0);
+        assertEquals("world", result.get("text"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCallFailed() {
+        CompletableFuture<ShenyuGrpcResponse> future = client.call(metaData, CallOptions.DEFAULT, REQUEST, MethodDescriptor.MethodType.UNARY);
+        ArgumentCaptor<ClientCall.Listener<DynamicMessage>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(clientCall).start(listener.capture(), any(Metadata.class));
+        listener.getValue().onClose(Status.DEADLINE_EXCEEDED, new Metadata());
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCallWithProtobufMethod() throws Descriptors.DescriptorValidationException {
+        Descriptors.FileDescriptor file = Descriptors.FileDescriptor.buildFrom(DescriptorRegistryTest.echoProto(),
+                new Descriptors.FileDescriptor[]{TimestampProto.getDescriptor()});
+        ProtobufMethod method = new ProtobufMethod(file.findServiceByName("EchoService").findMethodByName("Echo"));
+        final CompletableFuture<ShenyuGrpcResponse> future = client.call(method, CallOptions.DEFAULT,
+                "{\"data\":{\"message\":\"hello\",\"repeatCount\":\"3\",\"attrs\":{\"x\":\"1\"},\"createTime\":\"2022-01-01T00:00:00Z\",\"unknown\":1}}");
+
+        ArgumentCaptor<DynamicMessage> request = ArgumentCaptor.forClass(DynamicMessage.class);
+        verify(clientCall).sendMessage(request.capture());
+        Descriptors.Descriptor requestType = method.getInputType();
+        assertEquals("hello", request.getValue().getField(requestType.findFieldByName("message")));
+        assertEquals(3, request.getValue().getField(requestType.findFieldByName("repeat_count")));
+        assertEquals(1, request.getValue().getRepeatedFieldCount(requestType.findFieldByName("attrs")));
+        DynamicMessage time = (DynamicMessage) request.getValue().getField(requestType.findFieldByName("create_time"));
+        assertEquals(1640995200L, time.getField(time.getDescriptorForType().findFieldByName("seconds")));
+
+        ArgumentCaptor<ClientCall.Listener<DynamicMessage>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(clientCall).start(listener.capture(), any(Metadata.class));
+        listener.getValue().onMessage(DynamicMessage.getDefaultInstance(method.getOutputType()));
+        listener.getValue().onClose(Status.OK, new Metadata());
+
+        // the default value fields are printed like the json proxy service.
+        Map<?, ?> result = (Map<?, ?>) future.join().getResults().get(0);
+        assertEquals("", result.get("message"));
+    }
+
+    @Test
+    public void testCallWithInvalidJson() throws Descriptors.DescriptorValidationException {
+        Descriptors.FileDescriptor file = Descriptors.FileDescriptor.buildFrom(DescriptorRegistryTest.echoProto(),
+                new Descriptors.FileDescriptor[]{TimestampProto.getDescriptor()});
+        ProtobufMethod method = new ProtobufMethod(file.findServiceByName("EchoService").findMethodByName("Echo"));
+        assertThrows(ShenyuGrpcException.class, () -> client.call(method, CallOptions.DEFAULT, "{\"data\":{\"repeat_count\":\"x\"}}"));
+    }
+
+    @Test
+    public void testCancelCall() {
+        CompletableFuture<ShenyuGrpcResponse> future = client.call(metaData, CallOptions.DEFAULT, REQUEST, MethodDescriptor.MethodType.SERVER_STREAMING);
+        future.cancel(true);
+        verify(clientCall).cancel(anyString(), any());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.descriptor;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumDescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumValueDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.DescriptorProtos.MessageOptions;
+import com.google.protobuf.DescriptorProtos.MethodDescriptorProto;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import com.google.protobuf.TimestampProto;
+import io.grpc.MethodDescriptor;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.client.ShenyuGrpcClient;
+import org.apache.shenyu.plugin.grpc.exception.ShenyuGrpcException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The Test Case For {@link DescriptorRegistry}.
+ */
+public final class DescriptorRegistryTest {
+
+    private final ShenyuGrpcClient client = mock(ShenyuGrpcClient.class);
+
+    @Test
+    public void testObtain() {
+        DescriptorRegistry.getInstance().register(FileDescriptorSet.newBuilder().addFile(echoProto()).build().toByteArray());
+
+        ProtobufMethod method = DescriptorRegistry.getInstance().obtain("/grpc", client, metaData("/grpc/echo", "echo"));
+        assertEquals("test.EchoService/Echo", method.getMethodDescriptor().getFullMethodName());
+        assertEquals(MethodDescriptor.MethodType.UNARY, method.getMethodDescriptor().getType());
+        assertEquals("test.EchoRequest", method.getInputType().getFullName());
+        assertSame(method, DescriptorRegistry.getInstance().obtain("/grpc", client, metaData("/grpc/echo", "echo")));
+
+        ProtobufMethod stream = DescriptorRegistry.getInstance().obtain("/grpc", client, metaData("/grpc/echo", "echoStream"));
+        assertEquals(MethodDescriptor.MethodType.SERVER_STREAMING, stream.getMethodDescriptor().getType());
+        assertNull(DescriptorRegistry.getInstance().obtain("/grpc", client, metaData("/grpc/absent", "absent")));
+    }
+
+    @Test
+    public void testObtainUnknownService() {
+        MetaData metaData = metaData("/grpc/unknown", "echo");
+        metaData.setServiceName("unknown.UnknownService");
+        // the reflection of the backend fails in the background, the json proxy service is used.
+        assertNull(DescriptorRegistry.getInstance().obtain("/grpc", client, metaData));
+        assertNull(DescriptorRegistry.getInstance().obtain("/grpc", client, metaData));
+        DescriptorRegistry.getInstance().removeSelector("/grpc");
+    }
+
+    @Test
+    public void testTypeRegistry() {
+        DescriptorRegistry.getInstance().register(FileDescriptorSet.newBuilder().addFile(echoProto()).build().toByteArray());
+        assertEquals("test.EchoRequest", DescriptorRegistry.getInstance().getTypeRegistry().find("test.EchoRequest").getFullName());
+        assertNotNull(DescriptorRegistry.getInstance().getTypeRegistry().find("google.protobuf.Timestamp"));
+    }
+
+    @Test
+    public void testRegisterInvalidDescriptorSet() {
+        assertThrows(ShenyuGrpcException.class, () -> DescriptorRegistry.getInstance().register(new byte[]{1, 2, 3}));
+    }
+
+    private MetaData metaData(final String path, final String methodName) {
+        return MetaData.builder()
+                .path(path)
+                .serviceName("test.EchoService")
+                .methodName(methodName)
+                .build();
+    }
+
+    /**
+     * The echo proto file, which imports the well known timestamp.
+     *
+     * @return the echo proto file
+     */
+    public static FileDescriptorProto echoProto() {
+        DescriptorProto attrsEntry = DescriptorProto.newBuilder().setName("AttrsEntry")
+                .setOptions(MessageOptions.newBuilder().setMapEntry(true))
+                .addField(field("key", 1, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("value", 2, FieldDescriptorProto.Type.TYPE_INT64))
+                .build();
+        DescriptorProto echoRequest = DescriptorProto.newBuilder().setName("EchoRequest")
+                .addNestedType(attrsEntry)
+                .addField(field("message", 1, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("repeat_count", 2, FieldDescriptorProto.Type.TYPE_INT32))
+                .addField(field("tags", 3, FieldDescriptorProto.Type.TYPE_STRING).toBuilder().setLabel(FieldDescriptorProto.Label.LABEL_REPEATED))
+                .addField(field("attrs", 4, FieldDescriptorProto.Type.TYPE_MESSAGE).toBuilder()
+                        .setLabel(FieldDescriptorProto.Label.LABEL_REPEATED).setTypeName(".test.EchoRequest.AttrsEntry"))
+                .addField(field("kind", 5, FieldDescriptorProto.Type.TYPE_ENUM).toBuilder().setTypeName(".test.Kind"))
+                .addField(field("create_time", 6, FieldDescriptorProto.Type.TYPE_MESSAGE).toBuilder().setTypeName(".google.protobuf.Timestamp"))
+                .build();
+        DescriptorProto echoResponse = DescriptorProto.newBuilder().setName("EchoResponse")
+                .addField(field("message", 1, FieldDescriptorProto.Type.TYPE_STRING))
+                .build();
+        EnumDescriptorProto kind = EnumDescriptorProto.newBuilder().setName("Kind")
+                .addValue(EnumValueDescriptorProto.newBuilder().setName("QUIET").setNumber(0))
+                .addValue(EnumValueDescriptorProto.newBuilder().setName("LOUD").setNumber(1))
+                .build();
+        ServiceDescriptorProto service = ServiceDescriptorProto.newBuilder().setName("EchoService")
+                .addMethod(MethodDescriptorProto.newBuilder().setName("Echo").setInputType(".test.EchoRequest").setOutputType(".test.EchoResponse"))
+                .addMethod(MethodDescriptorProto.newBuilder().setName("EchoStream").setInputType(".test.EchoRequest").setOutputType(".test.EchoResponse")
+                        .setServerStreaming(true))
+                .build();
+        return FileDescriptorProto.newBuilder().setName("test/echo.proto").setPackage("test").setSyntax("proto3")
+                .addDependency(TimestampProto.getDescriptor().getName())
+                .addMessageType(echoRequest)
+                .addMessageType(echoResponse)
+                .addEnumType(kind)
+                .addService(service)
+                .build();
+    }
+
+    private static FieldDescriptorProto field(final String name, final int number, final FieldDescriptorProto.Type type) {
+        return FieldDescriptorProto.newBuilder().setName(name).setNumber(number).setType(type)
+                .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL).build();
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.grpc.handler;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.selector.DivideUpstream;
 import org.apache.shenyu.common.enums.PluginEnum;
@@ -34,6 +35,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -79,6 +81,17 @@ public class GrpcPluginDataHandlerTest {
         assertTrue(CollectionUtils.isEmpty(shenyuServiceInstances), "shenyuServiceInstances mast is empty");
     }
     
+    @Test
+    public void testHandlerRule() {
+        RuleData ruleData = new RuleData();
+        ruleData.setId("grpc-rule");
+        ruleData.setHandle("{\"timeout\":3000}");
+        grpcPluginDataHandler.handlerRule(ruleData);
+        assertEquals(3000, GrpcPluginDataHandler.RULE_CACHED_HANDLE.get().obtainHandle("grpc-rule").getTimeout());
+        grpcPluginDataHandler.removeRule(ruleData);
+        assertNull(GrpcPluginDataHandler.RULE_CACHED_HANDLE.get().obtainHandle("grpc-rule"));
+    }
+    
     @Test
     public void testPpluginNamed() {
         assertEquals(grpcPluginDataHandler.pluginNamed(), PluginEnum.GRPC.getName());
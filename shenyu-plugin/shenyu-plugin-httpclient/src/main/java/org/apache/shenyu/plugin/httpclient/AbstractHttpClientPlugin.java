@@ -37,6 +37,7 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -49,13 +50,14 @@ import reactor.util.retry.RetryBackoffSpec;
 import java.net.URI;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The type abstract http client plugin.
@@ -64,6 +66,33 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
 
     protected static final Logger LOG = LoggerFactory.getLogger(AbstractHttpClientPlugin.class);
 
+    /**
+     * the default max size of a request body kept for retries, 1mb.
+     */
+    private static final long DEFAULT_MAX_RETRY_BODY_SIZE = 1024 * 1024;
+
+    /**
+     * the max number of distinct accept-encoding values whose filtered value is kept.
+     */
+    private static final int MAX_ACCEPT_ENCODING_CACHE_SIZE = 256;
+
+    private static final Map<String, String> ACCEPT_ENCODING_CACHE = new ConcurrentHashMap<>();
+
+    private final long maxRetryBodySize;
+
+    protected AbstractHttpClientPlugin() {
+        this(DEFAULT_MAX_RETRY_BODY_SIZE);
+    }
+
+    /**
+     * Instantiates a new abstract http client plugin.
+     *
+     * @param maxRetryBodySize the max size in bytes of a request body which is kept to be sent again on retries
+     */
+    protected AbstractHttpClientPlugin(final long maxRetryBodySize) {
+        this.maxRetryBodySize = maxRetryBodySize;
+    }
+
     @Override
     public final Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -73,13 +102,48 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.CANNOT_FIND_URL);
             return WebFluxResultUtils.result(exchange, error);
         }
-        final long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
-        final Duration duration = Duration.ofMillis(timeout);
         final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
-        LOG.info("The request urlPath is {}, retryTimes is {}, retryStrategy is {}", uri.toASCIIString(), retryTimes, retryStrategy);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("The request urlPath is {}, retryTimes is {}, retryStrategy is {}", uri.toASCIIString(), retryTimes, retryStrategy);
+        }
+        final HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        final Flux<DataBuffer> body = exchange.getRequest().getBody();
+        if (retryTimes <= 0) {
+            return execute(exchange, chain, uri, body, 0, retryStrategy);
+        }
+        final long contentLength = requestHeaders.getContentLength();
+        if (contentLength == 0) {
+            // without a body, every retry sends the same empty body.
+            return execute(exchange, chain, uri, Flux.empty(), retryTimes, retryStrategy);
+        }
+        if (contentLength < 0 && !requestHeaders.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+            // the length is unknown, e.g. a http/2 request, the body is passed through and the retries subscribe to it again as before.
+            return execute(exchange, chain, uri, body, retryTimes, retryStrategy);
+        }
+        if (contentLength < 0 || contentLength > maxRetryBodySize) {
+            // the body can only be read once, so the request is not retried.
+            LOG.debug("The request body of {} is larger than {} bytes or is chunked, it will not be retried", uri.toASCIIString(), maxRetryBodySize);
+            return execute(exchange, chain, uri, body, 0, retryStrategy);
+        }
+        // keep the buffers of the body, every request sends a retained slice of them, so retries send the same body without copying it.
+        return body.collectList()
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .flatMap(buffers -> execute(exchange, chain, uri, Flux.defer(() -> Flux.fromIterable(buffers)
+                        .map(buffer -> buffer.retainedSlice(buffer.readPosition(), buffer.readableByteCount()))), retryTimes, retryStrategy)
+                        .doFinally(signalType -> buffers.forEach(DataBufferUtils::release)));
+    }
+
+    private Mono<Void> execute(final ServerWebExchange exchange,
+                               final ShenyuPluginChain chain,
+                               final URI uri,
+                               final Flux<DataBuffer> body,
+                               final int retryTimes,
+                               final String retryStrategy) {
+        final long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
+        final Duration duration = Duration.ofMillis(timeout);
         final HttpHeaders httpHeaders = buildHttpHeaders(exchange);
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, exchange.getRequest().getBody())
+        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, body)
                 .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
                 .doOnError(e -> LOG.error(e.getMessage(), e));
         if (RetryEnum.CURRENT.getName().equals(retryStrategy)) {
@@ -95,7 +159,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                     .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
         }
         final Set<URI> exclude = Sets.newHashSet(uri);
-        return resend(response, exchange, duration, httpHeaders, exclude, retryTimes)
+        return resend(response, exchange, duration, httpHeaders, body, exclude, retryTimes)
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
                 .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
     }
@@ -104,11 +168,12 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final HttpHeaders httpHeaders,
+                           final Flux<DataBuffer> body,
                            final Set<URI> exclude,
                            final int retryTimes) {
         Mono<R> result = clientResponse;
         for (int i = 0; i < retryTimes; i++) {
-            result = resend(result, exchange, duration, httpHeaders, exclude);
+            result = resend(result, exchange, duration, httpHeaders, body, exclude);
         }
         return result;
     }
@@ -117,6 +182,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final HttpHeaders httpHeaders,
+                           final Flux<DataBuffer> body,
                            final Set<URI> exclude) {
         // does it necessary to add backoff interval time ?
         return response.onErrorResume(th -> {
@@ -147,31 +213,62 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, httpHeaders, exchange.getRequest().getBody())
+            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, httpHeaders, body)
                     .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
                     .doOnError(e -> LOG.error(e.getMessage(), e));
         });
     }
 
     /**
-     * Build the http request headers.
+     * Build the http request headers, the request headers are used as they are unless gzip has to be removed from the accept encoding.
      *
      * @param exchange the current server exchange
      * @return HttpHeaders
      */
     private HttpHeaders buildHttpHeaders(final ServerWebExchange exchange) {
-        final HttpHeaders headers = new HttpHeaders();
-        headers.addAll(exchange.getRequest().getHeaders());
-        // remove gzip
-        List<String> acceptEncoding = headers.get(HttpHeaders.ACCEPT_ENCODING);
-        if (CollectionUtils.isNotEmpty(acceptEncoding)) {
-            acceptEncoding = Stream.of(String.join(",", acceptEncoding).split(",")).collect(Collectors.toList());
-            acceptEncoding.remove(Constants.HTTP_ACCEPT_ENCODING_GZIP);
-            headers.set(HttpHeaders.ACCEPT_ENCODING, String.join(",", acceptEncoding));
+        final HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        final List<String> acceptEncoding = requestHeaders.get(HttpHeaders.ACCEPT_ENCODING);
+        if (CollectionUtils.isEmpty(acceptEncoding)) {
+            return requestHeaders;
         }
+        final String value = acceptEncoding.size() == 1 ? acceptEncoding.get(0) : String.join(",", acceptEncoding);
+        String filtered = ACCEPT_ENCODING_CACHE.get(value);
+        if (Objects.isNull(filtered)) {
+            filtered = removeGzip(value);
+            if (ACCEPT_ENCODING_CACHE.size() < MAX_ACCEPT_ENCODING_CACHE_SIZE) {
+                ACCEPT_ENCODING_CACHE.put(value, filtered);
+            }
+        }
+        if (filtered.equals(value)) {
+            return requestHeaders;
+        }
+        // remove gzip
+        final HttpHeaders headers = new HttpHeaders();
+        headers.addAll(requestHeaders);
+        headers.set(HttpHeaders.ACCEPT_ENCODING, filtered);
         return headers;
     }
 
+    private static String removeGzip(final String acceptEncoding) {
+        final StringBuilder filtered = new StringBuilder(acceptEncoding.length());
+        int start = 0;
+        while (start <= acceptEncoding.length()) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = acceptEncoding.length();
+            }
+            final String coding = acceptEncoding.substring(start, end);
+            if (!Constants.HTTP_ACCEPT_ENCODING_GZIP.equals(coding)) {
+                if (filtered.length() > 0) {
+                    filtered.append(',');
+                }
+                filtered.append(coding);
+            }
+            start = end + 1;
+        }
+        return filtered.length() == acceptEncoding.length() ? acceptEncoding : filtered.toString();
+    }
+
     /**
      * Process the Web request.
      *
@@ -53,6 +53,17 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
         this.httpClient = httpClient;
     }
 
+    /**
+     * Instantiates a new Netty http client plugin.
+     *
+     * @param httpClient the http client
+     * @param maxRetryBodySize the max size in bytes of a request body which is kept to be sent again on retries
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final long maxRetryBodySize) {
+        super(maxRetryBodySize);
+        this.httpClient = httpClient;
+    }
+
     @Override
     protected Mono<HttpClientResponse> doRequest(final ServerWebExchange exchange, final String httpMethod, final URI uri,
                                 final HttpHeaders httpHeaders, final Flux<DataBuffer> body) {
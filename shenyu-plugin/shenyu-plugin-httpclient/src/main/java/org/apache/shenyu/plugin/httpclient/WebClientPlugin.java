@@ -50,6 +50,17 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
         this.webClient = webClient;
     }
     
+    /**
+     * Instantiates a new Web client plugin.
+     *
+     * @param webClient the web client
+     * @param maxRetryBodySize the max size in bytes of a request body which is kept to be sent again on retries
+     */
+    public WebClientPlugin(final WebClient webClient, final long maxRetryBodySize) {
+        super(maxRetryBodySize);
+        this.webClient = webClient;
+    }
+    
     @Override
     protected Mono<ClientResponse> doRequest(final ServerWebExchange exchange, final String httpMethod, final URI uri,
                                              final HttpHeaders httpHeaders, final Flux<DataBuffer> body) {
@@ -121,6 +121,11 @@ public class HttpClientProperties {
      */
     private Integer maxInMemorySize = 1;
 
+    /**
+     * max size of a request body kept to be sent again on retries, unit kb; larger bodies are sent once and not retried.
+     */
+    private Integer maxRetryBodySize = 1024;
+
     /**
      * Gets strategy.
      *
@@ -390,6 +395,22 @@ public class HttpClientProperties {
         this.maxInMemorySize = maxInMemorySize;
     }
 
+    /**
+     * get maxRetryBodySize.
+     * @return maxRetryBodySize
+     */
+    public Integer getMaxRetryBodySize() {
+        return maxRetryBodySize;
+    }
+
+    /**
+     * set maxRetryBodySize.
+     * @param maxRetryBodySize maxRetryBodySize
+     */
+    public void setMaxRetryBodySize(final Integer maxRetryBodySize) {
+        this.maxRetryBodySize = maxRetryBodySize;
+    }
+
     /**
      * The type Pool.
      */
@@ -158,6 +158,7 @@ public class HttpClientPropertiesTest {
         httpClientProperties.setConnectTimeout(1);
         httpClientProperties.setKeepAlive(true);
         httpClientProperties.setMaxInMemorySize(1);
+        httpClientProperties.setMaxRetryBodySize(1);
         httpClientProperties.setReaderIdleTime(1);
         httpClientProperties.setReadTimeout(1);
         httpClientProperties.setResponseTimeout(1L);
@@ -169,6 +170,7 @@ public class HttpClientPropertiesTest {
         Assertions.assertEquals(httpClientProperties.getConnectTimeout(), 1);
         Assertions.assertTrue(httpClientProperties.isKeepAlive());
         Assertions.assertEquals(httpClientProperties.getMaxInMemorySize(), 1);
+        Assertions.assertEquals(httpClientProperties.getMaxRetryBodySize(), 1);
         Assertions.assertEquals(httpClientProperties.getReaderIdleTime(), 1);
         Assertions.assertEquals(httpClientProperties.getReadTimeout(), 1);
         Assertions.assertEquals(httpClientProperties.getResponseTimeout(), Duration.ofMillis(1L));
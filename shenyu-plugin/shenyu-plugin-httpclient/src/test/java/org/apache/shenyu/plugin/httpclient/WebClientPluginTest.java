@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.httpclient;
 
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -35,9 +36,13 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
@@ -47,10 +52,16 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -117,6 +128,86 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for WebClientPlugin retries, which send the same request body again.
+     */
+    @Test
+    public void testRetryWithBody() {
+        final ClientResponse.Headers headers = mock(ClientResponse.Headers.class);
+        when(headers.asHttpHeaders()).thenReturn(new HttpHeaders());
+        final ClientResponse mockResponse = mock(ClientResponse.class);
+        when(mockResponse.statusCode()).thenReturn(HttpStatus.OK);
+        when(mockResponse.headers()).thenReturn(headers);
+        when(mockResponse.cookies()).thenReturn(new LinkedMultiValueMap<>());
+        when(mockResponse.releaseBody()).thenReturn(Mono.empty());
+        when(mockResponse.bodyToMono(byte[].class)).thenReturn(Mono.just(new byte[0]));
+        final List<String> bodies = new ArrayList<>();
+        final List<String> acceptEncodings = new ArrayList<>();
+        final ExchangeFunction retryExchangeFunction = request -> {
+            acceptEncodings.add(request.headers().getFirst(HttpHeaders.ACCEPT_ENCODING));
+            final MockClientHttpRequest clientHttpRequest = new MockClientHttpRequest(request.method(), request.url());
+            return request.body().insert(clientHttpRequest, mock(BodyInserter.Context.class))
+                    .then(Mono.defer(() -> DataBufferUtils.join(clientHttpRequest.getBody())))
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        return new String(bytes, StandardCharsets.UTF_8);
+                    })
+                    .flatMap(body -> {
+                        bodies.add(body);
+                        return bodies.size() == 1 ? Mono.error(new IllegalStateException("retry")) : Mono.just(mockResponse);
+                    });
+        };
+        final WebClient webClient = WebClient.builder().baseUrl("/test").exchangeFunction(retryExchangeFunction).build();
+        final ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip,deflate")
+                .contentLength(5)
+                .body("hello"));
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("/test"));
+        exchange.getAttributes().put(Constants.HTTP_RETRY, 1);
+        exchange.getAttributes().put(Constants.RETRY_STRATEGY, RetryEnum.CURRENT.getName());
+        StepVerifier.create(new WebClientPlugin(webClient, 1024).execute(exchange, chain)).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("hello", "hello"), bodies);
+        assertEquals(Arrays.asList("deflate", "deflate"), acceptEncodings);
+    }
+
+    /**
+     * test case for WebClientPlugin retries of a request without a content length, the body is passed through.
+     */
+    @Test
+    public void testRetryWithUnknownLength() {
+        final ClientResponse.Headers headers = mock(ClientResponse.Headers.class);
+        when(headers.asHttpHeaders()).thenReturn(new HttpHeaders());
+        final ClientResponse mockResponse = mock(ClientResponse.class);
+        when(mockResponse.statusCode()).thenReturn(HttpStatus.OK);
+        when(mockResponse.headers()).thenReturn(headers);
+        when(mockResponse.cookies()).thenReturn(new LinkedMultiValueMap<>());
+        when(mockResponse.releaseBody()).thenReturn(Mono.empty());
+        when(mockResponse.bodyToMono(byte[].class)).thenReturn(Mono.just(new byte[0]));
+        final List<String> bodies = new ArrayList<>();
+        final ExchangeFunction exchangeFunction = request -> {
+            final MockClientHttpRequest clientHttpRequest = new MockClientHttpRequest(request.method(), request.url());
+            return request.body().insert(clientHttpRequest, mock(BodyInserter.Context.class))
+                    .then(Mono.defer(() -> DataBufferUtils.join(clientHttpRequest.getBody())))
+                    .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                    .doOnNext(bodies::add)
+                    .thenReturn(mockResponse);
+        };
+        final WebClient webClient = WebClient.builder().baseUrl("/test").exchangeFunction(exchangeFunction).build();
+        final ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("hello"));
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("/test"));
+        exchange.getAttributes().put(Constants.HTTP_RETRY, 1);
+        exchange.getAttributes().put(Constants.RETRY_STRATEGY, RetryEnum.CURRENT.getName());
+        StepVerifier.create(new WebClientPlugin(webClient, 1024).execute(exchange, chain)).expectSubscription().verifyComplete();
+        assertEquals(Collections.singletonList("hello"), bodies);
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
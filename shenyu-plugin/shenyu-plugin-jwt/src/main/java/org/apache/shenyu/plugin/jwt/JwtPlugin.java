@@ -17,10 +17,6 @@
 
 package org.apache.shenyu.plugin.jwt;
 
-import io.jsonwebtoken.Jwt;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.JwtParserBuilder;
-import io.jsonwebtoken.Jwts;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
@@ -34,15 +30,17 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtTokenCache;
+import org.apache.shenyu.plugin.jwt.handle.JwtPluginDataHandler;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -54,6 +52,8 @@ public class JwtPlugin extends AbstractShenyuPlugin {
 
     private static final String AUTH2_TOKEN = "Bearer";
 
+    private volatile JwtTokenCache tokenCache;
+
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         JwtConfig jwtConfig = Singleton.INST.get(JwtConfig.class);
@@ -70,7 +70,7 @@ public class JwtPlugin extends AbstractShenyuPlugin {
         String finalAuthorization = compatible(token, authorization);
         Map<String, Object> jwtBody = checkAuthorization(finalAuthorization, jwtConfig.getSecretKey());
         if (jwtBody != null) {
-            JwtRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), JwtRuleHandle.class);
+            JwtRuleHandle ruleHandle = obtainRuleHandle(rule);
             if (ruleHandle == null) {
                 return chain.execute(exchange);
             }
@@ -124,18 +124,30 @@ public class JwtPlugin extends AbstractShenyuPlugin {
         if (StringUtils.isEmpty(authorization)) {
             return null;
         }
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
-        JwtParser jwtParser = jwtParserBuilder.build();
-        if (jwtParser.isSigned(authorization)) {
-            jwtParserBuilder.setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8));
-            JwtParser jwtParserExec = jwtParserBuilder.build();
-            Jwt jwt = ThrowingFunction.wrap(() -> jwtParserExec.parse(authorization));
-            if (jwt == null) {
-                return null;
-            }
-            return (Map<String, Object>) jwt.getBody();
+        return obtainTokenCache(secretKey).verify(authorization);
+    }
+
+    /**
+     * The parser and the verified tokens are kept for the secret key, and built again when the secret key changes.
+     *
+     * @param secretKey secretKey of authorization
+     * @return the token cache
+     */
+    private JwtTokenCache obtainTokenCache(final String secretKey) {
+        JwtTokenCache cache = tokenCache;
+        if (Objects.isNull(cache) || !cache.getSecretKey().equals(secretKey)) {
+            cache = new JwtTokenCache(secretKey);
+            tokenCache = cache;
+        }
+        return cache;
+    }
+
+    private JwtRuleHandle obtainRuleHandle(final RuleData rule) {
+        JwtRuleHandle ruleHandle = JwtPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        if (Objects.isNull(ruleHandle) && Objects.nonNull(rule.getHandle())) {
+            ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), JwtRuleHandle.class);
         }
-        return null;
+        return ruleHandle;
     }
 
     /**
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.cache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.apache.shenyu.common.cache.WindowTinyLfuMap;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The tokens verified with one secret key.
+ * The parser is built once for the secret key, and the claims of a verified token are kept under the digest of the token
+ * until the token expires, so the signature of a token sent again and again is only checked once.
+ * A token which fails the verification is not kept, it is checked again the next time.
+ */
+public final class JwtTokenCache {
+
+    private static final int MAXIMUM_SIZE = 1 << 14;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ShenyuException(e);
+        }
+    });
+
+    private final String secretKey;
+
+    private final JwtParser parser;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new WindowTinyLfuMap<>(MAXIMUM_SIZE);
+
+    /**
+     * Instantiates a new jwt token cache.
+     *
+     * @param secretKey the secret key
+     */
+    public JwtTokenCache(final String secretKey) {
+        this.secretKey = secretKey;
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8)).build();
+    }
+
+    /**
+     * Gets secret key.
+     *
+     * @return the secret key
+     */
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    /**
+     * Verify the token.
+     *
+     * @param token the token
+     * @return the claims, or null when the token is not signed, not valid or expired
+     */
+    public Map<String, Object> verify(final String token) {
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.get(digest);
+        if (Objects.nonNull(verified)) {
+            if (verified.isExpired(System.currentTimeMillis())) {
+                verifiedTokens.remove(digest);
+                return null;
+            }
+            return verified.getBody();
+        }
+        if (!parser.isSigned(token)) {
+            return null;
+        }
+        Jwt<?, ?> jwt = ThrowingFunction.wrap(() -> parser.parse(token));
+        if (Objects.isNull(jwt)) {
+            return null;
+        }
+        Map<String, Object> body = (Map<String, Object>) jwt.getBody();
+        Date expiration = body instanceof Claims ? ((Claims) body).getExpiration() : null;
+        verifiedTokens.put(digest, new VerifiedToken(body, Objects.isNull(expiration) ? Long.MAX_VALUE : expiration.getTime()));
+        return body;
+    }
+
+    /**
+     * The number of the verified tokens kept.
+     *
+     * @return the size
+     */
+    public int size() {
+        return verifiedTokens.size();
+    }
+
+    private static String digest(final String token) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class VerifiedToken {
+
+        private final Map<String, Object> body;
+
+        private final long expiration;
+
+        private VerifiedToken(final Map<String, Object> body, final long expiration) {
+            this.body = body;
+            this.expiration = expiration;
+        }
+
+        private Map<String, Object> getBody() {
+            return body;
+        }
+
+        /**
+         * Same as the parser, the token is still valid at the millisecond of the expiration.
+         */
+        private boolean isExpired(final long now) {
+            return now > expiration;
+        }
+    }
+}
@@ -58,6 +58,11 @@ public class JwtPluginDataHandler implements PluginDataHandler {
         });
     }
 
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+    }
+
     @Override
     public String pluginNamed() {
         return PluginEnum.JWT.getName();
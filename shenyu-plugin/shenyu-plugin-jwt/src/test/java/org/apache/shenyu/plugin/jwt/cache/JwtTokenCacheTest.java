@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.cache;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test case for {@link JwtTokenCache}.
+ */
+public final class JwtTokenCacheTest {
+
+    private static final String SECRET_KEY = "shenyu-test-shenyu-test-shenyu-test";
+
+    @Test
+    public void testVerifyOnce() {
+        JwtTokenCache cache = new JwtTokenCache(SECRET_KEY);
+        String token = token(SECRET_KEY, new Date(System.currentTimeMillis() + 60_000));
+        Map<String, Object> body = cache.verify(token);
+        assertEquals("shenyu", body.get("userId"));
+        assertEquals(1, cache.size());
+        assertSame(body, cache.verify(token));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidToken() {
+        JwtTokenCache cache = new JwtTokenCache(SECRET_KEY);
+        assertNull(cache.verify(token("shenyu-wrong-shenyu-wrong-shenyu-wrong", null)));
+        assertNull(cache.verify(token(SECRET_KEY, new Date(System.currentTimeMillis() - 60_000))));
+        assertNull(cache.verify(Jwts.builder().claim("userId", "shenyu").compact()));
+        assertEquals(0, cache.size());
+    }
+
+    private static String token(final String secretKey, final Date expiration) {
+        return Jwts.builder()
+                .claim("userId", "shenyu")
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
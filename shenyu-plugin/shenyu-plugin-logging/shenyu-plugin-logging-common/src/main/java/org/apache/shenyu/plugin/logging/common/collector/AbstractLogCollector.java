@@ -17,14 +17,22 @@
 
 package org.apache.shenyu.plugin.logging.common.collector;
 
-import org.apache.shenyu.common.concurrent.MemorySafeTaskQueue;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.TimeoutHandler;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
-import org.apache.shenyu.common.concurrent.ShenyuThreadPoolExecutor;
-import org.apache.shenyu.common.config.ShenyuConfig;
-import org.apache.shenyu.common.constant.Constants;
-import org.apache.shenyu.common.utils.Singleton;
-import org.apache.shenyu.common.utils.ThreadUtils;
+import org.apache.shenyu.disruptor.event.DataEvent;
+import org.apache.shenyu.disruptor.event.DisruptorEventFactory;
+import org.apache.shenyu.disruptor.strategy.ParkingTimeoutWaitStrategy;
 import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
+import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectConfigUtils;
 import org.slf4j.Logger;
@@ -33,41 +41,49 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * abstract log collector,Contains common methods.
+ * Logs are published into a lock free ring buffer by the gateway threads, and consumed in batches by one thread.
  */
 public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?>> implements LogCollector {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractLogCollector.class);
 
-    private int bufferSize;
+    private static final String PARK_WAIT_STRATEGY = "park";
 
-    private BlockingQueue<ShenyuRequestLog> bufferQueue;
+    private static final long SHUTDOWN_TIMEOUT = 3000L;
 
-    private long lastPushTime;
+    private static final EventTranslatorOneArg<DataEvent<ShenyuRequestLog>, ShenyuRequestLog> TRANSLATOR = (event, sequence, log) -> event.setData(log);
 
-    private final AtomicBoolean started = new AtomicBoolean(true);
+    private final LongAdder publishedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private volatile Disruptor<DataEvent<ShenyuRequestLog>> disruptor;
+
+    private volatile RingBuffer<DataEvent<ShenyuRequestLog>> ringBuffer;
 
     @Override
-    public void start() {
-        bufferSize = LogCollectConfigUtils.getGenericGlobalConfig().getBufferQueueSize();
-        bufferQueue = new LinkedBlockingDeque<>(bufferSize);
-        ShenyuConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig());
-        final ShenyuConfig.SharedPool sharedPool = config.getSharedPool();
-        ShenyuThreadPoolExecutor threadExecutor = new ShenyuThreadPoolExecutor(sharedPool.getCorePoolSize(),
-                sharedPool.getMaximumPoolSize(), sharedPool.getKeepAliveTime(), TimeUnit.MILLISECONDS,
-                new MemorySafeTaskQueue<>(Constants.THE_256_MB),
-                ShenyuThreadFactory.create(config.getSharedPool().getPrefix(), true),
-                new ThreadPoolExecutor.AbortPolicy());
-        started.set(true);
-        threadExecutor.execute(this::consume);
+    public synchronized void start() {
+        shutdown();
+        GenericGlobalConfig config = LogCollectConfigUtils.getGenericGlobalConfig();
+        int batchSize = Math.max(1, config.getBatchSize());
+        long lingerTime = Math.max(1, config.getLingerTime());
+        WaitStrategy waitStrategy = PARK_WAIT_STRATEGY.equalsIgnoreCase(config.getWaitStrategy())
+                ? new ParkingTimeoutWaitStrategy(lingerTime, TimeUnit.MILLISECONDS)
+                : new LiteTimeoutBlockingWaitStrategy(lingerTime, TimeUnit.MILLISECONDS);
+        Disruptor<DataEvent<ShenyuRequestLog>> newDisruptor = new Disruptor<>(new DisruptorEventFactory<>(),
+                ringBufferSize(config.getBufferQueueSize()),
+                ShenyuThreadFactory.create("shenyu-log-collector-" + getClass().getSimpleName(), true),
+                ProducerType.MULTI, waitStrategy);
+        newDisruptor.handleEventsWith(new LogEventHandler(batchSize, lingerTime));
+        ringBuffer = newDisruptor.start();
+        disruptor = newDisruptor;
     }
 
     @Override
@@ -75,38 +91,48 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?>
         if (Objects.isNull(log) || Objects.isNull(getLogConsumeClient())) {
             return;
         }
-        if (bufferQueue.size() < bufferSize) {
-            bufferQueue.add(log);
+        RingBuffer<DataEvent<ShenyuRequestLog>> buffer = ringBuffer;
+        if (Objects.nonNull(buffer) && buffer.tryPublishEvent(TRANSLATOR, log)) {
+            publishedCount.increment();
+        } else {
+            droppedCount.increment();
         }
     }
 
     /**
-     * batch and async consume.
+     * get the number of logs accepted into the buffer.
+     *
+     * @return published count
      */
-    private void consume() {
-        while (started.get()) {
-            int diffTimeMSForPush = 100;
-            try {
-                List<ShenyuRequestLog> logs = new ArrayList<>();
-                int size = bufferQueue.size();
-                long time = System.currentTimeMillis();
-                long timeDiffMs = time - lastPushTime;
-                int batchSize = 100;
-                if (size >= batchSize || timeDiffMs > diffTimeMSForPush) {
-                    bufferQueue.drainTo(logs, batchSize);
-                    AbstractLogConsumeClient<?> logCollectClient = getLogConsumeClient();
-                    if (Objects.nonNull(logCollectClient)) {
-                        logCollectClient.consume(logs);
-                    }
-                    lastPushTime = time;
-                } else {
-                    ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
-                }
-            } catch (Exception e) {
-                LOG.error("DefaultLogCollector collect log error", e);
-                ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
-            }
-        }
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    /**
+     * get the number of logs dropped because the buffer is full or the collector is not started.
+     *
+     * @return dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * get the number of logs failed to be consumed by the client.
+     *
+     * @return failed count
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * get the number of logs waiting in the buffer.
+     *
+     * @return pending count
+     */
+    public long getPendingCount() {
+        return pendingCount(ringBuffer);
     }
 
     /**
@@ -118,10 +144,105 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?>
 
     @Override
     public void close() throws Exception {
-        started.set(false);
+        shutdown();
         AbstractLogConsumeClient<?> logCollectClient = getLogConsumeClient();
         if (logCollectClient != null) {
             logCollectClient.close();
         }
     }
+
+    private synchronized void shutdown() {
+        Disruptor<DataEvent<ShenyuRequestLog>> current = disruptor;
+        if (Objects.isNull(current)) {
+            return;
+        }
+        RingBuffer<DataEvent<ShenyuRequestLog>> currentBuffer = ringBuffer;
+        ringBuffer = null;
+        disruptor = null;
+        try {
+            // wait the published logs to be consumed, the last partial batch is flushed on shutdown
+            current.shutdown(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.warn("{} shutdown timeout, {} logs are dropped", getClass().getSimpleName(), pendingCount(currentBuffer));
+            current.halt();
+        }
+        LOG.info("{} stopped, published: {}, dropped: {}, failed: {}", getClass().getSimpleName(),
+                publishedCount.sum(), droppedCount.sum(), failedCount.sum());
+    }
+
+    private static long pendingCount(final RingBuffer<DataEvent<ShenyuRequestLog>> buffer) {
+        return Objects.isNull(buffer) ? 0 : buffer.getBufferSize() - buffer.remainingCapacity();
+    }
+
+    private static int ringBufferSize(final int bufferQueueSize) {
+        int size = Math.max(2, Math.min(bufferQueueSize, 1 << 30));
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * batch and async consume, a batch is flushed when it is full, or its first log waited the linger time.
+     */
+    private final class LogEventHandler implements EventHandler<DataEvent<ShenyuRequestLog>>, TimeoutHandler, LifecycleAware {
+
+        private final int batchSize;
+
+        private final long lingerTime;
+
+        private List<ShenyuRequestLog> batch;
+
+        private long batchStartTime;
+
+        LogEventHandler(final int batchSize, final long lingerTime) {
+            this.batchSize = batchSize;
+            this.lingerTime = lingerTime;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onEvent(final DataEvent<ShenyuRequestLog> event, final long sequence, final boolean endOfBatch) {
+            if (batch.isEmpty()) {
+                batchStartTime = System.currentTimeMillis();
+            }
+            batch.add(event.getData());
+            // help gc
+            event.setData(null);
+            if (batch.size() >= batchSize || (endOfBatch && System.currentTimeMillis() - batchStartTime >= lingerTime)) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onTimeout(final long sequence) {
+            flush();
+        }
+
+        @Override
+        public void onStart() {
+            // nothing to do
+        }
+
+        @Override
+        public void onShutdown() {
+            flush();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ShenyuRequestLog> logs = batch;
+            batch = new ArrayList<>(batchSize);
+            try {
+                AbstractLogConsumeClient<?> logCollectClient = getLogConsumeClient();
+                if (Objects.nonNull(logCollectClient)) {
+                    logCollectClient.consume(logs);
+                } else {
+                    failedCount.add(logs.size());
+                }
+            } catch (Exception e) {
+                failedCount.add(logs.size());
+                LOG.error("DefaultLogCollector collect log error", e);
+            }
+        }
+    }
 }
@@ -39,6 +39,21 @@ public class GenericGlobalConfig {
      */
     private int bufferQueueSize = 50000;
 
+    /**
+     * default 100.
+     */
+    private int batchSize = 100;
+
+    /**
+     * the max time a log waits for its batch, default 100ms.
+     */
+    private int lingerTime = 100;
+
+    /**
+     * the wait strategy of the consumer, blocking or park, default blocking.
+     */
+    private String waitStrategy = "blocking";
+
     /**
      * get sample rate.
      *
@@ -110,4 +125,58 @@ public class GenericGlobalConfig {
     public void setBufferQueueSize(final int bufferQueueSize) {
         this.bufferQueueSize = bufferQueueSize;
     }
+
+    /**
+     * get batch size.
+     *
+     * @return batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * set batch size.
+     *
+     * @param batchSize batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * get linger time.
+     *
+     * @return linger time in milliseconds
+     */
+    public int getLingerTime() {
+        return lingerTime;
+    }
+
+    /**
+     * set linger time.
+     *
+     * @param lingerTime linger time in milliseconds
+     */
+    public void setLingerTime(final int lingerTime) {
+        this.lingerTime = lingerTime;
+    }
+
+    /**
+     * get wait strategy.
+     *
+     * @return wait strategy
+     */
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * set wait strategy.
+     *
+     * @param waitStrategy wait strategy
+     */
+    public void setWaitStrategy(final String waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.collector;
+
+import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for AbstractLogCollector.
+ */
+public final class AbstractLogCollectorTest {
+
+    private AbstractLogConsumeClient<?> client;
+
+    private TestLogCollector collector;
+
+    @BeforeEach
+    public void setUp() {
+        client = mock(AbstractLogConsumeClient.class);
+        collector = new TestLogCollector();
+        collector.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        collector.close();
+    }
+
+    @Test
+    public void testCollect() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        // less than a batch, flushed after the linger time
+        verify(client, timeout(3000)).consume(anyList());
+        assertEquals(10, collector.getPublishedCount());
+        assertEquals(0, collector.getDroppedCount());
+        assertEquals(0, collector.getPendingCount());
+    }
+
+    @Test
+    public void testCollectAfterClose() throws Exception {
+        collector.close();
+        collector.collect(new ShenyuRequestLog());
+        assertEquals(0, collector.getPublishedCount());
+        assertEquals(1, collector.getDroppedCount());
+    }
+
+    private final class TestLogCollector extends AbstractLogCollector<AbstractLogConsumeClient<?>> {
+
+        @Override
+        protected AbstractLogConsumeClient<?> getLogConsumeClient() {
+            return client;
+        }
+    }
+}
@@ -53,4 +53,15 @@ public class GenericGlobalConfigTest {
         genericGlobalConfig.setBufferQueueSize(5000);
         Assertions.assertEquals(genericGlobalConfig.getBufferQueueSize(), 5000);
     }
+
+    @Test
+    public void testSetGenericGlobalConfigBatch() {
+        GenericGlobalConfig genericGlobalConfig = new GenericGlobalConfig();
+        genericGlobalConfig.setBatchSize(200);
+        genericGlobalConfig.setLingerTime(50);
+        genericGlobalConfig.setWaitStrategy("park");
+        Assertions.assertEquals(genericGlobalConfig.getBatchSize(), 200);
+        Assertions.assertEquals(genericGlobalConfig.getLingerTime(), 50);
+        Assertions.assertEquals(genericGlobalConfig.getWaitStrategy(), "park");
+    }
 }
@@ -18,15 +18,12 @@
 package org.apache.shenyu.plugin.logging.kafka.collector;
 
 import org.apache.shenyu.plugin.logging.common.client.LogConsumeClient;
-import org.apache.shenyu.plugin.logging.common.collector.AbstractLogCollector;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.apache.shenyu.plugin.logging.kafka.client.KafkaLogCollectClient;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
-
 /**
  * The Test Case For DefaultLogCollector.
  */
@@ -42,15 +39,15 @@ public class KafkaLogCollectorTest {
 
     @Test
     public void testAbstractLogCollector() throws Exception {
-        KafkaLogCollector.getInstance().start();
-        Field field1 = AbstractLogCollector.class.getDeclaredField("started");
-        field1.setAccessible(true);
-        Assertions.assertEquals(field1.get(KafkaLogCollector.getInstance()).toString(), "true");
-        KafkaLogCollector.getInstance().collect(shenyuRequestLog);
-        KafkaLogCollector.getInstance().close();
-        Field field2 = AbstractLogCollector.class.getDeclaredField("started");
-        field2.setAccessible(true);
-        Assertions.assertEquals(field2.get(KafkaLogCollector.getInstance()).toString(), "false");
+        KafkaLogCollector collector = (KafkaLogCollector) KafkaLogCollector.getInstance();
+        collector.start();
+        long publishedCount = collector.getPublishedCount();
+        collector.collect(shenyuRequestLog);
+        Assertions.assertEquals(publishedCount + 1, collector.getPublishedCount());
+        collector.close();
+        long droppedCount = collector.getDroppedCount();
+        collector.collect(shenyuRequestLog);
+        Assertions.assertEquals(droppedCount + 1, collector.getDroppedCount());
     }
 
     @Test
@@ -18,15 +18,12 @@
 package org.apache.shenyu.plugin.logging.pulsar.collector;
 
 import org.apache.shenyu.plugin.logging.common.client.LogConsumeClient;
-import org.apache.shenyu.plugin.logging.common.collector.AbstractLogCollector;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.apache.shenyu.plugin.logging.pulsar.client.PulsarLogCollectClient;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
-
 public class PulsarLogCollectorTest {
 
     private final ShenyuRequestLog shenyuRequestLog = new ShenyuRequestLog();
@@ -39,15 +36,15 @@ public class PulsarLogCollectorTest {
 
     @Test
     public void testAbstractLogCollector() throws Exception {
-        PulsarLogCollector.getInstance().start();
-        Field field1 = AbstractLogCollector.class.getDeclaredField("started");
-        field1.setAccessible(true);
-        Assertions.assertEquals(field1.get(PulsarLogCollector.getInstance()).toString(), "true");
-        PulsarLogCollector.getInstance().collect(shenyuRequestLog);
-        PulsarLogCollector.getInstance().close();
-        Field field2 = AbstractLogCollector.class.getDeclaredField("started");
-        field2.setAccessible(true);
-        Assertions.assertEquals(field2.get(PulsarLogCollector.getInstance()).toString(), "false");
+        PulsarLogCollector collector = (PulsarLogCollector) PulsarLogCollector.getInstance();
+        collector.start();
+        long publishedCount = collector.getPublishedCount();
+        collector.collect(shenyuRequestLog);
+        Assertions.assertEquals(publishedCount + 1, collector.getPublishedCount());
+        collector.close();
+        long droppedCount = collector.getDroppedCount();
+        collector.collect(shenyuRequestLog);
+        Assertions.assertEquals(droppedCount + 1, collector.getDroppedCount());
     }
 
     @Test
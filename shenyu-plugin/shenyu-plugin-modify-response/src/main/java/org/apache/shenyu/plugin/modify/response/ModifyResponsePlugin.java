@@ -30,6 +30,7 @@ import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.support.JsonBodyTransformer;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.base.utils.ResponseUtils;
 import org.apache.shenyu.plugin.modify.response.handler.ModifyResponsePluginDataHandler;
@@ -98,6 +99,17 @@ public class ModifyResponsePlugin extends AbstractShenyuPlugin {
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
             ClientResponse clientResponse = this.buildModifiedResponse(body);
+            JsonBodyTransformer transformer = JsonBodyTransformer.of(this.ruleHandle.getAddBodyKeys(),
+                    this.ruleHandle.getReplaceBodyKeys(), this.ruleHandle.getRemoveBodyKeys());
+            if (transformer.isEmpty()) {
+                return ResponseUtils.writeWith(clientResponse, this.exchange, Flux.from(body));
+            }
+            if (transformer.isStreamable()) {
+                Flux<DataBuffer> modifiedBody = transformer.transform(body, this.bufferFactory())
+                        .doOnError(throwable -> LOG.error("modify response error", throwable));
+                return ResponseUtils.writeWith(clientResponse, this.exchange, modifiedBody);
+            }
+            // the paths which can not be followed while streaming need the whole document.
             Mono<byte[]> modifiedBody = clientResponse.bodyToMono(byte[].class)
                     .flatMap(originalBody -> Mono.just(modifyBody(originalBody)));
             return ResponseUtils.writeWith(clientResponse, this.exchange, modifiedBody, byte[].class);
@@ -154,7 +166,7 @@ public class ModifyResponsePlugin extends AbstractShenyuPlugin {
         private byte[] modifyBody(final byte[] responseBody) {
             try {
                 String bodyStr = modifyBody(new String(responseBody, StandardCharsets.UTF_8));
-                LOG.info("the body string {}", bodyStr);
+                LOG.debug("the body string {}", bodyStr);
                 return bodyStr.getBytes(StandardCharsets.UTF_8);
             } catch (Exception e) {
                 LOG.error("modify response error", e);
@@ -21,6 +21,7 @@ import org.apache.shenyu.common.dto.convert.rule.impl.ParamMappingRuleHandle;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.support.BodyInserterContext;
 import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
+import org.apache.shenyu.plugin.base.support.JsonBodyTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -51,9 +52,29 @@ public class JsonOperator implements Operator {
 
     @Override
     public Mono<Void> apply(final ServerWebExchange exchange, final ShenyuPluginChain shenyuPluginChain, final ParamMappingRuleHandle paramMappingRuleHandle) {
+        JsonBodyTransformer transformer = JsonBodyTransformer.of(paramMappingRuleHandle.getAddParameterKeys(),
+                paramMappingRuleHandle.getReplaceParameterKeys(), paramMappingRuleHandle.getRemoveParameterKeys());
+        if (transformer.isEmpty()) {
+            return shenyuPluginChain.execute(exchange);
+        }
+        if (!transformer.isStreamable()) {
+            return applyDocument(exchange, shenyuPluginChain, paramMappingRuleHandle);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(exchange.getRequest().getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        Flux<DataBuffer> body = transformer.transform(exchange.getRequest().getBody(), exchange.getResponse().bufferFactory());
+        ServerHttpRequestDecorator decorator = new ModifyServerHttpRequestDecorator(headers, exchange.getRequest(), body);
+        return shenyuPluginChain.execute(exchange.mutate().request(decorator).build());
+    }
+
+    /**
+     * Transform the body as a whole document, for the paths which can not be followed while streaming.
+     */
+    private Mono<Void> applyDocument(final ServerWebExchange exchange, final ShenyuPluginChain shenyuPluginChain, final ParamMappingRuleHandle paramMappingRuleHandle) {
         ServerRequest serverRequest = ServerRequest.create(exchange, MESSAGE_READERS);
         Mono<String> mono = serverRequest.bodyToMono(String.class).switchIfEmpty(Mono.defer(() -> Mono.just(""))).flatMap(originalBody -> {
-            LOG.info("get body data success data:{}", originalBody);
+            LOG.debug("get body data success data:{}", originalBody);
             //process entity
             String modify = operation(originalBody, paramMappingRuleHandle);
             return Mono.just(modify);
@@ -65,7 +86,7 @@ public class JsonOperator implements Operator {
         CachedBodyOutputMessage outputMessage = new CachedBodyOutputMessage(exchange, headers);
         return bodyInserter.insert(outputMessage, new BodyInserterContext())
                 .then(Mono.defer(() -> {
-                    ServerHttpRequestDecorator decorator = new ModifyServerHttpRequestDecorator(headers, exchange.getRequest(), outputMessage);
+                    ServerHttpRequestDecorator decorator = new ModifyServerHttpRequestDecorator(headers, exchange.getRequest(), outputMessage.getBody());
                     return shenyuPluginChain.execute(exchange.mutate().request(decorator).build());
                 })).onErrorResume((Function<Throwable, Mono<Void>>) throwable -> release(outputMessage, throwable));
     }
@@ -74,14 +95,14 @@ public class JsonOperator implements Operator {
 
         private final HttpHeaders headers;
 
-        private final CachedBodyOutputMessage cachedBodyOutputMessage;
+        private final Flux<DataBuffer> body;
 
         ModifyServerHttpRequestDecorator(final HttpHeaders headers,
                                          final ServerHttpRequest delegate,
-                                         final CachedBodyOutputMessage cachedBodyOutputMessage) {
+                                         final Flux<DataBuffer> body) {
             super(delegate);
             this.headers = headers;
-            this.cachedBodyOutputMessage = cachedBodyOutputMessage;
+            this.body = body;
         }
 
         @SuppressWarnings("NullableProblems")
@@ -101,7 +122,7 @@ public class JsonOperator implements Operator {
         @SuppressWarnings("NullableProblems")
         @Override
         public Flux<DataBuffer> getBody() {
-            return cachedBodyOutputMessage.getBody();
+            return body;
         }
     }
 }
@@ -82,5 +82,11 @@ public class JsonOperatorTest {
         when(this.chain.execute(any())).thenReturn(Mono.empty());
         StepVerifier.create(jsonOperator.apply(this.exchange, this.chain, paramMappingRuleHandle)).expectSubscription().verifyComplete();
     }
-}
 
+    @Test
+    public void testApplyDocument() {
+        this.paramMappingRuleHandle.setRemoveParameterKeys(Collections.singleton("$..age"));
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        StepVerifier.create(jsonOperator.apply(this.exchange, this.chain, paramMappingRuleHandle)).expectSubscription().verifyComplete();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The base of the rate limiter algorithms which keep their counters in the gateway memory instead of redis.
+ * The limits are per gateway node, the state of each key is evicted after it has been idle for a while,
+ * and the number of keys is bounded so a key resolver with unbounded output can not exhaust the heap.
+ *
+ * @param <S> the type of the counter kept for each key
+ */
+public abstract class AbstractLocalRateLimiterAlgorithm<S> implements RateLimiterAlgorithm<List<Long>> {
+
+    private static final int DEFAULT_MAXIMUM_KEYS = 65536;
+
+    private static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Cache<String, S> states;
+
+    protected AbstractLocalRateLimiterAlgorithm() {
+        this(DEFAULT_MAXIMUM_KEYS, DEFAULT_IDLE_MILLIS);
+    }
+
+    protected AbstractLocalRateLimiterAlgorithm(final long maximumKeys, final long idleMillis) {
+        this.states = CacheBuilder.newBuilder()
+                .concurrencyLevel(Math.max(4, Runtime.getRuntime().availableProcessors()))
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Create the counter of a key seen for the first time.
+     *
+     * @return the counter
+     */
+    protected abstract S newState();
+
+    /**
+     * Try to take the permits of one request from the counter.
+     *
+     * @param state the counter of the key
+     * @param capacity the burst capacity
+     * @param rate the replenish rate per second
+     * @param requested the permits of one request
+     * @return the permits left, or a negative number when the request is not allowed
+     */
+    protected abstract long tryAcquire(S state, double capacity, double rate, double requested);
+
+    /**
+     * Judge whether the request is allowed, the result is in the same form as the scripts: allowed (1 or 0) and the permits left.
+     *
+     * @param id the rule id and the resolved key
+     * @param limiterHandle the limiter handle
+     * @return the result
+     */
+    public List<Long> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        long left = tryAcquire(getState(id), limiterHandle.getBurstCapacity(), limiterHandle.getReplenishRate(), limiterHandle.getRequestCount());
+        return left < 0 ? Arrays.asList(0L, 0L) : Arrays.asList(1L, left);
+    }
+
+    /**
+     * Gets the counter of the key if it is still kept.
+     *
+     * @param id the key
+     * @return the counter, or null
+     */
+    protected S getStateIfPresent(final String id) {
+        return states.getIfPresent(id);
+    }
+
+    /**
+     * The number of keys kept.
+     *
+     * @return the size
+     */
+    public long size() {
+        return states.size();
+    }
+
+    private S getState(final String id) {
+        try {
+            return states.get(id, this::newState);
+        } catch (ExecutionException e) {
+            throw new ShenyuException(e.getCause());
+        }
+    }
+
+    @Override
+    public String getScriptName() {
+        return null;
+    }
+
+    @Override
+    public RedisScript<List<Long>> getScript() {
+        return null;
+    }
+
+    @Override
+    public List<String> getKeys(final String id) {
+        return Collections.singletonList(id);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.spi.Join;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent algorithm kept in the gateway memory.
+ * A request is allowed while fewer than burstCapacity requests of the key are in flight, and gives its permit back in the callback.
+ */
+@Join
+public class LocalConcurrentRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicLong> {
+
+    @Override
+    protected AtomicLong newState() {
+        return new AtomicLong();
+    }
+
+    @Override
+    protected long tryAcquire(final AtomicLong state, final double capacity, final double rate, final double requested) {
+        long inFlight = state.incrementAndGet();
+        if (inFlight > capacity) {
+            state.decrementAndGet();
+            return -1;
+        }
+        return (long) (capacity - inFlight);
+    }
+
+    @Override
+    public void callback(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
+        AtomicLong state = getStateIfPresent(keys.get(0));
+        if (Objects.nonNull(state)) {
+            state.updateAndGet(inFlight -> inFlight > 0 ? inFlight - 1 : 0);
+        }
+    }
+}
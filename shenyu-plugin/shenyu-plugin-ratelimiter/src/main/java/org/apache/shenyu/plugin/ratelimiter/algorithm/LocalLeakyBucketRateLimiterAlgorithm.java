@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leaky bucket algorithm kept in the gateway memory.
+ * The water in the bucket is stored as the time at which the bucket would be empty, the water leaks at replenishRate
+ * per second and a request is allowed when its water still fits in burstCapacity. The result carries the water in the bucket.
+ */
+@Join
+public class LocalLeakyBucketRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicLong> {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Override
+    protected AtomicLong newState() {
+        return new AtomicLong(Long.MIN_VALUE);
+    }
+
+    @Override
+    protected long tryAcquire(final AtomicLong state, final double capacity, final double rate, final double requested) {
+        if (rate <= 0 || requested > capacity) {
+            return -1;
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long emptyAt = state.get();
+            double water = (Math.max(emptyAt, now) - now) * rate / NANOS_PER_SECOND + requested;
+            if (water > capacity) {
+                return -1;
+            }
+            if (state.compareAndSet(emptyAt, now + (long) (water / rate * NANOS_PER_SECOND))) {
+                return (long) Math.ceil(water);
+            }
+        }
+    }
+}
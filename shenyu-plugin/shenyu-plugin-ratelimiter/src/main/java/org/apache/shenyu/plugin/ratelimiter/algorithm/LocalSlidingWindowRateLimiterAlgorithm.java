@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window algorithm kept in the gateway memory.
+ * The window of burstCapacity / replenishRate seconds is split into slots, each counting the requests of its own period,
+ * and a request is allowed while the slots inside the window count fewer than burstCapacity requests.
+ */
+@Join
+public class LocalSlidingWindowRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<LocalSlidingWindowRateLimiterAlgorithm.Window> {
+
+    private static final int SLOTS = 10;
+
+    @Override
+    protected Window newState() {
+        return new Window();
+    }
+
+    @Override
+    protected long tryAcquire(final Window window, final double capacity, final double rate, final double requested) {
+        if (rate <= 0) {
+            return -1;
+        }
+        long slotMillis = Math.max(1L, (long) (capacity / rate * 1000 / SLOTS));
+        long period = System.currentTimeMillis() / slotMillis;
+        int index = (int) (period % SLOTS);
+        long started = window.periods.get(index);
+        // the thread moving the slot to the new period clears it, the requests counted in the meantime may be lost.
+        if (started != period && window.periods.compareAndSet(index, started, period)) {
+            window.counts.set(index, 0);
+        }
+        long permits = (long) Math.ceil(requested);
+        window.counts.addAndGet(index, permits);
+        long used = window.used(period);
+        if (used > capacity) {
+            // give the permits back, so that rejected requests do not keep the window full.
+            window.counts.addAndGet(index, -permits);
+            return -1;
+        }
+        return (long) (capacity - used);
+    }
+
+    /**
+     * The slots of one key.
+     */
+    static final class Window {
+
+        private final AtomicLongArray periods = new AtomicLongArray(SLOTS);
+
+        private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+
+        private Window() {
+            for (int i = 0; i < SLOTS; i++) {
+                periods.set(i, -1);
+            }
+        }
+
+        private long used(final long period) {
+            long used = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                if (period - periods.get(i) < SLOTS) {
+                    used += counts.get(i);
+                }
+            }
+            return used;
+        }
+    }
+}
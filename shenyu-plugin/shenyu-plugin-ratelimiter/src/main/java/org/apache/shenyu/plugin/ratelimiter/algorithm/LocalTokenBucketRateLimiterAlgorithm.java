@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket algorithm kept in the gateway memory.
+ * The bucket is stored as the theoretical time at which it would be full again, which a single compare-and-set moves forward,
+ * so a request never takes a lock: the bucket allows it when that time stays within burstCapacity / replenishRate from now.
+ */
+@Join
+public class LocalTokenBucketRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicLong> {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Override
+    protected AtomicLong newState() {
+        return new AtomicLong(Long.MIN_VALUE);
+    }
+
+    @Override
+    protected long tryAcquire(final AtomicLong state, final double capacity, final double rate, final double requested) {
+        if (rate <= 0 || requested > capacity) {
+            return -1;
+        }
+        long cost = (long) (requested / rate * NANOS_PER_SECOND);
+        long tolerance = (long) (capacity / rate * NANOS_PER_SECOND);
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = state.get();
+            long next = Math.max(fullAt, now) + cost;
+            if (next - now > tolerance) {
+                return -1;
+            }
+            if (state.compareAndSet(fullAt, next)) {
+                return (long) ((tolerance - (next - now)) * rate / NANOS_PER_SECOND);
+            }
+        }
+    }
+}
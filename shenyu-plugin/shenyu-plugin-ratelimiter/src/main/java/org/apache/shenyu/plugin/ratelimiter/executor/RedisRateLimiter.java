@@ -19,8 +19,10 @@ package org.apache.shenyu.plugin.ratelimiter.executor;
 
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.AbstractLocalRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,8 @@ import java.util.List;
 public class RedisRateLimiter {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private final TokenLeaseRateLimiter tokenLeaseRateLimiter = new TokenLeaseRateLimiter();
     
     /**
      * Verify using different current limiting algorithm scripts. 
@@ -50,10 +54,17 @@ public class RedisRateLimiter {
      */
     @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        if (rateLimiterAlgorithm instanceof AbstractLocalRateLimiterAlgorithm) {
+            List<Long> results = ((AbstractLocalRateLimiterAlgorithm<?>) rateLimiterAlgorithm).isAllowed(id, limiterHandle);
+            return Mono.just(new RateLimiterResponse(results.get(0) == 1L, results.get(1), rateLimiterAlgorithm.getKeys(id)));
+        }
+        if (limiterHandle.isLeaseEnabled() && rateLimiterAlgorithm instanceof TokenBucketRateLimiterAlgorithm) {
+            return tokenLeaseRateLimiter.isAllowed(id, rateLimiterAlgorithm, limiterHandle);
+        }
         double replenishRate = limiterHandle.getReplenishRate();
         double burstCapacity = limiterHandle.getBurstCapacity();
         double requestCount = limiterHandle.getRequestCount();
-        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
         List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
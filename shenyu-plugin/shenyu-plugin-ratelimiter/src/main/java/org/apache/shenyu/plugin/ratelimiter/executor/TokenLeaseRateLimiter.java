@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket rate limiter which leases batches of tokens from the redis bucket and serves the requests from memory.
+ * The tokens are taken from redis before they are used, so the cluster never admits more than the bucket allows;
+ * the cost is that tokens leased by one gateway are unavailable to the others until they are used or expire,
+ * which {@link RateLimiterHandle#getMaxLeaseRatio()} and {@link RateLimiterHandle#getLeaseTtl()} bound.
+ */
+public class TokenLeaseRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenLeaseRateLimiter.class);
+
+    private static final String LEASE_SCRIPT_NAME = "request_rate_limiter_lease.lua";
+
+    /**
+     * lease again in the background when the tokens left fall under this part of the last lease.
+     */
+    private static final double LOW_WATERMARK = 0.2;
+
+    private final RedisScript<List<Long>> script;
+
+    private final Cache<String, Lease> leases = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build();
+
+    /**
+     * Instantiates a new token lease rate limiter.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TokenLeaseRateLimiter() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(Constants.SCRIPT_PATH + LEASE_SCRIPT_NAME)));
+        redisScript.setResultType(List.class);
+        this.script = redisScript;
+    }
+
+    /**
+     * Take one permit from the local lease, and lease from redis when it is used up.
+     *
+     * @param id            the limiter id
+     * @param algorithm     the token bucket algorithm, which names the redis keys
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterAlgorithm<?> algorithm, final RateLimiterHandle limiterHandle) {
+        Lease lease = leases.getIfPresent(id);
+        if (Objects.isNull(lease)) {
+            lease = leases.asMap().computeIfAbsent(id, key -> new Lease(algorithm.getKeys(key)));
+        }
+        lease.demand.increment();
+        long now = System.currentTimeMillis();
+        long left = lease.tryAcquire(now);
+        if (left >= 0) {
+            if (left <= lease.lowWatermark) {
+                renew(lease, limiterHandle, now).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, left, lease.keys));
+        }
+        final Lease current = lease;
+        return renew(lease, limiterHandle, now).map(granted -> {
+            if (granted < 0) {
+                // redis is unavailable, let the request pass as the per request mode does
+                return new RateLimiterResponse(true, -1L, current.keys);
+            }
+            long remaining = current.tryAcquire(System.currentTimeMillis());
+            return new RateLimiterResponse(remaining >= 0, Math.max(0, remaining), current.keys);
+        });
+    }
+
+    /**
+     * lease from redis, the concurrent callers share one round-trip.
+     */
+    private Mono<Long> renew(final Lease lease, final RateLimiterHandle limiterHandle, final long now) {
+        Mono<Long> inflight = lease.inflight.get();
+        if (Objects.nonNull(inflight)) {
+            return inflight;
+        }
+        // deferred, so only the caller which wins the slot sizes the lease and goes to redis.
+        Mono<Long> mono = Mono.defer(() -> doLease(lease, limiterHandle, now)).doFinally(signal -> lease.inflight.set(null)).cache();
+        if (lease.inflight.compareAndSet(null, mono)) {
+            return mono;
+        }
+        Mono<Long> other = lease.inflight.get();
+        return Objects.nonNull(other) ? other : Mono.just(0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> doLease(final Lease lease, final RateLimiterHandle limiterHandle, final long now) {
+        final double requestCount = limiterHandle.getRequestCount() > 0 ? limiterHandle.getRequestCount() : 1D;
+        final long permits = lease.nextLeaseSize(limiterHandle, requestCount, now);
+        final long expireAt = now + Math.max(1L, limiterHandle.getLeaseTtl());
+        List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf((double) Instant.now().getEpochSecond()), String.valueOf(permits * requestCount));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, lease.keys, scriptArgs);
+        return resultFlux.next()
+                .map(results -> {
+                    long granted = (long) Math.floor(results.get(0) / requestCount);
+                    lease.refill(granted, permits, expireAt);
+                    return granted;
+                })
+                .defaultIfEmpty(0L)
+                .onErrorResume(throwable -> {
+                    LOG.error("Error occurred while leasing tokens by TokenLeaseRateLimiter:{}", throwable.getMessage());
+                    return Mono.just(-1L);
+                });
+    }
+
+    /**
+     * The tokens leased by this gateway for one limiter key.
+     */
+    private static final class Lease {
+
+        private final List<String> keys;
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final LongAdder demand = new LongAdder();
+
+        private final AtomicReference<Mono<Long>> inflight = new AtomicReference<>();
+
+        private volatile long expireAt;
+
+        private volatile long lowWatermark;
+
+        private volatile long lastLeaseTime;
+
+        private volatile double rate;
+
+        Lease(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * take one token.
+         *
+         * @return the tokens left, or -1 when there is no valid token
+         */
+        long tryAcquire(final long now) {
+            if (now >= expireAt) {
+                return -1;
+            }
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return -1;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return current - 1;
+        }
+
+        /**
+         * the lease size follows the local request rate over the lease ttl, bounded by the max lease ratio.
+         */
+        long nextLeaseSize(final RateLimiterHandle limiterHandle, final double requestCount, final long now) {
+            long elapsed = Math.max(1L, now - lastLeaseTime);
+            double observed = demand.sumThenReset() * 1000D / elapsed;
+            rate = lastLeaseTime == 0 ? observed : (rate + observed) / 2;
+            lastLeaseTime = now;
+            long max = Math.max(1L, (long) (limiterHandle.getBurstCapacity() * limiterHandle.getMaxLeaseRatio() / requestCount));
+            long wanted = (long) Math.ceil(rate * Math.max(1L, limiterHandle.getLeaseTtl()) / 1000D);
+            return Math.min(max, Math.max(1L, wanted));
+        }
+
+        void refill(final long granted, final long leaseSize, final long newExpireAt) {
+            if (System.currentTimeMillis() >= expireAt) {
+                tokens.set(granted);
+            } else {
+                tokens.addAndGet(granted);
+            }
+            lowWatermark = (long) (leaseSize * LOW_WATERMARK);
+            expireAt = newExpireAt;
+        }
+    }
+}
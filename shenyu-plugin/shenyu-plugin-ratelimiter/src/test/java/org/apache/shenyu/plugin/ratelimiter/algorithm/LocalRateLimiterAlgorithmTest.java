@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * test for the local rate limiter algorithms.
+ */
+public final class LocalRateLimiterAlgorithmTest {
+
+    private static final String ID = "rule-127.0.0.1";
+
+    private RateLimiterHandle handle;
+
+    @BeforeEach
+    public void setUp() {
+        handle = new RateLimiterHandle();
+        handle.setReplenishRate(1);
+        handle.setBurstCapacity(5);
+    }
+
+    @Test
+    public void tokenBucketTest() {
+        LocalTokenBucketRateLimiterAlgorithm algorithm = new LocalTokenBucketRateLimiterAlgorithm();
+        for (long left = 4; left >= 0; left--) {
+            assertThat(algorithm.isAllowed(ID, handle), is(Arrays.asList(1L, left)));
+        }
+        assertThat(algorithm.isAllowed(ID, handle).get(0), is(0L));
+        assertThat(algorithm.isAllowed("other", handle).get(0), is(1L));
+    }
+
+    @Test
+    public void leakyBucketTest() {
+        LocalLeakyBucketRateLimiterAlgorithm algorithm = new LocalLeakyBucketRateLimiterAlgorithm();
+        for (long water = 1; water <= 5; water++) {
+            assertThat(algorithm.isAllowed(ID, handle), is(Arrays.asList(1L, water)));
+        }
+        assertThat(algorithm.isAllowed(ID, handle).get(0), is(0L));
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        LocalSlidingWindowRateLimiterAlgorithm algorithm = new LocalSlidingWindowRateLimiterAlgorithm();
+        for (long left = 4; left >= 0; left--) {
+            assertThat(algorithm.isAllowed(ID, handle), is(Arrays.asList(1L, left)));
+        }
+        assertThat(algorithm.isAllowed(ID, handle).get(0), is(0L));
+    }
+
+    @Test
+    public void concurrentTest() {
+        LocalConcurrentRateLimiterAlgorithm algorithm = new LocalConcurrentRateLimiterAlgorithm();
+        List<String> keys = algorithm.getKeys(ID);
+        for (int i = 0; i < 5; i++) {
+            assertThat(algorithm.isAllowed(ID, handle).get(0), is(1L));
+        }
+        assertThat(algorithm.isAllowed(ID, handle).get(0), is(0L));
+        algorithm.callback(algorithm.getScript(), keys, null);
+        assertThat(algorithm.isAllowed(ID, handle), is(Arrays.asList(1L, 0L)));
+    }
+
+    @Test
+    public void maximumKeysTest() {
+        LocalConcurrentRateLimiterAlgorithm algorithm = new LocalConcurrentRateLimiterAlgorithm();
+        for (int i = 0; i < 100000; i++) {
+            algorithm.isAllowed(ID + i, handle);
+        }
+        assertThat(algorithm.size() <= 65536, is(true));
+    }
+}
@@ -43,5 +43,8 @@ public final class RateLimiterAlgorithmFactoryTest {
 
         RateLimiterAlgorithm<?> slidingWindowRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("slidingWindow");
         assertThat(slidingWindowRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.SlidingWindowRateLimiterAlgorithm"));
+
+        RateLimiterAlgorithm<?> localTokenBucketRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("localTokenBucket");
+        assertThat(localTokenBucketRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.LocalTokenBucketRateLimiterAlgorithm"));
     }
 }
@@ -39,6 +39,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -163,6 +165,68 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.isAllowed lease case, the leased tokens are served without redis.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void leaseAllowedTest() {
+        isAllowedPreInit(5L, 95L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseEnabled(true);
+        for (long left = 4; left >= 0; left--) {
+            final long expected = left;
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+                assertEquals(expected, r.getTokensRemaining());
+                assertTrue(r.isAllowed());
+            }).verifyComplete();
+        }
+        // one lease, and one renew when the lease ran out
+        ReactiveRedisTemplate reactiveRedisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * redisRateLimiter.isAllowed lease case, nothing left in redis.
+     */
+    @Test
+    public void leaseNotAllowedTest() {
+        isAllowedPreInit(0L, 0L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseEnabled(true);
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertEquals(0, r.getTokensRemaining());
+            assertFalse(r.isAllowed());
+        }).verifyComplete();
+    }
+
+    /**
+     * redisRateLimiter.isAllowed lease exception case.
+     */
+    @Test
+    public void leaseThrowableTest() {
+        isAllowedPreInit(0, 0, true);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseEnabled(true);
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertEquals(-1, r.getTokensRemaining());
+            assertTrue(r.isAllowed());
+        }).verifyComplete();
+    }
+
+    /**
+     * redisRateLimiter.isAllowed case for the local algorithms, which do not use redis.
+     */
+    @Test
+    public void localAllowedTest() {
+        rateLimiterHandle.setAlgorithmName("localTokenBucket");
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertThat(r.getTokensRemaining(), is((long) DEFAULT_TEST_BURST_CAPACITY - 1L));
+            assertTrue(r.isAllowed());
+            assertThat(r.getKeys(), is(Lists.newArrayList(DEFAULT_TEST_ID)));
+        }).verifyComplete();
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
@@ -19,8 +19,14 @@ package org.apache.shenyu.plugin.sign.cache;
 
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.plugin.base.trie.PathPatternIndex;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 /**
  * The type Base data cache.
@@ -34,6 +40,11 @@ public final class SignAuthDataCache {
      */
     private static final ConcurrentMap<String, AppAuthData> AUTH_MAP = Maps.newConcurrentMap();
     
+    /**
+     * appKey -> the index of the enabled auth paths.
+     */
+    private static final ConcurrentMap<String, PathPatternIndex<AuthPathData>> PATH_MAP = Maps.newConcurrentMap();
+    
     private SignAuthDataCache() {
     }
     
@@ -52,6 +63,10 @@ public final class SignAuthDataCache {
      * @param data the data
      */
     public void cacheAuthData(final AppAuthData data) {
+        List<AuthPathData> pathDataList = Optional.ofNullable(data.getPathDataList()).orElse(Collections.emptyList()).stream()
+                .filter(pathData -> Boolean.TRUE.equals(pathData.getEnabled()))
+                .collect(Collectors.toList());
+        PATH_MAP.put(data.getAppKey(), PathPatternIndex.of(pathDataList, AuthPathData::getPath));
         AUTH_MAP.put(data.getAppKey(), data);
     }
     
@@ -62,6 +77,7 @@ public final class SignAuthDataCache {
      */
     public void removeAuthData(final AppAuthData data) {
         AUTH_MAP.remove(data.getAppKey());
+        PATH_MAP.remove(data.getAppKey());
     }
     
     /**
@@ -73,4 +89,15 @@ public final class SignAuthDataCache {
     public AppAuthData obtainAuthData(final String appKey) {
         return AUTH_MAP.get(appKey);
     }
+    
+    /**
+     * Obtain the enabled auth path which matches the path.
+     *
+     * @param appKey the app key
+     * @param path   the request path
+     * @return the auth path data, or null if no enabled auth path matches
+     */
+    public AuthPathData obtainAuthPath(final String appKey, final String path) {
+        return Optional.ofNullable(PATH_MAP.get(appKey)).map(index -> index.match(path)).orElse(null);
+    }
 }
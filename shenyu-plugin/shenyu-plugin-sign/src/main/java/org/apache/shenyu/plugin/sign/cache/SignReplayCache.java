@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The signatures accepted within the sign delay, so a signed request can not be replayed while its timestamp is still valid.
+ * The signatures are grouped by the minute of the request timestamp. The same request always has the same timestamp,
+ * so looking for a replay only visits one bucket, and a whole bucket is dropped once its minute is out of the delay.
+ * When the maximum size is reached the oldest buckets are dropped first, the recent signatures are the ones a replay is most likely to reuse.
+ */
+public final class SignReplayCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SignReplayCache.class);
+
+    private final ConcurrentNavigableMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile long expiredMinute = Long.MIN_VALUE;
+
+    /**
+     * Whether the signature was accepted before.
+     *
+     * @param appKey    the app key
+     * @param sign      the signature
+     * @param timestamp the request timestamp in milliseconds
+     * @return true if the signature was accepted before
+     */
+    public boolean contains(final String appKey, final String sign, final long timestamp) {
+        Set<String> bucket = buckets.get(TimeUnit.MILLISECONDS.toMinutes(timestamp));
+        return bucket != null && bucket.contains(key(appKey, sign));
+    }
+
+    /**
+     * Remember an accepted signature.
+     *
+     * @param appKey    the app key
+     * @param sign      the signature
+     * @param timestamp the request timestamp in milliseconds
+     * @param delay       the minutes a timestamp stays valid
+     * @param maximumSize the maximum number of signatures remembered
+     * @return false if the signature was accepted before
+     */
+    public boolean add(final String appKey, final String sign, final long timestamp, final int delay, final int maximumSize) {
+        expire(TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis()) - delay - 1);
+        if (size.get() >= maximumSize) {
+            evict(maximumSize);
+        }
+        Set<String> bucket = buckets.computeIfAbsent(TimeUnit.MILLISECONDS.toMinutes(timestamp), minute -> ConcurrentHashMap.newKeySet());
+        if (!bucket.add(key(appKey, sign))) {
+            return false;
+        }
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * The number of signatures remembered.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void expire(final long minute) {
+        if (minute <= expiredMinute) {
+            return;
+        }
+        synchronized (this) {
+            if (minute <= expiredMinute) {
+                return;
+            }
+            expiredMinute = minute;
+            Iterator<Map.Entry<Long, Set<String>>> iterator = buckets.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Set<String>> bucket = iterator.next();
+                if (bucket.getKey() < minute) {
+                    iterator.remove();
+                    size.addAndGet(-bucket.getValue().size());
+                }
+            }
+        }
+    }
+
+    private synchronized void evict(final int maximumSize) {
+        while (size.get() >= maximumSize && !buckets.isEmpty()) {
+            Map.Entry<Long, Set<String>> eldest = buckets.pollFirstEntry();
+            size.addAndGet(-eldest.getValue().size());
+            LOG.warn("the sign replay cache is full, the signatures of the minute {} are dropped", eldest.getKey());
+        }
+    }
+
+    private static String key(final String appKey, final String sign) {
+        return appKey + ":" + sign;
+    }
+}
@@ -26,12 +26,12 @@ import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.AuthParamData;
 import org.apache.shenyu.common.dto.AuthPathData;
 import org.apache.shenyu.common.utils.DateUtils;
-import org.apache.shenyu.common.utils.PathMatchUtils;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.sign.api.ShenyuSignProviderWrap;
 import org.apache.shenyu.plugin.sign.api.SignService;
 import org.apache.shenyu.plugin.sign.cache.SignAuthDataCache;
+import org.apache.shenyu.plugin.sign.cache.SignReplayCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -53,6 +53,17 @@ public class DefaultSignService implements SignService {
     @Value("${shenyu.sign.delay:5}")
     private int delay;
 
+    @Value("${shenyu.sign.replay-protected:true}")
+    private boolean replayProtected = true;
+
+    /**
+     * the signatures remembered at most, about 100 bytes each.
+     */
+    @Value("${shenyu.sign.replay-cache-size:262144}")
+    private int replayCacheSize = 1 << 18;
+
+    private final SignReplayCache replayCache = new SignReplayCache();
+
     @Override
     public Pair<Boolean, String> signVerify(final ServerWebExchange exchange, final Map<String, Object> requestBody) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -73,6 +84,11 @@ public class DefaultSignService implements SignService {
         if (between > delay) {
             return Pair.of(Boolean.FALSE, String.format(ShenyuResultEnum.SIGN_TIME_IS_TIMEOUT.getMsg(), delay));
         }
+        // a timestamp a minute or more ahead would stay valid, and remembered, for longer than the delay.
+        if (between < 0) {
+            LOG.error("the sign timestamp is ahead of the current time:{}", shenyuContext.getTimestamp());
+            return Pair.of(Boolean.FALSE, Constants.SIGN_TIME_IS_AHEAD);
+        }
 
         return sign(shenyuContext, exchange, requestBody);
     }
@@ -90,25 +106,26 @@ public class DefaultSignService implements SignService {
             return Pair.of(Boolean.FALSE, Constants.SIGN_APP_KEY_IS_NOT_EXIST);
         }
         if (Boolean.TRUE.equals(appAuthData.getOpen())) {
-            List<AuthPathData> pathDataList = appAuthData.getPathDataList();
-            if (CollectionUtils.isEmpty(pathDataList)) {
-                LOG.error("You have not configured the sign path:{}", shenyuContext.getAppKey());
-                return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
-            }
-
-            boolean match = pathDataList.stream().filter(AuthPathData::getEnabled)
-                    .anyMatch(e -> PathMatchUtils.match(e.getPath(), shenyuContext.getPath()));
-            if (!match) {
+            AuthPathData pathData = SignAuthDataCache.getInstance().obtainAuthPath(shenyuContext.getAppKey(), shenyuContext.getPath());
+            if (Objects.isNull(pathData)) {
                 LOG.error("You have not configured the sign path:{},{}", shenyuContext.getAppKey(), shenyuContext.getRealUrl());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
         }
+        final long timestamp = Long.parseLong(shenyuContext.getTimestamp());
+        if (replayProtected && replayCache.contains(shenyuContext.getAppKey(), shenyuContext.getSign(), timestamp)) {
+            LOG.error("the signature has been used:{},{}", shenyuContext.getAppKey(), shenyuContext.getRealUrl());
+            return Pair.of(Boolean.FALSE, Constants.SIGN_IS_REPLAYED);
+        }
         String sigKey = ShenyuSignProviderWrap.generateSign(appAuthData.getAppSecret(), buildParamsMap(shenyuContext, requestBody));
         boolean result = Objects.equals(sigKey, shenyuContext.getSign());
         if (!result) {
             LOG.error("the SignUtils generated signature value is:{},the accepted value is:{}", sigKey, shenyuContext.getSign());
             return Pair.of(Boolean.FALSE, Constants.SIGN_VALUE_IS_ERROR);
         } else {
+            if (replayProtected && !replayCache.add(shenyuContext.getAppKey(), sigKey, timestamp, delay, replayCacheSize)) {
+                return Pair.of(Boolean.FALSE, Constants.SIGN_IS_REPLAYED);
+            }
             List<AuthParamData> paramDataList = appAuthData.getParamDataList();
             if (CollectionUtils.isEmpty(paramDataList)) {
                 return Pair.of(Boolean.TRUE, "");
@@ -124,7 +141,7 @@ public class DefaultSignService implements SignService {
     }
 
     private Map<String, String> buildParamsMap(final ShenyuContext shenyuContext, final Map<String, Object> requestBody) {
-        Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
+        Map<String, String> map = Maps.newHashMapWithExpectedSize(3 + (ObjectUtils.isEmpty(requestBody) ? 0 : requestBody.size()));
         map.put(Constants.TIMESTAMP, shenyuContext.getTimestamp());
         map.put(Constants.PATH, shenyuContext.getPath());
         map.put(Constants.VERSION, "1.0.0");
@@ -45,10 +45,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -236,6 +238,58 @@ public final class DefaultSignServiceTest {
         assertEquals(ret, Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
     }
 
+    @Test
+    public void replayTest() {
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        assertEquals(Pair.of(true, ""), this.signService.signVerify(this.exchange));
+        assertEquals(Pair.of(false, Constants.SIGN_IS_REPLAYED), this.signService.signVerify(this.exchange));
+
+        this.passed.setTimestamp(String.valueOf(Long.parseLong(this.passed.getTimestamp()) + 1));
+        this.passed.setSign(buildSign(this.secretKey, this.passed.getTimestamp(), this.passed.getPath()));
+        assertEquals(Pair.of(true, ""), this.signService.signVerify(this.exchange));
+    }
+
+    @Test
+    public void replayWhenCacheIsFullTest() {
+        ReflectionTestUtils.setField(this.signService, "replayCacheSize", 1);
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        assertEquals(Pair.of(true, ""), this.signService.signVerify(this.exchange));
+
+        this.passed.setTimestamp(String.valueOf(Long.parseLong(this.passed.getTimestamp()) + 1));
+        this.passed.setSign(buildSign(this.secretKey, this.passed.getTimestamp(), this.passed.getPath()));
+        assertEquals(Pair.of(true, ""), this.signService.signVerify(this.exchange));
+        assertEquals(Pair.of(false, Constants.SIGN_IS_REPLAYED), this.signService.signVerify(this.exchange));
+    }
+
+    @Test
+    public void aheadTimestampTest() {
+        final String timestamp = String.valueOf(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2));
+        this.passed.setTimestamp(timestamp);
+        this.passed.setSign(buildSign(this.secretKey, timestamp, this.passed.getPath()));
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        assertEquals(Pair.of(false, Constants.SIGN_TIME_IS_AHEAD), this.signService.signVerify(this.exchange));
+    }
+
+    @Test
+    public void patternAuthPath() {
+        AuthPathData disabled = new AuthPathData();
+        disabled.setAppName("test-api");
+        disabled.setPath("/test-api/demo/**");
+        disabled.setEnabled(false);
+        AuthPathData pattern = new AuthPathData();
+        pattern.setAppName("test-api");
+        pattern.setPath("/test-api/order/**");
+        pattern.setEnabled(true);
+        AppAuthData authData = SignAuthDataCache.getInstance().obtainAuthData(appKey);
+        authData.setPathDataList(Lists.newArrayList(disabled, pattern));
+        SignAuthDataCache.getInstance().cacheAuthData(authData);
+        assertEquals(pattern, SignAuthDataCache.getInstance().obtainAuthPath(appKey, "/test-api/order/1"));
+
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Pair<Boolean, String> ret = this.signService.signVerify(this.exchange);
+        assertEquals(ret, Pair.of(false, Constants.SIGN_PATH_NOT_EXIST));
+    }
+
     private String buildSign(final String signKey, final String timeStamp, final String path) {
         Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
         map.put(Constants.TIMESTAMP, timeStamp);
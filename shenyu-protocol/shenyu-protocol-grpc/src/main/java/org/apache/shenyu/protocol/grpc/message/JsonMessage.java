@@ -47,6 +47,11 @@ public class JsonMessage {
      */
     private static final Map<String, MethodDescriptor<DynamicMessage, DynamicMessage>> METHOD_DESCRIPTOR_CACHE = Maps.newConcurrentMap();
 
+    /**
+     * the json marshaller descriptor, it never changes so it is built only once.
+     */
+    private static final Descriptors.Descriptor JSON_DESCRIPTOR = buildJsonMarshallerDescriptor();
+
     /**
      * Dynamic build JsonMarshaller Descriptor.
      *
@@ -101,9 +106,8 @@ public class JsonMessage {
      */
     public static DynamicMessage buildJsonMessage(final String jsonParam) {
         // build Descriptor and set request param
-        Descriptors.Descriptor jsonDescriptor = buildJsonMarshallerDescriptor();
-        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(jsonDescriptor);
-        jsonDynamicMessage.setField(jsonDescriptor.findFieldByName(GrpcConstants.JSON_DESCRIPTOR_PROTO_FIELD_NAME), jsonParam);
+        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(JSON_DESCRIPTOR);
+        jsonDynamicMessage.setField(JSON_DESCRIPTOR.findFieldByName(GrpcConstants.JSON_DESCRIPTOR_PROTO_FIELD_NAME), jsonParam);
         return jsonDynamicMessage.build();
     }
 
@@ -113,9 +117,7 @@ public class JsonMessage {
      * @return DynamicMessage
      */
     public static DynamicMessage buildJsonMessage() {
-        Descriptors.Descriptor jsonDescriptor = buildJsonMarshallerDescriptor();
-        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(jsonDescriptor);
-        return jsonDynamicMessage.build();
+        return DynamicMessage.getDefaultInstance(JSON_DESCRIPTOR);
     }
 
     /**
@@ -19,6 +19,7 @@ package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttConnectMessage;
+import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
 import io.netty.handler.codec.mqtt.MqttSubscribeMessage;
 import io.netty.handler.codec.mqtt.MqttUnsubscribeMessage;
@@ -46,6 +47,42 @@ public interface AbstractMessageType {
 
     }
 
+    /**
+     * Publish acknowledgment, qos 1.
+     * @param ctx ctx
+     * @param msg msg
+     */
+    default void pubAck(final ChannelHandlerContext ctx, final MqttMessage msg) {
+
+    }
+
+    /**
+     * Publish received, qos 2 part 1.
+     * @param ctx ctx
+     * @param msg msg
+     */
+    default void pubRec(final ChannelHandlerContext ctx, final MqttMessage msg) {
+
+    }
+
+    /**
+     * Publish release, qos 2 part 2.
+     * @param ctx ctx
+     * @param msg msg
+     */
+    default void pubRel(final ChannelHandlerContext ctx, final MqttMessage msg) {
+
+    }
+
+    /**
+     * Publish complete, qos 2 part 3.
+     * @param ctx ctx
+     * @param msg msg
+     */
+    default void pubComp(final ChannelHandlerContext ctx, final MqttMessage msg) {
+
+    }
+
     /**
      * Client Subscribe request.
      * @param ctx ctx
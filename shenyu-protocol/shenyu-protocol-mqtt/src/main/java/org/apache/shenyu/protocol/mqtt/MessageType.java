@@ -19,6 +19,7 @@ package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttConnectMessage;
+import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
 import io.netty.handler.codec.mqtt.MqttSubscribeMessage;
 import io.netty.handler.codec.mqtt.MqttUnsubscribeMessage;
@@ -58,6 +59,26 @@ public class MessageType implements AbstractMessageType {
         new Publish().publish(ctx, msg);
     }
 
+    @Override
+    public void pubAck(final ChannelHandlerContext ctx, final MqttMessage msg) {
+        new PubAck().pubAck(ctx, msg);
+    }
+
+    @Override
+    public void pubRec(final ChannelHandlerContext ctx, final MqttMessage msg) {
+        new PubRec().pubRec(ctx, msg);
+    }
+
+    @Override
+    public void pubRel(final ChannelHandlerContext ctx, final MqttMessage msg) {
+        new PubRel().pubRel(ctx, msg);
+    }
+
+    @Override
+    public void pubComp(final ChannelHandlerContext ctx, final MqttMessage msg) {
+        new PubComp().pubComp(ctx, msg);
+    }
+
     @Override
     public void subscribe(final ChannelHandlerContext ctx, final MqttSubscribeMessage msg) {
         //// todo polymorphism subscribe
@@ -38,6 +38,12 @@ public class MqttContext {
 
     private static String leakDetectorLevel;
 
+    private static int maxPendingMessages;
+
+    private static int maxInflightMessages;
+
+    private static long retransmitIntervalMs;
+
     /**
      * Whether userName and password are correct.
      * @param userName userName
@@ -165,4 +171,52 @@ public class MqttContext {
     public void setLeakDetectorLevel(final String leakDetectorLevel) {
         MqttContext.leakDetectorLevel = leakDetectorLevel;
     }
+
+    /**
+     * get maxPendingMessages.
+     * @return the max messages queued for a client which is not writable
+     */
+    public int getMaxPendingMessages() {
+        return maxPendingMessages;
+    }
+
+    /**
+     * set maxPendingMessages.
+     * @param maxPendingMessages maxPendingMessages
+     */
+    public void setMaxPendingMessages(final int maxPendingMessages) {
+        MqttContext.maxPendingMessages = maxPendingMessages;
+    }
+
+    /**
+     * get maxInflightMessages.
+     * @return the max qos 1 and qos 2 messages waiting for the acknowledgement of a client
+     */
+    public int getMaxInflightMessages() {
+        return maxInflightMessages;
+    }
+
+    /**
+     * set maxInflightMessages.
+     * @param maxInflightMessages maxInflightMessages
+     */
+    public void setMaxInflightMessages(final int maxInflightMessages) {
+        MqttContext.maxInflightMessages = maxInflightMessages;
+    }
+
+    /**
+     * get retransmitIntervalMs.
+     * @return the milliseconds to wait for an acknowledgement before the message is sent again
+     */
+    public long getRetransmitIntervalMs() {
+        return retransmitIntervalMs;
+    }
+
+    /**
+     * set retransmitIntervalMs.
+     * @param retransmitIntervalMs retransmitIntervalMs
+     */
+    public void setRetransmitIntervalMs(final long retransmitIntervalMs) {
+        MqttContext.retransmitIntervalMs = retransmitIntervalMs;
+    }
 }
@@ -54,6 +54,18 @@ public class MqttFactory {
             case PUBLISH:
                 messageType.publish(ctx, (MqttPublishMessage) msg);
                 break;
+            case PUBACK:
+                messageType.pubAck(ctx, msg);
+                break;
+            case PUBREC:
+                messageType.pubRec(ctx, msg);
+                break;
+            case PUBREL:
+                messageType.pubRel(ctx, msg);
+                break;
+            case PUBCOMP:
+                messageType.pubComp(ctx, msg);
+                break;
             case SUBSCRIBE:
                 messageType.subscribe(ctx, (MqttSubscribeMessage) msg);
                 break;
@@ -63,7 +75,6 @@ public class MqttFactory {
             case PINGREQ:
                 messageType.pingReq(ctx);
                 break;
-            case PUBACK:
             case DISCONNECT:
             default:
                 break;
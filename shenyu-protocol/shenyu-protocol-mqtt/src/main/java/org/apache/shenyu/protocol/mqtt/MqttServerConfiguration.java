@@ -42,6 +42,12 @@ public class MqttServerConfiguration {
 
     private String leakDetectorLevel = "DISABLED";
 
+    private int maxPendingMessages = 1024;
+
+    private int maxInflightMessages = 32;
+
+    private long retransmitIntervalMs = 10000;
+
     /**
      * init mqtt env.
      */
@@ -57,6 +63,9 @@ public class MqttServerConfiguration {
         context.setUserName(getUserName());
         context.setWorkerGroupThreadCount(getWorkerGroupThreadCount());
         context.setLeakDetectorLevel(getLeakDetectorLevel());
+        context.setMaxPendingMessages(getMaxPendingMessages());
+        context.setMaxInflightMessages(getMaxInflightMessages());
+        context.setRetransmitIntervalMs(getRetransmitIntervalMs());
     }
 
     private String encryptPassword() {
@@ -206,4 +215,52 @@ public class MqttServerConfiguration {
     public void setLeakDetectorLevel(final String leakDetectorLevel) {
         this.leakDetectorLevel = leakDetectorLevel;
     }
+
+    /**
+     * get maxPendingMessages.
+     * @return maxPendingMessages
+     */
+    public int getMaxPendingMessages() {
+        return maxPendingMessages;
+    }
+
+    /**
+     * set maxPendingMessages.
+     * @param maxPendingMessages maxPendingMessages
+     */
+    public void setMaxPendingMessages(final int maxPendingMessages) {
+        this.maxPendingMessages = maxPendingMessages;
+    }
+
+    /**
+     * get maxInflightMessages.
+     * @return maxInflightMessages
+     */
+    public int getMaxInflightMessages() {
+        return maxInflightMessages;
+    }
+
+    /**
+     * set maxInflightMessages.
+     * @param maxInflightMessages maxInflightMessages
+     */
+    public void setMaxInflightMessages(final int maxInflightMessages) {
+        this.maxInflightMessages = maxInflightMessages;
+    }
+
+    /**
+     * get retransmitIntervalMs.
+     * @return retransmitIntervalMs
+     */
+    public long getRetransmitIntervalMs() {
+        return retransmitIntervalMs;
+    }
+
+    /**
+     * set retransmitIntervalMs.
+     * @param retransmitIntervalMs retransmitIntervalMs
+     */
+    public void setRetransmitIntervalMs(final long retransmitIntervalMs) {
+        this.retransmitIntervalMs = retransmitIntervalMs;
+    }
 }
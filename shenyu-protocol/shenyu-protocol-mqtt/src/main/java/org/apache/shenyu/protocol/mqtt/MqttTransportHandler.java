@@ -20,8 +20,12 @@ package org.apache.shenyu.protocol.mqtt;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.delivery.MessageDispatcher;
+import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 
 /**
  * mqtt transport handler.
@@ -30,14 +34,35 @@ public class MqttTransportHandler extends ChannelInboundHandlerAdapter implement
 
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
-        if (msg instanceof MqttMessage) {
-            MqttFactory mqttFactory = new MqttFactory((MqttMessage) msg, ctx);
-            mqttFactory.connect();
-        } else {
-            ctx.close();
+        try {
+            if (msg instanceof MqttMessage) {
+                MqttFactory mqttFactory = new MqttFactory((MqttMessage) msg, ctx);
+                mqttFactory.connect();
+            } else {
+                ctx.close();
+            }
+        } finally {
+            // the subscribers hold their own retained duplicates of a published payload.
+            ReferenceCountUtil.release(msg);
         }
     }
 
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // the subscriptions of a dropped connection are cleaned up as well.
+        Singleton.INST.get(SubscribeRepository.class).remove(ctx.channel());
+        MessageDispatcher.getInstance().discard(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            MessageDispatcher.getInstance().drain(ctx.channel());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void operationComplete(final Future<? super Void> future) throws Exception {
 
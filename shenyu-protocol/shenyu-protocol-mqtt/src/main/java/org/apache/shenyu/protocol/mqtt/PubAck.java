@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader;
+import org.apache.shenyu.protocol.mqtt.delivery.MessageDispatcher;
+
+/**
+ * The client acknowledges a qos 1 message.
+ */
+public class PubAck extends MessageType {
+
+    @Override
+    public void pubAck(final ChannelHandlerContext ctx, final MqttMessage msg) {
+        int packetId = ((MqttMessageIdVariableHeader) msg.variableHeader()).messageId();
+        MessageDispatcher.getInstance().acknowledge(ctx.channel(), packetId);
+    }
+}
@@ -18,24 +18,22 @@
 package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.codec.mqtt.MqttPubAckMessage;
-import io.netty.handler.codec.mqtt.MqttMessageType;
-import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.delivery.MessageDispatcher;
+import org.apache.shenyu.protocol.mqtt.repositories.RetainedMessage;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
-
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import org.apache.shenyu.protocol.mqtt.topic.TopicTrie;
 
 import static io.netty.handler.codec.mqtt.MqttMessageType.PUBACK;
+import static io.netty.handler.codec.mqtt.MqttMessageType.PUBREC;
 
 /**
  * Publish message.
@@ -48,24 +46,24 @@ public class Publish extends MessageType {
             return;
         }
         String topic = msg.variableHeader().topicName();
-        ByteBuf payload = msg.payload();
-        String message = byteBufToString(payload);
-        //// todo qos
+        if (!TopicTrie.isValidTopic(topic)) {
+            ctx.close();
+            return;
+        }
         MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
-        Singleton.INST.get(TopicRepository.class).add(topic, message);
         int packetId = msg.variableHeader().packetId();
-        CompletableFuture.runAsync(() -> send(topic, payload, packetId));
 
         switch (mqttQoS.value()) {
             case 0:
+                qos0(msg, topic);
                 break;
 
             case 1:
-                qos1(ctx, packetId);
+                qos1(ctx, msg, topic, packetId);
                 break;
 
             case 2:
-                qos2(ctx, packetId);
+                qos2(ctx, msg, topic, packetId);
                 break;
             default:
                 break;
@@ -74,17 +72,18 @@ public class Publish extends MessageType {
     }
 
     /**
-     * todo qos0.
+     * qos0, deliver the message at most once.
      */
-    private void qos0() {
-
+    private void qos0(final MqttPublishMessage msg, final String topic) {
+        deliver(msg, topic);
     }
 
     /**
-     * todo qos1.
+     * qos1, deliver the message and acknowledge it.
      */
-    private void qos1(final ChannelHandlerContext ctx, final int packetId) {
-        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(PUBACK, false, MqttQoS.AT_LEAST_ONCE, false, 0);
+    private void qos1(final ChannelHandlerContext ctx, final MqttPublishMessage msg, final String topic, final int packetId) {
+        deliver(msg, topic);
+        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(PUBACK, false, MqttQoS.AT_MOST_ONCE, false, 0);
         MqttMessageIdVariableHeader mqttMsgIdVariableHeader = MqttMessageIdVariableHeader.from(packetId);
 
         MqttPubAckMessage mqttPubAckMessage = new MqttPubAckMessage(mqttFixedHeader, mqttMsgIdVariableHeader);
@@ -92,36 +91,33 @@ public class Publish extends MessageType {
     }
 
     /**
-     * todo qos2.
+     * qos2, deliver the message on the first receipt only, the client may send it again until PUBREC arrives.
      */
-    private void qos2(final ChannelHandlerContext ctx, final int packetId) {
-        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(PUBACK, false, MqttQoS.EXACTLY_ONCE, false, 0);
+    private void qos2(final ChannelHandlerContext ctx, final MqttPublishMessage msg, final String topic, final int packetId) {
+        if (MessageDispatcher.getInstance().receive(ctx.channel(), packetId)) {
+            deliver(msg, topic);
+        }
+        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(PUBREC, false, MqttQoS.AT_MOST_ONCE, false, 0);
         MqttMessageIdVariableHeader mqttMsgIdVariableHeader = MqttMessageIdVariableHeader.from(packetId);
-
-        MqttPubAckMessage mqttPubAckMessage = new MqttPubAckMessage(mqttFixedHeader, mqttMsgIdVariableHeader);
-        ctx.writeAndFlush(mqttPubAckMessage);
+        ctx.writeAndFlush(new MqttMessage(mqttFixedHeader, mqttMsgIdVariableHeader));
     }
 
-    private String byteBufToString(final ByteBuf byteBuf) {
-        if (byteBuf.hasArray()) {
-            return new String(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
-        } else {
-            byte[] bytes = new byte[byteBuf.readableBytes()];
-            byteBuf.getBytes(byteBuf.readerIndex(), bytes);
-            return new String(bytes, 0, byteBuf.readableBytes());
+    private void deliver(final MqttPublishMessage msg, final String topic) {
+        ByteBuf payload = msg.payload();
+        MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
+        if (msg.fixedHeader().isRetain()) {
+            retain(topic, payload, mqttQoS);
         }
+        // the payload is shared by the subscribers, it stays valid until they are written.
+        MessageDispatcher.getInstance().dispatch(topic, payload, mqttQoS, false, Singleton.INST.get(SubscribeRepository.class).match(topic));
     }
 
-    private void send(final String topic, final ByteBuf payload, final int packetId) {
-        List<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
-        //// todo thread pool
-        channels.parallelStream().forEach(channel -> {
-            if (channel.isActive()) {
-                MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
-                MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
-                MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, Unpooled.wrappedBuffer(payload));
-                channel.writeAndFlush(mqttPublishMessage);
-            }
-        });
+    private void retain(final String topic, final ByteBuf payload, final MqttQoS mqttQoS) {
+        // only the retained messages are copied off heap and kept, an empty one clears the topic.
+        if (payload.isReadable()) {
+            Singleton.INST.get(TopicRepository.class).add(topic, RetainedMessage.copyOf(payload, mqttQoS.value()));
+        } else {
+            Singleton.INST.get(TopicRepository.class).remove(topic);
+        }
     }
 }
@@ -17,7 +17,7 @@
 
 package org.apache.shenyu.protocol.mqtt;
 
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
@@ -27,21 +27,23 @@ import io.netty.handler.codec.mqtt.MqttTopicSubscription;
 import io.netty.handler.codec.mqtt.MqttMessageType;
 import io.netty.handler.codec.mqtt.MqttSubAckPayload;
 import io.netty.handler.codec.mqtt.MqttSubAckMessage;
-import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
-import io.netty.handler.codec.mqtt.MqttPublishMessage;
-import io.netty.util.CharsetUtil;
-import org.apache.logging.log4j.util.Strings;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.delivery.MessageDispatcher;
+import org.apache.shenyu.protocol.mqtt.repositories.RetainedMessage;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
+import org.apache.shenyu.protocol.mqtt.topic.TopicTrie;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
 import static io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader.from;
 import static io.netty.handler.codec.mqtt.MqttQoS.AT_MOST_ONCE;
+import static io.netty.handler.codec.mqtt.MqttQoS.EXACTLY_ONCE;
 import static io.netty.handler.codec.mqtt.MqttQoS.FAILURE;
 
 /**
@@ -60,39 +62,36 @@ public class Subscribe extends MessageType {
         List<MqttTopicSubscription> mqttTopicSubscriptions = msg.payload().topicSubscriptions();
         int packetId = msg.variableHeader().messageId();
 
-        //// todo Regular match
-        List<String> ackTopics = mqttTopicSubscriptions
-                .stream()
-                .filter(topicSub -> topicSub.qualityOfService() != FAILURE)
-                .map(MqttTopicSubscription::topicName)
-                .collect(Collectors.toList());
+        SubscribeRepository subscribeRepository = Singleton.INST.get(SubscribeRepository.class);
+        List<Integer> grantedQos = new ArrayList<>(mqttTopicSubscriptions.size());
+        for (MqttTopicSubscription subscription : mqttTopicSubscriptions) {
+            int qos = Math.min(subscription.qualityOfService().value(), EXACTLY_ONCE.value());
+            if (subscription.qualityOfService() != FAILURE
+                    && subscribeRepository.subscribe(channel, subscription.topicName(), qos)) {
+                grantedQos.add(qos);
+            } else {
+                grantedQos.add(FAILURE.value());
+            }
+        }
 
-        Singleton.INST.get(SubscribeRepository.class).add(ctx.channel(), mqttTopicSubscriptions);
+        sendSubAckMessage(packetId, grantedQos, channel);
 
-        for (String ackTopic : ackTopics) {
-            String message = Singleton.INST.get(TopicRepository.class).get(ackTopic);
-            if (Strings.isNotEmpty(message)) {
-                sendSubMessage(ackTopic, message, packetId, channel);
+        for (int i = 0; i < mqttTopicSubscriptions.size(); i++) {
+            String topicFilter = mqttTopicSubscriptions.get(i).topicName();
+            // the retained messages are not sent to the shared subscriptions.
+            if (grantedQos.get(i) != FAILURE.value() && !TopicTrie.isShared(topicFilter)) {
+                sendRetainedMessages(topicFilter, grantedQos.get(i), channel);
             }
         }
-
-        sendSubAckMessage(packetId, ackTopics, channel);
     }
 
     /**
      * call back request of message.
      * @param packetId packetId
-     * @param ackTopics ackTopics
+     * @param qos granted qos of every subscription, in order
      * @param channel channel
      */
-    private void sendSubAckMessage(final int packetId, final List<String> ackTopics, final Channel channel) {
-
-        List<Integer> qos = new ArrayList<>();
-        for (int i = 0; i < ackTopics.size(); i++) {
-            // default qos 0
-            qos.add(MqttQoS.AT_MOST_ONCE.value());
-        }
-
+    private void sendSubAckMessage(final int packetId, final List<Integer> qos, final Channel channel) {
         MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.SUBACK, false, AT_MOST_ONCE,
                 false, 0);
         MqttSubAckPayload payload = new MqttSubAckPayload(qos);
@@ -101,16 +100,23 @@ public class Subscribe extends MessageType {
     }
 
     /**
-     * send subscribe message.
-     * @param topic topic
-     * @param message message
-     * @param packetId packetId
+     * send the retained messages matching the new subscription.
+     * @param topicFilter topic filter
+     * @param grantedQos granted qos
      * @param channel channel
      */
-    private void sendSubMessage(final String topic, final String message, final int packetId, final Channel channel) {
-        MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, AT_MOST_ONCE, true, 0);
-        MqttPublishVariableHeader varHeader = new MqttPublishVariableHeader(topic, packetId);
-        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(fixedHeader, varHeader, Unpooled.copiedBuffer(message, CharsetUtil.UTF_8));
-        channel.writeAndFlush(mqttPublishMessage);
+    private void sendRetainedMessages(final String topicFilter, final int grantedQos, final Channel channel) {
+        Map<Channel, Integer> subscriber = Collections.singletonMap(channel, grantedQos);
+        for (Map.Entry<String, RetainedMessage> retained : Singleton.INST.get(TopicRepository.class).match(topicFilter)) {
+            ByteBuf payload = retained.getValue().retainedPayload();
+            if (Objects.isNull(payload)) {
+                continue;
+            }
+            try {
+                MessageDispatcher.getInstance().dispatch(retained.getKey(), payload, MqttQoS.valueOf(retained.getValue().getQos()), true, subscriber);
+            } finally {
+                payload.release();
+            }
+        }
     }
 }
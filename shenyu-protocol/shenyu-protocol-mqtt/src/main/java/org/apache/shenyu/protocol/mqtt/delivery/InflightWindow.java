@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.delivery;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import org.apache.shenyu.common.timer.TaskEntity;
+import org.apache.shenyu.common.timer.Timer;
+import org.apache.shenyu.common.timer.TimerTask;
+import org.apache.shenyu.common.timer.WheelTimerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The qos 1 and qos 2 messages of a client.
+ * It is only touched on the event loop of the channel. The outbound messages hold a packet id until they are
+ * acknowledged, the ones above the window wait in order, and the unacknowledged ones are sent again by the
+ * shared wheel timer, so no thread is held per message.
+ */
+final class InflightWindow {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InflightWindow.class);
+
+    private static final int MAX_PACKET_ID = 65535;
+
+    private static final int MAX_RETRANSMITS = 5;
+
+    private static final Timer TIMER = WheelTimerFactory.getSharedTimer();
+
+    private final Channel channel;
+
+    private final OutboundQueue queue;
+
+    private final int capacity;
+
+    private final int maxWaiting;
+
+    private final long retransmitIntervalMs;
+
+    private final IntObjectMap<Message> inflight = new IntObjectHashMap<>();
+
+    private final Deque<Message> waiting = new ArrayDeque<>();
+
+    private final Set<Integer> received = new HashSet<>();
+
+    private int nextPacketId;
+
+    private long dropped;
+
+    InflightWindow(final Channel channel, final OutboundQueue queue, final int capacity, final int maxWaiting, final long retransmitIntervalMs) {
+        this.channel = channel;
+        this.queue = queue;
+        // a free packet id is always left, so the allocation ends.
+        this.capacity = Math.min(capacity, MAX_PACKET_ID - 1);
+        this.maxWaiting = maxWaiting;
+        this.retransmitIntervalMs = retransmitIntervalMs;
+    }
+
+    /**
+     * Send the message when the window has room, otherwise keep it in order until an acknowledgement arrives.
+     * The window owns the payload from now on.
+     *
+     * @param topic   the topic name
+     * @param payload the payload
+     * @param qos     the qos, at least once or exactly once
+     * @param retain  the retain flag
+     */
+    void publish(final String topic, final ByteBuf payload, final MqttQoS qos, final boolean retain) {
+        Message message = new Message(topic, payload, qos, retain);
+        if (waiting.isEmpty() && inflight.size() < capacity) {
+            send(message);
+            return;
+        }
+        if (waiting.size() >= maxWaiting) {
+            message.release();
+            if (dropped++ % maxWaiting == 0) {
+                LOG.warn("mqtt client {} does not acknowledge in time, {} messages are dropped", channel.remoteAddress(), dropped);
+            }
+            return;
+        }
+        waiting.offer(message);
+    }
+
+    /**
+     * The client acknowledged a qos 1 message, PUBACK.
+     *
+     * @param packetId the packet id
+     */
+    void acknowledge(final int packetId) {
+        Message message = inflight.get(packetId);
+        if (Objects.nonNull(message) && message.qos == MqttQoS.AT_LEAST_ONCE) {
+            complete(packetId, message);
+        }
+    }
+
+    /**
+     * The client received a qos 2 message, PUBREC. The payload is not needed any more and PUBREL is sent.
+     *
+     * @param packetId the packet id
+     */
+    void received(final int packetId) {
+        Message message = inflight.get(packetId);
+        if (Objects.isNull(message)) {
+            // the PUBCOMP of a repeated PUBREC is lost otherwise.
+            queue.write(pubRel(packetId));
+            return;
+        }
+        if (message.qos != MqttQoS.EXACTLY_ONCE) {
+            return;
+        }
+        if (!message.isReleased()) {
+            message.release();
+            message.retransmits = 0;
+        }
+        queue.write(pubRel(packetId));
+        schedule(packetId, message);
+    }
+
+    /**
+     * The client completed a qos 2 message, PUBCOMP.
+     *
+     * @param packetId the packet id
+     */
+    void completed(final int packetId) {
+        Message message = inflight.get(packetId);
+        if (Objects.nonNull(message) && message.isReleased()) {
+            complete(packetId, message);
+        }
+    }
+
+    /**
+     * Remember an inbound qos 2 message until the client releases it.
+     *
+     * @param packetId the packet id
+     * @return false if the message was received before, so it is not delivered twice
+     */
+    boolean receive(final int packetId) {
+        return received.add(packetId);
+    }
+
+    /**
+     * The client released an inbound qos 2 message, PUBREL.
+     *
+     * @param packetId the packet id
+     */
+    void release(final int packetId) {
+        received.remove(packetId);
+    }
+
+    /**
+     * Cancel the retransmissions and release the payloads.
+     */
+    void discard() {
+        for (Message message : inflight.values()) {
+            message.cancel();
+            message.release();
+        }
+        inflight.clear();
+        Message message;
+        while ((message = waiting.poll()) != null) {
+            message.release();
+        }
+        received.clear();
+    }
+
+    /**
+     * Get the size of the in-flight messages.
+     *
+     * @return the size
+     */
+    int size() {
+        return inflight.size();
+    }
+
+    /**
+     * Get the size of the messages waiting for room in the window.
+     *
+     * @return the size
+     */
+    int waiting() {
+        return waiting.size();
+    }
+
+    private void send(final Message message) {
+        int packetId = nextPacketId();
+        inflight.put(packetId, message);
+        queue.write(MessageDispatcher.newPublish(message.topic, message.payload.retainedDuplicate(), message.qos, message.retain, false, packetId));
+        schedule(packetId, message);
+    }
+
+    private void complete(final int packetId, final Message message) {
+        inflight.remove(packetId);
+        message.cancel();
+        message.release();
+        Message next;
+        while (inflight.size() < capacity && (next = waiting.poll()) != null) {
+            send(next);
+        }
+    }
+
+    private void retransmit(final int packetId, final RetransmitTask task) {
+        Message message = inflight.get(packetId);
+        if (Objects.isNull(message) || message.task != task || !channel.isActive()) {
+            return;
+        }
+        if (++message.retransmits > MAX_RETRANSMITS) {
+            LOG.warn("mqtt client {} does not acknowledge the message {}, it is dropped", channel.remoteAddress(), packetId);
+            complete(packetId, message);
+            return;
+        }
+        if (message.isReleased()) {
+            queue.write(pubRel(packetId));
+        } else {
+            queue.write(MessageDispatcher.newPublish(message.topic, message.payload.retainedDuplicate(), message.qos, message.retain, true, packetId));
+        }
+        schedule(packetId, message);
+    }
+
+    private void schedule(final int packetId, final Message message) {
+        message.cancel();
+        message.task = new RetransmitTask(packetId, retransmitIntervalMs);
+        TIMER.add(message.task);
+    }
+
+    private int nextPacketId() {
+        do {
+            nextPacketId = nextPacketId % MAX_PACKET_ID + 1;
+        } while (inflight.containsKey(nextPacketId));
+        return nextPacketId;
+    }
+
+    private static MqttMessage pubRel(final int packetId) {
+        MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBREL, false, MqttQoS.AT_LEAST_ONCE, false, 0);
+        return new MqttMessage(fixedHeader, MqttMessageIdVariableHeader.from(packetId));
+    }
+
+    private static final class Message {
+
+        private final String topic;
+
+        private final MqttQoS qos;
+
+        private final boolean retain;
+
+        private ByteBuf payload;
+
+        private RetransmitTask task;
+
+        private int retransmits;
+
+        Message(final String topic, final ByteBuf payload, final MqttQoS qos, final boolean retain) {
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+
+        boolean isReleased() {
+            return Objects.isNull(payload);
+        }
+
+        void release() {
+            if (Objects.nonNull(payload)) {
+                payload.release();
+                payload = null;
+            }
+        }
+
+        void cancel() {
+            if (Objects.nonNull(task)) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
+    private final class RetransmitTask extends TimerTask {
+
+        private final int packetId;
+
+        RetransmitTask(final int packetId, final long delayMs) {
+            super(delayMs);
+            this.packetId = packetId;
+        }
+
+        @Override
+        public void run(final TaskEntity taskEntity) {
+            if (taskEntity.cancelled()) {
+                return;
+            }
+            // the timer thread only hands the task over, the window belongs to the event loop.
+            try {
+                channel.eventLoop().execute(() -> retransmit(packetId, this));
+            } catch (RejectedExecutionException e) {
+                LOG.debug("mqtt client {} is closed, the retransmission is skipped", channel.remoteAddress());
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.delivery;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.shenyu.protocol.mqtt.MqttContext;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers the published messages to the subscribers.
+ * The payload is never copied, every subscriber gets a retained duplicate of it,
+ * and the subscribers are grouped by event loop so each loop writes its own channels in one task.
+ * The qos 1 and qos 2 state of a channel lives beside its outbound queue and is only touched on its event loop.
+ */
+public final class MessageDispatcher {
+
+    private static final MessageDispatcher INSTANCE = new MessageDispatcher();
+
+    private static final AttributeKey<OutboundQueue> OUTBOUND_QUEUE = AttributeKey.valueOf("shenyuMqttOutboundQueue");
+
+    private static final AttributeKey<InflightWindow> INFLIGHT_WINDOW = AttributeKey.valueOf("shenyuMqttInflightWindow");
+
+    private static final int DEFAULT_MAX_PENDING_MESSAGES = 1024;
+
+    private static final int DEFAULT_MAX_INFLIGHT_MESSAGES = 32;
+
+    private static final long DEFAULT_RETRANSMIT_INTERVAL_MS = 10000;
+
+    private static final MqttContext ENV = new MqttContext();
+
+    private MessageDispatcher() {
+    }
+
+    /**
+     * Get the instance.
+     *
+     * @return the instance
+     */
+    public static MessageDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Dispatch the message to the subscribers.
+     * Every subscriber gets the lower of the publish qos and its granted qos, the qos 0 messages are written at once
+     * and the others go through the in-flight window of the subscriber.
+     * The payload is not released, the caller still owns its reference.
+     *
+     * @param topic       the topic name
+     * @param payload     the payload
+     * @param qos         the qos of the publish
+     * @param retain      the retain flag sent to the subscribers
+     * @param subscribers the subscribed channels and their granted qos
+     */
+    public void dispatch(final String topic, final ByteBuf payload, final MqttQoS qos, final boolean retain, final Map<Channel, Integer> subscribers) {
+        Map<EventLoop, List<Map.Entry<Channel, Integer>>> batches = new IdentityHashMap<>();
+        for (Map.Entry<Channel, Integer> subscriber : subscribers.entrySet()) {
+            batches.computeIfAbsent(subscriber.getKey().eventLoop(), key -> new ArrayList<>()).add(subscriber);
+        }
+        for (Map.Entry<EventLoop, List<Map.Entry<Channel, Integer>>> batch : batches.entrySet()) {
+            List<Map.Entry<Channel, Integer>> targets = batch.getValue();
+            // the duplicates are retained before the publisher releases the payload.
+            List<ByteBuf> payloads = new ArrayList<>(targets.size());
+            for (int i = 0; i < targets.size(); i++) {
+                payloads.add(payload.retainedDuplicate());
+            }
+            EventLoop eventLoop = batch.getKey();
+            if (eventLoop.inEventLoop()) {
+                write(topic, qos, retain, targets, payloads);
+                continue;
+            }
+            try {
+                eventLoop.execute(() -> write(topic, qos, retain, targets, payloads));
+            } catch (RejectedExecutionException e) {
+                payloads.forEach(ReferenceCountUtil::release);
+            }
+        }
+    }
+
+    /**
+     * PUBACK of a qos 1 message sent to the channel.
+     *
+     * @param channel  the channel
+     * @param packetId the packet id
+     */
+    public void acknowledge(final Channel channel, final int packetId) {
+        InflightWindow window = channel.attr(INFLIGHT_WINDOW).get();
+        if (Objects.nonNull(window)) {
+            window.acknowledge(packetId);
+        }
+    }
+
+    /**
+     * PUBREC of a qos 2 message sent to the channel.
+     *
+     * @param channel  the channel
+     * @param packetId the packet id
+     */
+    public void received(final Channel channel, final int packetId) {
+        window(channel).received(packetId);
+    }
+
+    /**
+     * PUBCOMP of a qos 2 message sent to the channel.
+     *
+     * @param channel  the channel
+     * @param packetId the packet id
+     */
+    public void completed(final Channel channel, final int packetId) {
+        InflightWindow window = channel.attr(INFLIGHT_WINDOW).get();
+        if (Objects.nonNull(window)) {
+            window.completed(packetId);
+        }
+    }
+
+    /**
+     * A qos 2 message published by the channel.
+     *
+     * @param channel  the channel
+     * @param packetId the packet id
+     * @return true on the first receipt, the message is delivered only then
+     */
+    public boolean receive(final Channel channel, final int packetId) {
+        return window(channel).receive(packetId);
+    }
+
+    /**
+     * PUBREL of a qos 2 message published by the channel.
+     *
+     * @param channel  the channel
+     * @param packetId the packet id
+     */
+    public void release(final Channel channel, final int packetId) {
+        InflightWindow window = channel.attr(INFLIGHT_WINDOW).get();
+        if (Objects.nonNull(window)) {
+            window.release(packetId);
+        }
+    }
+
+    /**
+     * Write the queued messages of the channel, it is called when the channel becomes writable again.
+     *
+     * @param channel the channel
+     */
+    public void drain(final Channel channel) {
+        OutboundQueue queue = channel.attr(OUTBOUND_QUEUE).get();
+        if (Objects.nonNull(queue)) {
+            queue.drain();
+        }
+    }
+
+    /**
+     * Release the queued and in-flight messages of the channel, it is called when the channel is inactive.
+     *
+     * @param channel the channel
+     */
+    public void discard(final Channel channel) {
+        InflightWindow window = channel.attr(INFLIGHT_WINDOW).getAndSet(null);
+        if (Objects.nonNull(window)) {
+            window.discard();
+        }
+        OutboundQueue queue = channel.attr(OUTBOUND_QUEUE).getAndSet(null);
+        if (Objects.nonNull(queue)) {
+            queue.discard();
+        }
+    }
+
+    /**
+     * Create a publish message.
+     *
+     * @param topic    the topic name
+     * @param payload  the payload
+     * @param qos      the qos
+     * @param retain   the retain flag
+     * @param dup      the dup flag
+     * @param packetId the packet id, 0 for qos 0
+     * @return the message
+     */
+    static MqttPublishMessage newPublish(final String topic, final ByteBuf payload, final MqttQoS qos, final boolean retain, final boolean dup, final int packetId) {
+        MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, dup, qos, retain, 0);
+        MqttPublishVariableHeader variableHeader = new MqttPublishVariableHeader(topic, packetId);
+        return new MqttPublishMessage(fixedHeader, variableHeader, payload);
+    }
+
+    private void write(final String topic, final MqttQoS qos, final boolean retain, final List<Map.Entry<Channel, Integer>> subscribers, final List<ByteBuf> payloads) {
+        for (int i = 0; i < subscribers.size(); i++) {
+            Channel channel = subscribers.get(i).getKey();
+            ByteBuf payload = payloads.get(i);
+            if (!channel.isActive()) {
+                payload.release();
+                continue;
+            }
+            int granted = Math.min(qos.value(), subscribers.get(i).getValue());
+            if (granted <= MqttQoS.AT_MOST_ONCE.value()) {
+                queue(channel).write(newPublish(topic, payload, MqttQoS.AT_MOST_ONCE, retain, false, 0));
+            } else {
+                window(channel).publish(topic, payload, MqttQoS.valueOf(granted), retain);
+            }
+        }
+    }
+
+    private OutboundQueue queue(final Channel channel) {
+        Attribute<OutboundQueue> attribute = channel.attr(OUTBOUND_QUEUE);
+        OutboundQueue queue = attribute.get();
+        if (Objects.isNull(queue)) {
+            int capacity = ENV.getMaxPendingMessages() > 0 ? ENV.getMaxPendingMessages() : DEFAULT_MAX_PENDING_MESSAGES;
+            queue = new OutboundQueue(channel, capacity);
+            attribute.set(queue);
+        }
+        return queue;
+    }
+
+    private InflightWindow window(final Channel channel) {
+        Attribute<InflightWindow> attribute = channel.attr(INFLIGHT_WINDOW);
+        InflightWindow window = attribute.get();
+        if (Objects.isNull(window)) {
+            int capacity = ENV.getMaxInflightMessages() > 0 ? ENV.getMaxInflightMessages() : DEFAULT_MAX_INFLIGHT_MESSAGES;
+            int maxWaiting = ENV.getMaxPendingMessages() > 0 ? ENV.getMaxPendingMessages() : DEFAULT_MAX_PENDING_MESSAGES;
+            long retransmitIntervalMs = ENV.getRetransmitIntervalMs() > 0 ? ENV.getRetransmitIntervalMs() : DEFAULT_RETRANSMIT_INTERVAL_MS;
+            window = new InflightWindow(channel, queue(channel), capacity, maxWaiting, retransmitIntervalMs);
+            attribute.set(window);
+        }
+        return window;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.delivery;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The outbound queue of a client.
+ * It is only touched on the event loop of the channel, the messages wait here while the channel is above its
+ * write buffer high water mark, and the writes are flushed once per event loop turn.
+ */
+final class OutboundQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundQueue.class);
+
+    private final Channel channel;
+
+    private final int capacity;
+
+    private final Deque<MqttMessage> pending = new ArrayDeque<>();
+
+    private final Runnable flushTask = this::flush;
+
+    private boolean flushScheduled;
+
+    private long dropped;
+
+    OutboundQueue(final Channel channel, final int capacity) {
+        this.channel = channel;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Write the message, or queue it while the channel is not writable.
+     * A qos 0 publish is dropped when the queue is full, so a slow consumer can not hold unbounded memory,
+     * the other messages are already bounded by the in-flight window and are always queued.
+     *
+     * @param message the message
+     */
+    void write(final MqttMessage message) {
+        if (pending.isEmpty() && channel.isWritable()) {
+            channel.write(message, channel.voidPromise());
+            scheduleFlush();
+            return;
+        }
+        if (pending.size() >= capacity && isDroppable(message)) {
+            ReferenceCountUtil.release(message);
+            if (dropped++ % capacity == 0) {
+                LOG.warn("mqtt client {} is too slow, {} messages are dropped", channel.remoteAddress(), dropped);
+            }
+            return;
+        }
+        pending.offer(message);
+    }
+
+    /**
+     * Write the queued messages while the channel is writable.
+     */
+    void drain() {
+        boolean written = false;
+        while (!pending.isEmpty() && channel.isWritable()) {
+            channel.write(pending.poll(), channel.voidPromise());
+            written = true;
+        }
+        if (written) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Release the queued messages.
+     */
+    void discard() {
+        MqttMessage message;
+        while ((message = pending.poll()) != null) {
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    /**
+     * Get the size of the queued messages.
+     *
+     * @return the size
+     */
+    int size() {
+        return pending.size();
+    }
+
+    private boolean isDroppable(final MqttMessage message) {
+        return message.fixedHeader().messageType() == MqttMessageType.PUBLISH
+                && message.fixedHeader().qosLevel() == MqttQoS.AT_MOST_ONCE;
+    }
+
+    private void scheduleFlush() {
+        // the writes of the same event loop turn share one flush.
+        if (!flushScheduled) {
+            flushScheduled = true;
+            channel.eventLoop().execute(flushTask);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        channel.flush();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
+
+/**
+ * Retained message.
+ * The payload is copied off heap once, and every subscriber reads a retained duplicate of it.
+ */
+public final class RetainedMessage {
+
+    private final ByteBuf payload;
+
+    private final int qos;
+
+    private RetainedMessage(final ByteBuf payload, final int qos) {
+        this.payload = payload;
+        this.qos = qos;
+    }
+
+    /**
+     * Copy the payload into a direct buffer, the caller keeps the ownership of the given payload.
+     * @param payload payload
+     * @param qos qos of the publish
+     * @return retained message
+     */
+    public static RetainedMessage copyOf(final ByteBuf payload, final int qos) {
+        ByteBuf copy = Unpooled.directBuffer(payload.readableBytes());
+        copy.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+        return new RetainedMessage(copy, qos);
+    }
+
+    /**
+     * get a retained duplicate of the payload, which is released by the receiver.
+     * @return the payload, or null when the message has been replaced and released meanwhile
+     */
+    public ByteBuf retainedPayload() {
+        try {
+            return payload.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            return null;
+        }
+    }
+
+    /**
+     * get qos.
+     * @return qos
+     */
+    public int getQos() {
+        return qos;
+    }
+
+    /**
+     * release the payload.
+     */
+    public void release() {
+        payload.release();
+    }
+}
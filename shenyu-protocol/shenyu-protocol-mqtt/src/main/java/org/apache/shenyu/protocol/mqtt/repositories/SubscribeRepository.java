@@ -19,33 +19,36 @@ package org.apache.shenyu.protocol.mqtt.repositories;
 
 import io.netty.channel.Channel;
 import io.netty.handler.codec.mqtt.MqttTopicSubscription;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.shenyu.protocol.mqtt.topic.TopicTrie;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+
+import static io.netty.handler.codec.mqtt.MqttQoS.FAILURE;
 
 /**
  * Topic and channel association.
+ * The subscriptions live in a {@link TopicTrie}, so the wildcards and the shared subscriptions are supported,
+ * and the filters of every channel are kept to clean them up when the channel goes away.
  */
 public class SubscribeRepository implements BaseRepository<List<String>, List<Channel>> {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SubscribeRepository.class);
+    private static final TopicTrie<Channel> TOPIC_TRIE = new TopicTrie<>();
 
-    private static final Map<String, List<Channel>> TOPIC_CHANNEL_FACTORY = new ConcurrentHashMap<>();
+    private static final Map<Channel, Set<String>> CHANNEL_TOPICS = new ConcurrentHashMap<>();
 
     @Override
     public void add(final List<String> topics, final List<Channel> channels) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(s -> {
-            List<Channel> list = get(s);
-            list.addAll(channels);
-            TOPIC_CHANNEL_FACTORY.put(s, list);
-        }));
+        for (String topic : topics) {
+            for (Channel channel : channels) {
+                subscribe(channel, topic, 0);
+            }
+        }
     }
 
     /**
@@ -54,16 +57,33 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param mqttTopicSubscription mqtt subscription info
      */
     public void add(final Channel channel, final List<MqttTopicSubscription> mqttTopicSubscription) {
-        CompletableFuture.runAsync(() -> mqttTopicSubscription.parallelStream().forEach(s -> {
-            List<Channel> channels = get(s.topicName());
-            channels.add(channel);
-            TOPIC_CHANNEL_FACTORY.put(s.topicName(), channels);
-        }));
+        for (MqttTopicSubscription subscription : mqttTopicSubscription) {
+            if (subscription.qualityOfService() != FAILURE) {
+                subscribe(channel, subscription.topicName(), subscription.qualityOfService().value());
+            }
+        }
+    }
+
+    /**
+     * subscribe the topic filter.
+     * @param channel channel
+     * @param topicFilter topic filter, may contain wildcards or be a shared subscription
+     * @param qos granted qos
+     * @return false if the topic filter is invalid
+     */
+    public boolean subscribe(final Channel channel, final String topicFilter, final int qos) {
+        if (!TOPIC_TRIE.subscribe(topicFilter, channel, qos)) {
+            return false;
+        }
+        CHANNEL_TOPICS.computeIfAbsent(channel, key -> ConcurrentHashMap.newKeySet()).add(topicFilter);
+        return true;
     }
 
     @Override
     public void remove(final List<String> topics) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(TOPIC_CHANNEL_FACTORY::remove));
+        for (Map.Entry<Channel, Set<String>> entry : CHANNEL_TOPICS.entrySet()) {
+            remove(topics, entry.getKey());
+        }
     }
 
     /**
@@ -72,14 +92,33 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param channel channel
      */
     public void remove(final List<String> topics, final Channel channel) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(topic -> TOPIC_CHANNEL_FACTORY.get(topic).remove(channel)));
+        Set<String> filters = CHANNEL_TOPICS.get(channel);
+        if (Objects.isNull(filters)) {
+            return;
+        }
+        for (String topic : topics) {
+            if (filters.remove(topic)) {
+                TOPIC_TRIE.unsubscribe(topic, channel);
+            }
+        }
+    }
+
+    /**
+     * remove all the subscriptions of the channel.
+     * @param channel channel
+     */
+    public void remove(final Channel channel) {
+        Set<String> filters = CHANNEL_TOPICS.remove(channel);
+        if (Objects.nonNull(filters)) {
+            filters.forEach(filter -> TOPIC_TRIE.unsubscribe(filter, channel));
+        }
     }
 
     @Override
     public List<Channel> get(final List<String> topics) {
-        Set<Channel> channels = new CopyOnWriteArraySet<>();
-        topics.parallelStream().forEach(s -> channels.addAll(TOPIC_CHANNEL_FACTORY.get(s)));
-        return new CopyOnWriteArrayList<>(channels);
+        Set<Channel> channels = new LinkedHashSet<>();
+        topics.forEach(topic -> channels.addAll(match(topic).keySet()));
+        return new ArrayList<>(channels);
     }
 
     /**
@@ -88,7 +127,16 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @return Channels
      */
     public List<Channel> get(final String topic) {
-        return TOPIC_CHANNEL_FACTORY.getOrDefault(topic, new CopyOnWriteArrayList<>());
+        return new ArrayList<>(match(topic).keySet());
+    }
+
+    /**
+     * match the active channels subscribing the topic.
+     * @param topic topic name
+     * @return channels and their granted qos
+     */
+    public Map<Channel, Integer> match(final String topic) {
+        return TOPIC_TRIE.match(topic, Channel::isActive);
     }
 
 }
@@ -17,33 +17,64 @@
 
 package org.apache.shenyu.protocol.mqtt.repositories;
 
+import org.apache.shenyu.protocol.mqtt.topic.TopicTrie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Topic repository.
- * Save the posted message.
+ * Save the retained message of every topic, the payloads are kept off heap.
  * {@link org.apache.shenyu.protocol.mqtt.agent.MessageAgent}
  */
-public class TopicRepository implements BaseRepository<String, String> {
+public class TopicRepository implements BaseRepository<String, RetainedMessage> {
 
-    private static final Map<String, String> TOPIC_FACTORY = new ConcurrentHashMap<>();
+    private static final Map<String, RetainedMessage> TOPIC_FACTORY = new ConcurrentHashMap<>();
 
     @Override
-    public void add(final String topic, final String message) {
+    public void add(final String topic, final RetainedMessage message) {
         //// todo MessageAgent.java. Carry out message processing and processing
-        CompletableFuture.runAsync(() -> TOPIC_FACTORY.put(topic, message));
+        RetainedMessage previous = TOPIC_FACTORY.put(topic, message);
+        if (Objects.nonNull(previous)) {
+            previous.release();
+        }
     }
 
     @Override
     public void remove(final String topic) {
-        TOPIC_FACTORY.remove(topic);
+        RetainedMessage previous = TOPIC_FACTORY.remove(topic);
+        if (Objects.nonNull(previous)) {
+            previous.release();
+        }
     }
 
     @Override
-    public String get(final String topic) {
-        return TOPIC_FACTORY.getOrDefault(topic, null);
+    public RetainedMessage get(final String topic) {
+        return TOPIC_FACTORY.get(topic);
+    }
+
+    /**
+     * get the retained messages matching the topic filter.
+     * @param topicFilter topic filter, may contain wildcards
+     * @return topics and their retained messages
+     */
+    public List<Map.Entry<String, RetainedMessage>> match(final String topicFilter) {
+        if (TopicTrie.isValidTopic(topicFilter)) {
+            RetainedMessage message = TOPIC_FACTORY.get(topicFilter);
+            return Objects.isNull(message) ? Collections.emptyList() : Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>(topicFilter, message));
+        }
+        List<Map.Entry<String, RetainedMessage>> matched = new ArrayList<>();
+        for (Map.Entry<String, RetainedMessage> entry : TOPIC_FACTORY.entrySet()) {
+            if (TopicTrie.matches(topicFilter, entry.getKey())) {
+                matched.add(entry);
+            }
+        }
+        return matched;
     }
 
 }
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Topic trie.
+ * Every level of a topic filter is a node, so a topic is matched in O(topic levels) regardless of the number of filters,
+ * with the single level wildcard {@code +}, the multi level wildcard {@code #}
+ * and the shared subscriptions {@code $share/{group}/{filter}}, whose messages are delivered to one member of the group in turn.
+ * Matching reads the concurrent nodes without locking, the rarer subscription changes are serialized.
+ *
+ * @param <T> the subscriber
+ */
+public final class TopicTrie<T> {
+
+    /**
+     * The prefix of the shared subscriptions.
+     */
+    public static final String SHARE_PREFIX = "$share/";
+
+    private static final String SEPARATOR = "/";
+
+    private static final String SINGLE_LEVEL = "+";
+
+    private static final String MULTI_LEVEL = "#";
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Subscribe the topic filter.
+     *
+     * @param filter     the topic filter
+     * @param subscriber the subscriber
+     * @param qos        the granted qos
+     * @return false when the filter is invalid
+     */
+    public synchronized boolean subscribe(final String filter, final T subscriber, final int qos) {
+        if (!isValidFilter(filter)) {
+            return false;
+        }
+        String group = shareGroup(filter);
+        Node<T> node = root;
+        for (String level : levels(Objects.isNull(group) ? filter : shareFilter(filter))) {
+            node = node.children.computeIfAbsent(level, key -> new Node<>());
+        }
+        if (Objects.isNull(group)) {
+            node.subscribers.put(subscriber, qos);
+        } else {
+            node.groups.computeIfAbsent(group, key -> new SharedGroup<>()).add(subscriber, qos);
+        }
+        return true;
+    }
+
+    /**
+     * Unsubscribe the topic filter, the nodes left empty are pruned.
+     *
+     * @param filter     the topic filter
+     * @param subscriber the subscriber
+     * @return whether the subscriber subscribed the filter
+     */
+    public synchronized boolean unsubscribe(final String filter, final T subscriber) {
+        if (!isValidFilter(filter)) {
+            return false;
+        }
+        String group = shareGroup(filter);
+        String[] levels = levels(Objects.isNull(group) ? filter : shareFilter(filter));
+        List<Node<T>> path = new ArrayList<>(levels.length + 1);
+        Node<T> node = root;
+        path.add(node);
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (Objects.isNull(node)) {
+                return false;
+            }
+            path.add(node);
+        }
+        boolean removed;
+        if (Objects.isNull(group)) {
+            removed = Objects.nonNull(node.subscribers.remove(subscriber));
+        } else {
+            SharedGroup<T> sharedGroup = node.groups.get(group);
+            removed = Objects.nonNull(sharedGroup) && sharedGroup.remove(subscriber);
+            if (Objects.nonNull(sharedGroup) && sharedGroup.isEmpty()) {
+                node.groups.remove(group);
+            }
+        }
+        for (int i = levels.length; i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).children.remove(levels[i - 1]);
+        }
+        return removed;
+    }
+
+    /**
+     * Match the subscribers of the topic.
+     *
+     * @param topic the topic name
+     * @return the subscribers and their granted qos
+     */
+    public Map<T, Integer> match(final String topic) {
+        return match(topic, each -> true);
+    }
+
+    /**
+     * Match the available subscribers of the topic.
+     * A subscriber matched by several filters gets the message once with the maximum qos,
+     * and every shared group picks one available member in a round robin.
+     *
+     * @param topic     the topic name
+     * @param available whether a subscriber can receive the message
+     * @return the subscribers and their granted qos
+     */
+    public Map<T, Integer> match(final String topic, final Predicate<T> available) {
+        Map<T, Integer> result = new LinkedHashMap<>();
+        if (isValidTopic(topic)) {
+            collect(root, levels(topic), 0, available, result);
+        }
+        return result;
+    }
+
+    /**
+     * Whether the topic filter is valid, the wildcards take a whole level and {@code #} can only be the last level.
+     *
+     * @param filter the topic filter
+     * @return true if valid
+     */
+    public static boolean isValidFilter(final String filter) {
+        if (Objects.isNull(filter) || filter.isEmpty()) {
+            return false;
+        }
+        String real = filter;
+        if (filter.startsWith(SHARE_PREFIX)) {
+            int slash = filter.indexOf(SEPARATOR, SHARE_PREFIX.length());
+            if (slash <= SHARE_PREFIX.length() || slash == filter.length() - 1) {
+                return false;
+            }
+            String group = filter.substring(SHARE_PREFIX.length(), slash);
+            if (group.contains(SINGLE_LEVEL) || group.contains(MULTI_LEVEL)) {
+                return false;
+            }
+            real = filter.substring(slash + 1);
+        }
+        String[] levels = levels(real);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.contains(MULTI_LEVEL) && (!MULTI_LEVEL.equals(level) || i != levels.length - 1)) {
+                return false;
+            }
+            if (level.contains(SINGLE_LEVEL) && !SINGLE_LEVEL.equals(level)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the topic name is valid, it can not contain the wildcards.
+     *
+     * @param topic the topic name
+     * @return true if valid
+     */
+    public static boolean isValidTopic(final String topic) {
+        return Objects.nonNull(topic) && !topic.isEmpty() && !topic.contains(SINGLE_LEVEL) && !topic.contains(MULTI_LEVEL);
+    }
+
+    /**
+     * Whether the topic filter is a shared subscription.
+     *
+     * @param filter the topic filter
+     * @return true if shared
+     */
+    public static boolean isShared(final String filter) {
+        return Objects.nonNull(filter) && filter.startsWith(SHARE_PREFIX);
+    }
+
+    /**
+     * Whether the topic filter matches the topic name, the shared subscription prefix is ignored.
+     *
+     * @param filter the topic filter
+     * @param topic  the topic name
+     * @return true if matches
+     */
+    public static boolean matches(final String filter, final String topic) {
+        if (!isValidFilter(filter) || !isValidTopic(topic)) {
+            return false;
+        }
+        String[] filterLevels = levels(isShared(filter) ? shareFilter(filter) : filter);
+        String[] topicLevels = levels(topic);
+        for (int i = 0; i < filterLevels.length; i++) {
+            String level = filterLevels[i];
+            boolean wildcard = MULTI_LEVEL.equals(level) || SINGLE_LEVEL.equals(level);
+            if (wildcard && i == 0 && topicLevels[0].startsWith("$")) {
+                return false;
+            }
+            if (MULTI_LEVEL.equals(level)) {
+                return true;
+            }
+            if (i >= topicLevels.length || (!SINGLE_LEVEL.equals(level) && !level.equals(topicLevels[i]))) {
+                return false;
+            }
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+
+    private void collect(final Node<T> node, final String[] levels, final int index, final Predicate<T> available, final Map<T, Integer> result) {
+        if (index == levels.length) {
+            deliver(node, available, result);
+            // "a/#" matches "a" too.
+            Node<T> multi = node.children.get(MULTI_LEVEL);
+            if (Objects.nonNull(multi)) {
+                deliver(multi, available, result);
+            }
+            return;
+        }
+        // the wildcards at the first level do not match the topics starting with "$".
+        if (index > 0 || !levels[0].startsWith("$")) {
+            Node<T> multi = node.children.get(MULTI_LEVEL);
+            if (Objects.nonNull(multi)) {
+                deliver(multi, available, result);
+            }
+            Node<T> single = node.children.get(SINGLE_LEVEL);
+            if (Objects.nonNull(single)) {
+                collect(single, levels, index + 1, available, result);
+            }
+        }
+        Node<T> exact = node.children.get(levels[index]);
+        if (Objects.nonNull(exact)) {
+            collect(exact, levels, index + 1, available, result);
+        }
+    }
+
+    private void deliver(final Node<T> node, final Predicate<T> available, final Map<T, Integer> result) {
+        for (Map.Entry<T, Integer> entry : node.subscribers.entrySet()) {
+            if (available.test(entry.getKey())) {
+                result.merge(entry.getKey(), entry.getValue(), Math::max);
+            }
+        }
+        for (SharedGroup<T> group : node.groups.values()) {
+            Member<T> member = group.pick(available);
+            if (Objects.nonNull(member)) {
+                result.merge(member.subscriber, member.qos, Math::max);
+            }
+        }
+    }
+
+    private static String shareGroup(final String filter) {
+        return isShared(filter) ? filter.substring(SHARE_PREFIX.length(), filter.indexOf(SEPARATOR, SHARE_PREFIX.length())) : null;
+    }
+
+    private static String shareFilter(final String filter) {
+        return filter.substring(filter.indexOf(SEPARATOR, SHARE_PREFIX.length()) + 1);
+    }
+
+    private static String[] levels(final String topic) {
+        return topic.split(SEPARATOR, -1);
+    }
+
+    private static final class Node<T> {
+
+        private final ConcurrentMap<String, Node<T>> children = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<T, Integer> subscribers = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, SharedGroup<T>> groups = new ConcurrentHashMap<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty() && groups.isEmpty();
+        }
+    }
+
+    private static final class SharedGroup<T> {
+
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private volatile List<Member<T>> members = Collections.emptyList();
+
+        private void add(final T subscriber, final int qos) {
+            List<Member<T>> copy = new ArrayList<>(members.size() + 1);
+            for (Member<T> member : members) {
+                if (!member.subscriber.equals(subscriber)) {
+                    copy.add(member);
+                }
+            }
+            copy.add(new Member<>(subscriber, qos));
+            members = Collections.unmodifiableList(copy);
+        }
+
+        private boolean remove(final T subscriber) {
+            List<Member<T>> copy = new ArrayList<>(members);
+            boolean removed = copy.removeIf(member -> member.subscriber.equals(subscriber));
+            members = Collections.unmodifiableList(copy);
+            return removed;
+        }
+
+        private boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        private Member<T> pick(final Predicate<T> available) {
+            List<Member<T>> snapshot = members;
+            int size = snapshot.size();
+            if (size == 0) {
+                return null;
+            }
+            int start = Math.floorMod(cursor.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Member<T> member = snapshot.get((start + i) % size);
+                if (available.test(member.subscriber)) {
+                    return member;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Member<T> {
+
+        private final T subscriber;
+
+        private final int qos;
+
+        private Member(final T subscriber, final int qos) {
+            this.subscriber = subscriber;
+            this.qos = qos;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.delivery;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link MessageDispatcher}.
+ */
+public final class MessageDispatcherTest {
+
+    @Test
+    public void testDispatch() {
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        ByteBuf payload = Unpooled.copiedBuffer("hello", CharsetUtil.UTF_8);
+
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.AT_MOST_ONCE, false, subscribers(0, first, second));
+        assertEquals(3, payload.refCnt());
+        first.runPendingTasks();
+        second.runPendingTasks();
+
+        MqttPublishMessage message = first.readOutbound();
+        assertEquals("a/b", message.variableHeader().topicName());
+        assertEquals("hello", message.payload().toString(CharsetUtil.UTF_8));
+        message.release();
+        MqttPublishMessage other = second.readOutbound();
+        other.release();
+        assertTrue(payload.release());
+    }
+
+    @Test
+    public void testSlowConsumer() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 2));
+        ByteBuf payload = Unpooled.copiedBuffer("hello", CharsetUtil.UTF_8);
+
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.AT_MOST_ONCE, false, subscribers(0, channel));
+        assertFalse(channel.isWritable());
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.AT_MOST_ONCE, false, subscribers(0, channel));
+        channel.runPendingTasks();
+        assertTrue(channel.isWritable());
+        MqttPublishMessage written = channel.readOutbound();
+        written.release();
+        assertNull(channel.readOutbound());
+
+        MessageDispatcher.getInstance().drain(channel);
+        channel.runPendingTasks();
+        MqttPublishMessage queued = channel.readOutbound();
+        assertNotNull(queued);
+        queued.release();
+
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.AT_MOST_ONCE, false, subscribers(0, channel));
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.AT_MOST_ONCE, false, subscribers(0, channel));
+        MessageDispatcher.getInstance().discard(channel);
+        channel.runPendingTasks();
+        ((MqttPublishMessage) channel.readOutbound()).release();
+        assertTrue(payload.release());
+    }
+
+    @Test
+    public void testAtLeastOnce() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ByteBuf payload = Unpooled.copiedBuffer("hello", CharsetUtil.UTF_8);
+
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.EXACTLY_ONCE, false, subscribers(1, channel));
+        channel.runPendingTasks();
+        MqttPublishMessage message = channel.readOutbound();
+        assertEquals(MqttQoS.AT_LEAST_ONCE, message.fixedHeader().qosLevel());
+        int packetId = message.variableHeader().packetId();
+        assertTrue(packetId > 0);
+        message.release();
+        assertEquals(2, payload.refCnt());
+
+        MessageDispatcher.getInstance().acknowledge(channel, packetId);
+        assertEquals(1, payload.refCnt());
+        MessageDispatcher.getInstance().discard(channel);
+        assertTrue(payload.release());
+    }
+
+    @Test
+    public void testExactlyOnce() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ByteBuf payload = Unpooled.copiedBuffer("hello", CharsetUtil.UTF_8);
+
+        MessageDispatcher.getInstance().dispatch("a/b", payload, MqttQoS.EXACTLY_ONCE, false, subscribers(2, channel));
+        channel.runPendingTasks();
+        MqttPublishMessage message = channel.readOutbound();
+        assertEquals(MqttQoS.EXACTLY_ONCE, message.fixedHeader().qosLevel());
+        int packetId = message.variableHeader().packetId();
+        message.release();
+
+        MessageDispatcher.getInstance().received(channel, packetId);
+        assertEquals(1, payload.refCnt());
+        channel.runPendingTasks();
+        MqttMessage pubRel = channel.readOutbound();
+        assertEquals(MqttMessageType.PUBREL, pubRel.fixedHeader().messageType());
+        assertEquals(packetId, ((MqttMessageIdVariableHeader) pubRel.variableHeader()).messageId());
+        MessageDispatcher.getInstance().completed(channel, packetId);
+
+        assertTrue(MessageDispatcher.getInstance().receive(channel, 7));
+        assertFalse(MessageDispatcher.getInstance().receive(channel, 7));
+        MessageDispatcher.getInstance().release(channel, 7);
+        assertTrue(MessageDispatcher.getInstance().receive(channel, 7));
+        MessageDispatcher.getInstance().discard(channel);
+        assertTrue(payload.release());
+    }
+
+    private static Map<Channel, Integer> subscribers(final int qos, final Channel... channels) {
+        Map<Channel, Integer> subscribers = new LinkedHashMap<>();
+        for (Channel channel : channels) {
+            subscribers.put(channel, qos);
+        }
+        return subscribers;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link TopicTrie}.
+ */
+public final class TopicTrieTest {
+
+    private TopicTrie<String> trie;
+
+    @BeforeEach
+    public void setUp() {
+        trie = new TopicTrie<>();
+    }
+
+    @Test
+    public void testMatchWildcards() {
+        trie.subscribe("sensor/room1/temperature", "exact", 0);
+        trie.subscribe("sensor/+/temperature", "single", 1);
+        trie.subscribe("sensor/#", "multi", 0);
+        trie.subscribe("#", "all", 0);
+        trie.subscribe("sensor/room1", "other", 0);
+
+        Map<String, Integer> matched = trie.match("sensor/room1/temperature");
+        assertEquals(new HashSet<>(Arrays.asList("exact", "single", "multi", "all")), matched.keySet());
+        assertEquals(1, matched.get("single"));
+        assertEquals(new HashSet<>(Arrays.asList("multi", "all", "other")), trie.match("sensor/room1").keySet());
+        assertEquals(new HashSet<>(Arrays.asList("multi", "all")), trie.match("sensor").keySet());
+        assertTrue(trie.match("sensor/+").isEmpty());
+    }
+
+    @Test
+    public void testDollarTopics() {
+        trie.subscribe("#", "all", 0);
+        trie.subscribe("+/broker", "single", 0);
+        trie.subscribe("$SYS/#", "sys", 0);
+        assertEquals(new HashSet<>(Arrays.asList("sys")), trie.match("$SYS/broker").keySet());
+    }
+
+    @Test
+    public void testMaxQos() {
+        trie.subscribe("a/+", "client", 0);
+        trie.subscribe("a/#", "client", 2);
+        assertEquals(2, trie.match("a/b").get("client"));
+    }
+
+    @Test
+    public void testSharedSubscription() {
+        trie.subscribe("$share/group/job/+", "worker1", 0);
+        trie.subscribe("$share/group/job/+", "worker2", 0);
+        trie.subscribe("job/+", "monitor", 0);
+
+        Map<String, Integer> first = trie.match("job/1");
+        Map<String, Integer> second = trie.match("job/2");
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertTrue(first.containsKey("monitor") && second.containsKey("monitor"));
+        assertFalse(first.keySet().equals(second.keySet()));
+
+        Map<String, Integer> available = trie.match("job/3", each -> !"worker1".equals(each));
+        assertTrue(available.containsKey("worker2"));
+        assertFalse(available.containsKey("worker1"));
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        trie.subscribe("a/+/c", "client", 0);
+        trie.subscribe("$share/group/a/b/c", "worker", 0);
+        assertTrue(trie.unsubscribe("a/+/c", "client"));
+        assertFalse(trie.unsubscribe("a/+/c", "client"));
+        assertTrue(trie.unsubscribe("$share/group/a/b/c", "worker"));
+        assertFalse(trie.unsubscribe("a/b", "client"));
+        assertTrue(trie.match("a/b/c").isEmpty());
+    }
+
+    @Test
+    public void testInvalidFilter() {
+        assertFalse(trie.subscribe("a/#/b", "client", 0));
+        assertFalse(trie.subscribe("a/b#", "client", 0));
+        assertFalse(trie.subscribe("a+/b", "client", 0));
+        assertFalse(trie.subscribe("$share//a", "client", 0));
+        assertFalse(trie.subscribe("$share/group/", "client", 0));
+        assertFalse(trie.subscribe("", "client", 0));
+        assertTrue(trie.subscribe("+/+/#", "client", 0));
+        assertTrue(TopicTrie.isValidTopic("a/b"));
+        assertFalse(TopicTrie.isValidTopic("a/+"));
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(TopicTrie.matches("a/+/c", "a/b/c"));
+        assertTrue(TopicTrie.matches("a/#", "a"));
+        assertTrue(TopicTrie.matches("a/#", "a/b/c"));
+        assertTrue(TopicTrie.matches("$share/group/a/+", "a/b"));
+        assertFalse(TopicTrie.matches("a/+", "a/b/c"));
+        assertFalse(TopicTrie.matches("#", "$SYS/uptime"));
+        assertTrue(TopicTrie.matches("$SYS/#", "$SYS/uptime"));
+    }
+}
@@ -17,7 +17,11 @@
 
 package org.apache.shenyu.springboot.starter.gateway;
 
+import org.apache.shenyu.common.config.ConfigSnapshotConfig;
+import org.apache.shenyu.common.config.LoadBalancerConfig;
 import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.config.UpstreamProbeConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.RpcParamTransformPlugin;
@@ -256,4 +260,41 @@ public class ShenyuConfiguration {
     public ShenyuConfig shenyuConfig() {
         return new ShenyuConfig();
     }
+
+    /**
+     * load balancer config, it is shared with the load balancers loaded by spi.
+     *
+     * @return the load balancer config
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "shenyu.load-balancer")
+    public LoadBalancerConfig loadBalancerConfig() {
+        LoadBalancerConfig loadBalancerConfig = new LoadBalancerConfig();
+        Singleton.INST.single(LoadBalancerConfig.class, loadBalancerConfig);
+        return loadBalancerConfig;
+    }
+
+    /**
+     * upstream probe config, it is read by the upstream health check of the load balancer.
+     *
+     * @return the upstream probe config
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "shenyu.upstream-check")
+    public UpstreamProbeConfig upstreamProbeConfig() {
+        UpstreamProbeConfig upstreamProbeConfig = new UpstreamProbeConfig();
+        Singleton.INST.single(UpstreamProbeConfig.class, upstreamProbeConfig);
+        return upstreamProbeConfig;
+    }
+
+    /**
+     * config snapshot config, it is used by the sync data configurations.
+     *
+     * @return the config snapshot config
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "shenyu.config-snapshot")
+    public ConfigSnapshotConfig configSnapshotConfig() {
+        return new ConfigSnapshotConfig();
+    }
 }
@@ -245,7 +245,7 @@ public class HttpClientPluginConfiguration {
                             .build())
                     .clientConnector(new ReactorClientHttpConnector(Objects.requireNonNull(httpClient.getIfAvailable())))
                     .build();
-            return new WebClientPlugin(webClient);
+            return new WebClientPlugin(webClient, properties.getMaxRetryBodySize() * 1024L);
         }
     }
 
@@ -259,12 +259,14 @@ public class HttpClientPluginConfiguration {
         /**
          * Netty http client plugin.
          *
+         * @param properties the properties
          * @param httpClient the http client
          * @return the shenyu plugin
          */
         @Bean
-        public ShenyuPlugin nettyHttpClientPlugin(final ObjectProvider<HttpClient> httpClient) {
-            return new NettyHttpClientPlugin(httpClient.getIfAvailable());
+        public ShenyuPlugin nettyHttpClientPlugin(final HttpClientProperties properties,
+                                                  final ObjectProvider<HttpClient> httpClient) {
+            return new NettyHttpClientPlugin(httpClient.getIfAvailable(), properties.getMaxRetryBodySize() * 1024L);
         }
     }
 }
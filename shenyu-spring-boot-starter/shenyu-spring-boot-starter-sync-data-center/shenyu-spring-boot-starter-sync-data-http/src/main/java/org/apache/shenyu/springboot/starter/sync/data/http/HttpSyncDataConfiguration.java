@@ -17,11 +17,13 @@
 
 package org.apache.shenyu.springboot.starter.sync.data.http;
 
+import org.apache.shenyu.common.config.ConfigSnapshotConfig;
 import org.apache.shenyu.common.constant.HttpConstants;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.api.snapshot.ConfigSnapshotStore;
 import org.apache.shenyu.sync.data.http.AccessTokenManager;
 import org.apache.shenyu.sync.data.http.HttpSyncDataService;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
@@ -29,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -78,6 +81,30 @@ public class HttpSyncDataConfiguration {
         return new AccessTokenManager(restTemplate, httpConfig);
     }
 
+    /**
+     * Config snapshot store, loaded before the sync service connects to admin.
+     *
+     * @param snapshotConfig   the config snapshot config
+     * @param pluginSubscriber the plugin subscriber
+     * @param metaSubscribers  the meta subscribers
+     * @param authSubscribers  the auth subscribers
+     * @return the config snapshot store
+     */
+    @Bean
+    @ConditionalOnMissingBean(ConfigSnapshotStore.class)
+    @ConditionalOnProperty(prefix = "shenyu.config-snapshot", name = "enabled", havingValue = "true")
+    public ConfigSnapshotStore configSnapshotStore(final ObjectProvider<ConfigSnapshotConfig> snapshotConfig,
+                                                   final ObjectProvider<PluginDataSubscriber> pluginSubscriber,
+                                                   final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers,
+                                                   final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) {
+        ConfigSnapshotStore snapshotStore = new ConfigSnapshotStore(snapshotConfig.getIfAvailable(ConfigSnapshotConfig::new),
+                Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+                metaSubscribers.getIfAvailable(Collections::emptyList),
+                authSubscribers.getIfAvailable(Collections::emptyList));
+        snapshotStore.load();
+        return snapshotStore;
+    }
+
     /**
      * Http sync data service.
      *
@@ -87,6 +114,7 @@ public class HttpSyncDataConfiguration {
      * @param metaSubscribers    the meta subscribers
      * @param authSubscribers    the auth subscribers
      * @param accessTokenManager the access token manager
+     * @param snapshotStore      the config snapshot store
      * @return the sync data service
      */
     @Bean
@@ -95,15 +123,28 @@ public class HttpSyncDataConfiguration {
                                                final ObjectProvider<RestTemplate> restTemplate,
                                                final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers,
                                                final ObjectProvider<List<AuthDataSubscriber>> authSubscribers,
-                                               final ObjectProvider<AccessTokenManager> accessTokenManager) {
+                                               final ObjectProvider<AccessTokenManager> accessTokenManager,
+                                               final ObjectProvider<ConfigSnapshotStore> snapshotStore) {
         LOGGER.info("you use http long pull sync shenyu data");
+        ConfigSnapshotStore store = snapshotStore.getIfAvailable();
+        if (Objects.isNull(store)) {
+            return new HttpSyncDataService(
+                    Objects.requireNonNull(httpConfig.getIfAvailable()),
+                    Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+                    Objects.requireNonNull(restTemplate.getIfAvailable()),
+                    metaSubscribers.getIfAvailable(Collections::emptyList),
+                    authSubscribers.getIfAvailable(Collections::emptyList),
+                    Objects.requireNonNull(accessTokenManager.getIfAvailable())
+            );
+        }
         return new HttpSyncDataService(
                 Objects.requireNonNull(httpConfig.getIfAvailable()),
-                Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+                store.getPluginDataSubscriber(),
                 Objects.requireNonNull(restTemplate.getIfAvailable()),
-                metaSubscribers.getIfAvailable(Collections::emptyList),
-                authSubscribers.getIfAvailable(Collections::emptyList),
-                Objects.requireNonNull(accessTokenManager.getIfAvailable())
+                store.getMetaDataSubscribers(),
+                store.getAuthDataSubscribers(),
+                Objects.requireNonNull(accessTokenManager.getIfAvailable()),
+                store
         );
     }
 }
@@ -17,16 +17,19 @@
 
 package org.apache.shenyu.springboot.starter.sync.data.websocket;
 
+import org.apache.shenyu.common.config.ConfigSnapshotConfig;
 import org.apache.shenyu.plugin.sync.data.websocket.WebsocketSyncDataService;
 import org.apache.shenyu.plugin.sync.data.websocket.config.WebsocketConfig;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.api.snapshot.ConfigSnapshotStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +37,7 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Websocket sync data configuration for spring boot.
@@ -45,6 +49,30 @@ public class WebsocketSyncDataConfiguration {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketSyncDataConfiguration.class);
 
+    /**
+     * Config snapshot store, loaded before the sync service connects to admin.
+     *
+     * @param snapshotConfig   the config snapshot config
+     * @param pluginSubscriber the plugin subscriber
+     * @param metaSubscribers  the meta subscribers
+     * @param authSubscribers  the auth subscribers
+     * @return the config snapshot store
+     */
+    @Bean
+    @ConditionalOnMissingBean(ConfigSnapshotStore.class)
+    @ConditionalOnProperty(prefix = "shenyu.config-snapshot", name = "enabled", havingValue = "true")
+    public ConfigSnapshotStore configSnapshotStore(final ObjectProvider<ConfigSnapshotConfig> snapshotConfig,
+                                                   final ObjectProvider<PluginDataSubscriber> pluginSubscriber,
+                                                   final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers,
+                                                   final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) {
+        ConfigSnapshotStore snapshotStore = new ConfigSnapshotStore(snapshotConfig.getIfAvailable(ConfigSnapshotConfig::new),
+                Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+                metaSubscribers.getIfAvailable(Collections::emptyList),
+                authSubscribers.getIfAvailable(Collections::emptyList));
+        snapshotStore.load();
+        return snapshotStore;
+    }
+
     /**
      * Websocket sync data service.
      *
@@ -52,12 +80,20 @@ public class WebsocketSyncDataConfiguration {
      * @param pluginSubscriber the plugin subscriber
      * @param metaSubscribers   the meta subscribers
      * @param authSubscribers   the auth subscribers
+     * @param snapshotStore     the config snapshot store
      * @return the sync data service
      */
     @Bean
     public SyncDataService websocketSyncDataService(final ObjectProvider<WebsocketConfig> websocketConfig, final ObjectProvider<PluginDataSubscriber> pluginSubscriber,
-                                           final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers, final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) {
+                                           final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers, final ObjectProvider<List<AuthDataSubscriber>> authSubscribers,
+                                           final ObjectProvider<ConfigSnapshotStore> snapshotStore) {
         LOGGER.info("you use websocket sync shenyu data.......");
+        ConfigSnapshotStore store = snapshotStore.getIfAvailable();
+        if (Objects.nonNull(store)) {
+            // the full sync after the handshake reconciles the loaded snapshot with admin.
+            return new WebsocketSyncDataService(websocketConfig.getIfAvailable(WebsocketConfig::new), store.getPluginDataSubscriber(),
+                    store.getMetaDataSubscribers(), store.getAuthDataSubscribers());
+        }
         return new WebsocketSyncDataService(websocketConfig.getIfAvailable(WebsocketConfig::new), pluginSubscriber.getIfAvailable(),
                 metaSubscribers.getIfAvailable(Collections::emptyList), authSubscribers.getIfAvailable(Collections::emptyList));
     }
@@ -0,0 +1,554 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.snapshot;
+
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.ConfigSnapshotConfig;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * The local config snapshot of the gateway.
+ * It records the data delivered to the subscribers, writes it to a binary file when it changed,
+ * and replays the file (read through a memory mapping) into the subscribers before the sync service connects to admin.
+ * The sync service records a version (e.g. the md5 of a group) with {@link #updateVersion} to reconcile with admin after the load,
+ * and the first refresh of plugins, selectors or rules after the load drops the loaded entries admin no longer has.
+ * The file holds the app secrets in plaintext, so it is only readable and writable by its owner (0600) where the file system supports it.
+ */
+public class ConfigSnapshotStore implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigSnapshotStore.class);
+
+    private static final int MAGIC = 0x53594e43;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+
+    private final Path path;
+
+    private final PluginDataSubscriber pluginDataSubscriber;
+
+    private final List<MetaDataSubscriber> metaDataSubscribers;
+
+    private final List<AuthDataSubscriber> authDataSubscribers;
+
+    private final ConcurrentMap<String, PluginData> plugins = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, SelectorData> selectors = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, RuleData> rules = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, MetaData> metaData = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AppAuthData> appAuths = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> versions = new ConcurrentHashMap<>();
+
+    private final Set<String> loadedPlugins = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> loadedSelectors = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> loadedRules = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean loaded;
+
+    /**
+     * Instantiates a new config snapshot store.
+     *
+     * @param config               the snapshot config
+     * @param pluginDataSubscriber the plugin data subscriber
+     * @param metaDataSubscribers  the meta data subscribers
+     * @param authDataSubscribers  the auth data subscribers
+     */
+    public ConfigSnapshotStore(final ConfigSnapshotConfig config,
+                               final PluginDataSubscriber pluginDataSubscriber,
+                               final List<MetaDataSubscriber> metaDataSubscribers,
+                               final List<AuthDataSubscriber> authDataSubscribers) {
+        this.path = Paths.get(config.getPath());
+        this.pluginDataSubscriber = new SnapshotPluginDataSubscriber(Objects.requireNonNull(pluginDataSubscriber));
+        this.metaDataSubscribers = metaDataSubscribers.stream().map(SnapshotMetaDataSubscriber::new).collect(Collectors.toList());
+        this.authDataSubscribers = authDataSubscribers.stream().map(SnapshotAuthDataSubscriber::new).collect(Collectors.toList());
+        this.scheduler = new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("config-snapshot", true));
+        long flushInterval = config.getFlushInterval();
+        this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Load the snapshot file and replay it into the subscribers.
+     *
+     * @return true if the snapshot was loaded
+     */
+    public boolean load() {
+        if (!Files.isRegularFile(path)) {
+            LOG.info("config snapshot [{}] does not exist, wait for the sync from admin", path);
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!decode(buffer)) {
+                LOG.warn("config snapshot [{}] is broken, ignore it", path);
+                return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("load config snapshot [{}] fail, ignore it", path, e);
+            plugins.clear();
+            selectors.clear();
+            rules.clear();
+            metaData.clear();
+            appAuths.clear();
+            versions.clear();
+            return false;
+        }
+        replay();
+        LOG.info("loaded config snapshot [{}] in {}ms, plugins: {}, selectors: {}, rules: {}, metaData: {}, appAuths: {}",
+                path, System.currentTimeMillis() - start, plugins.size(), selectors.size(), rules.size(), metaData.size(), appAuths.size());
+        loaded = true;
+        return true;
+    }
+
+    /**
+     * Whether the snapshot was loaded.
+     *
+     * @return true if the snapshot was loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Get the version recorded by the sync service.
+     *
+     * @param key the key
+     * @return the version, or null
+     */
+    public String getVersion(final String key) {
+        return versions.get(key);
+    }
+
+    /**
+     * Record a version, it must be updated after the data it covers was delivered to the subscribers.
+     *
+     * @param key     the key
+     * @param version the version
+     */
+    public void updateVersion(final String key, final String version) {
+        if (!Objects.equals(versions.put(key, version), version)) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Get the plugin data subscriber which records into the snapshot.
+     *
+     * @return the plugin data subscriber
+     */
+    public PluginDataSubscriber getPluginDataSubscriber() {
+        return pluginDataSubscriber;
+    }
+
+    /**
+     * Get the meta data subscribers which record into the snapshot.
+     *
+     * @return the meta data subscribers
+     */
+    public List<MetaDataSubscriber> getMetaDataSubscribers() {
+        return metaDataSubscribers;
+    }
+
+    /**
+     * Get the auth data subscribers which record into the snapshot.
+     *
+     * @return the auth data subscribers
+     */
+    public List<AuthDataSubscriber> getAuthDataSubscribers() {
+        return authDataSubscribers;
+    }
+
+    /**
+     * Write the snapshot file if the config changed since the last write.
+     */
+    public synchronized void flush() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            write(encode());
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            LOG.warn("write config snapshot [{}] fail", path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private void replay() {
+        loadedPlugins.addAll(plugins.keySet());
+        loadedSelectors.addAll(selectors.keySet());
+        loadedRules.addAll(rules.keySet());
+        plugins.values().forEach(pluginDataSubscriber::onSubscribe);
+        selectors.values().forEach(pluginDataSubscriber::onSelectorSubscribe);
+        rules.values().forEach(pluginDataSubscriber::onRuleSubscribe);
+        metaData.values().forEach(data -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(data)));
+        appAuths.values().forEach(data -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(data)));
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        // the versions are taken before the data, so that a version never covers data missing in the file.
+        Map<String, String> versionCopy = new HashMap<>(versions);
+        out.writeInt(versionCopy.size());
+        for (Map.Entry<String, String> entry : versionCopy.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+        writeGroup(out, plugins.values());
+        writeGroup(out, selectors.values());
+        writeGroup(out, rules.values());
+        writeGroup(out, metaData.values());
+        writeGroup(out, appAuths.values());
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeGroup(final DataOutputStream out, final Collection<?> values) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(values.size());
+        for (Object value : values) {
+            encoded.add(GsonUtils.getInstance().toJson(value).getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeInt(encoded.size());
+        for (byte[] data : encoded) {
+            out.writeInt(data.length);
+            out.write(data);
+        }
+    }
+
+    private void write(final byte[] data) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (Objects.nonNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        // the permissions only apply to a new file, the moved file keeps them.
+        Files.deleteIfExists(temp);
+        FileAttribute<?>[] attributes = temp.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(OWNER_ONLY)} : new FileAttribute<?>[0];
+        try (FileChannel channel = FileChannel.open(temp, EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), attributes)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean decode(final ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES * 2 + Long.BYTES) {
+            return false;
+        }
+        ByteBuffer content = buffer.duplicate();
+        content.limit(buffer.limit() - Long.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if (crc.getValue() != buffer.getLong(buffer.limit() - Long.BYTES)) {
+            return false;
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return false;
+        }
+        int versionCount = buffer.getInt();
+        for (int i = 0; i < versionCount; i++) {
+            versions.put(readUtf(buffer), readUtf(buffer));
+        }
+        readGroup(buffer, PluginData.class, plugins, PluginData::getName);
+        readGroup(buffer, SelectorData.class, selectors, SelectorData::getId);
+        readGroup(buffer, RuleData.class, rules, RuleData::getId);
+        readGroup(buffer, MetaData.class, metaData, MetaData::getPath);
+        readGroup(buffer, AppAuthData.class, appAuths, AppAuthData::getAppKey);
+        return true;
+    }
+
+    private static String readUtf(final ByteBuffer buffer) {
+        // the format written by DataOutputStream#writeUTF, the keys and versions are plain ascii.
+        byte[] data = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static <T> void readGroup(final ByteBuffer buffer, final Class<T> type, final Map<String, T> target,
+                                      final Function<T, String> keyFunction) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] data = new byte[buffer.getInt()];
+            buffer.get(data);
+            T value = GsonUtils.getInstance().fromJson(new String(data, StandardCharsets.UTF_8), type);
+            String key = keyFunction.apply(value);
+            if (Objects.nonNull(key)) {
+                target.put(key, value);
+            }
+        }
+    }
+
+    private <T> void put(final Map<String, T> target, final T value, final Function<T, String> keyFunction) {
+        String key = Objects.isNull(value) ? null : keyFunction.apply(value);
+        if (Objects.nonNull(key)) {
+            target.put(key, value);
+            dirty.set(true);
+        }
+    }
+
+    private <T> void remove(final Map<String, T> target, final T value, final Function<T, String> keyFunction) {
+        String key = Objects.isNull(value) ? null : keyFunction.apply(value);
+        if (Objects.nonNull(key) && Objects.nonNull(target.remove(key))) {
+            dirty.set(true);
+        }
+    }
+
+    private <T> void reconcile(final Map<String, T> target, final Set<String> loadedKeys, final List<T> dataList,
+                               final Function<T, String> keyFunction, final Consumer<T> unsubscribe) {
+        if (loadedKeys.isEmpty()) {
+            return;
+        }
+        // the first refresh after the load carries every entry admin has, the loaded entries missing in it were deleted meanwhile.
+        Set<String> keys = Objects.isNull(dataList) ? Collections.emptySet()
+                : dataList.stream().filter(Objects::nonNull).map(keyFunction).filter(Objects::nonNull).collect(Collectors.toSet());
+        for (String key : loadedKeys) {
+            T value = keys.contains(key) ? null : target.remove(key);
+            if (Objects.nonNull(value)) {
+                unsubscribe.accept(value);
+                dirty.set(true);
+            }
+        }
+        loadedKeys.clear();
+    }
+
+    private void clear(final Map<String, ?> target) {
+        if (!target.isEmpty()) {
+            target.clear();
+            dirty.set(true);
+        }
+    }
+
+    private final class SnapshotPluginDataSubscriber implements PluginDataSubscriber {
+
+        private final PluginDataSubscriber delegate;
+
+        SnapshotPluginDataSubscriber(final PluginDataSubscriber delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(final PluginData pluginData) {
+            delegate.onSubscribe(pluginData);
+            put(plugins, pluginData, PluginData::getName);
+        }
+
+        @Override
+        public void unSubscribe(final PluginData pluginData) {
+            delegate.unSubscribe(pluginData);
+            remove(plugins, pluginData, PluginData::getName);
+        }
+
+        @Override
+        public void refreshPluginDataAll() {
+            delegate.refreshPluginDataAll();
+            clear(plugins);
+            loadedPlugins.clear();
+        }
+
+        @Override
+        public void refreshPluginDataSelf(final List<PluginData> pluginDataList) {
+            delegate.refreshPluginDataSelf(pluginDataList);
+            if (Objects.nonNull(pluginDataList)) {
+                pluginDataList.forEach(data -> remove(plugins, data, PluginData::getName));
+            }
+            reconcile(plugins, loadedPlugins, pluginDataList, PluginData::getName, delegate::unSubscribe);
+        }
+
+        @Override
+        public void onSelectorSubscribe(final SelectorData selectorData) {
+            delegate.onSelectorSubscribe(selectorData);
+            put(selectors, selectorData, SelectorData::getId);
+        }
+
+        @Override
+        public void unSelectorSubscribe(final SelectorData selectorData) {
+            delegate.unSelectorSubscribe(selectorData);
+            remove(selectors, selectorData, SelectorData::getId);
+        }
+
+        @Override
+        public void refreshSelectorDataAll() {
+            delegate.refreshSelectorDataAll();
+            clear(selectors);
+            loadedSelectors.clear();
+        }
+
+        @Override
+        public void refreshSelectorDataSelf(final List<SelectorData> selectorDataList) {
+            delegate.refreshSelectorDataSelf(selectorDataList);
+            if (Objects.nonNull(selectorDataList)) {
+                selectorDataList.forEach(data -> remove(selectors, data, SelectorData::getId));
+            }
+            reconcile(selectors, loadedSelectors, selectorDataList, SelectorData::getId, delegate::unSelectorSubscribe);
+        }
+
+        @Override
+        public void onRuleSubscribe(final RuleData ruleData) {
+            delegate.onRuleSubscribe(ruleData);
+            put(rules, ruleData, RuleData::getId);
+        }
+
+        @Override
+        public void unRuleSubscribe(final RuleData ruleData) {
+            delegate.unRuleSubscribe(ruleData);
+            remove(rules, ruleData, RuleData::getId);
+        }
+
+        @Override
+        public void refreshRuleDataAll() {
+            delegate.refreshRuleDataAll();
+            clear(rules);
+            loadedRules.clear();
+        }
+
+        @Override
+        public void refreshRuleDataSelf(final List<RuleData> ruleDataList) {
+            delegate.refreshRuleDataSelf(ruleDataList);
+            if (Objects.nonNull(ruleDataList)) {
+                ruleDataList.forEach(data -> remove(rules, data, RuleData::getId));
+            }
+            reconcile(rules, loadedRules, ruleDataList, RuleData::getId, delegate::unRuleSubscribe);
+        }
+    }
+
+    private final class SnapshotMetaDataSubscriber implements MetaDataSubscriber {
+
+        private final MetaDataSubscriber delegate;
+
+        SnapshotMetaDataSubscriber(final MetaDataSubscriber delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(final MetaData data) {
+            delegate.onSubscribe(data);
+            put(metaData, data, MetaData::getPath);
+        }
+
+        @Override
+        public void unSubscribe(final MetaData data) {
+            delegate.unSubscribe(data);
+            remove(metaData, data, MetaData::getPath);
+        }
+
+        @Override
+        public void refresh() {
+            delegate.refresh();
+            clear(metaData);
+        }
+    }
+
+    private final class SnapshotAuthDataSubscriber implements AuthDataSubscriber {
+
+        private final AuthDataSubscriber delegate;
+
+        SnapshotAuthDataSubscriber(final AuthDataSubscriber delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(final AppAuthData appAuthData) {
+            delegate.onSubscribe(appAuthData);
+            put(appAuths, appAuthData, AppAuthData::getAppKey);
+        }
+
+        @Override
+        public void unSubscribe(final AppAuthData appAuthData) {
+            delegate.unSubscribe(appAuthData);
+            remove(appAuths, appAuthData, AppAuthData::getAppKey);
+        }
+
+        @Override
+        public void refresh() {
+            delegate.refresh();
+            clear(appAuths);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.snapshot;
+
+import org.apache.shenyu.common.config.ConfigSnapshotConfig;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for {@link ConfigSnapshotStore}.
+ */
+public final class ConfigSnapshotStoreTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testFlushAndLoad() {
+        ConfigSnapshotConfig config = config(tempDir.resolve("config.snapshot"));
+        ConfigSnapshotStore store = new ConfigSnapshotStore(config, mock(PluginDataSubscriber.class),
+                Collections.singletonList(mock(MetaDataSubscriber.class)), Collections.singletonList(mock(AuthDataSubscriber.class)));
+        store.getPluginDataSubscriber().onSubscribe(PluginData.builder().name("divide").enabled(true).build());
+        store.getPluginDataSubscriber().onSelectorSubscribe(SelectorData.builder().id("1").pluginName("divide").build());
+        store.getPluginDataSubscriber().onRuleSubscribe(RuleData.builder().id("2").selectorId("1").build());
+        store.getPluginDataSubscriber().onRuleSubscribe(RuleData.builder().id("3").selectorId("1").build());
+        store.getPluginDataSubscriber().unRuleSubscribe(RuleData.builder().id("3").selectorId("1").build());
+        store.getMetaDataSubscribers().get(0).onSubscribe(MetaData.builder().id("4").path("/http/test").build());
+        store.getAuthDataSubscribers().get(0).onSubscribe(AppAuthData.builder().appKey("key").build());
+        store.updateVersion("RULE", "md5,1");
+        store.close();
+
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        MetaDataSubscriber metaDataSubscriber = mock(MetaDataSubscriber.class);
+        AuthDataSubscriber authDataSubscriber = mock(AuthDataSubscriber.class);
+        ConfigSnapshotStore loaded = new ConfigSnapshotStore(config, pluginDataSubscriber,
+                Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber));
+        assertTrue(loaded.load());
+        assertTrue(loaded.isLoaded());
+        assertEquals("md5,1", loaded.getVersion("RULE"));
+        verify(pluginDataSubscriber, times(1)).onSubscribe(any(PluginData.class));
+        verify(pluginDataSubscriber, times(1)).onSelectorSubscribe(any(SelectorData.class));
+        verify(pluginDataSubscriber, times(1)).onRuleSubscribe(any(RuleData.class));
+        verify(metaDataSubscriber, times(1)).onSubscribe(any(MetaData.class));
+        verify(authDataSubscriber, times(1)).onSubscribe(any(AppAuthData.class));
+        loaded.close();
+    }
+
+    @Test
+    public void testLoadBrokenSnapshot() throws IOException {
+        Path path = tempDir.resolve("broken.snapshot");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        ConfigSnapshotStore store = new ConfigSnapshotStore(config(path), pluginDataSubscriber, Collections.emptyList(), Collections.emptyList());
+        assertFalse(store.load());
+        assertFalse(new ConfigSnapshotStore(config(tempDir.resolve("missing")), pluginDataSubscriber,
+                Collections.emptyList(), Collections.emptyList()).load());
+        verify(pluginDataSubscriber, never()).onSubscribe(any(PluginData.class));
+        store.close();
+    }
+
+    @Test
+    public void testReconcileAfterLoad() {
+        ConfigSnapshotConfig config = config(tempDir.resolve("config.snapshot"));
+        ConfigSnapshotStore store = new ConfigSnapshotStore(config, mock(PluginDataSubscriber.class), Collections.emptyList(), Collections.emptyList());
+        store.getPluginDataSubscriber().onSelectorSubscribe(SelectorData.builder().id("1").pluginName("divide").build());
+        store.getPluginDataSubscriber().onSelectorSubscribe(SelectorData.builder().id("2").pluginName("divide").build());
+        store.close();
+
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        ConfigSnapshotStore loaded = new ConfigSnapshotStore(config, pluginDataSubscriber, Collections.emptyList(), Collections.emptyList());
+        assertTrue(loaded.load());
+        SelectorData kept = SelectorData.builder().id("1").pluginName("divide").build();
+        loaded.getPluginDataSubscriber().refreshSelectorDataSelf(Collections.singletonList(kept));
+        verify(pluginDataSubscriber, times(1)).unSelectorSubscribe(argThat(data -> "2".equals(data.getId())));
+        verify(pluginDataSubscriber, never()).unSelectorSubscribe(argThat(data -> "1".equals(data.getId())));
+        loaded.getPluginDataSubscriber().onSelectorSubscribe(kept);
+        loaded.getPluginDataSubscriber().onSelectorSubscribe(SelectorData.builder().id("3").pluginName("divide").build());
+        loaded.getPluginDataSubscriber().refreshSelectorDataSelf(Collections.singletonList(kept));
+        verify(pluginDataSubscriber, times(1)).unSelectorSubscribe(any(SelectorData.class));
+        loaded.close();
+    }
+
+    @Test
+    public void testSnapshotIsOwnerOnly() throws IOException {
+        Path path = tempDir.resolve("config.snapshot");
+        assumeTrue(path.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        ConfigSnapshotStore store = new ConfigSnapshotStore(config(path), mock(PluginDataSubscriber.class), Collections.emptyList(),
+                Collections.singletonList(mock(AuthDataSubscriber.class)));
+        store.getAuthDataSubscribers().get(0).onSubscribe(AppAuthData.builder().appKey("key").appSecret("secret").build());
+        store.close();
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+    }
+
+    private static ConfigSnapshotConfig config(final Path path) {
+        ConfigSnapshotConfig config = new ConfigSnapshotConfig();
+        config.setEnabled(true);
+        config.setPath(path.toString());
+        return config;
+    }
+}
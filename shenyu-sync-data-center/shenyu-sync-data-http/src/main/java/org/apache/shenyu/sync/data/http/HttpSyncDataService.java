@@ -20,12 +20,14 @@ package org.apache.shenyu.sync.data.http;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.ThreadUtils;
@@ -33,6 +35,7 @@ import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.api.snapshot.ConfigSnapshotStore;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
 import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
 import org.slf4j.Logger;
@@ -47,8 +50,12 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -80,12 +87,41 @@ public class HttpSyncDataService implements SyncDataService {
 
     private final AccessTokenManager accessTokenManager;
 
+    /**
+     * the last change log revision applied from each server.
+     */
+    private final ConcurrentMap<String, ServerRevision> revisions = new ConcurrentHashMap<>();
+
+    private final ConfigSnapshotStore snapshotStore;
+
     public HttpSyncDataService(final HttpConfig httpConfig,
                                final PluginDataSubscriber pluginDataSubscriber,
                                final RestTemplate restTemplate,
                                final List<MetaDataSubscriber> metaDataSubscribers,
                                final List<AuthDataSubscriber> authDataSubscribers,
                                final AccessTokenManager accessTokenManager) {
+        this(httpConfig, pluginDataSubscriber, restTemplate, metaDataSubscribers, authDataSubscribers, accessTokenManager, null);
+    }
+
+    /**
+     * Instantiates a new Http sync data service, which starts from the loaded config snapshot when admin is not available.
+     *
+     * @param httpConfig           the http config
+     * @param pluginDataSubscriber the plugin data subscriber
+     * @param restTemplate         the rest template
+     * @param metaDataSubscribers  the meta data subscribers
+     * @param authDataSubscribers  the auth data subscribers
+     * @param accessTokenManager   the access token manager
+     * @param snapshotStore        the config snapshot store, nullable
+     */
+    public HttpSyncDataService(final HttpConfig httpConfig,
+                               final PluginDataSubscriber pluginDataSubscriber,
+                               final RestTemplate restTemplate,
+                               final List<MetaDataSubscriber> metaDataSubscribers,
+                               final List<AuthDataSubscriber> authDataSubscribers,
+                               final AccessTokenManager accessTokenManager,
+                               final ConfigSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
         this.accessTokenManager = accessTokenManager;
         this.factory = new DataRefreshFactory(pluginDataSubscriber, metaDataSubscribers, authDataSubscribers);
         this.serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
@@ -96,8 +132,18 @@ public class HttpSyncDataService implements SyncDataService {
     private void start() {
         // It could be initialized multiple times, so you need to control that.
         if (RUNNING.compareAndSet(false, true)) {
-            // fetch all group configs.
-            this.fetchGroupConfig(ConfigGroupEnum.values());
+            // fetch all group configs, or the groups missing in the loaded snapshot.
+            ConfigGroupEnum[] groups = this.restoreFromSnapshot();
+            try {
+                if (groups.length > 0) {
+                    this.fetchGroupConfig(groups);
+                }
+            } catch (ShenyuException e) {
+                if (Objects.isNull(snapshotStore) || !snapshotStore.isLoaded()) {
+                    throw e;
+                }
+                LOG.warn("fetch config fail, start with the config snapshot and keep polling the admin, {}", e.getMessage());
+            }
             int threadSize = serverList.size();
             this.executor = new ThreadPoolExecutor(threadSize, threadSize, 60L, TimeUnit.SECONDS,
                     new LinkedBlockingQueue<>(),
@@ -109,6 +155,40 @@ public class HttpSyncDataService implements SyncDataService {
         }
     }
 
+    /**
+     * seed the md5 of each group from the loaded snapshot, the long polling then reports only the groups changed since it was written.
+     *
+     * @return the groups which still need a full fetch
+     */
+    private ConfigGroupEnum[] restoreFromSnapshot() {
+        if (Objects.isNull(snapshotStore) || !snapshotStore.isLoaded()) {
+            return ConfigGroupEnum.values();
+        }
+        List<ConfigGroupEnum> missed = Lists.newArrayList();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            String[] version = StringUtils.split(snapshotStore.getVersion(group.name()), ',');
+            if (Objects.isNull(version) || version.length != 2 || !StringUtils.isNumeric(version[1])) {
+                missed.add(group);
+                continue;
+            }
+            factory.updateCacheConfigData(group, version[0], Long.parseLong(version[1]));
+        }
+        LOG.info("restored config from snapshot, groups to fetch: {}", missed);
+        return missed.toArray(new ConfigGroupEnum[0]);
+    }
+
+    private void recordSnapshotVersion() {
+        if (Objects.isNull(snapshotStore)) {
+            return;
+        }
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+            if (Objects.nonNull(cacheConfig)) {
+                snapshotStore.updateVersion(group.name(), String.join(",", cacheConfig.getMd5(), String.valueOf(cacheConfig.getLastModifyTime())));
+            }
+        }
+    }
+
     private void fetchGroupConfig(final ConfigGroupEnum... groups) throws ShenyuException {
         for (int index = 0; index < this.serverList.size(); index++) {
             String server = serverList.get(index);
@@ -146,6 +226,7 @@ public class HttpSyncDataService implements SyncDataService {
         // update local cache
         boolean updated = this.updateCacheWithJson(json);
         if (updated) {
+            this.recordSnapshotVersion();
             LOG.debug("get latest configs: [{}]", json);
             return;
         }
@@ -169,6 +250,12 @@ public class HttpSyncDataService implements SyncDataService {
     }
 
     private void doLongPolling(final String server) {
+        // the groups the startup could not fetch, e.g. admin was down and the snapshot did not cover them.
+        ConfigGroupEnum[] missed = Arrays.stream(ConfigGroupEnum.values())
+                .filter(group -> Objects.isNull(factory.cacheConfigData(group))).toArray(ConfigGroupEnum[]::new);
+        if (missed.length > 0) {
+            this.doFetchGroupConfig(server, missed);
+        }
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>(8);
         for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
             ConfigData<?> cacheConfig = factory.cacheConfigData(group);
@@ -198,13 +285,81 @@ public class HttpSyncDataService implements SyncDataService {
             // fetch group configuration async.
             ConfigGroupEnum[] changedGroups = GsonUtils.getGson().fromJson(groupJson, ConfigGroupEnum[].class);
             LOG.info("Group config changed: {}", Arrays.toString(changedGroups));
+            this.doFetchChangedConfig(server, changedGroups);
+        }
+    }
+
+    /**
+     * fetch the changes since the last applied revision, the changed groups are fetched fully
+     * when the server has no change log, the revision is out of its window, or a group changed without a logged change.
+     *
+     * @param server the server
+     * @param changedGroups the changed groups
+     */
+    private void doFetchChangedConfig(final String server, final ConfigGroupEnum... changedGroups) {
+        ServerRevision current = revisions.get(server);
+        String url = server + Constants.SHENYU_ADMIN_PATH_CONFIGS_DELTA;
+        if (Objects.nonNull(current)) {
+            url = url + "?epoch=" + current.epoch + "&revision=" + current.revision;
+        }
+        JsonObject delta;
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(Constants.X_ACCESS_TOKEN, this.accessTokenManager.getAccessToken());
+            String json = this.restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+            delta = GsonUtils.getGson().fromJson(json, JsonObject.class).getAsJsonObject("data");
+        } catch (RuntimeException e) {
+            // the server is unreachable or does not support the delta yet.
+            LOG.warn("fetch config delta fail from server[{}], fetch the changed groups instead, {}", url, e.getMessage());
             this.doFetchGroupConfig(server, changedGroups);
+            return;
+        }
+        String epoch = delta.has("epoch") && !delta.get("epoch").isJsonNull() ? delta.get("epoch").getAsString() : null;
+        ServerRevision latest = Objects.isNull(epoch) ? null : new ServerRevision(epoch, delta.get("revision").getAsLong());
+        if (delta.get("full").getAsBoolean()) {
+            LOG.info("config delta of server[{}] is out of the change log window, fetch the changed groups", server);
+            this.doFetchGroupConfig(server, changedGroups);
+            this.updateRevision(server, latest);
+            return;
+        }
+        Set<ConfigGroupEnum> applied = EnumSet.noneOf(ConfigGroupEnum.class);
+        for (JsonElement element : delta.getAsJsonArray("changes")) {
+            JsonObject change = element.getAsJsonObject();
+            ConfigGroupEnum group = ConfigGroupEnum.acquireByName(change.get("groupType").getAsString());
+            factory.handleChange(group, change.getAsJsonArray("data"), DataEventTypeEnum.acquireByName(change.get("eventType").getAsString()));
+            applied.add(group);
+        }
+        JsonObject groups = delta.getAsJsonObject("groups");
+        for (ConfigGroupEnum group : applied) {
+            JsonObject cache = groups.getAsJsonObject(group.name());
+            if (Objects.nonNull(cache)) {
+                factory.updateCacheConfigData(group, cache.get("md5").getAsString(), cache.get("lastModifyTime").getAsLong());
+            }
+        }
+        this.updateRevision(server, latest);
+        this.recordSnapshotVersion();
+        LOG.info("applied {} config changes from server[{}], revision: {}", delta.getAsJsonArray("changes").size(), server, latest);
+        // the group changed without a logged change, e.g. it was reloaded from the database.
+        ConfigGroupEnum[] missed = Arrays.stream(changedGroups).filter(group -> !applied.contains(group)).toArray(ConfigGroupEnum[]::new);
+        if (missed.length > 0) {
+            this.doFetchGroupConfig(server, missed);
+        }
+    }
+
+    private void updateRevision(final String server, final ServerRevision latest) {
+        if (Objects.isNull(latest)) {
+            revisions.remove(server);
+        } else {
+            revisions.put(server, latest);
         }
     }
 
     @Override
     public void close() {
         RUNNING.set(false);
+        if (Objects.nonNull(snapshotStore)) {
+            snapshotStore.close();
+        }
         if (Objects.nonNull(executor)) {
             executor.shutdownNow();
             // help gc
@@ -245,4 +400,21 @@ public class HttpSyncDataService implements SyncDataService {
             LOG.warn("Stop http long polling.");
         }
     }
+
+    private static final class ServerRevision {
+
+        private final String epoch;
+
+        private final long revision;
+
+        ServerRevision(final String epoch, final long revision) {
+            this.epoch = epoch;
+            this.revision = revision;
+        }
+
+        @Override
+        public String toString() {
+            return epoch + ":" + revision;
+        }
+    }
 }
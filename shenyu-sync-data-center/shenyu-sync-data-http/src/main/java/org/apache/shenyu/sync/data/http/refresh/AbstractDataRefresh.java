@@ -17,13 +17,16 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,6 +65,14 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
      */
     protected abstract ConfigData<T> fromJson(JsonObject data);
 
+    /**
+     * From json changed data list.
+     *
+     * @param data the data
+     * @return the data list
+     */
+    protected abstract List<T> fromJson(JsonArray data);
+
     /**
      * Refresh.
      *
@@ -86,6 +97,52 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
         return updated;
     }
 
+    /**
+     * Update or create the changed data.
+     *
+     * @param data the data
+     */
+    protected abstract void update(List<T> data);
+
+    /**
+     * Delete the changed data.
+     *
+     * @param data the data
+     */
+    protected abstract void delete(List<T> data);
+
+    @Override
+    public void handleChange(final JsonArray data, final DataEventTypeEnum eventType) {
+        List<T> dataList = fromJson(data);
+        switch (eventType) {
+            case REFRESH:
+            case MYSELF:
+                refresh(dataList);
+                break;
+            case UPDATE:
+            case CREATE:
+                update(dataList);
+                break;
+            case DELETE:
+                delete(dataList);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Record the md5 and last modify time of a group whose changes were applied one by one,
+     * the data of the cached config is dropped, only the md5 and last modify time are compared.
+     *
+     * @param groupEnum      the group enum
+     * @param md5            the md5
+     * @param lastModifyTime the last modify time
+     */
+    static void updateCacheConfigData(final ConfigGroupEnum groupEnum, final String md5, final long lastModifyTime) {
+        GROUP_CACHE.put(groupEnum, new ConfigData<>(md5, lastModifyTime, Collections.emptyList()));
+    }
+
     /**
      * Update cache if need boolean.
      *
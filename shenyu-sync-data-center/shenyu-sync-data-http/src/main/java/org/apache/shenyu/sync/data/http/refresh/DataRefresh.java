@@ -17,8 +17,10 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 
 /**
  * The interface Data refresh.
@@ -33,6 +35,14 @@ public interface DataRefresh {
      */
     Boolean refresh(JsonObject data);
 
+    /**
+     * Apply a single change of the admin change log.
+     *
+     * @param data      the changed data
+     * @param eventType the event type
+     */
+    void handleChange(JsonArray data, DataEventTypeEnum eventType);
+
     /**
      * Cache config data config data.
      *
@@ -17,9 +17,11 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
@@ -74,4 +76,26 @@ public final class DataRefreshFactory {
     public ConfigData<?> cacheConfigData(final ConfigGroupEnum group) {
         return ENUM_MAP.get(group).cacheConfigData();
     }
+
+    /**
+     * Apply a single change of the admin change log.
+     *
+     * @param group     the group
+     * @param data      the changed data
+     * @param eventType the event type
+     */
+    public void handleChange(final ConfigGroupEnum group, final JsonArray data, final DataEventTypeEnum eventType) {
+        ENUM_MAP.get(group).handleChange(data, eventType);
+    }
+
+    /**
+     * Update the md5 and last modify time of the cached config after its changes were applied.
+     *
+     * @param group          the group
+     * @param md5            the md5
+     * @param lastModifyTime the last modify time
+     */
+    public void updateCacheConfigData(final ConfigGroupEnum group, final String md5, final long lastModifyTime) {
+        AbstractDataRefresh.updateCacheConfigData(group, md5, lastModifyTime);
+    }
 }
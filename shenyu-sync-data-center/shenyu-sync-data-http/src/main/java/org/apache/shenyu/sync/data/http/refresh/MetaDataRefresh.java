@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -56,6 +57,12 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
         }.getType());
     }
 
+    @Override
+    protected List<MetaData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<MetaData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<MetaData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.META_DATA);
@@ -75,4 +82,14 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
             data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
         }
     }
+
+    @Override
+    protected void update(final List<MetaData> dataList) {
+        dataList.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
+    }
+
+    @Override
+    protected void delete(final List<MetaData> dataList) {
+        dataList.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(metaData)));
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -57,6 +58,12 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
         }.getType());
     }
 
+    @Override
+    protected List<PluginData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<PluginData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<PluginData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.PLUGIN);
@@ -76,4 +83,14 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
         }
         data.forEach(pluginDataSubscriber::onSubscribe);
     }
+
+    @Override
+    protected void update(final List<PluginData> dataList) {
+        dataList.forEach(pluginDataSubscriber::onSubscribe);
+    }
+
+    @Override
+    protected void delete(final List<PluginData> dataList) {
+        dataList.forEach(pluginDataSubscriber::unSubscribe);
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -57,6 +58,12 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
         }.getType());
     }
 
+    @Override
+    protected List<RuleData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<RuleData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<RuleData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.RULE);
@@ -79,4 +86,14 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
             data.forEach(pluginDataSubscriber::onRuleSubscribe);
         }
     }
+
+    @Override
+    protected void update(final List<RuleData> dataList) {
+        dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+    }
+
+    @Override
+    protected void delete(final List<RuleData> dataList) {
+        dataList.forEach(pluginDataSubscriber::unRuleSubscribe);
+    }
 }
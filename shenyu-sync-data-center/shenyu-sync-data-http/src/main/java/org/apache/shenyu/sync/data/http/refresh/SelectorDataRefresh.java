@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -57,6 +58,12 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
         }.getType());
     }
 
+    @Override
+    protected List<SelectorData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<SelectorData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<SelectorData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.SELECTOR);
@@ -79,4 +86,14 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             data.forEach(pluginDataSubscriber::onSelectorSubscribe);
         }
     }
+
+    @Override
+    protected void update(final List<SelectorData> dataList) {
+        dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+    }
+
+    @Override
+    protected void delete(final List<SelectorData> dataList) {
+        dataList.forEach(pluginDataSubscriber::unSelectorSubscribe);
+    }
 }
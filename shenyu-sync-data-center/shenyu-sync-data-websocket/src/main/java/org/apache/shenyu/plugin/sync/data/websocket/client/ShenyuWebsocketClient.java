@@ -37,6 +37,9 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -49,6 +52,8 @@ public final class ShenyuWebsocketClient extends WebSocketClient {
      */
     private static final Logger LOG = LoggerFactory.getLogger(ShenyuWebsocketClient.class);
     
+    private static final int MAX_AHEAD_REVISIONS = 1024;
+    
     private volatile boolean alreadySync = Boolean.FALSE;
     
     private final WebsocketDataHandler websocketDataHandler;
@@ -57,6 +62,15 @@ public final class ShenyuWebsocketClient extends WebSocketClient {
     
     private TimerTask timerTask;
     
+    private volatile String epoch;
+    
+    private volatile long revision;
+    
+    /**
+     * the revisions received ahead of a missing one, the client resumes from the last contiguous revision.
+     */
+    private final SortedSet<Long> aheadRevisions = new TreeSet<>();
+    
     /**
      * Instantiates a new shenyu websocket client.
      *
@@ -122,7 +136,9 @@ public final class ShenyuWebsocketClient extends WebSocketClient {
     @Override
     public void onOpen(final ServerHandshake serverHandshake) {
         if (!alreadySync) {
-            send(DataEventTypeEnum.MYSELF.name());
+            // resume from the last revision, the admin answers with a full sync when it cannot.
+            send(Objects.isNull(epoch) ? DataEventTypeEnum.MYSELF.name()
+                    : String.join(",", DataEventTypeEnum.MYSELF.name(), epoch, String.valueOf(revision)));
             alreadySync = true;
         }
     }
@@ -179,5 +195,34 @@ public final class ShenyuWebsocketClient extends WebSocketClient {
         String eventType = websocketData.getEventType();
         String json = GsonUtils.getInstance().toJson(websocketData.getData());
         websocketDataHandler.executor(groupEnum, json, eventType);
+        updateRevision(websocketData);
+    }
+    
+    private synchronized void updateRevision(final WebsocketData<?> websocketData) {
+        String dataEpoch = websocketData.getEpoch();
+        Long dataRevision = websocketData.getRevision();
+        if (Objects.isNull(dataEpoch) || Objects.isNull(dataRevision)) {
+            return;
+        }
+        if (DataEventTypeEnum.MYSELF.name().equals(websocketData.getEventType())) {
+            // a full sync contains every change up to its revision.
+            if (!dataEpoch.equals(epoch)) {
+                epoch = dataEpoch;
+                revision = dataRevision;
+                aheadRevisions.clear();
+            } else if (dataRevision > revision) {
+                revision = dataRevision;
+                aheadRevisions.headSet(dataRevision + 1).clear();
+            }
+        } else if (dataEpoch.equals(epoch) && dataRevision > revision) {
+            aheadRevisions.add(dataRevision);
+            if (aheadRevisions.size() > MAX_AHEAD_REVISIONS) {
+                // a change is lost, the next resume replays from the gap anyway.
+                aheadRevisions.clear();
+            }
+        }
+        while (aheadRevisions.remove(revision + 1)) {
+            revision++;
+        }
     }
 }
@@ -17,7 +17,9 @@
 
 package org.apache.shenyu.plugin.sync.data.websocket.handler;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
@@ -63,7 +65,11 @@ public abstract class AbstractDataHandler<T> implements DataHandler {
         List<T> dataList = convert(json);
 
         if (CollectionUtils.isEmpty(dataList)) {
-            return;
+            // an empty full sync still refreshes, the gateway may hold entries admin no longer has.
+            if (!Objects.equals(DataEventTypeEnum.MYSELF.name(), eventType)) {
+                return;
+            }
+            dataList = Collections.emptyList();
         }
 
         DataEventTypeEnum eventTypeEnum = DataEventTypeEnum.acquireByName(eventType);
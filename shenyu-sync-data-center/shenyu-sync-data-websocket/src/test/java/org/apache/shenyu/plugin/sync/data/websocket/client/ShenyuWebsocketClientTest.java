@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -114,4 +115,25 @@ public class ShenyuWebsocketClientTest {
         shenyuWebsocketClient = spy(shenyuWebsocketClient);
         Assertions.assertDoesNotThrow(() -> shenyuWebsocketClient.onError(new ShenyuException("test")));
     }
+    
+    @Test
+    public void testResumeFromContiguousRevision() {
+        shenyuWebsocketClient = spy(shenyuWebsocketClient);
+        doNothing().when(shenyuWebsocketClient).send(anyString());
+        shenyuWebsocketClient.onMessage(GsonUtils.getInstance().toJson(websocketData.setEpoch("epoch").setRevision(5L)));
+        // revision 7 arrives before 6, the client must not skip 6 on resume.
+        shenyuWebsocketClient.onMessage(GsonUtils.getInstance().toJson(change(7L)));
+        shenyuWebsocketClient.onOpen(mock(ServerHandshake.class));
+        verify(shenyuWebsocketClient).send("MYSELF,epoch,5");
+        
+        shenyuWebsocketClient.onMessage(GsonUtils.getInstance().toJson(change(6L)));
+        shenyuWebsocketClient.close();
+        shenyuWebsocketClient.onOpen(mock(ServerHandshake.class));
+        verify(shenyuWebsocketClient).send("MYSELF,epoch,7");
+    }
+    
+    private WebsocketData<PluginData> change(final long revision) {
+        return new WebsocketData<>(ConfigGroupEnum.PLUGIN.name(), DataEventTypeEnum.UPDATE.name(), websocketData.getData())
+                .setEpoch("epoch").setRevision(revision);
+    }
 }